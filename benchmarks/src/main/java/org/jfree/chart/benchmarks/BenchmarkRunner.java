@@ -0,0 +1,83 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------
+ * BenchmarkRunner.java
+ * --------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.chart.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * The entry point for the benchmarks jar.  This accepts the usual JMH
+ * command line options, but unless they are overridden the results are
+ * written as JSON (to {@code jmh-result.json}) and the GC profiler is
+ * enabled, so that throughput and allocation rate can be compared between
+ * releases.  For example:
+ * <pre>
+ * java -jar target/benchmarks.jar XYSeries -rff xyseries.json
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+	/**
+	 * Private constructor prevents object creation.
+	 */
+	private BenchmarkRunner() {
+	}
+
+	/**
+	 * Runs the benchmarks.
+	 *
+	 * @param args
+	 *            JMH command line options.
+	 *
+	 * @throws Exception
+	 *             if the benchmarks cannot be run.
+	 */
+	public static void main(String[] args) throws Exception {
+		List<String> options = new ArrayList<String>(Arrays.asList(args));
+		if (!options.contains("-rf")) {
+			options.add("-rf");
+			options.add("json");
+		}
+		if (!options.contains("-prof")) {
+			options.add("-prof");
+			options.add("gc");
+		}
+		Main.main(options.toArray(new String[options.size()]));
+	}
+
+}
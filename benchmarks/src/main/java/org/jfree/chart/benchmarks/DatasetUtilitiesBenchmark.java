@@ -0,0 +1,148 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------------
+ * DatasetUtilitiesBenchmark.java
+ * ------------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.chart.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jfree.data.Range;
+import org.jfree.data.general.DatasetUtilities;
+import org.jfree.data.xy.DefaultXYDataset;
+import org.jfree.data.xy.XYDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the {@link DatasetUtilities} methods used to auto-range
+ * axes.  An {@link XYSeriesCollection} maintains its own bounds, while a
+ * {@link DefaultXYDataset} has to be iterated, so both are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DatasetUtilitiesBenchmark {
+
+	/** The number of series in the dataset. */
+	private static final int SERIES_COUNT = 3;
+
+	/** The number of items in each series. */
+	@Param({ "10000", "1000000" })
+	public int size;
+
+	/** The dataset type ("XYSeriesCollection" or "DefaultXYDataset"). */
+	@Param({ "XYSeriesCollection", "DefaultXYDataset" })
+	public String datasetType;
+
+	/** The dataset. */
+	private XYDataset dataset;
+
+	/** The keys of all series in the dataset. */
+	private List<Comparable> seriesKeys;
+
+	/** The middle half of the x-range. */
+	private Range xRange;
+
+	/**
+	 * Creates the test data.
+	 */
+	@Setup
+	public void setUp() {
+		Random random = new Random(42L);
+		XYSeriesCollection collection = new XYSeriesCollection();
+		DefaultXYDataset arrays = new DefaultXYDataset();
+		this.seriesKeys = new ArrayList<Comparable>();
+		for (int s = 0; s < SERIES_COUNT; s++) {
+			String key = "S" + s;
+			XYSeries series = new XYSeries(key);
+			double[][] data = new double[2][this.size];
+			for (int i = 0; i < this.size; i++) {
+				double y = random.nextGaussian() + s;
+				series.add(i, y, false);
+				data[0][i] = i;
+				data[1][i] = y;
+			}
+			collection.addSeries(series);
+			arrays.addSeries(key, data);
+			this.seriesKeys.add(key);
+		}
+		if ("DefaultXYDataset".equals(this.datasetType)) {
+			this.dataset = arrays;
+		}
+		else {
+			this.dataset = collection;
+		}
+		this.xRange = new Range(this.size / 4.0, this.size * 3.0 / 4.0);
+	}
+
+	/**
+	 * Measures finding the x-range of the whole dataset.
+	 *
+	 * @return The range.
+	 */
+	@Benchmark
+	public Range findDomainBounds() {
+		return DatasetUtilities.findDomainBounds(this.dataset);
+	}
+
+	/**
+	 * Measures finding the y-range of the items within an x-range, as used
+	 * when the range axis is auto-ranged against a zoomed domain axis.
+	 *
+	 * @return The range.
+	 */
+	@Benchmark
+	public Range iterateToFindRangeBounds() {
+		return DatasetUtilities.iterateToFindRangeBounds(this.dataset,
+				this.seriesKeys, this.xRange, false);
+	}
+
+}
@@ -0,0 +1,161 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * NumberAxisBenchmark.java
+ * ------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.chart.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.NumberTickUnit;
+import org.jfree.chart.ui.RectangleEdge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+
+/**
+ * Benchmarks for {@link NumberAxis#valueToJava2D(double, Rectangle2D,
+ * RectangleEdge)} and the automatic tick unit selection.  The graphics
+ * context belongs to a {@link Canvas} that is not attached to a scene, so
+ * no display is required.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Djava.awt.headless=true",
+		"-Dprism.order=sw" })
+public class NumberAxisBenchmark {
+
+	/** The number of values to convert (a power of two). */
+	private static final int VALUE_COUNT = 1024;
+
+	/** The axis location. */
+	@Param({ "BOTTOM", "LEFT" })
+	public RectangleEdge edge;
+
+	/** The axis. */
+	private BenchmarkNumberAxis axis;
+
+	/** The data area. */
+	private Rectangle2D dataArea;
+
+	/** The graphics context used for measuring tick labels. */
+	private GraphicsContext g2;
+
+	/** The values to convert. */
+	private double[] values;
+
+	/** The index of the next value. */
+	private int cursor;
+
+	/**
+	 * Creates the axis and test data.
+	 */
+	@Setup
+	public void setUp() {
+		this.axis = new BenchmarkNumberAxis();
+		this.axis.setRange(-1234.5, 98765.4);
+		this.dataArea = new Rectangle2D(60.0, 20.0, 720.0, 440.0);
+		this.g2 = new Canvas(800.0, 500.0).getGraphicsContext2D();
+		Random random = new Random(42L);
+		this.values = new double[VALUE_COUNT];
+		for (int i = 0; i < VALUE_COUNT; i++) {
+			this.values[i] = -1234.5 + random.nextDouble() * 99999.9;
+		}
+	}
+
+	/**
+	 * Measures converting a data value to a Java2D coordinate.
+	 *
+	 * @return The coordinate.
+	 */
+	@Benchmark
+	public double valueToJava2D() {
+		this.cursor = (this.cursor + 1) & (VALUE_COUNT - 1);
+		return this.axis.valueToJava2D(this.values[this.cursor],
+				this.dataArea, this.edge);
+	}
+
+	/**
+	 * Measures selecting a tick unit for the current axis range, which
+	 * includes measuring the tick labels.
+	 *
+	 * @return The selected tick unit.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public NumberTickUnit selectAutoTickUnit() {
+		this.axis.selectAutoTickUnit(this.g2, this.dataArea, this.edge);
+		return this.axis.getTickUnit();
+	}
+
+	/**
+	 * A number axis that makes tick unit selection visible to the benchmark.
+	 */
+	static class BenchmarkNumberAxis extends NumberAxis {
+
+		/**
+		 * Selects an appropriate tick unit for the axis.
+		 *
+		 * @param g2
+		 *            the graphics device.
+		 * @param dataArea
+		 *            the area defined by the axes.
+		 * @param edge
+		 *            the axis location.
+		 */
+		@Override
+		public void selectAutoTickUnit(GraphicsContext g2,
+				Rectangle2D dataArea, RectangleEdge edge) {
+			super.selectAutoTickUnit(g2, dataArea, edge);
+		}
+
+	}
+
+}
@@ -0,0 +1,138 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * TimeSeriesBenchmark.java
+ * ------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.chart.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jfree.data.time.RegularTimePeriod;
+import org.jfree.data.time.Second;
+import org.jfree.data.time.TimeSeries;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link TimeSeries#add(RegularTimePeriod, double, boolean)}
+ * and {@link TimeSeries#getIndex(RegularTimePeriod)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeSeriesBenchmark {
+
+	/** The number of probe periods (a power of two). */
+	private static final int PROBE_COUNT = 1024;
+
+	/** The number of items in the series. */
+	@Param({ "10000", "1000000" })
+	public int size;
+
+	/** Consecutive periods, created up front so they are not measured. */
+	private RegularTimePeriod[] periods;
+
+	/** The values to add. */
+	private double[] values;
+
+	/** A series containing one item for each period. */
+	private TimeSeries series;
+
+	/** Periods that exist in the series, in random order. */
+	private RegularTimePeriod[] probes;
+
+	/** The index of the next probe. */
+	private int cursor;
+
+	/**
+	 * Creates the test data.
+	 */
+	@Setup
+	public void setUp() {
+		Random random = new Random(42L);
+		this.periods = new RegularTimePeriod[this.size];
+		this.values = new double[this.size];
+		RegularTimePeriod period = new Second(0, 0, 0, 1, 1, 2016);
+		for (int i = 0; i < this.size; i++) {
+			this.periods[i] = period;
+			this.values[i] = random.nextGaussian();
+			period = period.next();
+		}
+		this.series = appendInOrder();
+		this.probes = new RegularTimePeriod[PROBE_COUNT];
+		for (int i = 0; i < PROBE_COUNT; i++) {
+			this.probes[i] = this.periods[random.nextInt(this.size)];
+		}
+	}
+
+	/**
+	 * Measures the time to build a series of {@code size} items by appending
+	 * periods in time order.
+	 *
+	 * @return The series.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public TimeSeries appendInOrder() {
+		TimeSeries s = new TimeSeries("S1");
+		for (int i = 0; i < this.size; i++) {
+			s.add(this.periods[i], this.values[i], false);
+		}
+		return s;
+	}
+
+	/**
+	 * Measures locating an existing period.
+	 *
+	 * @return The item index.
+	 */
+	@Benchmark
+	public int getIndex() {
+		this.cursor = (this.cursor + 1) & (PROBE_COUNT - 1);
+		return this.series.getIndex(this.probes[this.cursor]);
+	}
+
+}
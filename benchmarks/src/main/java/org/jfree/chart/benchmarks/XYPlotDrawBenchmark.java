@@ -0,0 +1,146 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * XYPlotDrawBenchmark.java
+ * ------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.chart.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.LTTBXYDecimator;
+import org.jfree.chart.renderer.xy.M4XYDecimator;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.xy.PrimitiveXYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+
+/**
+ * Measures a full {@link XYPlot#draw} of a line chart onto an offscreen
+ * {@link Canvas}.  The canvas is never attached to a scene, so the
+ * benchmark runs headless; the drawing commands are recorded but not
+ * rasterized, which isolates the cost of the plot, axes and renderer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g", "-Djava.awt.headless=true",
+		"-Dprism.order=sw" })
+public class XYPlotDrawBenchmark {
+
+	/** The canvas width. */
+	private static final double WIDTH = 1200.0;
+
+	/** The canvas height. */
+	private static final double HEIGHT = 600.0;
+
+	/** The number of points in the series. */
+	@Param({ "10000", "1000000", "10000000" })
+	public int points;
+
+	/** The decimator ("none", "M4" or "LTTB"). */
+	@Param({ "none", "M4", "LTTB" })
+	public String decimator;
+
+	/** Whether the plot prepares its datasets in parallel. */
+	@Param({ "false", "true" })
+	public boolean parallel;
+
+	/** The plot. */
+	private XYPlot plot;
+
+	/** The canvas graphics context. */
+	private GraphicsContext g2;
+
+	/** The plot area. */
+	private Rectangle2D area;
+
+	/**
+	 * Creates the plot and the canvas.
+	 */
+	@Setup
+	public void setUp() {
+		Random random = new Random(42L);
+		PrimitiveXYSeries series = new PrimitiveXYSeries("S1", true, false,
+				this.points);
+		double y = 0.0;
+		for (int i = 0; i < this.points; i++) {
+			y += random.nextGaussian();
+			series.add(i, y, false);
+		}
+		this.plot = new XYPlot(new XYSeriesCollection(series),
+				new NumberAxis("X"), new NumberAxis("Y"),
+				new XYLineAndShapeRenderer(true, false));
+		if ("M4".equals(this.decimator)) {
+			this.plot.setDecimator(new M4XYDecimator());
+		}
+		else if ("LTTB".equals(this.decimator)) {
+			this.plot.setDecimator(new LTTBXYDecimator());
+		}
+		this.plot.setParallelRendering(this.parallel);
+		this.g2 = new Canvas(WIDTH, HEIGHT).getGraphicsContext2D();
+		this.area = new Rectangle2D(0.0, 0.0, WIDTH, HEIGHT);
+	}
+
+	/**
+	 * Draws the plot.  Clearing the whole canvas first discards the commands
+	 * recorded by the previous invocation.
+	 *
+	 * @return The graphics context.
+	 */
+	@Benchmark
+	public GraphicsContext draw() {
+		this.g2.clearRect(0.0, 0.0, WIDTH, HEIGHT);
+		this.plot.draw(this.g2, this.area, null, null, null);
+		return this.g2;
+	}
+
+}
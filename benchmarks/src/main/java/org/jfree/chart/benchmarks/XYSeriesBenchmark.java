@@ -0,0 +1,200 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * XYSeriesBenchmark.java
+ * ----------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.chart.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jfree.data.xy.PrimitiveXYSeries;
+import org.jfree.data.xy.XYSeries;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the {@link XYSeries} methods that are on the hot path when
+ * data is streamed into a chart: {@code add()}, {@code addOrUpdate()} and
+ * {@code indexOf()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XYSeriesBenchmark {
+
+	/** The number of probe values (a power of two). */
+	private static final int PROBE_COUNT = 1024;
+
+	/** The number of items in the series. */
+	@Param({ "10000", "1000000" })
+	public int size;
+
+	/** The series implementation ("XYSeries" or "PrimitiveXYSeries"). */
+	@Param({ "XYSeries", "PrimitiveXYSeries" })
+	public String seriesType;
+
+	/** The y-values used to fill the series. */
+	private double[] yValues;
+
+	/** A series containing {@code size} items with x-values 0 to size - 1. */
+	private XYSeries series;
+
+	/** Existing x-values, in random order. */
+	private Double[] probes;
+
+	/** Values that fall between existing x-values, in random order. */
+	private double[] gaps;
+
+	/** The index of the next probe. */
+	private int cursor;
+
+	/**
+	 * Creates the test data.
+	 */
+	@Setup
+	public void setUp() {
+		Random random = new Random(42L);
+		this.yValues = new double[this.size];
+		for (int i = 0; i < this.size; i++) {
+			this.yValues[i] = random.nextGaussian();
+		}
+		this.series = createSeries();
+		fill(this.series);
+		this.probes = new Double[PROBE_COUNT];
+		this.gaps = new double[PROBE_COUNT];
+		for (int i = 0; i < PROBE_COUNT; i++) {
+			int x = random.nextInt(this.size);
+			this.probes[i] = Double.valueOf(x);
+			this.gaps[i] = x + 0.5;
+		}
+	}
+
+	/**
+	 * Creates an empty series of the type being benchmarked.  The series is
+	 * sorted and does not allow duplicate x-values, so that
+	 * {@code addOrUpdate()} updates existing items.
+	 *
+	 * @return A new series.
+	 */
+	private XYSeries createSeries() {
+		if ("PrimitiveXYSeries".equals(this.seriesType)) {
+			return new PrimitiveXYSeries("S1", true, false);
+		}
+		return new XYSeries("S1", true, false);
+	}
+
+	/**
+	 * Appends {@code size} items, in ascending x-order, to the series.
+	 *
+	 * @param s
+	 *            the series.
+	 */
+	private void fill(XYSeries s) {
+		for (int i = 0; i < this.size; i++) {
+			s.add(i, this.yValues[i], false);
+		}
+	}
+
+	/**
+	 * Returns the index of the next probe.
+	 *
+	 * @return The index.
+	 */
+	private int nextProbe() {
+		this.cursor = (this.cursor + 1) & (PROBE_COUNT - 1);
+		return this.cursor;
+	}
+
+	/**
+	 * Measures the time to build a series of {@code size} items by appending
+	 * values in ascending x-order.
+	 *
+	 * @return The series.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public XYSeries appendSorted() {
+		XYSeries s = createSeries();
+		fill(s);
+		return s;
+	}
+
+	/**
+	 * Measures inserting an item between two existing items and removing it
+	 * again, which keeps the series size constant across invocations.
+	 *
+	 * @return The removed item's x-value.
+	 */
+	@Benchmark
+	public double insertAndRemove() {
+		double x = this.gaps[nextProbe()];
+		this.series.add(x, 1.0, false);
+		return this.series.remove(Double.valueOf(x)).getXValue();
+	}
+
+	/**
+	 * Measures updating the y-value of an existing item.
+	 *
+	 * @return The overwritten item.
+	 */
+	@Benchmark
+	public Object addOrUpdate() {
+		Double x = this.probes[nextProbe()];
+		return this.series.addOrUpdate(x.doubleValue(),
+				this.yValues[x.intValue()]);
+	}
+
+	/**
+	 * Measures locating an existing x-value.
+	 *
+	 * @return The item index.
+	 */
+	@Benchmark
+	public int indexOf() {
+		return this.series.indexOf(this.probes[nextProbe()]);
+	}
+
+}
@@ -0,0 +1,4 @@
+/**
+ * JMH benchmarks for datasets, axes and renderers.
+ */
+package org.jfree.chart.benchmarks;
@@ -0,0 +1,224 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * ChartUpdateBatch.java
+ * ---------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.chart;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.plot.Plot;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.util.ParamChecks;
+import org.jfree.data.general.AbstractDataset;
+import org.jfree.data.general.Dataset;
+
+/**
+ * A batch of updates to a chart and/or a set of datasets.  While the batch
+ * is open the change events from the datasets, the plot and the chart are
+ * suppressed, and {@link #commit()} then sends a single
+ * {@link org.jfree.data.general.DatasetChangeEvent} for each dataset that
+ * changed, configures the plot's axes once, and sends a single
+ * {@link org.jfree.chart.event.ChartChangeEvent}:
+ * <pre>
+ * ChartUpdateBatch batch = new ChartUpdateBatch(chart);
+ * try {
+ *     for (XYSeries series : allSeries) {
+ *         series.add(x, nextValue(series));
+ *     }
+ * } finally {
+ *     batch.commit();
+ * }</pre>
+ * Only datasets that extend {@link AbstractDataset} (which includes all the
+ * datasets in JFreeChart) can be batched, other datasets send their events
+ * as usual.  Objects that already have their notify flag switched off when
+ * the batch is opened are left alone, so batches can be nested.  Like the
+ * rest of the chart, a batch must only be used from a single thread (the
+ * JavaFX application thread for a chart that is on screen).
+ * <p>
+ * A batch for a chart also holds the chart's lock (see
+ * {@link JFreeChart#getLock()}) until it is committed, so a frame that an
+ * {@link org.jfree.chart.fx.OffscreenChartRenderer} draws on its worker
+ * thread sees either none or all of the changes made in the batch.  Opening
+ * the batch waits for any frame that is being drawn to finish, and the batch
+ * must be committed on the thread that opened it.
+ *
+ * @since 2.0
+ */
+public class ChartUpdateBatch {
+
+	/** The chart (<code>null</code> for a batch on datasets only). */
+	private JFreeChart chart;
+
+	/** The plot, if its notify flag was switched off by this batch. */
+	private Plot plot;
+
+	/** The datasets whose notify flag was switched off by this batch. */
+	private List<AbstractDataset> datasets;
+
+	/** The chart lock held by this batch (<code>null</code> if none). */
+	private Lock lock;
+
+	/** A flag that indicates whether the batch is still open. */
+	private boolean open;
+
+	/**
+	 * Opens a batch for a chart and all the datasets in its plot.
+	 *
+	 * @param chart
+	 *            the chart (<code>null</code> not permitted).
+	 */
+	public ChartUpdateBatch(JFreeChart chart) {
+		ParamChecks.nullNotPermitted(chart, "chart");
+		this.datasets = new ArrayList<AbstractDataset>();
+		this.lock = chart.getLock();
+		this.lock.lock();
+		this.open = true;
+		try {
+			Plot p = chart.getPlot();
+			if (p instanceof XYPlot) {
+				XYPlot xyPlot = (XYPlot) p;
+				for (int i = 0; i < xyPlot.getDatasetCount(); i++) {
+					add(xyPlot.getDataset(i));
+				}
+			}
+			else if (p instanceof CategoryPlot) {
+				CategoryPlot categoryPlot = (CategoryPlot) p;
+				for (int i = 0; i < categoryPlot.getDatasetCount(); i++) {
+					add(categoryPlot.getDataset(i));
+				}
+			}
+			if (p != null && p.isNotify()) {
+				p.setNotify(false);
+				this.plot = p;
+			}
+			if (chart.isNotify()) {
+				chart.setNotify(false);
+				this.chart = chart;
+			}
+		}
+		catch (RuntimeException | Error e) {
+			// no batch is returned to the caller, so restore the notify
+			// flags and release the lock here
+			try {
+				commit();
+			}
+			catch (RuntimeException | Error suppressed) {
+				e.addSuppressed(suppressed);
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Opens a batch for a set of datasets.
+	 *
+	 * @param datasets
+	 *            the datasets (<code>null</code> not permitted).
+	 */
+	public ChartUpdateBatch(Dataset... datasets) {
+		ParamChecks.nullNotPermitted(datasets, "datasets");
+		this.datasets = new ArrayList<AbstractDataset>();
+		this.open = true;
+		for (Dataset dataset : datasets) {
+			add(dataset);
+		}
+	}
+
+	/**
+	 * Adds a dataset to the batch (datasets that are already part of the
+	 * batch, or that have their notify flag switched off, are ignored).
+	 *
+	 * @param dataset
+	 *            the dataset (<code>null</code> permitted).
+	 *
+	 * @throws IllegalStateException
+	 *             if the batch has been committed.
+	 */
+	public void add(Dataset dataset) {
+		if (!this.open) {
+			throw new IllegalStateException("The batch has been committed.");
+		}
+		if (dataset instanceof AbstractDataset) {
+			AbstractDataset d = (AbstractDataset) dataset;
+			if (d.isNotify()) {
+				d.setNotify(false);
+				this.datasets.add(d);
+			}
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if the batch has not been committed yet.
+	 *
+	 * @return A boolean.
+	 */
+	public boolean isOpen() {
+		return this.open;
+	}
+
+	/**
+	 * Closes the batch, sends the merged change events and releases the
+	 * chart's lock.  Calling this method on a batch that has already been
+	 * committed has no effect.
+	 */
+	public void commit() {
+		if (!this.open) {
+			return;
+		}
+		this.open = false;
+		try {
+			for (AbstractDataset dataset : this.datasets) {
+				dataset.setNotify(true);
+			}
+			this.datasets.clear();
+			if (this.plot != null) {
+				this.plot.setNotify(true);
+				this.plot = null;
+			}
+			if (this.chart != null) {
+				this.chart.setNotify(true);
+				this.chart = null;
+			}
+		}
+		finally {
+			if (this.lock != null) {
+				this.lock.unlock();
+				this.lock = null;
+			}
+		}
+	}
+
+}
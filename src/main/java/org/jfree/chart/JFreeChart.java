@@ -175,6 +175,8 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.jfree.chart.block.BlockParams;
 import org.jfree.chart.block.EntityBlockResult;
@@ -337,6 +339,12 @@ public class JFreeChart implements Drawable,
 	 */
 	private boolean notify;
 
+	/**
+	 * The lock that is held while the chart is drawn away from the JavaFX
+	 * application thread, and while a {@link ChartUpdateBatch} is open.
+	 */
+	private transient ReentrantLock lock;
+
 	/**
 	 * Creates a new chart based on the supplied plot. The chart will have a
 	 * legend added automatically, but no title (although you can easily add one
@@ -400,6 +408,7 @@ public class JFreeChart implements Drawable,
 		// create storage for listeners...
 		this.progressListeners = new EventListenerList();
 		this.changeListeners = new EventListenerList();
+		this.lock = new ReentrantLock();
 		this.notify = true; // default is to notify listeners when the chart
 							// changes
 
@@ -1037,6 +1046,24 @@ public class JFreeChart implements Drawable,
 		}
 	}
 
+	/**
+	 * Returns the lock that guards the chart (and its plot and datasets)
+	 * against modification while it is drawn on another thread. An
+	 * {@link org.jfree.chart.fx.OffscreenChartRenderer} holds the lock while
+	 * it draws a frame, and a {@link ChartUpdateBatch} for the chart holds it
+	 * from the time it is opened until it is committed, so changes made
+	 * within a batch are never seen half applied by a frame. Code that
+	 * modifies the chart outside a batch, while an offscreen renderer might
+	 * be drawing it, should hold the lock while it does so.
+	 *
+	 * @return The lock (never <code>null</code>).
+	 *
+	 * @since 2.0
+	 */
+	public Lock getLock() {
+		return this.lock;
+	}
+
 	/**
 	 * Draws the chart on a Java 2D graphics device (such as the screen or a
 	 * printer). This method is the focal point of the entire JFreeChart
@@ -1654,6 +1681,7 @@ public class JFreeChart implements Drawable,
 		stream.defaultReadObject();
 		this.progressListeners = new EventListenerList();
 		this.changeListeners = new EventListenerList();
+		this.lock = new ReentrantLock();
 		// JAVAFX rendering hints
 		// this.renderingHints = new RenderingHints(
 		// RenderingHints.KEY_ANTIALIASING,
@@ -1706,6 +1734,7 @@ public class JFreeChart implements Drawable,
 
 		chart.progressListeners = new EventListenerList();
 		chart.changeListeners = new EventListenerList();
+		chart.lock = new ReentrantLock();
 		return chart;
 	}
 
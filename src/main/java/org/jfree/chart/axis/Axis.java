@@ -294,6 +294,12 @@ public abstract class Axis implements Cloneable, Serializable {
 	/** Storage for registered listeners. */
 	private transient EventListenerList listenerList;
 
+	/**
+	 * The number of change events sent by this axis, used by subclasses to
+	 * detect that a cached tick layout is out of date.
+	 */
+	private transient int changeCount;
+
 	/**
 	 * Constructs an axis, using default values where necessary.
 	 *
@@ -1239,6 +1245,7 @@ public abstract class Axis implements Cloneable, Serializable {
 	 *            information about the change to the axis.
 	 */
 	protected void notifyListeners(AxisChangeEvent event) {
+		this.changeCount++;
 		Object[] listeners = this.listenerList.getListenerList();
 		for (int i = listeners.length - 2; i >= 0; i -= 2) {
 			if (listeners[i] == AxisChangeListener.class) {
@@ -1247,6 +1254,17 @@ public abstract class Axis implements Cloneable, Serializable {
 		}
 	}
 
+	/**
+	 * Returns the number of change events sent by this axis so far.  Any
+	 * setting that affects the tick layout fires a change event, so a
+	 * cached layout is valid for as long as this count is unchanged.
+	 *
+	 * @return The change count.
+	 */
+	int getChangeCount() {
+		return this.changeCount;
+	}
+
 	/**
 	 * Sends an {@link AxisChangeEvent} to all registered listeners.
 	 *
@@ -119,6 +119,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -182,6 +183,15 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 	/** The amount of space reserved between categories. */
 	private double categoryMargin;
 
+	/** The index of the first category in the visible window. */
+	private int firstVisibleCategory;
+
+	/**
+	 * The number of categories in the visible window (zero to show all the
+	 * categories).
+	 */
+	private int visibleCategoryCount;
+
 	/** The maximum number of lines for category labels. */
 	private int maximumCategoryLabelLines;
 
@@ -211,6 +221,9 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 	/** Storage for the category label URLs (if any). */
 	private Map<Comparable, String> categoryLabelURLs;
 
+	/** The most recently calculated tick layout ({@code null} permitted). */
+	private transient TickLayout tickLayout;
+
 	/**
 	 * Creates a new category axis with no label.
 	 */
@@ -320,6 +333,105 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 		fireChangeEvent();
 	}
 
+	/**
+	 * Returns the index of the first category in the visible window.
+	 *
+	 * @return The index.
+	 *
+	 * @see #setCategoryWindow(int, int)
+	 *
+	 * @since 2.0
+	 */
+	public int getFirstVisibleCategory() {
+		return this.firstVisibleCategory;
+	}
+
+	/**
+	 * Returns the number of categories in the visible window, or zero if all
+	 * the categories are visible.
+	 *
+	 * @return The category count.
+	 *
+	 * @see #setCategoryWindow(int, int)
+	 *
+	 * @since 2.0
+	 */
+	public int getVisibleCategoryCount() {
+		return this.visibleCategoryCount;
+	}
+
+	/**
+	 * Sets the window of visible categories and sends an
+	 * {@link AxisChangeEvent} to all registered listeners. The visible
+	 * categories are spread over the whole length of the axis, and the
+	 * {@link CategoryPlot} only draws the items, labels and gridlines for the
+	 * visible categories, so the cost of drawing the plot depends on the
+	 * size of the window rather than the number of categories. The window can
+	 * then be panned and zoomed via the plot.
+	 *
+	 * @param first
+	 *            the index of the first visible category (if there are not
+	 *            enough categories to fill the window from this index, the
+	 *            window is moved back to show the last categories).
+	 * @param count
+	 *            the number of visible categories (zero to show all the
+	 *            categories).
+	 *
+	 * @see #getFirstVisibleCategory()
+	 * @see #getVisibleCategoryCount()
+	 *
+	 * @since 2.0
+	 */
+	public void setCategoryWindow(int first, int count) {
+		if (first < 0) {
+			throw new IllegalArgumentException("Requires 'first' >= 0.");
+		}
+		if (count < 0) {
+			throw new IllegalArgumentException("Requires 'count' >= 0.");
+		}
+		this.firstVisibleCategory = first;
+		this.visibleCategoryCount = count;
+		fireChangeEvent();
+	}
+
+	/**
+	 * Returns the index of the first visible category, given the total number
+	 * of categories.
+	 *
+	 * @param categoryCount
+	 *            the number of categories.
+	 *
+	 * @return The index.
+	 *
+	 * @since 2.0
+	 */
+	public int getVisibleCategoryStart(int categoryCount) {
+		if (this.visibleCategoryCount == 0) {
+			return 0;
+		}
+		return Math.max(0, Math.min(this.firstVisibleCategory,
+				categoryCount - this.visibleCategoryCount));
+	}
+
+	/**
+	 * Returns the index after the last visible category, given the total
+	 * number of categories.
+	 *
+	 * @param categoryCount
+	 *            the number of categories.
+	 *
+	 * @return The index.
+	 *
+	 * @since 2.0
+	 */
+	public int getVisibleCategoryEnd(int categoryCount) {
+		if (this.visibleCategoryCount == 0) {
+			return categoryCount;
+		}
+		return Math.min(categoryCount, getVisibleCategoryStart(categoryCount)
+				+ this.visibleCategoryCount);
+	}
+
 	/**
 	 * Returns the maximum number of lines to use for each category label.
 	 *
@@ -711,6 +823,7 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 		double categoryGapWidth = calculateCategoryGapSize(categoryCount, area,
 				edge);
 
+		category = category - getVisibleCategoryStart(categoryCount);
 		result = result + category * (categorySize + categoryGapWidth);
 		return result;
 
@@ -880,7 +993,8 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 
 	/**
 	 * Calculates the size (width or height, depending on the location of the
-	 * axis) of a category.
+	 * axis) of a category.  Only the categories in the visible window share
+	 * the length of the axis.
 	 *
 	 * @param categoryCount
 	 *            the number of categories.
@@ -904,6 +1018,8 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 				|| (edge == RectangleEdge.RIGHT)) {
 			available = area.getHeight();
 		}
+		categoryCount = getVisibleCategoryEnd(categoryCount)
+				- getVisibleCategoryStart(categoryCount);
 		if (categoryCount > 1) {
 			result = available * (1 - getLowerMargin() - getUpperMargin()
 					- getCategoryMargin());
@@ -942,6 +1058,8 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 			available = area.getHeight();
 		}
 
+		categoryCount = getVisibleCategoryEnd(categoryCount)
+				- getVisibleCategoryStart(categoryCount);
 		if (categoryCount > 1) {
 			result = available * getCategoryMargin() / (categoryCount - 1);
 		}
@@ -1108,7 +1226,10 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 		// state.setTicks(ticks);
 		// FIXME MMC had to remove this as the types don't match
 
-		int categoryIndex = 0;
+		// the ticks are for the visible categories only
+		CategoryPlot plot = (CategoryPlot) getPlot();
+		int categoryCount = plot.getCategoryCountForAxis(this);
+		int categoryIndex = getVisibleCategoryStart(categoryCount);
 		for (CategoryTick tick : ticks) {
 
 			g2.setFont(getTickLabelFont(tick.getCategory()));
@@ -1120,30 +1241,30 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 			double y0 = 0.0;
 			double y1 = 0.0;
 			if (edge == RectangleEdge.TOP) {
-				x0 = getCategoryStart(categoryIndex, ticks.size(), dataArea,
+				x0 = getCategoryStart(categoryIndex, categoryCount, dataArea,
 						edge);
-				x1 = getCategoryEnd(categoryIndex, ticks.size(), dataArea,
+				x1 = getCategoryEnd(categoryIndex, categoryCount, dataArea,
 						edge);
 				y1 = state.getCursor() - this.categoryLabelPositionOffset;
 				y0 = y1 - state.getMax();
 			} else if (edge == RectangleEdge.BOTTOM) {
-				x0 = getCategoryStart(categoryIndex, ticks.size(), dataArea,
+				x0 = getCategoryStart(categoryIndex, categoryCount, dataArea,
 						edge);
-				x1 = getCategoryEnd(categoryIndex, ticks.size(), dataArea,
+				x1 = getCategoryEnd(categoryIndex, categoryCount, dataArea,
 						edge);
 				y0 = state.getCursor() + this.categoryLabelPositionOffset;
 				y1 = y0 + state.getMax();
 			} else if (edge == RectangleEdge.LEFT) {
-				y0 = getCategoryStart(categoryIndex, ticks.size(), dataArea,
+				y0 = getCategoryStart(categoryIndex, categoryCount, dataArea,
 						edge);
-				y1 = getCategoryEnd(categoryIndex, ticks.size(), dataArea,
+				y1 = getCategoryEnd(categoryIndex, categoryCount, dataArea,
 						edge);
 				x1 = state.getCursor() - this.categoryLabelPositionOffset;
 				x0 = x1 - state.getMax();
 			} else if (edge == RectangleEdge.RIGHT) {
-				y0 = getCategoryStart(categoryIndex, ticks.size(), dataArea,
+				y0 = getCategoryStart(categoryIndex, categoryCount, dataArea,
 						edge);
-				y1 = getCategoryEnd(categoryIndex, ticks.size(), dataArea,
+				y1 = getCategoryEnd(categoryIndex, categoryCount, dataArea,
 						edge);
 				x0 = state.getCursor() + this.categoryLabelPositionOffset;
 				x1 = x0 - state.getMax();
@@ -1219,8 +1340,24 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 			return ticks;
 		}
 
+		// only the labels for the visible categories are created
 		CategoryPlot plot = (CategoryPlot) getPlot();
-		List<Comparable> categories = plot.getCategoriesForAxis(this);
+		int categoryCount = plot.getCategoryCountForAxis(this);
+		List<Comparable> categories = plot.getCategoriesForAxis(this,
+				getVisibleCategoryStart(categoryCount),
+				getVisibleCategoryEnd(categoryCount));
+
+		// the label layout only depends on the categories, the area and the
+		// axis settings, so reuse it until one of those changes...
+		TickLayout layout = this.tickLayout;
+		if (layout != null && layout.changeCount == getChangeCount()
+				&& layout.edge == edge
+				&& layout.width == dataArea.getWidth()
+				&& layout.height == dataArea.getHeight()
+				&& ObjectUtils.equal(layout.categories, categories)) {
+			state.setMax(layout.max);
+			return layout.ticks;
+		}
 		double max = 0.0;
 
 		if (categories != null) {
@@ -1232,7 +1369,7 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 
 			float l;
 			if (position.getWidthType() == CategoryLabelWidthType.CATEGORY) {
-				l = (float) calculateCategorySize(categories.size(), dataArea,
+				l = (float) calculateCategorySize(categoryCount, dataArea,
 						edge);
 			}
 			else {
@@ -1262,7 +1399,16 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 			}
 		}
 		state.setMax(max);
-		return ticks;
+		layout = new TickLayout();
+		layout.changeCount = getChangeCount();
+		layout.edge = edge;
+		layout.width = dataArea.getWidth();
+		layout.height = dataArea.getHeight();
+		layout.categories = categories;
+		layout.max = max;
+		layout.ticks = Collections.unmodifiableList(ticks);
+		this.tickLayout = layout;
+		return layout.ticks;
 
 	}
 
@@ -1294,7 +1440,9 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 		double il = getTickMarkInsideLength();
 		double ol = getTickMarkOutsideLength();
 		Line2D line = emptyLine();
-		List<Comparable> categories = plot.getCategoriesForAxis(this);
+		int categoryCount = plot.getCategoryCountForAxis(this);
+		int start = getVisibleCategoryStart(categoryCount);
+		int end = getVisibleCategoryEnd(categoryCount);
 		g2.setStroke(getTickMarkPaint());
 		setStrokeProperties(g2, getTickMarkStroke());
 		// JAVAFX rendering hints
@@ -1303,8 +1451,8 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 		// g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL,
 		// RenderingHints.VALUE_STROKE_NORMALIZE);
 		if (edge.equals(RectangleEdge.TOP)) {
-			for (Comparable key : categories) {
-				double x = getCategoryMiddle(key, categories, dataArea, edge);
+			for (int c = start; c < end; c++) {
+				double x = getCategoryMiddle(c, categoryCount, dataArea, edge);
 				line = newLine(x, cursor, x, cursor + il);
 				strokeLine(g2, line);
 				line = newLine(x, cursor, x, cursor - ol);
@@ -1313,8 +1461,8 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 			state.cursorUp(ol);
 		}
 		else if (edge.equals(RectangleEdge.BOTTOM)) {
-			for (Comparable key : categories) {
-				double x = getCategoryMiddle(key, categories, dataArea, edge);
+			for (int c = start; c < end; c++) {
+				double x = getCategoryMiddle(c, categoryCount, dataArea, edge);
 				line = newLine(x, cursor, x, cursor - il);
 				strokeLine(g2, line);
 				line = newLine(x, cursor, x, cursor + ol);
@@ -1323,8 +1471,8 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 			state.cursorDown(ol);
 		}
 		else if (edge.equals(RectangleEdge.LEFT)) {
-			for (Comparable key : categories) {
-				double y = getCategoryMiddle(key, categories, dataArea, edge);
+			for (int c = start; c < end; c++) {
+				double y = getCategoryMiddle(c, categoryCount, dataArea, edge);
 				line = newLine(cursor, y, cursor + il, y);
 				strokeLine(g2, line);
 				line = newLine(cursor, y, cursor - ol, y);
@@ -1333,8 +1481,8 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 			state.cursorLeft(ol);
 		}
 		else if (edge.equals(RectangleEdge.RIGHT)) {
-			for (Comparable key : categories) {
-				double y = getCategoryMiddle(key, categories, dataArea, edge);
+			for (int c = start; c < end; c++) {
+				double y = getCategoryMiddle(c, categoryCount, dataArea, edge);
 				line = newLine(cursor, y, cursor - il, y);
 				strokeLine(g2, line);
 				line = newLine(cursor, y, cursor + ol, y);
@@ -1429,6 +1577,7 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 	@Override
 	public Object clone() throws CloneNotSupportedException {
 		CategoryAxis clone = (CategoryAxis) super.clone();
+		clone.tickLayout = null;
 		clone.tickLabelFontMap = new HashMap<Comparable,
 				Font>(this.tickLabelFontMap);
 		clone.tickLabelPaintMap = new HashMap<Comparable,
@@ -1469,6 +1618,12 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 		if (that.categoryMargin != this.categoryMargin) {
 			return false;
 		}
+		if (that.firstVisibleCategory != this.firstVisibleCategory) {
+			return false;
+		}
+		if (that.visibleCategoryCount != this.visibleCategoryCount) {
+			return false;
+		}
 		if (that.maximumCategoryLabelWidthRatio
 				!= this.maximumCategoryLabelWidthRatio) {
 			return false;
@@ -1626,4 +1781,33 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 		return true;
 	}
 
+	/**
+	 * The ticks calculated by {@link CategoryAxis#refreshTicks}, along with
+	 * the inputs they were calculated from.
+	 */
+	private static final class TickLayout {
+
+		/** The axis change count. */
+		int changeCount;
+
+		/** The axis location. */
+		RectangleEdge edge;
+
+		/** The width of the area the ticks were calculated for. */
+		double width;
+
+		/** The height of the area the ticks were calculated for. */
+		double height;
+
+		/** The categories ({@code null} permitted). */
+		List<Comparable> categories;
+
+		/** The maximum label width or height. */
+		double max;
+
+		/** The ticks (unmodifiable). */
+		List<CategoryTick> ticks;
+
+	}
+
 }
@@ -104,6 +104,7 @@ package org.jfree.chart.axis;
 import java.io.Serializable;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 // 
@@ -115,13 +116,12 @@ import org.jfree.chart.event.AxisChangeEvent;
 import org.jfree.chart.plot.Plot;
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.ValueAxisPlot;
+import org.jfree.chart.text.TextMeasureCache;
 import org.jfree.chart.text.TextUtilities;
 import org.jfree.chart.util.ParamChecks;
 import org.jfree.data.Range;
 import org.jfree.data.RangeType;
 
-import com.sun.javafx.tk.FontMetrics;
-
 import javafx.geometry.Rectangle2D;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.text.Font;
@@ -184,6 +184,13 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
 	/** An optional band for marking regions on the axis. */
 	private MarkerAxisBand markerBand;
 
+	/**
+	 * The two most recently calculated tick layouts, most recent first.  Two
+	 * entries are kept because space is reserved against the plot area and
+	 * the ticks are drawn against the (smaller) data area.
+	 */
+	private transient TickLayout[] tickLayouts;
+
 	/**
 	 * Default constructor.
 	 */
@@ -795,7 +802,8 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
 			result += TextUtilities.getFontMetrics(getTickLabelFont()).getLineHeight();
 		} else {
 			// look at lower and upper bounds...
-			FontMetrics fm = TextUtilities.getFontMetrics(getTickLabelFont());
+			TextMeasureCache cache = TextUtilities.getTextMeasureCache();
+			Font font = getTickLabelFont();
 			Range range = getRange();
 			double lower = range.getLowerBound();
 			double upper = range.getUpperBound();
@@ -809,8 +817,8 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
 				lowerStr = unit.valueToString(lower);
 				upperStr = unit.valueToString(upper);
 			}
-			double w1 = fm.computeStringWidth(lowerStr);
-			double w2 = fm.computeStringWidth(upperStr);
+			double w1 = cache.getStringWidth(lowerStr, font);
+			double w2 = cache.getStringWidth(upperStr, font);
 			result += Math.max(w1, w2);
 		}
 		return result;
@@ -936,6 +944,21 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
 	@Override
 	public List<ValueTick> refreshTicks(GraphicsContext g2, AxisState state,
 			Rectangle2D dataArea, RectangleEdge edge) {
+		double length = RectangleEdge.isTopOrBottom(edge)
+				? dataArea.getWidth() : dataArea.getHeight();
+		TickLayout layout = findTickLayout(edge, length);
+		if (layout != null) {
+			if (this.tickUnit != layout.tickUnitOut) {
+				setTickUnit(layout.tickUnitOut, false, false);
+			}
+			return layout.ticks;
+		}
+		layout = new TickLayout();
+		layout.changeCount = getChangeCount();
+		layout.range = getRange();
+		layout.tickUnitIn = this.tickUnit;
+		layout.edge = edge;
+		layout.length = length;
 		List<ValueTick> result = new java.util.ArrayList<ValueTick>();
 		if (RectangleEdge.isTopOrBottom(edge)) {
 			result = refreshTicksHorizontal(g2, dataArea, edge);
@@ -943,7 +966,48 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
 		else if (RectangleEdge.isLeftOrRight(edge)) {
 			result = refreshTicksVertical(g2, dataArea, edge);
 		}
-		return result;
+		layout.tickUnitOut = this.tickUnit;
+		layout.ticks = Collections.unmodifiableList(result);
+		if (this.tickLayouts == null) {
+			this.tickLayouts = new TickLayout[2];
+		}
+		this.tickLayouts[1] = this.tickLayouts[0];
+		this.tickLayouts[0] = layout;
+		return layout.ticks;
+	}
+
+	/**
+	 * Returns a previously calculated tick layout that is still valid for
+	 * the current axis settings, or {@code null}.  The tick unit is part of
+	 * the key because automatic tick unit selection starts from it.
+	 *
+	 * @param edge
+	 *            the axis location.
+	 * @param length
+	 *            the length of the data area along the axis.
+	 *
+	 * @return The tick layout (possibly {@code null}).
+	 */
+	private TickLayout findTickLayout(RectangleEdge edge, double length) {
+		if (this.tickLayouts == null) {
+			return null;
+		}
+		int changeCount = getChangeCount();
+		Range range = getRange();
+		for (int i = 0; i < this.tickLayouts.length; i++) {
+			TickLayout layout = this.tickLayouts[i];
+			if (layout != null && layout.changeCount == changeCount
+					&& layout.edge == edge && layout.length == length
+					&& layout.tickUnitIn == this.tickUnit
+					&& layout.range.equals(range)) {
+				if (i > 0) {
+					this.tickLayouts[i] = this.tickLayouts[0];
+					this.tickLayouts[0] = layout;
+				}
+				return layout;
+			}
+		}
+		return null;
 	}
 
 	/**
@@ -1141,6 +1205,7 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
 	@Override
 	public Object clone() throws CloneNotSupportedException {
 		NumberAxis clone = (NumberAxis) super.clone();
+		clone.tickLayouts = null;
 		if (this.numberFormatOverride != null) {
 			clone.numberFormatOverride = (NumberFormat) this.numberFormatOverride.clone();
 		}
@@ -1193,4 +1258,33 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
 		return super.hashCode();
 	}
 
+	/**
+	 * The ticks calculated by {@link NumberAxis#refreshTicks}, along with the
+	 * inputs they were calculated from.
+	 */
+	private static final class TickLayout {
+
+		/** The axis change count. */
+		int changeCount;
+
+		/** The axis range. */
+		Range range;
+
+		/** The tick unit before automatic tick unit selection. */
+		NumberTickUnit tickUnitIn;
+
+		/** The tick unit after automatic tick unit selection. */
+		NumberTickUnit tickUnitOut;
+
+		/** The axis location. */
+		RectangleEdge edge;
+
+		/** The length of the data area along the axis. */
+		double length;
+
+		/** The ticks (unmodifiable). */
+		List<ValueTick> ticks;
+
+	}
+
 }
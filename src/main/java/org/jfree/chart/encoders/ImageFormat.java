@@ -1,58 +1,58 @@
-// /* ===========================================================
-//  * JFreeChart : a free chart library for the Java(tm) platform
-//  * ===========================================================
-//  *
-//  * (C) Copyright 2000-2011, by Object Refinery Limited and Contributors.
-//  *
-//  * Project Info:  http://www.jfree.org/jfreechart/index.html
-//  *
-//  * This library is free software; you can redistribute it and/or modify it
-//  * under the terms of the GNU Lesser General Public License as published by
-//  * the Free Software Foundation; either version 2.1 of the License, or
-//  * (at your option) any later version.
-//  *
-//  * This library is distributed in the hope that it will be useful, but
-//  * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
-//  * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
-//  * License for more details.
-//  *
-//  * You should have received a copy of the GNU Lesser General Public
-//  * License along with this library; if not, write to the Free Software
-//  * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
-//  * USA.
-//  *
-//  * [Oracle and Java are registered trademarks of Oracle and/or its affiliates. 
-//  * Other names may be trademarks of their respective owners.]
-//  *
-//  * ----------------
-//  * ImageFormat.java
-//  * ----------------
-//  * (C) Copyright 2004-2008, by Richard Atkinson and Contributors.
-//  *
-//  * Original Author:  Richard Atkinson;
-//  * Contributor(s):   -;
-//  *
-//  * Changes
-//  * -------
-//  * 01-Aug-2004 : Initial version (RA);
-//  * 02-Feb-2007 : Removed author tags all over JFreeChart sources (DG);
-//  *
-//  */
-// 
-// package org.jfree.chart.encoders;
-// 
-// /**
-//  * Interface used for referencing different image formats.
-//  */
-// public interface ImageFormat {
-// 
-//     /** Portable Network Graphics - lossless */
-//     public static String PNG = "png";
-// 
-//     /** Joint Photographic Experts Group format - lossy */
-//     public static String JPEG = "jpeg";
-// 
-//     /** Graphics Interchange Format - lossless, but 256 colour restriction */
-//     public static String GIF = "gif";
-// 
-// }
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2011, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------
+ * ImageFormat.java
+ * ----------------
+ * (C) Copyright 2004-2008, by Richard Atkinson and Contributors.
+ *
+ * Original Author:  Richard Atkinson;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 01-Aug-2004 : Initial version (RA);
+ * 02-Feb-2007 : Removed author tags all over JFreeChart sources (DG);
+ *
+ */
+
+package org.jfree.chart.encoders;
+
+/**
+ * Interface used for referencing different image formats.
+ */
+public interface ImageFormat {
+
+	/** Portable Network Graphics - lossless */
+	public static String PNG = "png";
+
+	/** Joint Photographic Experts Group format - lossy */
+	public static String JPEG = "jpeg";
+
+	/** Graphics Interchange Format - lossless, but 256 colour restriction */
+	public static String GIF = "gif";
+
+}
@@ -55,6 +55,8 @@ package org.jfree.chart.entity;
 
 import java.io.Serializable;
 
+import org.jfree.chart.labels.CategoryToolTipGenerator;
+import org.jfree.chart.urls.CategoryURLGenerator;
 import org.jfree.chart.util.ObjectUtils;
 import org.jfree.data.category.CategoryDataset;
 import org.jfree.data.extension.DatasetCursor;
@@ -89,6 +91,24 @@ public class CategoryItemEntity extends DataItemEntity
 	 */
 	private Comparable columnKey;
 
+	/**
+	 * The generator for the tool tip text, or <code>null</code> if the text
+	 * has already been generated (or was supplied directly).
+	 */
+	private transient CategoryToolTipGenerator toolTipGenerator;
+
+	/**
+	 * The generator for the URL text, or <code>null</code> if the text has
+	 * already been generated (or was supplied directly).
+	 */
+	private transient CategoryURLGenerator urlGenerator;
+
+	/**
+	 * The value of the item when a generator was set (used to check that the
+	 * item is unchanged before the text is generated).
+	 */
+	private transient Number value;
+
 	/**
 	 * Creates a new entity instance for an item in the specified dataset.
 	 *
@@ -151,6 +171,7 @@ public class CategoryItemEntity extends DataItemEntity
 			throw new IllegalArgumentException("Null 'dataset' argument.");
 		}
 		this.dataset = dataset;
+		recaptureItem();
 	}
 
 	/**
@@ -178,6 +199,7 @@ public class CategoryItemEntity extends DataItemEntity
 	 */
 	public void setRowKey(Comparable rowKey) {
 		this.rowKey = rowKey;
+		recaptureItem();
 	}
 
 	/**
@@ -205,6 +227,150 @@ public class CategoryItemEntity extends DataItemEntity
 	 */
 	public void setColumnKey(Comparable columnKey) {
 		this.columnKey = columnKey;
+		recaptureItem();
+	}
+
+	/**
+	 * Records the value of the item, so that {@link #isItemUnchanged()} can
+	 * tell whether the dataset has changed since the entity was created.
+	 */
+	private void captureItem() {
+		int row = this.dataset.getRowIndex(this.rowKey);
+		int column = this.dataset.getColumnIndex(this.columnKey);
+		this.value = row >= 0 && column >= 0
+				? this.dataset.getValue(row, column) : null;
+	}
+
+	/**
+	 * Records the item again if a generator is waiting to be used (called
+	 * when the dataset or a key is changed).
+	 */
+	private void recaptureItem() {
+		if (this.toolTipGenerator != null || this.urlGenerator != null) {
+			captureItem();
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if the dataset still has an item for the row
+	 * and column keys, with the value that was recorded when the generator
+	 * was set.  Otherwise (after the row or column has been removed, or the
+	 * value has been updated, for example) text generated from the item
+	 * would not describe what was drawn.
+	 *
+	 * @return A boolean.
+	 */
+	private boolean isItemUnchanged() {
+		int row = this.dataset.getRowIndex(this.rowKey);
+		int column = this.dataset.getColumnIndex(this.columnKey);
+		return row >= 0 && column >= 0 && ObjectUtils.equal(this.value,
+				this.dataset.getValue(row, column));
+	}
+
+	/**
+	 * Returns the tool tip text for the entity.  If a tool tip generator has
+	 * been set, the text is generated on the first call to this method, so
+	 * that charts with many items only pay for the tool tips that are
+	 * actually displayed.  If the item has changed since the generator was
+	 * set, the text is <code>null</code>.
+	 *
+	 * @return The tool tip text (possibly <code>null</code>).
+	 *
+	 * @see #setToolTipGenerator(CategoryToolTipGenerator)
+	 */
+	@Override
+	public String getToolTipText() {
+		CategoryToolTipGenerator generator = this.toolTipGenerator;
+		if (generator != null) {
+			this.toolTipGenerator = null;
+			super.setToolTipText(isItemUnchanged()
+					? generator.generateToolTip(this.dataset,
+					this.dataset.getRowIndex(this.rowKey),
+					this.dataset.getColumnIndex(this.columnKey)) : null);
+		}
+		return super.getToolTipText();
+	}
+
+	/**
+	 * Sets the tool tip text, replacing any tool tip generator.
+	 *
+	 * @param text
+	 *            the text (<code>null</code> permitted).
+	 */
+	@Override
+	public void setToolTipText(String text) {
+		this.toolTipGenerator = null;
+		super.setToolTipText(text);
+	}
+
+	/**
+	 * Sets a generator that will create the tool tip text for this entity
+	 * the first time it is requested.  The value of the item is recorded
+	 * now, and the text is only generated if the dataset still has the same
+	 * value for the row and column keys when it is requested (otherwise the
+	 * text is <code>null</code>).
+	 *
+	 * @param generator
+	 *            the generator (<code>null</code> permitted).
+	 *
+	 * @since 2.0
+	 */
+	public void setToolTipGenerator(CategoryToolTipGenerator generator) {
+		super.setToolTipText(null);
+		this.toolTipGenerator = generator;
+		if (generator != null) {
+			captureItem();
+		}
+	}
+
+	/**
+	 * Returns the URL text for the entity, generating it on the first call if
+	 * a URL generator has been set.
+	 *
+	 * @return The URL text (possibly <code>null</code>).
+	 *
+	 * @see #setURLGenerator(CategoryURLGenerator)
+	 */
+	@Override
+	public String getURLText() {
+		CategoryURLGenerator generator = this.urlGenerator;
+		if (generator != null) {
+			this.urlGenerator = null;
+			super.setURLText(isItemUnchanged() ? generator.generateURL(
+					this.dataset, this.dataset.getRowIndex(this.rowKey),
+					this.dataset.getColumnIndex(this.columnKey)) : null);
+		}
+		return super.getURLText();
+	}
+
+	/**
+	 * Sets the URL text, replacing any URL generator.
+	 *
+	 * @param text
+	 *            the text (<code>null</code> permitted).
+	 */
+	@Override
+	public void setURLText(String text) {
+		this.urlGenerator = null;
+		super.setURLText(text);
+	}
+
+	/**
+	 * Sets a generator that will create the URL text for this entity the
+	 * first time it is requested (subject to the same check as the tool tip
+	 * generator, see {@link #setToolTipGenerator(CategoryToolTipGenerator)}).
+	 *
+	 * @param generator
+	 *            the generator (<code>null</code> permitted).
+	 *
+	 * @since 2.0
+	 */
+	public void setURLGenerator(CategoryURLGenerator generator) {
+		super.setURLText(null);
+		this.urlGenerator = generator;
+		if (generator != null) {
+			captureItem();
+		}
 	}
 
 	/**
@@ -245,7 +411,13 @@ public class CategoryItemEntity extends DataItemEntity
 		if (!ObjectUtils.equal(this.dataset, that.dataset)) {
 			return false;
 		}
-
+		if (!ObjectUtils.equal(this.toolTipGenerator,
+				that.toolTipGenerator)) {
+			return false;
+		}
+		if (!ObjectUtils.equal(this.urlGenerator, that.urlGenerator)) {
+			return false;
+		}
 		return super.equals(obj);
 	}
 
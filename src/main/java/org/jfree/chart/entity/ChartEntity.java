@@ -337,20 +337,19 @@ public class ChartEntity implements Cloneable, PublicCloneable, Serializable {
 			URLTagFragmentGenerator urlTagFragmentGenerator) {
 
 		StringBuilder tag = new StringBuilder();
-		boolean hasURL = (this.urlText == null ? false
-				: !this.urlText.equals(""));
-		boolean hasToolTip = (this.toolTipText == null ? false
-				: !this.toolTipText.equals(""));
+		String toolTip = getToolTipText();
+		String url = getURLText();
+		boolean hasURL = (url == null ? false : !url.equals(""));
+		boolean hasToolTip = (toolTip == null ? false : !toolTip.equals(""));
 		if (hasURL || hasToolTip) {
 			tag.append("<area shape=\"" + getShapeType() + "\"" + " coords=\""
 					+ getShapeCoords() + "\"");
 			if (hasToolTip) {
 				tag.append(toolTipTagFragmentGenerator.generateToolTipFragment(
-						this.toolTipText));
+						toolTip));
 			}
 			if (hasURL) {
-				tag.append(urlTagFragmentGenerator.generateURLFragment(
-						this.urlText));
+				tag.append(urlTagFragmentGenerator.generateURLFragment(url));
 			}
 			else {
 				tag.append(" nohref=\"nohref\"");
@@ -435,7 +434,10 @@ public class ChartEntity implements Cloneable, PublicCloneable, Serializable {
 	}
 
 	/**
-	 * Provides serialization support.
+	 * Provides serialization support.  The tool tip and URL text are
+	 * obtained through {@link #getToolTipText()} and {@link #getURLText()}
+	 * first, so that subclasses that generate the text on first access (and
+	 * do not serialize their generators) write the generated text.
 	 *
 	 * @param stream
 	 *            the output stream.
@@ -444,8 +446,10 @@ public class ChartEntity implements Cloneable, PublicCloneable, Serializable {
 	 *             if there is an I/O error.
 	 */
 	private void writeObject(ObjectOutputStream stream) throws IOException {
+		getToolTipText();
+		getURLText();
+		stream.defaultWriteObject();
 		// JAVAFX
-		// stream.defaultWriteObject();
 		// SerialUtils.writeShape(this.area, stream);
 	}
 
@@ -462,8 +466,8 @@ public class ChartEntity implements Cloneable, PublicCloneable, Serializable {
 	 */
 	private void readObject(ObjectInputStream stream)
 			throws IOException, ClassNotFoundException {
+		stream.defaultReadObject();
 		// JAVAFX
-		// stream.defaultReadObject();
 		// this.area = SerialUtils.readShape(stream);
 	}
 
@@ -47,8 +47,14 @@
 
 package org.jfree.chart.entity;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+
+import org.jfree.chart.util.ParamChecks;
+
+import javafx.geometry.Rectangle2D;
 
 /**
  * This interface defines the methods used to access an ordered list of
@@ -89,6 +95,33 @@ public interface EntityCollection extends Iterable<ChartEntity> {
 	 */
 	public ChartEntity getEntity(double x, double y);
 
+	/**
+	 * Returns the entities with an area that intersects the specified region,
+	 * in the order they were added to the collection.  The default
+	 * implementation examines every entity in the collection.
+	 *
+	 * @param region
+	 *            the region (<code>null</code> not permitted).
+	 *
+	 * @return A list of entities (possibly empty).
+	 *
+	 * @since 2.0
+	 */
+	public default List<ChartEntity> getEntities(Rectangle2D region) {
+		ParamChecks.nullNotPermitted(region, "region");
+		float x = (float) region.getMinX();
+		float y = (float) region.getMinY();
+		float w = (float) region.getWidth();
+		float h = (float) region.getHeight();
+		List<ChartEntity> result = new ArrayList<ChartEntity>();
+		for (ChartEntity entity : this) {
+			if (entity.getArea().intersects(x, y, w, h)) {
+				result.add(entity);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Returns an entity from the collection.
 	 *
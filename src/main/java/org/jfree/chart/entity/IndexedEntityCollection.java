@@ -0,0 +1,494 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------------
+ * IndexedEntityCollection.java
+ * ----------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.entity;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.jfree.chart.util.ObjectUtils;
+import org.jfree.chart.util.ParamChecks;
+import org.jfree.chart.util.PublicCloneable;
+
+import com.sun.javafx.geom.RectBounds;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * An {@link EntityCollection} that maintains a spatial index over the bounds
+ * of its entities, so that hit-testing with {@link #getEntity(double, double)}
+ * and region queries with {@link #getEntities(Rectangle2D)} only examine the
+ * entities near the query location instead of every entity in the chart.
+ * <P>
+ * The index is a uniform grid of square cells that is built incrementally as
+ * entities are added. Entities that cover many cells (the plot and chart
+ * entities, for example) are kept in a separate list that is always
+ * examined. The results are the same as for a
+ * {@link StandardEntityCollection}: where several entities contain a point,
+ * the one added last (the topmost one) is returned.
+ * <P>
+ * The area of an entity should not be changed after the entity has been
+ * added to the collection.
+ *
+ * @since 2.0
+ */
+public class IndexedEntityCollection implements EntityCollection,
+		Cloneable, PublicCloneable, Serializable {
+
+	/** For serialization. */
+	private static final long serialVersionUID = -3413795360254413390L;
+
+	/** The default cell size (in Java2D units). */
+	public static final double DEFAULT_CELL_SIZE = 32.0;
+
+	/**
+	 * The maximum number of cells an entity can cover before it is kept in
+	 * the list of large entities instead of the grid.
+	 */
+	private static final int MAX_CELLS_PER_ENTITY = 16;
+
+	/** Storage for the entities, in the order they were added. */
+	private List<ChartEntity> entities;
+
+	/** The width and height of each grid cell. */
+	private double cellSize;
+
+	/** The grid cells, keyed by packed (column, row) coordinates. */
+	private transient Map<Long, Cell> cells;
+
+	/** The indices of the entities that are not in the grid. */
+	private transient Cell largeEntities;
+
+	/** The number of entities that have been added to the index. */
+	private transient int indexedCount;
+
+	/**
+	 * Creates a new empty collection with the default cell size.
+	 */
+	public IndexedEntityCollection() {
+		this(DEFAULT_CELL_SIZE);
+	}
+
+	/**
+	 * Creates a new empty collection.
+	 *
+	 * @param cellSize
+	 *            the width and height of the grid cells (must be greater than
+	 *            zero).
+	 */
+	public IndexedEntityCollection(double cellSize) {
+		if (!(cellSize > 0.0)) {
+			throw new IllegalArgumentException("Requires 'cellSize' > 0.");
+		}
+		this.entities = new ArrayList<ChartEntity>();
+		this.cellSize = cellSize;
+		this.cells = new HashMap<Long, Cell>();
+		this.largeEntities = new Cell();
+	}
+
+	/**
+	 * Returns the width and height of the grid cells.
+	 *
+	 * @return The cell size.
+	 */
+	public double getCellSize() {
+		return this.cellSize;
+	}
+
+	/**
+	 * Returns the number of entities in the collection.
+	 *
+	 * @return The entity count.
+	 */
+	@Override
+	public int getEntityCount() {
+		return this.entities.size();
+	}
+
+	/**
+	 * Returns a chart entity from the collection.
+	 *
+	 * @param index
+	 *            the entity index.
+	 *
+	 * @return The entity.
+	 *
+	 * @see #add(ChartEntity)
+	 */
+	@Override
+	public ChartEntity getEntity(int index) {
+		return this.entities.get(index);
+	}
+
+	/**
+	 * Clears all the entities from the collection.
+	 */
+	@Override
+	public void clear() {
+		this.entities.clear();
+		this.cells.clear();
+		this.largeEntities = new Cell();
+		this.indexedCount = 0;
+	}
+
+	/**
+	 * Adds an entity to the collection.
+	 *
+	 * @param entity
+	 *            the entity (<code>null</code> not permitted).
+	 */
+	@Override
+	public void add(ChartEntity entity) {
+		ParamChecks.nullNotPermitted(entity, "entity");
+		this.entities.add(entity);
+	}
+
+	/**
+	 * Adds all the entities from the specified collection.
+	 *
+	 * @param collection
+	 *            the collection of entities (<code>null</code> not permitted).
+	 */
+	@Override
+	public void addAll(EntityCollection collection) {
+		this.entities.addAll(collection.getEntities());
+	}
+
+	/**
+	 * Adds any entities that have been added to the collection since the last
+	 * query to the index.
+	 */
+	private void updateIndex() {
+		int count = this.entities.size();
+		for (int i = this.indexedCount; i < count; i++) {
+			RectBounds b = this.entities.get(i).getArea().getBounds();
+			int minCol = cellIndex(b.getMinX());
+			int maxCol = cellIndex(b.getMaxX());
+			int minRow = cellIndex(b.getMinY());
+			int maxRow = cellIndex(b.getMaxY());
+			long cellCount = ((long) maxCol - minCol + 1)
+					* ((long) maxRow - minRow + 1);
+			if (Float.isNaN(b.getMinX()) || Float.isNaN(b.getMinY())
+					|| cellCount > MAX_CELLS_PER_ENTITY) {
+				this.largeEntities.add(i);
+				continue;
+			}
+			for (int col = minCol; col <= maxCol; col++) {
+				for (int row = minRow; row <= maxRow; row++) {
+					Long key = cellKey(col, row);
+					Cell cell = this.cells.get(key);
+					if (cell == null) {
+						cell = new Cell();
+						this.cells.put(key, cell);
+					}
+					cell.add(i);
+				}
+			}
+		}
+		this.indexedCount = count;
+	}
+
+	/**
+	 * Returns the grid column (or row) index for a coordinate.
+	 *
+	 * @param v
+	 *            the coordinate.
+	 *
+	 * @return The index.
+	 */
+	private int cellIndex(double v) {
+		double index = Math.floor(v / this.cellSize);
+		return (int) Math.max(Integer.MIN_VALUE / 2,
+				Math.min(Integer.MAX_VALUE / 2, index));
+	}
+
+	/**
+	 * Returns the key for a grid cell.
+	 *
+	 * @param col
+	 *            the column index.
+	 * @param row
+	 *            the row index.
+	 *
+	 * @return The key.
+	 */
+	private static Long cellKey(int col, int row) {
+		return Long.valueOf(((long) col << 32) | (row & 0xFFFFFFFFL));
+	}
+
+	/**
+	 * Returns the last entity in the collection with an area that encloses
+	 * the specified coordinates, or <code>null</code> if there is no such
+	 * entity.
+	 *
+	 * @param x
+	 *            the x coordinate.
+	 * @param y
+	 *            the y coordinate.
+	 *
+	 * @return The entity (possibly <code>null</code>).
+	 */
+	@Override
+	public ChartEntity getEntity(double x, double y) {
+		updateIndex();
+		Cell cell = this.cells.get(cellKey(cellIndex(x), cellIndex(y)));
+		Cell large = this.largeEntities;
+		int i = cell != null ? cell.count - 1 : -1;
+		int j = large.count - 1;
+		// visit the candidates from both lists in descending index order
+		while (i >= 0 || j >= 0) {
+			int index;
+			if (j < 0 || (i >= 0 && cell.items[i] > large.items[j])) {
+				index = cell.items[i--];
+			}
+			else {
+				index = large.items[j--];
+			}
+			ChartEntity entity = this.entities.get(index);
+			if (entity.getArea().contains((float) x, (float) y)) {
+				return entity;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the entities with an area that intersects the specified
+	 * region, in the order they were added to the collection.
+	 *
+	 * @param region
+	 *            the region (<code>null</code> not permitted).
+	 *
+	 * @return A list of entities (possibly empty).
+	 */
+	@Override
+	public List<ChartEntity> getEntities(Rectangle2D region) {
+		ParamChecks.nullNotPermitted(region, "region");
+		updateIndex();
+		int minCol = cellIndex(region.getMinX());
+		int maxCol = cellIndex(region.getMaxX());
+		int minRow = cellIndex(region.getMinY());
+		int maxRow = cellIndex(region.getMaxY());
+		Cell candidates = new Cell();
+		candidates.addAll(this.largeEntities);
+		long cellCount = ((long) maxCol - minCol + 1)
+				* ((long) maxRow - minRow + 1);
+		if (cellCount > this.cells.size()) {
+			for (Map.Entry<Long, Cell> entry : this.cells.entrySet()) {
+				long key = entry.getKey();
+				int col = (int) (key >> 32);
+				int row = (int) key;
+				if (col >= minCol && col <= maxCol && row >= minRow
+						&& row <= maxRow) {
+					candidates.addAll(entry.getValue());
+				}
+			}
+		}
+		else {
+			for (int col = minCol; col <= maxCol; col++) {
+				for (int row = minRow; row <= maxRow; row++) {
+					Cell cell = this.cells.get(cellKey(col, row));
+					if (cell != null) {
+						candidates.addAll(cell);
+					}
+				}
+			}
+		}
+		int[] indices = Arrays.copyOf(candidates.items, candidates.count);
+		Arrays.sort(indices);
+		List<ChartEntity> result = new ArrayList<ChartEntity>();
+		float x = (float) region.getMinX();
+		float y = (float) region.getMinY();
+		float w = (float) region.getWidth();
+		float h = (float) region.getHeight();
+		int previous = -1;
+		for (int index : indices) {
+			if (index == previous) {
+				continue;
+			}
+			previous = index;
+			ChartEntity entity = this.entities.get(index);
+			if (entity.getArea().intersects(x, y, w, h)) {
+				result.add(entity);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the entities in an unmodifiable collection.
+	 *
+	 * @return The entities.
+	 */
+	@Override
+	public Collection<ChartEntity> getEntities() {
+		return Collections.unmodifiableCollection(this.entities);
+	}
+
+	/**
+	 * Returns an iterator for the entities in the collection.
+	 *
+	 * @return An iterator.
+	 */
+	@Override
+	public Iterator<ChartEntity> iterator() {
+		return Collections.unmodifiableList(this.entities).iterator();
+	}
+
+	/**
+	 * Tests this object for equality with an arbitrary object.
+	 *
+	 * @param obj
+	 *            the object to test against (<code>null</code> permitted).
+	 *
+	 * @return A boolean.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof IndexedEntityCollection)) {
+			return false;
+		}
+		IndexedEntityCollection that = (IndexedEntityCollection) obj;
+		if (this.cellSize != that.cellSize) {
+			return false;
+		}
+		return ObjectUtils.equal(this.entities, that.entities);
+	}
+
+	/**
+	 * Returns a hash code for this collection.
+	 *
+	 * @return A hash code.
+	 */
+	@Override
+	public int hashCode() {
+		return this.entities.hashCode();
+	}
+
+	/**
+	 * Returns a clone of this entity collection.
+	 *
+	 * @return A clone.
+	 *
+	 * @throws CloneNotSupportedException
+	 *             if the object cannot be cloned.
+	 */
+	@Override
+	public Object clone() throws CloneNotSupportedException {
+		IndexedEntityCollection clone
+				= (IndexedEntityCollection) super.clone();
+		clone.entities = new ArrayList<ChartEntity>(this.entities.size());
+		for (ChartEntity entity : this.entities) {
+			clone.entities.add((ChartEntity) entity.clone());
+		}
+		clone.cells = new HashMap<Long, Cell>();
+		clone.largeEntities = new Cell();
+		clone.indexedCount = 0;
+		return clone;
+	}
+
+	/**
+	 * Provides serialization support.
+	 *
+	 * @param stream
+	 *            the input stream.
+	 *
+	 * @throws IOException
+	 *             if there is an I/O error.
+	 * @throws ClassNotFoundException
+	 *             if there is a classpath problem.
+	 */
+	private void readObject(ObjectInputStream stream)
+			throws IOException, ClassNotFoundException {
+		stream.defaultReadObject();
+		this.cells = new HashMap<Long, Cell>();
+		this.largeEntities = new Cell();
+		this.indexedCount = 0;
+	}
+
+	/**
+	 * A list of entity indices, in ascending order.
+	 */
+	private static final class Cell {
+
+		/** The entity indices. */
+		int[] items = new int[4];
+
+		/** The number of indices. */
+		int count;
+
+		/**
+		 * Adds an index to the list.
+		 *
+		 * @param index
+		 *            the entity index.
+		 */
+		void add(int index) {
+			if (this.count == this.items.length) {
+				this.items = Arrays.copyOf(this.items, this.count * 2);
+			}
+			this.items[this.count++] = index;
+		}
+
+		/**
+		 * Adds all the indices from another list.
+		 *
+		 * @param other
+		 *            the other list.
+		 */
+		void addAll(Cell other) {
+			int required = this.count + other.count;
+			if (required > this.items.length) {
+				this.items = Arrays.copyOf(this.items,
+						Math.max(required, this.items.length * 2));
+			}
+			System.arraycopy(other.items, 0, this.items, this.count,
+					other.count);
+			this.count = required;
+		}
+
+	}
+
+}
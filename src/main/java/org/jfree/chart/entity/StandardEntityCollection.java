@@ -60,7 +60,9 @@ import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.PublicCloneable;
 
 /**
- * A standard implementation of the {@link EntityCollection} interface.
+ * A standard implementation of the {@link EntityCollection} interface. The
+ * queries in this class examine every entity in the collection; for charts
+ * with many entities, an {@link IndexedEntityCollection} is faster.
  */
 public class StandardEntityCollection implements EntityCollection,
 		Cloneable, PublicCloneable, Serializable {
@@ -52,6 +52,9 @@ package org.jfree.chart.entity;
 
 // import java.awt.Shape;
 
+import org.jfree.chart.labels.XYToolTipGenerator;
+import org.jfree.chart.urls.XYURLGenerator;
+import org.jfree.chart.util.ObjectUtils;
 import org.jfree.data.extension.DatasetCursor;
 import org.jfree.data.extension.impl.XYCursor;
 import org.jfree.data.general.Dataset;
@@ -77,6 +80,30 @@ public class XYItemEntity extends DataItemEntity {
 	/** The item. */
 	private int item;
 
+	/**
+	 * The generator for the tool tip text, or <code>null</code> if the text
+	 * has already been generated (or was supplied directly).
+	 */
+	private transient XYToolTipGenerator toolTipGenerator;
+
+	/**
+	 * The generator for the URL text, or <code>null</code> if the text has
+	 * already been generated (or was supplied directly).
+	 */
+	private transient XYURLGenerator urlGenerator;
+
+	/**
+	 * The series key of the item when a generator was set (used to check
+	 * that the item is unchanged before the text is generated).
+	 */
+	private transient Comparable seriesKey;
+
+	/** The x-value of the item when a generator was set. */
+	private transient double xValue;
+
+	/** The y-value of the item when a generator was set. */
+	private transient double yValue;
+
 	/**
 	 * Creates a new entity.
 	 *
@@ -125,6 +152,7 @@ public class XYItemEntity extends DataItemEntity {
 	 */
 	public void setDataset(XYDataset dataset) {
 		this.dataset = dataset;
+		recaptureItem();
 	}
 
 	/**
@@ -144,6 +172,7 @@ public class XYItemEntity extends DataItemEntity {
 	 */
 	public void setSeriesIndex(int series) {
 		this.series = series;
+		recaptureItem();
 	}
 
 	/**
@@ -163,6 +192,161 @@ public class XYItemEntity extends DataItemEntity {
 	 */
 	public void setItem(int item) {
 		this.item = item;
+		recaptureItem();
+	}
+
+	/**
+	 * Records the series key, x-value and y-value of the item, so that
+	 * {@link #isItemUnchanged()} can tell whether the dataset has changed
+	 * since the entity was created.
+	 */
+	private void captureItem() {
+		XYDataset d = this.dataset;
+		if (d == null || this.series >= d.getSeriesCount()
+				|| this.item >= d.getItemCount(this.series)) {
+			this.seriesKey = null;
+			return;
+		}
+		this.seriesKey = d.getSeriesKey(this.series);
+		this.xValue = d.getXValue(this.series, this.item);
+		this.yValue = d.getYValue(this.series, this.item);
+	}
+
+	/**
+	 * Records the item again if a generator is waiting to be used (called
+	 * when the dataset, series or item is changed).
+	 */
+	private void recaptureItem() {
+		if (this.toolTipGenerator != null || this.urlGenerator != null) {
+			captureItem();
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if the dataset still has the item that was
+	 * recorded when the generator was set, at the same index.  Otherwise the
+	 * index now refers to a different item (after an item has been removed,
+	 * or inserted in front of it, for example) and text generated from it
+	 * would be wrong.
+	 *
+	 * @return A boolean.
+	 */
+	private boolean isItemUnchanged() {
+		XYDataset d = this.dataset;
+		if (this.seriesKey == null || d == null
+				|| this.series >= d.getSeriesCount()
+				|| this.item >= d.getItemCount(this.series)) {
+			return false;
+		}
+		return this.seriesKey.equals(d.getSeriesKey(this.series))
+				&& Double.compare(this.xValue, d.getXValue(this.series,
+						this.item)) == 0
+				&& Double.compare(this.yValue, d.getYValue(this.series,
+						this.item)) == 0;
+	}
+
+	/**
+	 * Returns the tool tip text for the entity.  If a tool tip generator has
+	 * been set, the text is generated on the first call to this method, so
+	 * that charts with many items only pay for the tool tips that are
+	 * actually displayed.  If the item has changed since the generator was
+	 * set, the text is <code>null</code>.
+	 *
+	 * @return The tool tip text (possibly <code>null</code>).
+	 *
+	 * @see #setToolTipGenerator(XYToolTipGenerator)
+	 */
+	@Override
+	public String getToolTipText() {
+		XYToolTipGenerator generator = this.toolTipGenerator;
+		if (generator != null) {
+			this.toolTipGenerator = null;
+			super.setToolTipText(isItemUnchanged()
+					? generator.generateToolTip(this.dataset, this.series,
+					this.item) : null);
+		}
+		return super.getToolTipText();
+	}
+
+	/**
+	 * Sets the tool tip text, replacing any tool tip generator.
+	 *
+	 * @param text
+	 *            the text (<code>null</code> permitted).
+	 */
+	@Override
+	public void setToolTipText(String text) {
+		this.toolTipGenerator = null;
+		super.setToolTipText(text);
+	}
+
+	/**
+	 * Sets a generator that will create the tool tip text for this entity
+	 * the first time it is requested.  The series key, x-value and y-value
+	 * of the item are recorded now, and the text is only generated if the
+	 * dataset still has the same values at the same index when it is
+	 * requested (otherwise the text is <code>null</code>).
+	 *
+	 * @param generator
+	 *            the generator (<code>null</code> permitted).
+	 *
+	 * @since 2.0
+	 */
+	public void setToolTipGenerator(XYToolTipGenerator generator) {
+		super.setToolTipText(null);
+		this.toolTipGenerator = generator;
+		if (generator != null) {
+			captureItem();
+		}
+	}
+
+	/**
+	 * Returns the URL text for the entity, generating it on the first call if
+	 * a URL generator has been set.
+	 *
+	 * @return The URL text (possibly <code>null</code>).
+	 *
+	 * @see #setURLGenerator(XYURLGenerator)
+	 */
+	@Override
+	public String getURLText() {
+		XYURLGenerator generator = this.urlGenerator;
+		if (generator != null) {
+			this.urlGenerator = null;
+			super.setURLText(isItemUnchanged() ? generator.generateURL(
+					this.dataset, this.series, this.item) : null);
+		}
+		return super.getURLText();
+	}
+
+	/**
+	 * Sets the URL text, replacing any URL generator.
+	 *
+	 * @param text
+	 *            the text (<code>null</code> permitted).
+	 */
+	@Override
+	public void setURLText(String text) {
+		this.urlGenerator = null;
+		super.setURLText(text);
+	}
+
+	/**
+	 * Sets a generator that will create the URL text for this entity the
+	 * first time it is requested (subject to the same check as the tool tip
+	 * generator, see {@link #setToolTipGenerator(XYToolTipGenerator)}).
+	 *
+	 * @param generator
+	 *            the generator (<code>null</code> permitted).
+	 *
+	 * @since 2.0
+	 */
+	public void setURLGenerator(XYURLGenerator generator) {
+		super.setURLText(null);
+		this.urlGenerator = generator;
+		if (generator != null) {
+			captureItem();
+		}
 	}
 
 	/**
@@ -186,6 +370,13 @@ public class XYItemEntity extends DataItemEntity {
 			if (this.item != ie.item) {
 				return false;
 			}
+			if (!ObjectUtils.equal(this.toolTipGenerator,
+					ie.toolTipGenerator)) {
+				return false;
+			}
+			if (!ObjectUtils.equal(this.urlGenerator, ie.urlGenerator)) {
+				return false;
+			}
 			return true;
 		}
 		return false;
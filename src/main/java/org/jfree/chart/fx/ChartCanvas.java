@@ -41,8 +41,15 @@
 
 package org.jfree.chart.fx;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Point2D;
@@ -50,12 +57,15 @@ import javafx.geometry.Rectangle2D;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Tooltip;
+import javafx.scene.image.Image;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.input.ScrollEvent;
 import javafx.scene.text.FontSmoothingType;
+import javafx.stage.Window;
 import org.jfree.chart.ChartRenderingInfo;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.entity.ChartEntity;
+import org.jfree.chart.entity.IndexedEntityCollection;
 import org.jfree.chart.event.ChartChangeEvent;
 import org.jfree.chart.event.ChartChangeListener;
 import org.jfree.chart.event.OverlayChangeEvent;
@@ -87,6 +97,20 @@ import org.jfree.chart.util.ParamChecks;
  * systems we've tested on. You can modify this using
  * {@code getGraphicsContext().setFontSmoothingType(yourValue)}.
  * </p>
+ * <p>
+ * Change events from the chart and its overlays do not repaint the canvas
+ * straight away. Instead the canvas is marked as dirty and repainted once on
+ * the next JavaFX pulse, so a burst of dataset updates costs a single render.
+ * The rate of repainting can be capped with {@link #setMaxFrameRate(double)},
+ * and the previous behaviour (a full repaint for every event) can be restored
+ * with {@link #setImmediateRedraw(boolean)}.
+ * </p>
+ * <p>
+ * For charts that are expensive to draw, {@link #setOffscreenRendering(
+ * boolean)} moves the drawing of the chart to a worker thread (see
+ * {@link OffscreenChartRenderer}), so that the JavaFX application thread
+ * only has to paint the finished image.
+ * </p>
  * 
  * <p>
  * THE API FOR THIS CLASS IS SUBJECT TO CHANGE IN FUTURE RELEASES. This is so
@@ -154,6 +178,68 @@ public class ChartCanvas extends Canvas implements ChartChangeListener
 	 */
 	private boolean rangeZoomable;
 
+	/**
+	 * A flag that controls whether change events repaint the canvas
+	 * immediately (instead of on the next pulse).
+	 */
+	private boolean immediateRedraw;
+
+	/** The maximum frame rate (zero or less for no limit). */
+	private double maxFrameRate;
+
+	/** The timer that performs pending redraws (created on demand). */
+	private AnimationTimer redrawTimer;
+
+	/** A flag indicating that a redraw has been requested. */
+	private boolean redrawPending;
+
+	/**
+	 * A flag indicating that a redraw request from another thread has been
+	 * passed to the JavaFX application thread and has not run yet. Requests
+	 * arriving in the meantime are merged into it, so at most one runnable
+	 * is queued however fast the requests arrive.
+	 */
+	private final AtomicBoolean redrawPosted;
+
+	/** The number of redraw requests passed from other threads. */
+	private final AtomicLong postedRedrawCount;
+
+	/** The pulse time (in nanoseconds) of the last scheduled redraw. */
+	private long lastFrameTime;
+
+	/** The number of times the chart has been drawn. */
+	private long redrawCount;
+
+	/**
+	 * The number of redraw requests merged into an already pending redraw
+	 * (updated from other threads too).
+	 */
+	private final AtomicLong mergedRedrawCount;
+
+	/** The number of pulses skipped because of the frame rate limit. */
+	private long droppedFrameCount;
+
+	/**
+	 * The renderer used to draw the chart away from the JavaFX application
+	 * thread ({@code null} if the chart is drawn directly).
+	 */
+	private OffscreenChartRenderer offscreenRenderer;
+
+	/** The most recent frame from the offscreen renderer (can be null). */
+	private OffscreenChartRenderer.Frame lastFrame;
+
+	/**
+	 * The mouse and scroll events that arrived while another thread held
+	 * the chart's lock, waiting to be passed to the handlers (in order).
+	 */
+	private final Queue<Runnable> deferredEvents;
+
+	/**
+	 * The timer that retries the deferred events on each pulse until the
+	 * chart's lock is free (created on demand).
+	 */
+	private AnimationTimer deferredEventTimer;
+
 	/**
 	 * Creates a new canvas to display the supplied chart in JavaFX. If
 	 * {@code chart} is null, a blank canvas will be displayed.
@@ -169,9 +255,13 @@ public class ChartCanvas extends Canvas implements ChartChangeListener
 		this.tooltip = null;
 		this.tooltipEnabled = true;
 		this.chartMouseListeners = new ArrayList<ChartMouseListenerFX>();
+		this.redrawPosted = new AtomicBoolean();
+		this.postedRedrawCount = new AtomicLong();
+		this.mergedRedrawCount = new AtomicLong();
+		this.deferredEvents = new ArrayDeque<Runnable>();
 
-		widthProperty().addListener(e -> draw());
-		heightProperty().addListener(e -> draw());
+		widthProperty().addListener(e -> redraw());
+		heightProperty().addListener(e -> redraw());
 		// change the default font smoothing for better results
 		GraphicsContext gc = getGraphicsContext2D();
 		gc.setFontSmoothingType(FontSmoothingType.LCD);
@@ -188,12 +278,66 @@ public class ChartCanvas extends Canvas implements ChartChangeListener
 		this.auxiliaryMouseHandlers.add(new DispatchHandlerFX("dispatch"));
 		this.overlays = FXCollections.observableArrayList();
 
-		setOnMouseMoved(e -> handleMouseMoved(e));
-		setOnMouseClicked(e -> handleMouseClicked(e));
-		setOnMousePressed(e -> handleMousePressed(e));
-		setOnMouseDragged(e -> handleMouseDragged(e));
-		setOnMouseReleased(e -> handleMouseReleased(e));
-		setOnScroll(e -> handleScroll(e));
+		setOnMouseMoved(e -> runLocked(() -> handleMouseMoved(e)));
+		setOnMouseClicked(e -> runLocked(() -> handleMouseClicked(e)));
+		setOnMousePressed(e -> runLocked(() -> handleMousePressed(e)));
+		setOnMouseDragged(e -> runLocked(() -> handleMouseDragged(e)));
+		setOnMouseReleased(e -> runLocked(() -> handleMouseReleased(e)));
+		setOnScroll(e -> runLocked(() -> handleScroll(e)));
+	}
+
+	/**
+	 * Runs a task (the handling of a mouse or scroll event) while holding
+	 * the lock of the chart, so that the changes the mouse handlers make (to
+	 * the axis ranges, for example) are never seen half applied by a frame
+	 * that the offscreen renderer is drawing.  The JavaFX application thread
+	 * never waits for the lock: if another thread holds it, the task is
+	 * deferred and run (after any tasks deferred earlier) on the first pulse
+	 * at which the lock is free.
+	 *
+	 * @param task
+	 *            the task.
+	 */
+	private void runLocked(Runnable task) {
+		this.deferredEvents.add(task);
+		runDeferredEvents();
+	}
+
+	/**
+	 * Runs the deferred mouse and scroll events if the chart's lock is free,
+	 * and otherwise makes sure that they are retried on the next pulse.
+	 */
+	private void runDeferredEvents() {
+		if (this.deferredEvents.isEmpty()) {
+			return;
+		}
+		Lock lock = this.chart != null ? this.chart.getLock() : null;
+		if (lock != null && !lock.tryLock()) {
+			if (this.deferredEventTimer == null) {
+				this.deferredEventTimer = new AnimationTimer() {
+					@Override
+					public void handle(long now) {
+						runDeferredEvents();
+					}
+				};
+			}
+			this.deferredEventTimer.start();
+			return;
+		}
+		try {
+			Runnable task;
+			while ((task = this.deferredEvents.poll()) != null) {
+				task.run();
+			}
+		}
+		finally {
+			if (lock != null) {
+				lock.unlock();
+			}
+			if (this.deferredEventTimer != null) {
+				this.deferredEventTimer.stop();
+			}
+		}
 	}
 
 	/**
@@ -219,7 +363,7 @@ public class ChartCanvas extends Canvas implements ChartChangeListener
 		if (this.chart != null) {
 			this.chart.addChangeListener(this);
 		}
-		draw();
+		requestRedraw();
 	}
 
 	/**
@@ -329,7 +473,7 @@ public class ChartCanvas extends Canvas implements ChartChangeListener
 		ParamChecks.nullNotPermitted(overlay, "overlay");
 		this.overlays.add(overlay);
 		overlay.addChangeListener(this);
-		draw();
+		requestRedraw();
 	}
 
 	/**
@@ -345,7 +489,7 @@ public class ChartCanvas extends Canvas implements ChartChangeListener
 		boolean removed = this.overlays.remove(overlay);
 		if (removed) {
 			overlay.removeChangeListener(this);
-			draw();
+			requestRedraw();
 		}
 	}
 
@@ -359,7 +503,12 @@ public class ChartCanvas extends Canvas implements ChartChangeListener
 	 */
 	@Override
 	public void overlayChanged(OverlayChangeEvent event) {
-		draw();
+		if (this.lastFrame != null) {
+			// the chart itself is unchanged, so just repaint the overlays
+			paintFrame(this.lastFrame);
+			return;
+		}
+		requestRedraw();
 	}
 
 	/**
@@ -469,19 +618,51 @@ public class ChartCanvas extends Canvas implements ChartChangeListener
 
 	/**
 	 * Draws the content of the canvas and updates the {@code renderingInfo}
-	 * attribute with the latest rendering information.
+	 * attribute with the latest rendering information.  If another thread
+	 * holds the chart's lock (see {@link JFreeChart#getLock()}), the canvas
+	 * is not drawn and a redraw is scheduled for a later pulse instead, so
+	 * the JavaFX application thread never waits for the lock.
 	 */
 	public final void draw() {
+		if (this.offscreenRenderer != null) {
+			this.offscreenRenderer.cancel();
+			this.lastFrame = null;
+		}
+		// a cancelled offscreen frame may still be drawing, or a batch of
+		// updates may be open on another thread
+		Lock lock = this.chart != null ? this.chart.getLock() : null;
+		if (lock != null && !lock.tryLock()) {
+			this.redrawPending = false;
+			scheduleRedraw();
+			return;
+		}
+		try {
+			drawLocked();
+		}
+		finally {
+			if (lock != null) {
+				lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Draws the content of the canvas (holding the chart's lock, if there is
+	 * a chart).
+	 */
+	private void drawLocked() {
+		this.redrawPending = false;
+		this.redrawCount++;
 		GraphicsContext ctx = getGraphicsContext2D();
 		ctx.save();
 		double width = getWidth();
 		double height = getHeight();
 		if (width > 0 && height > 0) {
 			ctx.clearRect(0, 0, width, height);
-			this.info = new ChartRenderingInfo();
+			this.info = new ChartRenderingInfo(new IndexedEntityCollection());
 			if (this.chart != null) {
-				this.chart.draw(getGraphicsContext2D(), new Rectangle2D(0, 0, width,
-						height), this.anchor, this.info);
+				this.chart.draw(getGraphicsContext2D(), new Rectangle2D(0, 0,
+						width, height), this.anchor, this.info);
 			}
 			for (OverlayFX overlay : this.overlays) {
 				overlay.paintOverlay(ctx, this);
@@ -491,6 +672,338 @@ public class ChartCanvas extends Canvas implements ChartChangeListener
 		this.anchor = null;
 	}
 
+	/**
+	 * Requests a redraw of the canvas. Unless the immediate redraw flag is
+	 * set, the canvas is only marked as dirty here and is drawn once on a
+	 * subsequent JavaFX pulse, so that any number of requests arriving
+	 * before that pulse are merged into a single call to {@link #draw()}.
+	 * This method can be called from any thread; requests from other threads
+	 * are passed to the JavaFX application thread, with at most one such
+	 * request waiting there at a time.
+	 * 
+	 * @since 2.0
+	 */
+	public void requestRedraw() {
+		if (!Platform.isFxApplicationThread()) {
+			if (this.redrawPosted.compareAndSet(false, true)) {
+				this.postedRedrawCount.incrementAndGet();
+				Platform.runLater(() -> {
+					this.redrawPosted.set(false);
+					requestRedraw();
+				});
+			} else {
+				this.mergedRedrawCount.incrementAndGet();
+			}
+			return;
+		}
+		if (this.immediateRedraw) {
+			redraw();
+			return;
+		}
+		if (this.redrawPending) {
+			this.mergedRedrawCount.incrementAndGet();
+			return;
+		}
+		scheduleRedraw();
+	}
+
+	/**
+	 * Marks the canvas as dirty and starts the timer that redraws it on a
+	 * subsequent pulse.
+	 */
+	private void scheduleRedraw() {
+		this.redrawPending = true;
+		if (this.redrawTimer == null) {
+			this.redrawTimer = new AnimationTimer() {
+				@Override
+				public void handle(long now) {
+					handleRedrawPulse(now);
+				}
+			};
+		}
+		this.redrawTimer.start();
+	}
+
+	/**
+	 * Performs a pending redraw on a JavaFX pulse, unless the maximum frame
+	 * rate would be exceeded (in which case the redraw is left pending for a
+	 * later pulse).
+	 * 
+	 * @param now
+	 *            the pulse time (in nanoseconds).
+	 */
+	private void handleRedrawPulse(long now) {
+		if (!this.redrawPending) {
+			this.redrawTimer.stop();
+			return;
+		}
+		if (this.maxFrameRate > 0.0 && this.lastFrameTime != 0L) {
+			double minInterval = 1.0e9 / this.maxFrameRate;
+			if (now - this.lastFrameTime < minInterval) {
+				this.droppedFrameCount++;
+				return;
+			}
+		}
+		this.lastFrameTime = now;
+		this.redrawTimer.stop();
+		redraw();
+	}
+
+	/**
+	 * Redraws the chart, either directly or (if offscreen rendering is
+	 * enabled) by submitting a new frame to the offscreen renderer.
+	 */
+	private void redraw() {
+		double width = getWidth();
+		double height = getHeight();
+		if (this.offscreenRenderer == null || this.chart == null
+				|| width <= 0 || height <= 0) {
+			draw();
+			return;
+		}
+		this.redrawPending = false;
+		this.offscreenRenderer.submit(this.chart, width, height,
+				getOutputScale(), this.anchor, frame -> paintFrame(frame));
+		this.anchor = null;
+	}
+
+	/**
+	 * Returns the output scale of the window that contains the canvas (the
+	 * number of screen pixels per unit of width), or 1.0 if the canvas is
+	 * not in a window or the scale is not available. The scale is read with
+	 * {@code Window.getOutputScaleX()}, which was added in JavaFX 9, so it is
+	 * looked up by reflection.
+	 *
+	 * @return The output scale.
+	 */
+	private double getOutputScale() {
+		if (getScene() == null || getScene().getWindow() == null) {
+			return 1.0;
+		}
+		try {
+			Object scale = Window.class.getMethod("getOutputScaleX").invoke(
+					getScene().getWindow());
+			double result = ((Number) scale).doubleValue();
+			return result > 0.0 ? result : 1.0;
+		}
+		catch (ReflectiveOperationException e) {
+			return 1.0;
+		}
+	}
+
+	/**
+	 * Paints a frame from the offscreen renderer, followed by the overlays.
+	 * A frame that could not be drawn is reported to the uncaught exception
+	 * handler of the JavaFX application thread (as an exception thrown by
+	 * {@link #draw()} would be) and the previous frame is kept.
+	 *
+	 * @param frame
+	 *            the frame.
+	 */
+	private void paintFrame(OffscreenChartRenderer.Frame frame) {
+		if (frame.getError() != null) {
+			Thread t = Thread.currentThread();
+			t.getUncaughtExceptionHandler().uncaughtException(t,
+					frame.getError());
+			return;
+		}
+		this.lastFrame = frame;
+		this.redrawCount++;
+		this.info = frame.getRenderingInfo();
+		GraphicsContext ctx = getGraphicsContext2D();
+		ctx.save();
+		ctx.clearRect(0, 0, getWidth(), getHeight());
+		Image image = frame.getImage();
+		ctx.drawImage(image, 0, 0, image.getWidth() / frame.getScale(),
+				image.getHeight() / frame.getScale());
+		for (OverlayFX overlay : this.overlays) {
+			overlay.paintOverlay(ctx, this);
+		}
+		ctx.restore();
+	}
+
+	/**
+	 * Returns the flag that controls whether the chart is drawn away from the
+	 * JavaFX application thread. The default value is {@code false}.
+	 *
+	 * @return A boolean.
+	 *
+	 * @since 2.0
+	 */
+	public boolean isOffscreenRendering() {
+		return this.offscreenRenderer != null;
+	}
+
+	/**
+	 * Sets the flag that controls whether the chart is drawn away from the
+	 * JavaFX application thread. When this is {@code true}, redraws
+	 * requested by change events are drawn by an
+	 * {@link OffscreenChartRenderer} and the canvas only paints the finished
+	 * image (and the overlays), so an expensive chart does not block the
+	 * user interface. The rendering info (and so the entities used for
+	 * tooltips and mouse events) is updated when each frame arrives, and
+	 * the image is rasterized at the output scale of the window. Calls to
+	 * {@link #draw()} still draw the chart directly.
+	 * <p>
+	 * The renderer holds the chart's lock while it draws a frame, and the
+	 * canvas holds the same lock while it passes mouse events to the
+	 * handlers, so changes to the chart should be made in a
+	 * {@link org.jfree.chart.ChartUpdateBatch} (or while holding
+	 * {@link JFreeChart#getLock()}) while this flag is set.  The canvas
+	 * never waits for the lock: mouse events that arrive while a frame is
+	 * being drawn are passed to the handlers, in order, on the first pulse
+	 * after the frame is finished.
+	 *
+	 * @param offscreen
+	 *            the new flag value.
+	 *
+	 * @since 2.0
+	 */
+	public void setOffscreenRendering(boolean offscreen) {
+		if (offscreen == isOffscreenRendering()) {
+			return;
+		}
+		if (offscreen) {
+			this.offscreenRenderer = new OffscreenChartRenderer();
+		}
+		else {
+			this.offscreenRenderer.cancel();
+			this.offscreenRenderer = null;
+			this.lastFrame = null;
+		}
+		requestRedraw();
+	}
+
+	/**
+	 * Returns the number of offscreen frames that were discarded because a
+	 * newer frame was requested before they could be painted.
+	 *
+	 * @return The cancelled frame count.
+	 *
+	 * @since 2.0
+	 */
+	public long getCancelledFrameCount() {
+		return this.offscreenRenderer != null
+				? this.offscreenRenderer.getCancelledFrameCount() : 0L;
+	}
+
+	/**
+	 * Returns the flag that controls whether change events cause the canvas
+	 * to be redrawn immediately. The default value is {@code false}.
+	 * 
+	 * @return A boolean.
+	 * 
+	 * @since 2.0
+	 */
+	public boolean isImmediateRedraw() {
+		return this.immediateRedraw;
+	}
+
+	/**
+	 * Sets the flag that controls whether change events cause the canvas to
+	 * be redrawn immediately. Set this to {@code true} to bypass the
+	 * coalescing of redraws (every change event then triggers a full redraw,
+	 * which can be expensive for charts that are updated frequently).
+	 * 
+	 * @param immediate
+	 *            the new flag value.
+	 * 
+	 * @since 2.0
+	 */
+	public void setImmediateRedraw(boolean immediate) {
+		this.immediateRedraw = immediate;
+		if (immediate && this.redrawPending) {
+			redraw();
+		}
+	}
+
+	/**
+	 * Returns the maximum number of times per second that the canvas will be
+	 * redrawn in response to change events. The default value is
+	 * {@code 0.0}, which means the canvas is redrawn at most once per JavaFX
+	 * pulse but otherwise without limit.
+	 * 
+	 * @return The maximum frame rate.
+	 * 
+	 * @since 2.0
+	 */
+	public double getMaxFrameRate() {
+		return this.maxFrameRate;
+	}
+
+	/**
+	 * Sets the maximum number of times per second that the canvas will be
+	 * redrawn in response to change events. A value of zero (or less)
+	 * removes the limit.
+	 * 
+	 * @param fps
+	 *            the maximum frame rate.
+	 * 
+	 * @since 2.0
+	 */
+	public void setMaxFrameRate(double fps) {
+		this.maxFrameRate = fps;
+	}
+
+	/**
+	 * Returns the number of times the chart has been drawn on this canvas.
+	 * 
+	 * @return The redraw count.
+	 * 
+	 * @since 2.0
+	 */
+	public long getRedrawCount() {
+		return this.redrawCount;
+	}
+
+	/**
+	 * Returns the number of redraw requests that were merged into an already
+	 * pending redraw (in other words, the number of full renders that were
+	 * saved by coalescing).
+	 * 
+	 * @return The merged redraw count.
+	 * 
+	 * @since 2.0
+	 */
+	public long getMergedRedrawCount() {
+		return this.mergedRedrawCount.get();
+	}
+
+	/**
+	 * Returns the number of redraw requests that were passed from other
+	 * threads to the JavaFX application thread (requests merged into one
+	 * that was already waiting are not included).
+	 * 
+	 * @return The posted redraw count.
+	 */
+	long getPostedRedrawCount() {
+		return this.postedRedrawCount.get();
+	}
+
+	/**
+	 * Returns the number of pulses on which a pending redraw was deferred
+	 * because of the maximum frame rate.
+	 * 
+	 * @return The dropped frame count.
+	 * 
+	 * @since 2.0
+	 */
+	public long getDroppedFrameCount() {
+		return this.droppedFrameCount;
+	}
+
+	/**
+	 * Resets the redraw, merged redraw and dropped frame counters to zero.
+	 * 
+	 * @since 2.0
+	 */
+	public void resetRedrawCounters() {
+		this.redrawCount = 0L;
+		this.mergedRedrawCount.set(0L);
+		this.postedRedrawCount.set(0L);
+		this.droppedFrameCount = 0L;
+	}
+
 	/**
 	 * Returns the data area (the area inside the axes) for the plot or subplot.
 	 *
@@ -679,14 +1192,15 @@ public class ChartCanvas extends Canvas implements ChartChangeListener
 
 	/**
 	 * Receives a notification from the chart that it has been changed and
-	 * responds by redrawing the chart entirely.
+	 * responds by requesting a redraw of the chart (see
+	 * {@link #requestRedraw()}).
 	 * 
 	 * @param event
 	 *            event information.
 	 */
 	@Override
 	public void chartChanged(ChartChangeEvent event) {
-		draw();
+		requestRedraw();
 	}
 
 	public void dispatchMouseMovedEvent(Point2D point, MouseEvent e) {
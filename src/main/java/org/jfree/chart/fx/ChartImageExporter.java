@@ -0,0 +1,745 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------
+ * ChartImageExporter.java
+ * -----------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.chart.fx;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.function.ObjIntConsumer;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.encoders.ImageFormat;
+import org.jfree.chart.util.ParamChecks;
+
+/**
+ * Exports charts to PNG or JPEG images without displaying them, for example
+ * to produce the images for a report on a server.
+ * <p>
+ * Each chart is drawn on a canvas that is not attached to a scene, then
+ * rasterized into an image and encoded. Drawing and encoding take place on
+ * the calling thread (or on the worker threads of this exporter for the
+ * batch methods), so several charts are processed concurrently. Only the
+ * rasterization step is carried out on the JavaFX application thread, which
+ * means that the JavaFX toolkit must be running (on a machine without a
+ * display, use a headless glass platform such as Monocle).
+ * <p>
+ * The canvases, images, pixel buffers and encode buffers are pooled and
+ * reused for later charts, so exporting a large number of charts of the
+ * same size does not allocate a new set of buffers for each chart. The pool
+ * keeps at most one set of buffers per worker thread, and is emptied (and
+ * no longer filled) when the exporter is shut down.
+ * <p>
+ * A chart is drawn while holding its lock (see {@link JFreeChart#getLock()}),
+ * so changes made in a {@link org.jfree.chart.ChartUpdateBatch} or while
+ * holding the lock are never seen half applied. If another thread holds the
+ * lock, the export waits for it; on the JavaFX application thread, use
+ * {@link #submit(JFreeChart, int, int, String)} instead of
+ * {@link #export(JFreeChart, int, int, String)} for charts that are updated
+ * by other threads.
+ *
+ * <p>
+ * THE API FOR THIS CLASS IS SUBJECT TO CHANGE IN FUTURE RELEASES. This is so
+ * that we can incorporate feedback on the (new) JavaFX support in JFreeChart.
+ * </p>
+ *
+ * @since 2.0
+ */
+public class ChartImageExporter {
+
+	/** The default JPEG quality. */
+	public static final float DEFAULT_JPEG_QUALITY = 0.9f;
+
+	/** The executor for the batch methods. */
+	private final ExecutorService executor;
+
+	/** Limits the number of charts queued for the worker threads. */
+	private final Semaphore queuePermits;
+
+	/** The surfaces that are not currently in use. */
+	private final Queue<Surface> surfaces;
+
+	/** The number of surfaces in the pool. */
+	private final AtomicInteger pooledSurfaces;
+
+	/** The maximum number of surfaces kept in the pool. */
+	private final int maxPooledSurfaces;
+
+	/** Set when the exporter is shut down, after which nothing is pooled. */
+	private volatile boolean shutdown;
+
+	/** The JPEG quality (in the range 0.0 to 1.0). */
+	private volatile float jpegQuality;
+
+	/**
+	 * Creates a new exporter with one worker thread per available processor.
+	 */
+	public ChartImageExporter() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a new exporter with the specified number of worker threads.
+	 *
+	 * @param threadCount
+	 *            the number of worker threads (at least 1).
+	 */
+	public ChartImageExporter(int threadCount) {
+		if (threadCount < 1) {
+			throw new IllegalArgumentException("Requires 'threadCount' >= 1.");
+		}
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(threadCount, r -> {
+			Thread t = new Thread(r, "JFreeChart-ChartImageExporter-"
+					+ threadNumber.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		this.queuePermits = new Semaphore(threadCount * 2);
+		this.surfaces = new ConcurrentLinkedQueue<Surface>();
+		this.pooledSurfaces = new AtomicInteger();
+		this.maxPooledSurfaces = threadCount;
+		this.jpegQuality = DEFAULT_JPEG_QUALITY;
+	}
+
+	/**
+	 * Returns the quality setting used for JPEG images.
+	 *
+	 * @return The JPEG quality (in the range 0.0 to 1.0).
+	 *
+	 * @see #setJPEGQuality(float)
+	 */
+	public float getJPEGQuality() {
+		return this.jpegQuality;
+	}
+
+	/**
+	 * Sets the quality setting used for JPEG images.
+	 *
+	 * @param quality
+	 *            the quality (in the range 0.0 to 1.0).
+	 *
+	 * @see #getJPEGQuality()
+	 */
+	public void setJPEGQuality(float quality) {
+		if (!(quality >= 0.0f && quality <= 1.0f)) {
+			throw new IllegalArgumentException(
+					"Requires 'quality' in the range 0.0 to 1.0.");
+		}
+		this.jpegQuality = quality;
+	}
+
+	/**
+	 * Exports a chart on the calling thread. This method can be called on
+	 * any thread, including the JavaFX application thread, and waits for
+	 * the chart's lock if another thread holds it.
+	 *
+	 * @param chart
+	 *            the chart ({@code null} not permitted).
+	 * @param width
+	 *            the image width (in pixels).
+	 * @param height
+	 *            the image height (in pixels).
+	 * @param format
+	 *            the image format ({@link ImageFormat#PNG} or
+	 *            {@link ImageFormat#JPEG}).
+	 *
+	 * @return The encoded image.
+	 *
+	 * @throws IOException
+	 *             if there is a problem encoding the image.
+	 */
+	public byte[] export(JFreeChart chart, int width, int height,
+			String format) throws IOException {
+		checkArguments(chart, width, height, format);
+		Surface surface = borrowSurface();
+		try {
+			surface.draw(chart, width, height);
+			Color fill = ImageFormat.JPEG.equals(format) ? Color.WHITE
+					: Color.TRANSPARENT;
+			if (Platform.isFxApplicationThread()) {
+				surface.snapshot(fill);
+			}
+			else {
+				FutureTask<Void> task = new FutureTask<Void>(
+						() -> surface.snapshot(fill), null);
+				Platform.runLater(task);
+				getResult(task);
+			}
+			return surface.encode(surface.image, format, this.jpegQuality);
+		}
+		finally {
+			returnSurface(surface);
+		}
+	}
+
+	/**
+	 * Encodes an image (for example a snapshot of a {@link ChartViewer}),
+	 * using the pooled encode buffers of this exporter.
+	 *
+	 * @param image
+	 *            the image ({@code null} not permitted).
+	 * @param format
+	 *            the image format ({@link ImageFormat#PNG} or
+	 *            {@link ImageFormat#JPEG}).
+	 *
+	 * @return The encoded image.
+	 *
+	 * @throws IOException
+	 *             if there is a problem encoding the image.
+	 */
+	public byte[] encode(Image image, String format) throws IOException {
+		ParamChecks.nullNotPermitted(image, "image");
+		checkFormat(format);
+		Surface surface = borrowSurface();
+		try {
+			return surface.encode(image, format, this.jpegQuality);
+		}
+		finally {
+			returnSurface(surface);
+		}
+	}
+
+	/**
+	 * Submits a chart for export on one of the worker threads. If the worker
+	 * threads are busy and a number of charts are already waiting, this
+	 * method blocks until there is room in the queue, so that a producer
+	 * cannot build an unbounded backlog of charts. For that reason this
+	 * method must not be called on the JavaFX application thread.
+	 *
+	 * @param chart
+	 *            the chart ({@code null} not permitted).
+	 * @param width
+	 *            the image width (in pixels).
+	 * @param height
+	 *            the image height (in pixels).
+	 * @param format
+	 *            the image format ({@link ImageFormat#PNG} or
+	 *            {@link ImageFormat#JPEG}).
+	 *
+	 * @return A future for the encoded image.
+	 */
+	public Future<byte[]> submit(JFreeChart chart, int width, int height,
+			String format) {
+		checkArguments(chart, width, height, format);
+		return submitTask(() -> export(chart, width, height, format));
+	}
+
+	/**
+	 * Exports a list of charts on the worker threads and returns the encoded
+	 * images in the same order. This method must not be called on the
+	 * JavaFX application thread.
+	 *
+	 * @param charts
+	 *            the charts ({@code null} not permitted).
+	 * @param width
+	 *            the image width (in pixels).
+	 * @param height
+	 *            the image height (in pixels).
+	 * @param format
+	 *            the image format ({@link ImageFormat#PNG} or
+	 *            {@link ImageFormat#JPEG}).
+	 *
+	 * @return The encoded images.
+	 *
+	 * @throws IOException
+	 *             if there is a problem encoding any of the images.
+	 */
+	public List<byte[]> exportAll(List<JFreeChart> charts, int width,
+			int height, String format) throws IOException {
+		ParamChecks.nullNotPermitted(charts, "charts");
+		byte[][] result = new byte[charts.size()][];
+		exportAll(charts, width, height, format,
+				(bytes, index) -> result[index] = bytes);
+		List<byte[]> list = new ArrayList<byte[]>(result.length);
+		for (byte[] bytes : result) {
+			list.add(bytes);
+		}
+		return list;
+	}
+
+	/**
+	 * Exports a list of charts on the worker threads, passing each encoded
+	 * image to the consumer (on the worker thread, in no particular order)
+	 * along with the index of the chart in the list. Unlike
+	 * {@link #exportAll(List, int, int, String)}, the images do not have to
+	 * be held in memory until the whole batch is complete. This method
+	 * returns when all the charts have been exported and must not be called
+	 * on the JavaFX application thread.
+	 *
+	 * @param charts
+	 *            the charts ({@code null} not permitted).
+	 * @param width
+	 *            the image width (in pixels).
+	 * @param height
+	 *            the image height (in pixels).
+	 * @param format
+	 *            the image format ({@link ImageFormat#PNG} or
+	 *            {@link ImageFormat#JPEG}).
+	 * @param consumer
+	 *            the consumer ({@code null} not permitted).
+	 *
+	 * @throws IOException
+	 *             if there is a problem encoding any of the images, in which
+	 *             case the remaining charts are not exported.
+	 */
+	public void exportAll(List<JFreeChart> charts, int width, int height,
+			String format, ObjIntConsumer<byte[]> consumer)
+			throws IOException {
+		ParamChecks.nullNotPermitted(charts, "charts");
+		ParamChecks.nullNotPermitted(consumer, "consumer");
+		checkFormat(format);
+		List<Future<Void>> futures = new ArrayList<Future<Void>>(
+				charts.size());
+		AtomicBoolean failed = new AtomicBoolean();
+		try {
+			int index = 0;
+			for (JFreeChart chart : charts) {
+				if (failed.get()) {
+					break;
+				}
+				checkArguments(chart, width, height, format);
+				int i = index++;
+				futures.add(submitTask(() -> {
+					try {
+						consumer.accept(export(chart, width, height,
+								format), i);
+						return null;
+					}
+					catch (IOException | RuntimeException e) {
+						failed.set(true);
+						throw e;
+					}
+				}));
+			}
+			for (Future<Void> future : futures) {
+				getResult(future);
+			}
+		}
+		finally {
+			for (Future<Void> future : futures) {
+				future.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Stops the worker threads and releases the pooled buffers. Charts that
+	 * have already been submitted are still exported, but their buffers are
+	 * discarded rather than pooled.
+	 */
+	public void shutdown() {
+		this.shutdown = true;
+		this.executor.shutdown();
+		this.surfaces.clear();
+	}
+
+	/**
+	 * Submits a task to the executor, waiting for room in the queue first.
+	 *
+	 * @param task
+	 *            the task.
+	 *
+	 * @return A future for the result of the task.
+	 */
+	private <T> Future<T> submitTask(Callable<T> task) {
+		if (Platform.isFxApplicationThread()) {
+			throw new IllegalStateException("Batch exports cannot be "
+					+ "started on the JavaFX application thread.");
+		}
+		this.queuePermits.acquireUninterruptibly();
+		try {
+			return this.executor.submit(() -> {
+				try {
+					return task.call();
+				}
+				finally {
+					this.queuePermits.release();
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			this.queuePermits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns a surface from the pool, or a new surface if the pool is empty.
+	 *
+	 * @return A surface.
+	 */
+	Surface borrowSurface() {
+		Surface surface = this.surfaces.poll();
+		if (surface == null) {
+			return new Surface();
+		}
+		this.pooledSurfaces.decrementAndGet();
+		return surface;
+	}
+
+	/**
+	 * Returns a surface to the pool, unless the pool is full or the exporter
+	 * has been shut down, in which case the surface is discarded.
+	 *
+	 * @param surface
+	 *            the surface.
+	 */
+	void returnSurface(Surface surface) {
+		if (this.shutdown) {
+			return;
+		}
+		if (this.pooledSurfaces.incrementAndGet() > this.maxPooledSurfaces) {
+			this.pooledSurfaces.decrementAndGet();
+			return;
+		}
+		this.surfaces.offer(surface);
+		if (this.shutdown) {
+			// shutdown() may have emptied the pool before the offer
+			this.surfaces.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of surfaces in the pool (for testing).
+	 *
+	 * @return The number of surfaces.
+	 */
+	int getPooledSurfaceCount() {
+		return this.surfaces.size();
+	}
+
+	/**
+	 * Waits for a task to complete and returns its result, rethrowing any
+	 * exception thrown by the task.
+	 *
+	 * @param future
+	 *            the future for the task.
+	 *
+	 * @return The result.
+	 *
+	 * @throws IOException
+	 *             if the task failed with an I/O error or the calling thread
+	 *             was interrupted.
+	 */
+	private static <T> T getResult(Future<T> future) throws IOException {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(
+					"Interrupted while exporting charts.");
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+
+	/**
+	 * Checks the arguments for exporting a chart.
+	 *
+	 * @param chart
+	 *            the chart.
+	 * @param width
+	 *            the width.
+	 * @param height
+	 *            the height.
+	 * @param format
+	 *            the image format.
+	 */
+	private static void checkArguments(JFreeChart chart, int width,
+			int height, String format) {
+		ParamChecks.nullNotPermitted(chart, "chart");
+		if (width <= 0 || height <= 0) {
+			throw new IllegalArgumentException(
+					"Requires 'width' and 'height' > 0.");
+		}
+		checkFormat(format);
+	}
+
+	/**
+	 * Checks that an image format is supported.
+	 *
+	 * @param format
+	 *            the format.
+	 */
+	private static void checkFormat(String format) {
+		ParamChecks.nullNotPermitted(format, "format");
+		if (!ImageFormat.PNG.equals(format)
+				&& !ImageFormat.JPEG.equals(format)) {
+			throw new IllegalArgumentException("Unsupported image format: "
+					+ format);
+		}
+	}
+
+	/**
+	 * The buffers used to export one chart at a time.
+	 */
+	static final class Surface {
+
+		/** The canvas that the chart is drawn on. */
+		private Canvas canvas;
+
+		/** The image that the canvas is rasterized into. */
+		private WritableImage image;
+
+		/** The pixels of the image, in the format required by the encoder. */
+		private BufferedImage pixels;
+
+		/** The encoded image. */
+		private final ByteArrayOutputStream out;
+
+		/** The PNG writer (created on demand). */
+		private ImageWriter pngWriter;
+
+		/** The JPEG writer (created on demand). */
+		private ImageWriter jpegWriter;
+
+		/**
+		 * Creates a new surface.
+		 */
+		Surface() {
+			this.out = new ByteArrayOutputStream(64 * 1024);
+		}
+
+		/**
+		 * Draws a chart on the canvas, holding the chart's lock.
+		 *
+		 * @param chart
+		 *            the chart.
+		 * @param width
+		 *            the width.
+		 * @param height
+		 *            the height.
+		 */
+		void draw(JFreeChart chart, int width, int height) {
+			if (this.canvas == null) {
+				this.canvas = new Canvas(width, height);
+			}
+			else {
+				this.canvas.setWidth(width);
+				this.canvas.setHeight(height);
+			}
+			GraphicsContext g2 = this.canvas.getGraphicsContext2D();
+			g2.clearRect(0, 0, width, height);
+			g2.save();
+			Lock lock = chart.getLock();
+			lock.lock();
+			try {
+				chart.draw(g2, new Rectangle2D(0, 0, width, height), null,
+						null);
+			}
+			finally {
+				lock.unlock();
+				g2.restore();
+			}
+		}
+
+		/**
+		 * Rasterizes the canvas into the image. This method must be called
+		 * on the JavaFX application thread.
+		 *
+		 * @param fill
+		 *            the background for the image.
+		 */
+		void snapshot(Color fill) {
+			int w = (int) this.canvas.getWidth();
+			int h = (int) this.canvas.getHeight();
+			if (this.image == null || (int) this.image.getWidth() != w
+					|| (int) this.image.getHeight() != h) {
+				this.image = new WritableImage(w, h);
+			}
+			SnapshotParameters params = new SnapshotParameters();
+			params.setFill(fill);
+			this.image = this.canvas.snapshot(params, this.image);
+		}
+
+		/**
+		 * Encodes an image.
+		 *
+		 * @param image
+		 *            the image.
+		 * @param format
+		 *            the image format.
+		 * @param quality
+		 *            the JPEG quality.
+		 *
+		 * @return The encoded image.
+		 *
+		 * @throws IOException
+		 *             if there is a problem encoding the image.
+		 */
+		byte[] encode(Image image, String format, float quality)
+				throws IOException {
+			PixelReader reader = image.getPixelReader();
+			if (reader == null) {
+				throw new IllegalArgumentException(
+						"The image pixels cannot be read.");
+			}
+			int w = (int) image.getWidth();
+			int h = (int) image.getHeight();
+			boolean jpeg = ImageFormat.JPEG.equals(format);
+			int type = jpeg ? BufferedImage.TYPE_INT_RGB
+					: BufferedImage.TYPE_INT_ARGB;
+			if (this.pixels == null || this.pixels.getType() != type
+					|| this.pixels.getWidth() != w
+					|| this.pixels.getHeight() != h) {
+				this.pixels = new BufferedImage(w, h, type);
+			}
+			// read the pixels straight into the buffer of the image (for
+			// RGB images the alpha bits are ignored)
+			int[] data = ((DataBufferInt) this.pixels.getRaster()
+					.getDataBuffer()).getData();
+			reader.getPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(),
+					data, 0, w);
+
+			ImageWriter writer = jpeg ? getJPEGWriter() : getPNGWriter();
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			if (jpeg) {
+				param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+				param.setCompressionQuality(quality);
+			}
+			this.out.reset();
+			ImageOutputStream stream = new MemoryCacheImageOutputStream(
+					this.out);
+			try {
+				writer.setOutput(stream);
+				writer.write(null, new IIOImage(this.pixels, null, null),
+						param);
+			}
+			finally {
+				writer.setOutput(null);
+				stream.close();
+			}
+			return this.out.toByteArray();
+		}
+
+		/**
+		 * Returns the PNG writer, creating it if necessary.
+		 *
+		 * @return The writer.
+		 *
+		 * @throws IOException
+		 *             if no writer is available.
+		 */
+		private ImageWriter getPNGWriter() throws IOException {
+			if (this.pngWriter == null) {
+				this.pngWriter = createWriter(ImageFormat.PNG);
+			}
+			return this.pngWriter;
+		}
+
+		/**
+		 * Returns the JPEG writer, creating it if necessary.
+		 *
+		 * @return The writer.
+		 *
+		 * @throws IOException
+		 *             if no writer is available.
+		 */
+		private ImageWriter getJPEGWriter() throws IOException {
+			if (this.jpegWriter == null) {
+				this.jpegWriter = createWriter(ImageFormat.JPEG);
+			}
+			return this.jpegWriter;
+		}
+
+		/**
+		 * Creates an image writer for the specified format.
+		 *
+		 * @param format
+		 *            the format.
+		 *
+		 * @return The writer.
+		 *
+		 * @throws IOException
+		 *             if no writer is available.
+		 */
+		private static ImageWriter createWriter(String format)
+				throws IOException {
+			Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(
+					format);
+			if (!writers.hasNext()) {
+				throw new IOException("No image writer for " + format);
+			}
+			return writers.next();
+		}
+
+	}
+
+}
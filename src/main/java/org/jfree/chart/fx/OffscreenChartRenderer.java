@@ -0,0 +1,444 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------
+ * OffscreenChartRenderer.java
+ * ---------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.fx;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+import javafx.geometry.Point2D;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.transform.Transform;
+import org.jfree.chart.ChartRenderingInfo;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.entity.IndexedEntityCollection;
+import org.jfree.chart.util.ParamChecks;
+
+/**
+ * Renders charts away from the JavaFX application thread. Each frame is
+ * drawn by a worker thread onto a canvas that is not attached to a scene, so
+ * the canvas records the drawing operations as an immutable display list.
+ * The display list is then rasterized into an image on the JavaFX
+ * application thread and handed to a consumer (typically a
+ * {@link ChartCanvas}), which only has to paint the image.
+ * <p>
+ * Only the most recently submitted frame is delivered. A frame that has been
+ * superseded by a newer one is discarded at the next opportunity (before
+ * drawing starts, after drawing finishes, or before the image is created),
+ * so a chart that changes faster than it can be drawn does not build up a
+ * queue of stale frames.
+ * <p>
+ * The worker thread holds the chart's lock (see {@link JFreeChart#getLock()})
+ * while it draws a frame. Changes to the chart or its datasets should be
+ * made in a {@link org.jfree.chart.ChartUpdateBatch} (which holds the same
+ * lock until it is committed) or while holding the lock, so that a frame
+ * never sees a half applied update. The JavaFX application thread should not
+ * wait for the lock ({@link ChartCanvas} only ever tries to take it, and
+ * defers its work to a later pulse if the lock is busy). A frame that fails
+ * is delivered to the consumer with the exception (see
+ * {@link Frame#getError()}) instead of an image, unless it has become stale.
+ * <p>
+ * The image can be rasterized at a scale other than 1 (the output scale of
+ * the screen, for example), so that the chart is sharp on high resolution
+ * displays.
+ *
+ * <p>
+ * THE API FOR THIS CLASS IS SUBJECT TO CHANGE IN FUTURE RELEASES. This is so
+ * that we can incorporate feedback on the (new) JavaFX support in JFreeChart.
+ * </p>
+ *
+ * @since 2.0
+ */
+public class OffscreenChartRenderer {
+
+	/** The executor that draws the frames (created on demand). */
+	private ExecutorService executor;
+
+	/** The version number of the most recently submitted frame. */
+	private final AtomicLong version;
+
+	/** The number of frames discarded because they were stale. */
+	private final AtomicLong cancelledFrameCount;
+
+	/** The task for the most recently submitted frame (can be null). */
+	private Future<?> pending;
+
+	/** The image that frames are rasterized into (reused when possible). */
+	private WritableImage image;
+
+	/**
+	 * Creates a new renderer that draws frames on its own (daemon) worker
+	 * thread.
+	 */
+	public OffscreenChartRenderer() {
+		this(null);
+	}
+
+	/**
+	 * Creates a new renderer that draws frames using the specified executor.
+	 * Frames are only guaranteed to be drawn in the order they are submitted
+	 * if the executor runs one task at a time.
+	 *
+	 * @param executor
+	 *            the executor ({@code null} for a new single thread
+	 *            executor).
+	 */
+	public OffscreenChartRenderer(ExecutorService executor) {
+		this.executor = executor;
+		this.version = new AtomicLong();
+		this.cancelledFrameCount = new AtomicLong();
+	}
+
+	/**
+	 * Returns the number of frames that were discarded because a newer frame
+	 * had been submitted.
+	 *
+	 * @return The cancelled frame count.
+	 */
+	public long getCancelledFrameCount() {
+		return this.cancelledFrameCount.get();
+	}
+
+	/**
+	 * Submits a chart for rendering. This method must be called on the
+	 * JavaFX application thread. Any frame that was submitted earlier and
+	 * has not yet been delivered is cancelled.
+	 *
+	 * @param chart
+	 *            the chart ({@code null} not permitted).
+	 * @param width
+	 *            the width of the frame.
+	 * @param height
+	 *            the height of the frame.
+	 * @param anchor
+	 *            the anchor point ({@code null} permitted).
+	 * @param consumer
+	 *            receives the frame, on the JavaFX application thread
+	 *            ({@code null} not permitted).
+	 *
+	 * @return The version number of the submitted frame.
+	 */
+	public long submit(JFreeChart chart, double width, double height,
+			Point2D anchor, Consumer<Frame> consumer) {
+		return submit(chart, width, height, 1.0, anchor, consumer);
+	}
+
+	/**
+	 * Submits a chart for rendering into an image with the specified scale
+	 * (for example, the output scale of the screen). This method must be
+	 * called on the JavaFX application thread. Any frame that was submitted
+	 * earlier and has not yet been delivered is cancelled.
+	 *
+	 * @param chart
+	 *            the chart ({@code null} not permitted).
+	 * @param width
+	 *            the width of the frame.
+	 * @param height
+	 *            the height of the frame.
+	 * @param scale
+	 *            the number of image pixels per unit of width and height
+	 *            (must be greater than zero).
+	 * @param anchor
+	 *            the anchor point ({@code null} permitted).
+	 * @param consumer
+	 *            receives the frame, on the JavaFX application thread
+	 *            ({@code null} not permitted).
+	 *
+	 * @return The version number of the submitted frame.
+	 */
+	public long submit(JFreeChart chart, double width, double height,
+			double scale, Point2D anchor, Consumer<Frame> consumer) {
+		ParamChecks.nullNotPermitted(chart, "chart");
+		ParamChecks.nullNotPermitted(consumer, "consumer");
+		if (!(scale > 0.0)) {
+			throw new IllegalArgumentException("Requires 'scale' > 0.");
+		}
+		long v = this.version.incrementAndGet();
+		if (this.pending != null && this.pending.cancel(false)) {
+			this.cancelledFrameCount.incrementAndGet();
+		}
+		if (this.executor == null) {
+			this.executor = Executors.newSingleThreadExecutor(r -> {
+				Thread t = new Thread(r, "JFreeChart-OffscreenRenderer");
+				t.setDaemon(true);
+				return t;
+			});
+		}
+		this.pending = this.executor.submit(() -> renderFrame(v, chart,
+				width, height, scale, anchor, consumer));
+		return v;
+	}
+
+	/**
+	 * Cancels any frame that has been submitted but not yet delivered.
+	 */
+	public void cancel() {
+		this.version.incrementAndGet();
+		if (this.pending != null && this.pending.cancel(false)) {
+			this.cancelledFrameCount.incrementAndGet();
+		}
+		this.pending = null;
+	}
+
+	/**
+	 * Returns {@code true} if the specified frame has been superseded, in
+	 * which case the cancelled frame count is incremented.
+	 *
+	 * @param v
+	 *            the frame version.
+	 *
+	 * @return A boolean.
+	 */
+	private boolean isStale(long v) {
+		if (v != this.version.get()) {
+			this.cancelledFrameCount.incrementAndGet();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Draws a frame (on the worker thread, holding the chart's lock) and
+	 * schedules its delivery, or the delivery of the exception if drawing
+	 * fails.
+	 *
+	 * @param v
+	 *            the frame version.
+	 * @param chart
+	 *            the chart.
+	 * @param width
+	 *            the width.
+	 * @param height
+	 *            the height.
+	 * @param scale
+	 *            the image scale.
+	 * @param anchor
+	 *            the anchor point ({@code null} permitted).
+	 * @param consumer
+	 *            the frame consumer.
+	 */
+	private void renderFrame(long v, JFreeChart chart, double width,
+			double height, double scale, Point2D anchor,
+			Consumer<Frame> consumer) {
+		if (isStale(v)) {
+			return;
+		}
+		Canvas canvas = new Canvas(width, height);
+		ChartRenderingInfo info = new ChartRenderingInfo(
+				new IndexedEntityCollection());
+		Lock lock = chart.getLock();
+		lock.lock();
+		try {
+			// a writer may have held the lock while we waited for it
+			if (isStale(v)) {
+				return;
+			}
+			chart.draw(canvas.getGraphicsContext2D(),
+					new Rectangle2D(0, 0, width, height), anchor, info);
+		}
+		catch (RuntimeException e) {
+			if (isStale(v)) {
+				// the chart was modified (outside a batch) while it was
+				// being drawn
+				return;
+			}
+			Platform.runLater(() -> deliverError(v, e, consumer));
+			return;
+		}
+		finally {
+			lock.unlock();
+		}
+		if (isStale(v)) {
+			return;
+		}
+		Platform.runLater(() -> deliverFrame(v, canvas, scale, info,
+				consumer));
+	}
+
+	/**
+	 * Rasterizes a frame (on the JavaFX application thread) and passes it to
+	 * the consumer, unless it has become stale.
+	 *
+	 * @param v
+	 *            the frame version.
+	 * @param canvas
+	 *            the canvas holding the frame's display list.
+	 * @param scale
+	 *            the image scale.
+	 * @param info
+	 *            the rendering info for the frame.
+	 * @param consumer
+	 *            the frame consumer.
+	 */
+	private void deliverFrame(long v, Canvas canvas, double scale,
+			ChartRenderingInfo info, Consumer<Frame> consumer) {
+		if (isStale(v)) {
+			return;
+		}
+		int w = (int) Math.ceil(canvas.getWidth() * scale);
+		int h = (int) Math.ceil(canvas.getHeight() * scale);
+		if (this.image == null || (int) this.image.getWidth() != w
+				|| (int) this.image.getHeight() != h) {
+			this.image = new WritableImage(w, h);
+		}
+		SnapshotParameters params = new SnapshotParameters();
+		params.setTransform(Transform.scale(scale, scale));
+		this.image = canvas.snapshot(params, this.image);
+		consumer.accept(new Frame(v, this.image, scale, info, null));
+	}
+
+	/**
+	 * Passes a frame that could not be drawn to the consumer (on the JavaFX
+	 * application thread), unless it has become stale.
+	 *
+	 * @param v
+	 *            the frame version.
+	 * @param error
+	 *            the exception thrown while drawing the frame.
+	 * @param consumer
+	 *            the frame consumer.
+	 */
+	private void deliverError(long v, RuntimeException error,
+			Consumer<Frame> consumer) {
+		if (isStale(v)) {
+			return;
+		}
+		consumer.accept(new Frame(v, null, 1.0, null, error));
+	}
+
+	/**
+	 * A rendered frame, or a frame that could not be drawn (in which case
+	 * {@link #getError()} returns the exception and there is no image).
+	 */
+	public static final class Frame {
+
+		/** The frame version. */
+		private final long version;
+
+		/** The image (null if the frame could not be drawn). */
+		private final Image image;
+
+		/** The image scale. */
+		private final double scale;
+
+		/** The rendering info (null if the frame could not be drawn). */
+		private final ChartRenderingInfo info;
+
+		/** The exception thrown while drawing the frame (can be null). */
+		private final RuntimeException error;
+
+		/**
+		 * Creates a new frame.
+		 *
+		 * @param version
+		 *            the version.
+		 * @param image
+		 *            the image ({@code null} permitted).
+		 * @param scale
+		 *            the image scale.
+		 * @param info
+		 *            the rendering info ({@code null} permitted).
+		 * @param error
+		 *            the exception ({@code null} permitted).
+		 */
+		Frame(long version, Image image, double scale,
+				ChartRenderingInfo info, RuntimeException error) {
+			this.version = version;
+			this.image = image;
+			this.scale = scale;
+			this.info = info;
+			this.error = error;
+		}
+
+		/**
+		 * Returns the version number of the frame (as returned by
+		 * {@link OffscreenChartRenderer#submit}).
+		 *
+		 * @return The version.
+		 */
+		public long getVersion() {
+			return this.version;
+		}
+
+		/**
+		 * Returns the image of the chart. The image is reused for later
+		 * frames of the same size, so it should be painted straight away
+		 * rather than retained. Its size is the frame size multiplied by
+		 * the {@link #getScale() scale}.
+		 *
+		 * @return The image ({@code null} if the frame could not be drawn).
+		 */
+		public Image getImage() {
+			return this.image;
+		}
+
+		/**
+		 * Returns the number of image pixels per unit of the frame's width
+		 * and height.
+		 *
+		 * @return The scale.
+		 */
+		public double getScale() {
+			return this.scale;
+		}
+
+		/**
+		 * Returns the rendering info collected while the frame was drawn.
+		 *
+		 * @return The rendering info ({@code null} if the frame could not be
+		 *         drawn).
+		 */
+		public ChartRenderingInfo getRenderingInfo() {
+			return this.info;
+		}
+
+		/**
+		 * Returns the exception that was thrown while the frame was drawn.
+		 *
+		 * @return The exception ({@code null} if the frame was drawn).
+		 */
+		public RuntimeException getError() {
+			return this.error;
+		}
+
+	}
+
+}
@@ -574,6 +574,21 @@ public class CategoryPlot extends Plot implements
 	 */
 	private ShadowGenerator shadowGenerator;
 
+	/**
+	 * The last dataset change received while the notify flag was
+	 * <code>false</code> (<code>null</code> if there was none).  The axes are
+	 * configured, and the event is passed on to the parent plot (if any),
+	 * when the flag is set back to <code>true</code>.
+	 */
+	private transient DatasetChangeEvent pendingDatasetChange;
+
+	/**
+	 * The part of a domain pan (in categories) that has not been applied
+	 * yet to each domain axis (keyed by axis index), because the category
+	 * window can only move by whole categories (created on demand).
+	 */
+	private transient Map<Integer, Double> domainPanRemainders;
+
 	/**
 	 * Default constructor.
 	 */
@@ -2377,16 +2392,52 @@ public class CategoryPlot extends Plot implements
 		}
 	}
 
+	/**
+	 * Sets a flag that controls whether or not listeners receive
+	 * {@link PlotChangeEvent} notifications.  If dataset changes were
+	 * received while the flag was <code>false</code>, the axes are
+	 * configured (once) and the last change is passed on to the parent plot
+	 * (if there is one, so that it can configure its shared axes) before
+	 * the change event is sent.
+	 *
+	 * @param notify
+	 *            a boolean.
+	 *
+	 * @see #isNotify()
+	 *
+	 * @since 2.0
+	 */
+	@Override
+	public void setNotify(boolean notify) {
+		DatasetChangeEvent pending = this.pendingDatasetChange;
+		if (notify && pending != null) {
+			this.pendingDatasetChange = null;
+			configureRangeAxes();
+			if (getParent() != null) {
+				getParent().datasetChanged(pending);
+			}
+		}
+		super.setNotify(notify);
+	}
+
 	/**
 	 * Receives notification of a change to the plot's dataset.
 	 * <P>
-	 * The range axis bounds will be recalculated if necessary.
+	 * The range axis bounds will be recalculated if necessary.  While the
+	 * notify flag is <code>false</code> this (and passing the event on to
+	 * the parent plot) is deferred until the flag is set back to
+	 * <code>true</code>, so that a series of dataset changes results in a
+	 * single update.
 	 *
 	 * @param event
-	 *            information about the event (not used here).
+	 *            information about the event.
 	 */
 	@Override
 	public void datasetChanged(DatasetChangeEvent event) {
+		if (!isNotify()) {
+			this.pendingDatasetChange = event;
+			return;
+		}
 		for (ValueAxis yAxis : this.rangeAxes.values()) {
 			if (yAxis != null) {
 				yAxis.configure();
@@ -4082,10 +4133,18 @@ public class CategoryPlot extends Plot implements
 			state.setCrosshairState(crosshairState);
 			int columnCount = currentDataset.getColumnCount();
 			int rowCount = currentDataset.getRowCount();
+			// only the categories in the visible window are drawn
+			int firstColumn = 0;
+			int lastColumn = columnCount - 1;
+			if (domainAxis != null) {
+				firstColumn = domainAxis.getVisibleCategoryStart(columnCount);
+				lastColumn = domainAxis.getVisibleCategoryEnd(columnCount) - 1;
+			}
 			int passCount = renderer.getPassCount();
 			for (int pass = 0; pass < passCount; pass++) {
 				if (this.columnRenderingOrder == SortOrder.ASCENDING) {
-					for (int column = 0; column < columnCount; column++) {
+					for (int column = firstColumn; column <= lastColumn;
+							column++) {
 						if (this.rowRenderingOrder == SortOrder.ASCENDING) {
 							for (int row = 0; row < rowCount; row++) {
 								renderer.drawItem(g2, state, dataArea, this,
@@ -4103,7 +4162,8 @@ public class CategoryPlot extends Plot implements
 					}
 				}
 				else {
-					for (int column = columnCount - 1; column >= 0; column--) {
+					for (int column = lastColumn; column >= firstColumn;
+							column--) {
 						if (this.rowRenderingOrder == SortOrder.ASCENDING) {
 							for (int row = 0; row < rowCount; row++) {
 								renderer.drawItem(g2, state, dataArea, this,
@@ -4150,7 +4210,9 @@ public class CategoryPlot extends Plot implements
 		CategoryAxis axis = getDomainAxis();
 		if (axis != null) {
 			int columnCount = dataset.getColumnCount();
-			for (int c = 0; c < columnCount; c++) {
+			int end = axis.getVisibleCategoryEnd(columnCount);
+			for (int c = axis.getVisibleCategoryStart(columnCount); c < end;
+					c++) {
 				double xx = axis.getCategoryJava2DCoordinate(anchor, c,
 						columnCount, dataArea, domainAxisEdge);
 				CategoryItemRenderer renderer1 = getRenderer();
@@ -4709,6 +4771,7 @@ public class CategoryPlot extends Plot implements
 	 */
 	public List<Comparable> getCategoriesForAxis(CategoryAxis axis) {
 		List<Comparable> result = new ArrayList<Comparable>();
+		Set<Comparable> added = new HashSet<Comparable>();
 		int axisIndex = getDomainAxisIndex(axis);
 		List<CategoryDataset> mappedDatasets =
 				datasetsMappedToDomainAxis(axisIndex);
@@ -4716,7 +4779,7 @@ public class CategoryPlot extends Plot implements
 			// add the unique categories from this dataset
 			for (int i = 0; i < dataset.getColumnCount(); i++) {
 				Comparable category = dataset.getColumnKey(i);
-				if (!result.contains(category)) {
+				if (added.add(category)) {
 					result.add(category);
 				}
 			}
@@ -4724,6 +4787,67 @@ public class CategoryPlot extends Plot implements
 		return result;
 	}
 
+	/**
+	 * Returns the number of categories that should be displayed for the
+	 * specified axis.  This is the size of the list returned by
+	 * {@link #getCategoriesForAxis(CategoryAxis)}, but when only one dataset
+	 * is mapped to the axis the list is not created.
+	 *
+	 * @param axis
+	 *            the axis ({@code null} not permitted)
+	 *
+	 * @return The category count.
+	 *
+	 * @since 2.0
+	 */
+	public int getCategoryCountForAxis(CategoryAxis axis) {
+		List<CategoryDataset> mappedDatasets = datasetsMappedToDomainAxis(
+				getDomainAxisIndex(axis));
+		if (mappedDatasets.size() == 1) {
+			return mappedDatasets.get(0).getColumnCount();
+		}
+		return getCategoriesForAxis(axis).size();
+	}
+
+	/**
+	 * Returns a range of the categories that should be displayed for the
+	 * specified axis (typically the categories in the visible window of the
+	 * axis).  When only one dataset is mapped to the axis, only the keys in
+	 * the range are read from the dataset.
+	 *
+	 * @param axis
+	 *            the axis ({@code null} not permitted)
+	 * @param start
+	 *            the index of the first category.
+	 * @param end
+	 *            the index after the last category.
+	 *
+	 * @return The categories.
+	 *
+	 * @see #getCategoriesForAxis(CategoryAxis)
+	 *
+	 * @since 2.0
+	 */
+	public List<Comparable> getCategoriesForAxis(CategoryAxis axis, int start,
+			int end) {
+		List<CategoryDataset> mappedDatasets = datasetsMappedToDomainAxis(
+				getDomainAxisIndex(axis));
+		if (mappedDatasets.size() == 1) {
+			CategoryDataset dataset = mappedDatasets.get(0);
+			end = Math.min(end, dataset.getColumnCount());
+			List<Comparable> result = new ArrayList<Comparable>(
+					Math.max(end - start, 0));
+			for (int i = start; i < end; i++) {
+				result.add(dataset.getColumnKey(i));
+			}
+			return result;
+		}
+		List<Comparable> categories = getCategoriesForAxis(axis);
+		end = Math.min(end, categories.size());
+		return new ArrayList<Comparable>(categories.subList(
+				Math.min(start, end), end));
+	}
+
 	/**
 	 * Returns the flag that controls whether or not the shared domain axis is
 	 * drawn for each subplot.
@@ -4751,8 +4875,10 @@ public class CategoryPlot extends Plot implements
 	}
 
 	/**
-	 * Returns <code>false</code> always, because the plot cannot be panned
-	 * along the domain axis/axes.
+	 * Returns <code>true</code> if a domain axis has a window of visible
+	 * categories (see {@link CategoryAxis#setCategoryWindow(int, int)}), in
+	 * which case the plot can be panned along the domain axis/axes by moving
+	 * the window.  Otherwise returns <code>false</code>.
 	 *
 	 * @return A boolean.
 	 *
@@ -4762,7 +4888,7 @@ public class CategoryPlot extends Plot implements
 	 */
 	@Override
 	public boolean isDomainPannable() {
-		return false;
+		return hasCategoryWindow();
 	}
 
 	/**
@@ -4811,7 +4937,31 @@ public class CategoryPlot extends Plot implements
 	@Override
 	public void panDomainAxes(double percent, PlotRenderingInfo info,
 			Point2D source) {
-		// do nothing, because the plot is not pannable along the domain axes
+		// categories are drawn from the top down on a vertical axis
+		if (this.orientation == PlotOrientation.HORIZONTAL) {
+			percent = -percent;
+		}
+		if (this.domainPanRemainders == null) {
+			this.domainPanRemainders = new HashMap<Integer, Double>();
+		}
+		for (Map.Entry<Integer, CategoryAxis> entry
+				: this.domainAxes.entrySet()) {
+			CategoryAxis axis = entry.getValue();
+			if (axis == null || axis.getVisibleCategoryCount() == 0) {
+				continue;
+			}
+			// small pans accumulate until they add up to a whole category
+			Double remainder = this.domainPanRemainders.get(entry.getKey());
+			double shift = percent * axis.getVisibleCategoryCount()
+					+ (remainder != null ? remainder.doubleValue() : 0.0);
+			int categories = (int) shift;
+			this.domainPanRemainders.put(entry.getKey(), shift - categories);
+			if (categories != 0) {
+				int count = getCategoryCountForAxis(axis);
+				setCategoryWindow(axis, axis.getVisibleCategoryStart(count)
+						+ categories, axis.getVisibleCategoryCount(), count);
+			}
+		}
 	}
 
 	/**
@@ -4847,8 +4997,10 @@ public class CategoryPlot extends Plot implements
 	}
 
 	/**
-	 * Returns <code>false</code> to indicate that the domain axes are not
-	 * zoomable.
+	 * Returns <code>true</code> if a domain axis has a window of visible
+	 * categories (see {@link CategoryAxis#setCategoryWindow(int, int)}), in
+	 * which case the domain axes can be zoomed by resizing the window.
+	 * Otherwise returns <code>false</code>.
 	 *
 	 * @return A boolean.
 	 *
@@ -4856,7 +5008,7 @@ public class CategoryPlot extends Plot implements
 	 */
 	@Override
 	public boolean isDomainZoomable() {
-		return false;
+		return hasCategoryWindow();
 	}
 
 	/**
@@ -4872,8 +5024,9 @@ public class CategoryPlot extends Plot implements
 	}
 
 	/**
-	 * This method does nothing, because <code>CategoryPlot</code> doesn't
-	 * support zooming on the domain.
+	 * Multiplies the number of visible categories on the domain axis/axes by
+	 * the specified factor, keeping the window centred.  Only axes with a
+	 * window of visible categories are zoomed.
 	 *
 	 * @param factor
 	 *            the zoom factor.
@@ -4885,12 +5038,12 @@ public class CategoryPlot extends Plot implements
 	@Override
 	public void zoomDomainAxes(double factor, PlotRenderingInfo state,
 			Point2D source) {
-		// can't zoom domain axis
+		zoomDomainAxes(factor, state, source, false);
 	}
 
 	/**
-	 * This method does nothing, because <code>CategoryPlot</code> doesn't
-	 * support zooming on the domain.
+	 * Zooms in on a part of the window of visible categories on the domain
+	 * axis/axes.  Only axes with a window of visible categories are zoomed.
 	 *
 	 * @param lowerPercent
 	 *            the lower bound.
@@ -4904,12 +5057,30 @@ public class CategoryPlot extends Plot implements
 	@Override
 	public void zoomDomainAxes(double lowerPercent, double upperPercent,
 			PlotRenderingInfo state, Point2D source) {
-		// can't zoom domain axis
+		// categories are drawn from the top down on a vertical axis
+		if (this.orientation == PlotOrientation.HORIZONTAL) {
+			double lower = 1.0 - upperPercent;
+			upperPercent = 1.0 - lowerPercent;
+			lowerPercent = lower;
+		}
+		for (CategoryAxis axis : this.domainAxes.values()) {
+			if (axis == null || axis.getVisibleCategoryCount() == 0) {
+				continue;
+			}
+			int count = getCategoryCountForAxis(axis);
+			int start = axis.getVisibleCategoryStart(count);
+			int visible = axis.getVisibleCategoryEnd(count) - start;
+			int first = start + (int) Math.floor(lowerPercent * visible);
+			int end = start + (int) Math.ceil(upperPercent * visible);
+			setCategoryWindow(axis, first, Math.max(end - first, 1), count);
+		}
 	}
 
 	/**
-	 * This method does nothing, because <code>CategoryPlot</code> doesn't
-	 * support zooming on the domain.
+	 * Multiplies the number of visible categories on the domain axis/axes by
+	 * the specified factor.  Only axes with a window of visible categories are
+	 * zoomed, and a factor of zero or less (used elsewhere to restore the
+	 * automatic axis range) is ignored.
 	 *
 	 * @param factor
 	 *            the zoom factor.
@@ -4927,7 +5098,81 @@ public class CategoryPlot extends Plot implements
 	@Override
 	public void zoomDomainAxes(double factor, PlotRenderingInfo info,
 			Point2D source, boolean useAnchor) {
-		// can't zoom domain axis
+		if (factor <= 0.0) {
+			return;
+		}
+		for (CategoryAxis axis : this.domainAxes.values()) {
+			if (axis == null || axis.getVisibleCategoryCount() == 0) {
+				continue;
+			}
+			int count = getCategoryCountForAxis(axis);
+			int start = axis.getVisibleCategoryStart(count);
+			int visible = axis.getVisibleCategoryEnd(count) - start;
+			// make sure that every zoom step changes the window
+			int newVisible = (int) Math.round(visible * factor);
+			if (factor > 1.0) {
+				newVisible = Math.max(newVisible, visible + 1);
+			}
+			else if (factor < 1.0) {
+				newVisible = Math.min(newVisible, visible - 1);
+			}
+			newVisible = Math.max(1, Math.min(newVisible, Math.max(count, 1)));
+
+			// the fraction of the window that stays in place
+			double anchor = 0.5;
+			if (useAnchor && source != null && info != null
+					&& info.getDataArea() != null) {
+				Rectangle2D area = info.getDataArea();
+				if (this.orientation == PlotOrientation.VERTICAL) {
+					anchor = (source.getX() - area.getMinX()) / area.getWidth();
+				}
+				else {
+					anchor = (source.getY() - area.getMinY())
+							/ area.getHeight();
+				}
+				anchor = Math.max(0.0, Math.min(anchor, 1.0));
+			}
+			int first = (int) Math.round(start + anchor * (visible
+					- newVisible));
+			setCategoryWindow(axis, first, newVisible, count);
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if any of the domain axes has a window of
+	 * visible categories.
+	 *
+	 * @return A boolean.
+	 */
+	private boolean hasCategoryWindow() {
+		for (CategoryAxis axis : this.domainAxes.values()) {
+			if (axis != null && axis.getVisibleCategoryCount() > 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Moves the window of visible categories for an axis, keeping it within
+	 * the categories of the axis.
+	 *
+	 * @param axis
+	 *            the axis.
+	 * @param first
+	 *            the index of the first visible category.
+	 * @param visibleCount
+	 *            the number of visible categories.
+	 * @param categoryCount
+	 *            the number of categories on the axis.
+	 */
+	private void setCategoryWindow(CategoryAxis axis, int first,
+			int visibleCount, int categoryCount) {
+		first = Math.max(0, Math.min(first, categoryCount - visibleCount));
+		if (first != axis.getFirstVisibleCategory()
+				|| visibleCount != axis.getVisibleCategoryCount()) {
+			axis.setCategoryWindow(first, visibleCount);
+		}
 	}
 
 	/**
@@ -5254,6 +5499,7 @@ public class CategoryPlot extends Plot implements
 	@Override
 	public Object clone() throws CloneNotSupportedException {
 		CategoryPlot clone = (CategoryPlot) super.clone();
+		clone.domainPanRemainders = null;
 		clone.domainAxes = CloneUtils.cloneMapValues(this.domainAxes);
 		for (CategoryAxis axis : clone.domainAxes.values()) {
 			if (axis != null) {
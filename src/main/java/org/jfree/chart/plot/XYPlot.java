@@ -261,6 +261,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -271,6 +272,8 @@ import java.util.Map.Entry;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.LegendItem;
@@ -300,6 +303,7 @@ import org.jfree.chart.event.RendererChangeEvent;
 import org.jfree.chart.event.RendererChangeListener;
 import org.jfree.chart.renderer.RendererUtilities;
 import org.jfree.chart.renderer.xy.AbstractXYItemRenderer;
+import org.jfree.chart.renderer.xy.XYDecimator;
 import org.jfree.chart.renderer.xy.XYItemRenderer;
 import org.jfree.chart.renderer.xy.XYItemRendererState;
 import org.jfree.chart.util.CloneUtils;
@@ -310,6 +314,7 @@ import org.jfree.chart.util.ShadowGenerator;
 import org.jfree.data.Range;
 import org.jfree.data.general.DatasetChangeEvent;
 import org.jfree.data.general.DatasetUtilities;
+import org.jfree.data.xy.PrimitiveXYDataset;
 import org.jfree.data.xy.XYDataset;
 import org.jfree.geometry.Line2D;
 
@@ -587,6 +592,28 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 	 */
 	private SeriesRenderingOrder seriesRenderingOrder = SeriesRenderingOrder.REVERSE;
 
+	/**
+	 * The decimator that selects the items passed to the renderers (if
+	 * {@code null}, all items are passed).
+	 */
+	private XYDecimator decimator;
+
+	/**
+	 * A flag that controls whether the data items for each series are
+	 * prepared in parallel before they are drawn.
+	 */
+	private boolean parallelRendering;
+
+	/**
+	 * Buffers for the transformed coordinates prepared for the renderers,
+	 * kept from one frame to the next so that preparing a dataset does not
+	 * allocate new arrays every time the plot is drawn. A drawing thread
+	 * takes the buffers for the duration of a frame (see
+	 * {@link #takeCoordinateBuffers()}), so concurrent draws never share
+	 * them.
+	 */
+	private transient CoordinateBuffers coordinateBuffers;
+
 	/**
 	 * The weight for this plot (only relevant if this is a subplot in a
 	 * combined plot).
@@ -622,6 +649,14 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 	 */
 	private ShadowGenerator shadowGenerator;
 
+	/**
+	 * The last dataset change received while the notify flag was
+	 * <code>false</code> (<code>null</code> if there was none).  The axes are
+	 * configured, and the event is passed on to the parent plot (if any),
+	 * when the flag is set back to <code>true</code>.
+	 */
+	private transient DatasetChangeEvent pendingDatasetChange;
+
 	/**
 	 * Creates a new <code>XYPlot</code> instance with no dataset, no axes and
 	 * no renderer. You should specify these items before using the plot.
@@ -1765,6 +1800,89 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 		fireChangeEvent();
 	}
 
+	/**
+	 * Returns the decimator that selects the items passed to the renderers.
+	 *
+	 * @return The decimator (possibly <code>null</code>).
+	 *
+	 * @see #setDecimator(XYDecimator)
+	 *
+	 * @since 2.0
+	 */
+	public XYDecimator getDecimator() {
+		return this.decimator;
+	}
+
+	/**
+	 * Sets the decimator that selects the items passed to the renderers and
+	 * sends a {@link PlotChangeEvent} to all registered listeners. When a
+	 * decimator is set, each visible series is reduced to a subset of its
+	 * items before rendering (for example, the minimum and maximum values in
+	 * each pixel column), so that the cost of drawing a large series depends
+	 * on the width of the plot rather than on the number of items. The
+	 * default value is <code>null</code> (no decimation).
+	 *
+	 * @param decimator
+	 *            the decimator (<code>null</code> permitted).
+	 *
+	 * @see #getDecimator()
+	 *
+	 * @since 2.0
+	 */
+	public void setDecimator(XYDecimator decimator) {
+		this.decimator = decimator;
+		fireChangeEvent();
+	}
+
+	/**
+	 * Returns the flag that controls whether the data items are prepared for
+	 * rendering in parallel. The default value is <code>false</code>.
+	 *
+	 * @return A boolean.
+	 *
+	 * @see #setParallelRendering(boolean)
+	 *
+	 * @since 2.0
+	 */
+	public boolean isParallelRendering() {
+		return this.parallelRendering;
+	}
+
+	/**
+	 * Sets the flag that controls whether the data items are prepared for
+	 * rendering in parallel, and sends a {@link PlotChangeEvent} to all
+	 * registered listeners.
+	 * <P>
+	 * When this flag is set, the work that does not involve the graphics
+	 * context (finding the visible items, decimation and transforming the
+	 * data values to Java2D coordinates) is carried out for every visible
+	 * series of every dataset on the common {@link ForkJoinPool} before any
+	 * data is drawn. The drawing itself still takes place on the calling
+	 * thread, in the usual dataset and series rendering order, so the output
+	 * is the same as for sequential rendering. This helps most for plots
+	 * with several large datasets.
+	 * <P>
+	 * Because the series are read by several threads at once, a dataset
+	 * must be safe for concurrent reads. The datasets in JFreeChart are (the
+	 * caches that {@link org.jfree.data.xy.XYSeries} and
+	 * {@link org.jfree.data.time.TimeSeries} build on demand are published
+	 * safely), but a custom dataset that builds a cache while it is read
+	 * without synchronization is not, and should not be used with this
+	 * flag. In either case the datasets must not be modified by another
+	 * thread while the chart is being drawn.
+	 *
+	 * @param parallel
+	 *            the new flag value.
+	 *
+	 * @see #isParallelRendering()
+	 *
+	 * @since 2.0
+	 */
+	public void setParallelRendering(boolean parallel) {
+		this.parallelRendering = parallel;
+		fireChangeEvent();
+	}
+
 	/**
 	 * Returns the index of the specified renderer, or <code>-1</code> if the
 	 * renderer is not assigned to this plot.
@@ -3426,10 +3544,22 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 		}
 
 		// render data items...
-		for (int datasetIndex : datasetIndices) {
-			XYDataset dataset = this.getDataset(datasetIndex);
-			foundData = render(g2, dataArea, datasetIndex, info,
-					crosshairState) || foundData;
+		CoordinateBuffers buffers = takeCoordinateBuffers();
+		try {
+			Map<Integer, PreparedDataset> prepared = null;
+			if (this.parallelRendering) {
+				prepared = prepareDatasets(g2, dataArea, datasetIndices,
+						info, buffers);
+			}
+			for (int datasetIndex : datasetIndices) {
+				PreparedDataset p = prepared != null
+						? prepared.get(datasetIndex) : null;
+				foundData = render(g2, dataArea, datasetIndex, info,
+						crosshairState, p, buffers) || foundData;
+			}
+		}
+		finally {
+			returnCoordinateBuffers(buffers);
 		}
 
 		// draw foreground annotations
@@ -3869,6 +3999,43 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 	 */
 	public boolean render(GraphicsContext g2, Rectangle2D dataArea, int index,
 			PlotRenderingInfo info, CrosshairState crosshairState) {
+		return render(g2, dataArea, index, info, crosshairState, null,
+				null);
+	}
+
+	/**
+	 * Draws a representation of the data within the dataArea region, using
+	 * the current renderer and (optionally) the renderer state and decimated
+	 * items prepared by {@link #prepareDatasets(GraphicsContext, Rectangle2D,
+	 * List, PlotRenderingInfo, CoordinateBuffers)}. If the dataset has not
+	 * been prepared, the renderer reads prepared coordinates (see
+	 * {@link XYItemRendererState#getUseTransformedCoordinates()}) and the
+	 * dataset is a {@link PrimitiveXYDataset}, it is prepared here, on the
+	 * calling thread, so that its series are read and transformed a slice at
+	 * a time. Otherwise the renderer transforms each item as it draws it.
+	 *
+	 * @param g2
+	 *            the graphics device.
+	 * @param dataArea
+	 *            the region in which the data is to be drawn.
+	 * @param index
+	 *            the dataset index.
+	 * @param info
+	 *            an optional object for collection dimension information.
+	 * @param crosshairState
+	 *            collects crosshair information (<code>null</code> permitted).
+	 * @param prepared
+	 *            the prepared dataset (<code>null</code> permitted).
+	 * @param buffers
+	 *            the coordinate buffers for this frame (<code>null</code>
+	 *            permitted, in which case new buffers are allocated if
+	 *            needed).
+	 *
+	 * @return A flag that indicates whether any data was actually rendered.
+	 */
+	private boolean render(GraphicsContext g2, Rectangle2D dataArea,
+			int index, PlotRenderingInfo info, CrosshairState crosshairState,
+			PreparedDataset prepared, CoordinateBuffers buffers) {
 
 		boolean foundData = false;
 		XYDataset dataset = getDataset(index);
@@ -3887,8 +4054,29 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 				}
 			}
 
-			XYItemRendererState state = renderer.initialise(g2, dataArea, this,
-					dataset, info);
+			XYItemRendererState state;
+			int[][] decimated;
+			if (prepared != null) {
+				state = prepared.state;
+				decimated = prepared.itemIndices;
+			}
+			else {
+				state = renderer.initialise(g2, dataArea, this, dataset,
+						info);
+				if (state.getUseTransformedCoordinates()
+						&& dataset instanceof PrimitiveXYDataset) {
+					if (buffers == null) {
+						buffers = new CoordinateBuffers();
+					}
+					prepared = prepareDataset(state, dataset, index,
+							renderer, xAxis, yAxis, dataArea, buffers, null);
+					decimated = prepared.itemIndices;
+				}
+				else {
+					decimated = decimate(dataset, renderer, state, xAxis,
+							dataArea);
+				}
+			}
 			int passCount = renderer.getPassCount();
 
 			SeriesRenderingOrder seriesOrder = getSeriesRenderingOrder();
@@ -3909,12 +4097,25 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 							firstItem = Math.max(itemBounds[0] - 1, 0);
 							lastItem = Math.min(itemBounds[1] + 1, lastItem);
 						}
+						int[] items = decimated != null ? decimated[series]
+								: null;
+						state.setItemIndices(items);
 						state.startSeriesPass(dataset, series, firstItem,
 								lastItem, pass, passCount);
-						for (int item = firstItem; item <= lastItem; item++) {
-							renderer.drawItem(g2, state, dataArea, info,
-									this, xAxis, yAxis, dataset, series, item,
-									crosshairState, pass);
+						if (items == null) {
+							for (int item = firstItem; item <= lastItem;
+									item++) {
+								renderer.drawItem(g2, state, dataArea, info,
+										this, xAxis, yAxis, dataset, series,
+										item, crosshairState, pass);
+							}
+						}
+						else {
+							for (int item : items) {
+								renderer.drawItem(g2, state, dataArea, info,
+										this, xAxis, yAxis, dataset, series,
+										item, crosshairState, pass);
+							}
 						}
 						state.endSeriesPass(dataset, series, firstItem,
 								lastItem, pass, passCount);
@@ -3935,12 +4136,25 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 							firstItem = Math.max(itemBounds[0] - 1, 0);
 							lastItem = Math.min(itemBounds[1] + 1, lastItem);
 						}
+						int[] items = decimated != null ? decimated[series]
+								: null;
+						state.setItemIndices(items);
 						state.startSeriesPass(dataset, series, firstItem,
 								lastItem, pass, passCount);
-						for (int item = firstItem; item <= lastItem; item++) {
-							renderer.drawItem(g2, state, dataArea, info,
-									this, xAxis, yAxis, dataset, series, item,
-									crosshairState, pass);
+						if (items == null) {
+							for (int item = firstItem; item <= lastItem;
+									item++) {
+								renderer.drawItem(g2, state, dataArea, info,
+										this, xAxis, yAxis, dataset, series,
+										item, crosshairState, pass);
+							}
+						}
+						else {
+							for (int item : items) {
+								renderer.drawItem(g2, state, dataArea, info,
+										this, xAxis, yAxis, dataset, series,
+										item, crosshairState, pass);
+							}
 						}
 						state.endSeriesPass(dataset, series, firstItem,
 								lastItem, pass, passCount);
@@ -3951,6 +4165,450 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 		return foundData;
 	}
 
+	/**
+	 * Applies the plot's decimator (if there is one) to each visible series in
+	 * a dataset, returning the indices of the items to be rendered for each
+	 * series (a <code>null</code> entry means all the items in the visible
+	 * range are rendered).
+	 *
+	 * @param dataset
+	 *            the dataset.
+	 * @param renderer
+	 *            the renderer.
+	 * @param state
+	 *            the renderer state.
+	 * @param xAxis
+	 *            the domain axis for the dataset.
+	 * @param dataArea
+	 *            the region in which the data is to be drawn.
+	 *
+	 * @return The item indices for each series, or <code>null</code> if the
+	 *         plot has no decimator.
+	 */
+	private int[][] decimate(XYDataset dataset, XYItemRenderer renderer,
+			XYItemRendererState state, ValueAxis xAxis, Rectangle2D dataArea) {
+		if (this.decimator == null) {
+			return null;
+		}
+		int seriesCount = dataset.getSeriesCount();
+		int[][] result = new int[seriesCount][];
+		RectangleEdge domainEdge = getDomainAxisEdge();
+		for (int series = 0; series < seriesCount; series++) {
+			if (!renderer.isSeriesVisible(series)) {
+				continue;
+			}
+			int[] bounds = getItemBounds(dataset, series, xAxis, state);
+			if (bounds[1] > bounds[0]) {
+				result[series] = this.decimator.decimate(dataset, series,
+						bounds[0], bounds[1], xAxis, dataArea, domainEdge);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the indices of the first and last items in a series that will
+	 * be passed to the renderer (before any decimation).
+	 *
+	 * @param dataset
+	 *            the dataset.
+	 * @param series
+	 *            the series index.
+	 * @param xAxis
+	 *            the domain axis for the dataset.
+	 * @param state
+	 *            the renderer state.
+	 *
+	 * @return An array containing the first and last item indices.
+	 */
+	private int[] getItemBounds(XYDataset dataset, int series,
+			ValueAxis xAxis, XYItemRendererState state) {
+		int firstItem = 0;
+		int lastItem = dataset.getItemCount(series) - 1;
+		if (lastItem >= 0 && state.getProcessVisibleItemsOnly()) {
+			int[] itemBounds = RendererUtilities.findLiveItems(dataset,
+					series, xAxis.getLowerBound(), xAxis.getUpperBound());
+			firstItem = Math.max(itemBounds[0] - 1, 0);
+			lastItem = Math.min(itemBounds[1] + 1, lastItem);
+		}
+		return new int[] { firstItem, lastItem };
+	}
+
+	/**
+	 * Initialises the renderer state for each dataset and then, using the
+	 * common {@link ForkJoinPool}, finds the items to render for every
+	 * visible series, along with their transformed coordinates if the
+	 * renderer reads them. The coordinates are recorded in the renderer state
+	 * (see {@link XYItemRendererState#setTransformedCoordinates(int, int,
+	 * int[], double[], double[], int)}) so that the renderer does not have to
+	 * repeat the work while drawing.
+	 * <P>
+	 * The series are read concurrently, so this relies on the datasets being
+	 * safe to read from several threads at once while they are not being
+	 * modified. The datasets in JFreeChart are (any caches that they build
+	 * lazily are published safely); the datasets must not be modified while
+	 * the chart is drawn.
+	 *
+	 * @param g2
+	 *            the graphics device.
+	 * @param dataArea
+	 *            the region in which the data is to be drawn.
+	 * @param datasetIndices
+	 *            the indices of the datasets to prepare.
+	 * @param info
+	 *            an optional object for collection dimension information.
+	 * @param buffers
+	 *            the coordinate buffers for this frame.
+	 *
+	 * @return The prepared datasets, keyed by dataset index.
+	 */
+	private Map<Integer, PreparedDataset> prepareDatasets(GraphicsContext g2,
+			Rectangle2D dataArea, List<Integer> datasetIndices,
+			PlotRenderingInfo info, CoordinateBuffers buffers) {
+		Map<Integer, PreparedDataset> result
+				= new HashMap<Integer, PreparedDataset>();
+		List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+		for (int index : datasetIndices) {
+			XYDataset dataset = getDataset(index);
+			if (DatasetUtilities.isEmptyOrNull(dataset)) {
+				continue;
+			}
+			ValueAxis xAxis = getDomainAxisForDataset(index);
+			ValueAxis yAxis = getRangeAxisForDataset(index);
+			XYItemRenderer renderer = getRenderer(index);
+			if (renderer == null) {
+				renderer = getRenderer();
+			}
+			if (xAxis == null || yAxis == null || renderer == null) {
+				continue;
+			}
+			XYItemRendererState state = renderer.initialise(g2, dataArea,
+					this, dataset, info);
+			result.put(index, prepareDataset(state, dataset, index, renderer,
+					xAxis, yAxis, dataArea, buffers, tasks));
+		}
+		for (ForkJoinTask<?> task : tasks) {
+			task.join();
+		}
+		for (PreparedDataset p : result.values()) {
+			p.publish();
+		}
+		return result;
+	}
+
+	/**
+	 * Prepares each visible series of a dataset for rendering (see
+	 * {@link #prepareSeries(PreparedDataset, XYDataset, int, ValueAxis,
+	 * ValueAxis, Rectangle2D, RectangleEdge, RectangleEdge)}). If a task list
+	 * is supplied, the series are prepared on the common {@link ForkJoinPool}
+	 * and the caller must wait for the tasks and then call
+	 * {@link PreparedDataset#publish()}; otherwise the series are prepared,
+	 * and the results published, on the calling thread.
+	 *
+	 * @param state
+	 *            the renderer state, already initialised for the dataset.
+	 * @param dataset
+	 *            the dataset.
+	 * @param index
+	 *            the dataset index.
+	 * @param renderer
+	 *            the renderer.
+	 * @param xAxis
+	 *            the domain axis for the dataset.
+	 * @param yAxis
+	 *            the range axis for the dataset.
+	 * @param dataArea
+	 *            the region in which the data is to be drawn.
+	 * @param buffers
+	 *            the coordinate buffers for this frame.
+	 * @param tasks
+	 *            the list that collects the submitted tasks
+	 *            (<code>null</code> permitted).
+	 *
+	 * @return The prepared dataset.
+	 */
+	private PreparedDataset prepareDataset(XYItemRendererState state,
+			XYDataset dataset, int index, XYItemRenderer renderer,
+			ValueAxis xAxis, ValueAxis yAxis, Rectangle2D dataArea,
+			CoordinateBuffers buffers, List<ForkJoinTask<?>> tasks) {
+		RectangleEdge domainEdge = getDomainAxisEdge();
+		RectangleEdge rangeEdge = getRangeAxisEdge();
+		int seriesCount = dataset.getSeriesCount();
+		PreparedDataset p;
+		if (state.getUseTransformedCoordinates()) {
+			p = new PreparedDataset(state, seriesCount,
+					buffers.getDomainBuffers(index, seriesCount),
+					buffers.getRangeBuffers(index, seriesCount));
+		}
+		else {
+			p = new PreparedDataset(state, seriesCount, null, null);
+		}
+		for (int series = 0; series < seriesCount; series++) {
+			if (!renderer.isSeriesVisible(series)) {
+				continue;
+			}
+			if (tasks == null) {
+				prepareSeries(p, dataset, series, xAxis, yAxis, dataArea,
+						domainEdge, rangeEdge);
+			}
+			else {
+				int s = series;
+				tasks.add(ForkJoinPool.commonPool().submit(
+						() -> prepareSeries(p, dataset, s, xAxis, yAxis,
+						dataArea, domainEdge, rangeEdge)));
+			}
+		}
+		if (tasks == null) {
+			p.publish();
+		}
+		return p;
+	}
+
+	/**
+	 * Finds the items to render for one series of a prepared dataset (applying
+	 * the decimator, if there is one) and, if the renderer reads them,
+	 * calculates their transformed coordinates into the buffers for the
+	 * series (replacing a buffer only if it is too small). This method may be
+	 * called on a worker thread and only writes to the entries for the
+	 * specified series.
+	 *
+	 * @param p
+	 *            the prepared dataset.
+	 * @param dataset
+	 *            the dataset.
+	 * @param series
+	 *            the series index.
+	 * @param xAxis
+	 *            the domain axis for the dataset.
+	 * @param yAxis
+	 *            the range axis for the dataset.
+	 * @param dataArea
+	 *            the region in which the data is to be drawn.
+	 * @param domainEdge
+	 *            the domain axis edge.
+	 * @param rangeEdge
+	 *            the range axis edge.
+	 */
+	private void prepareSeries(PreparedDataset p, XYDataset dataset,
+			int series, ValueAxis xAxis, ValueAxis yAxis,
+			Rectangle2D dataArea, RectangleEdge domainEdge,
+			RectangleEdge rangeEdge) {
+		int[] bounds = getItemBounds(dataset, series, xAxis, p.state);
+		int firstItem = bounds[0];
+		int lastItem = bounds[1];
+		if (lastItem < firstItem) {
+			return;
+		}
+		int[] items = null;
+		if (this.decimator != null && lastItem > firstItem) {
+			items = this.decimator.decimate(dataset, series, firstItem,
+					lastItem, xAxis, dataArea, domainEdge);
+		}
+		p.itemIndices[series] = items;
+		p.firstItems[series] = firstItem;
+		if (p.transX == null) {
+			return;
+		}
+		int count = items != null ? items.length : lastItem - firstItem + 1;
+		double[] transX = p.transX[series];
+		double[] transY = p.transY[series];
+		if (transX == null || transX.length < count) {
+			transX = new double[count];
+			transY = new double[count];
+			p.transX[series] = transX;
+			p.transY[series] = transY;
+		}
+		if (items == null && dataset instanceof PrimitiveXYDataset) {
+			// read the whole slice at once and transform it in place
+			PrimitiveXYDataset d = (PrimitiveXYDataset) dataset;
+			d.getXValues(series, firstItem, lastItem, transX, 0);
+			d.getYValues(series, firstItem, lastItem, transY, 0);
+			for (int i = 0; i < count; i++) {
+				transX[i] = xAxis.valueToJava2D(transX[i], dataArea,
+						domainEdge);
+				transY[i] = yAxis.valueToJava2D(transY[i], dataArea,
+						rangeEdge);
+			}
+		}
+		else {
+			for (int i = 0; i < count; i++) {
+				int item = items != null ? items[i] : firstItem + i;
+				transX[i] = xAxis.valueToJava2D(dataset.getXValue(series,
+						item), dataArea, domainEdge);
+				transY[i] = yAxis.valueToJava2D(dataset.getYValue(series,
+						item), dataArea, rangeEdge);
+			}
+		}
+		p.counts[series] = count;
+	}
+
+	/**
+	 * The renderer state and per-series results for a dataset that has been
+	 * prepared for rendering.
+	 */
+	private static final class PreparedDataset {
+
+		/** The renderer state. */
+		final XYItemRendererState state;
+
+		/** The decimated item indices for each series (entries may be null). */
+		final int[][] itemIndices;
+
+		/** The index of the first item for each series. */
+		final int[] firstItems;
+
+		/**
+		 * The transformed domain coordinate buffers, indexed by series (this
+		 * can be longer than the series count, and is <code>null</code> if
+		 * the renderer does not read transformed coordinates).
+		 */
+		final double[][] transX;
+
+		/** The transformed range coordinate buffers (see {@link #transX}). */
+		final double[][] transY;
+
+		/**
+		 * The number of transformed coordinates for each series (zero for a
+		 * series that has not been prepared).
+		 */
+		final int[] counts;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param state
+		 *            the renderer state.
+		 * @param seriesCount
+		 *            the number of series in the dataset.
+		 * @param transX
+		 *            the domain coordinate buffers (<code>null</code>
+		 *            permitted).
+		 * @param transY
+		 *            the range coordinate buffers (<code>null</code>
+		 *            permitted).
+		 */
+		PreparedDataset(XYItemRendererState state, int seriesCount,
+				double[][] transX, double[][] transY) {
+			this.state = state;
+			this.itemIndices = new int[seriesCount][];
+			this.firstItems = new int[seriesCount];
+			this.transX = transX;
+			this.transY = transY;
+			this.counts = new int[seriesCount];
+		}
+
+		/**
+		 * Records the transformed coordinates of each prepared series in the
+		 * renderer state. This is called on the drawing thread once all the
+		 * series have been prepared.
+		 */
+		void publish() {
+			for (int series = 0; series < this.counts.length; series++) {
+				if (this.counts[series] > 0) {
+					this.state.setTransformedCoordinates(series,
+							this.firstItems[series], this.itemIndices[series],
+							this.transX[series], this.transY[series],
+							this.counts[series]);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Takes the coordinate buffers for a frame. If another thread is drawing
+	 * the plot and holds the buffers, new (empty) buffers are returned.
+	 *
+	 * @return The buffers.
+	 */
+	private synchronized CoordinateBuffers takeCoordinateBuffers() {
+		CoordinateBuffers result = this.coordinateBuffers;
+		this.coordinateBuffers = null;
+		return result != null ? result : new CoordinateBuffers();
+	}
+
+	/**
+	 * Returns the coordinate buffers at the end of a frame, so that they can
+	 * be reused for the next frame.
+	 *
+	 * @param buffers
+	 *            the buffers.
+	 */
+	private synchronized void returnCoordinateBuffers(
+			CoordinateBuffers buffers) {
+		this.coordinateBuffers = buffers;
+	}
+
+	/**
+	 * The transformed coordinate buffers for each dataset and series, reused
+	 * from one frame to the next.
+	 */
+	private static final class CoordinateBuffers {
+
+		/** The domain coordinate buffers, by dataset index. */
+		private final Map<Integer, double[][]> domainBuffers
+				= new HashMap<Integer, double[][]>();
+
+		/** The range coordinate buffers, by dataset index. */
+		private final Map<Integer, double[][]> rangeBuffers
+				= new HashMap<Integer, double[][]>();
+
+		/**
+		 * Returns the domain coordinate buffers for a dataset.
+		 *
+		 * @param index
+		 *            the dataset index.
+		 * @param seriesCount
+		 *            the number of series in the dataset.
+		 *
+		 * @return An array with at least one (possibly null) buffer per
+		 *         series.
+		 */
+		double[][] getDomainBuffers(int index, int seriesCount) {
+			return getBuffers(this.domainBuffers, index, seriesCount);
+		}
+
+		/**
+		 * Returns the range coordinate buffers for a dataset.
+		 *
+		 * @param index
+		 *            the dataset index.
+		 * @param seriesCount
+		 *            the number of series in the dataset.
+		 *
+		 * @return An array with at least one (possibly null) buffer per
+		 *         series.
+		 */
+		double[][] getRangeBuffers(int index, int seriesCount) {
+			return getBuffers(this.rangeBuffers, index, seriesCount);
+		}
+
+		/**
+		 * Returns the buffers for a dataset from a map, growing the array if
+		 * the dataset has more series than before.
+		 *
+		 * @param map
+		 *            the map.
+		 * @param index
+		 *            the dataset index.
+		 * @param seriesCount
+		 *            the number of series.
+		 *
+		 * @return The buffers.
+		 */
+		private static double[][] getBuffers(Map<Integer, double[][]> map,
+				int index, int seriesCount) {
+			double[][] result = map.get(index);
+			if (result == null || result.length < seriesCount) {
+				result = result == null ? new double[seriesCount][]
+						: Arrays.copyOf(result, seriesCount);
+				map.put(index, result);
+			}
+			return result;
+		}
+
+	}
+
 	/**
 	 * Returns the domain axis for a dataset.
 	 *
@@ -4747,16 +5405,52 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 		}
 	}
 
+	/**
+	 * Sets a flag that controls whether or not listeners receive
+	 * {@link PlotChangeEvent} notifications.  If dataset changes were
+	 * received while the flag was <code>false</code>, the axes are
+	 * configured (once) and the last change is passed on to the parent plot
+	 * (if there is one, so that it can configure its shared axes) before
+	 * the change event is sent.
+	 *
+	 * @param notify
+	 *            a boolean.
+	 *
+	 * @see #isNotify()
+	 *
+	 * @since 2.0
+	 */
+	@Override
+	public void setNotify(boolean notify) {
+		DatasetChangeEvent pending = this.pendingDatasetChange;
+		if (notify && pending != null) {
+			this.pendingDatasetChange = null;
+			configureDomainAxes();
+			configureRangeAxes();
+			if (getParent() != null) {
+				getParent().datasetChanged(pending);
+			}
+		}
+		super.setNotify(notify);
+	}
+
 	/**
 	 * Receives notification of a change to the plot's dataset.
 	 * <P>
-	 * The axis ranges are updated if necessary.
+	 * The axis ranges are updated if necessary.  While the notify flag is
+	 * <code>false</code> this (and passing the event on to the parent plot)
+	 * is deferred until the flag is set back to <code>true</code>, so that a
+	 * series of dataset changes results in a single update.
 	 *
 	 * @param event
-	 *            information about the event (not used here).
+	 *            information about the event.
 	 */
 	@Override
 	public void datasetChanged(DatasetChangeEvent event) {
+		if (!isNotify()) {
+			this.pendingDatasetChange = event;
+			return;
+		}
 		configureDomainAxes();
 		configureRangeAxes();
 		if (getParent() != null) {
@@ -5782,6 +6476,12 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 				that.shadowGenerator)) {
 			return false;
 		}
+		if (!ObjectUtils.equal(this.decimator, that.decimator)) {
+			return false;
+		}
+		if (this.parallelRendering != that.parallelRendering) {
+			return false;
+		}
 		return super.equals(obj);
 	}
 
@@ -5797,6 +6497,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 	@Override
 	public Object clone() throws CloneNotSupportedException {
 		XYPlot clone = (XYPlot) super.clone();
+		clone.coordinateBuffers = null;
 		clone.domainAxes = CloneUtils.cloneMapValues(this.domainAxes);
 		for (ValueAxis axis : clone.domainAxes.values()) {
 			if (axis != null) {
@@ -1866,18 +1866,12 @@ public abstract class AbstractCategoryItemRenderer extends AbstractRenderer
 		if (!getItemCreateEntity(row, column)) {
 			return;
 		}
-		String tip = null;
-		CategoryToolTipGenerator tipster = getToolTipGenerator(row, column);
-		if (tipster != null) {
-			tip = tipster.generateToolTip(dataset, row, column);
-		}
-		String url = null;
-		CategoryURLGenerator urlster = getItemURLGenerator(row, column);
-		if (urlster != null) {
-			url = urlster.generateURL(dataset, row, column);
-		}
-		CategoryItemEntity entity = new CategoryItemEntity(hotspot, tip, url,
+		// the tool tip and URL text are generated when first requested, most
+		// entities are never hovered over
+		CategoryItemEntity entity = new CategoryItemEntity(hotspot, null, null,
 				dataset, dataset.getRowKey(row), dataset.getColumnKey(column));
+		entity.setToolTipGenerator(getToolTipGenerator(row, column));
+		entity.setURLGenerator(getItemURLGenerator(row, column));
 		entities.add(entity);
 	}
 
@@ -1920,18 +1914,10 @@ public abstract class AbstractCategoryItemRenderer extends AbstractRenderer
 				s = new Ellipse2D((float) (entityY - r), (float) (entityX - r), (float) w, (float) w);
 			}
 		}
-		String tip = null;
-		CategoryToolTipGenerator generator = getToolTipGenerator(row, column);
-		if (generator != null) {
-			tip = generator.generateToolTip(dataset, row, column);
-		}
-		String url = null;
-		CategoryURLGenerator urlster = getItemURLGenerator(row, column);
-		if (urlster != null) {
-			url = urlster.generateURL(dataset, row, column);
-		}
-		CategoryItemEntity entity = new CategoryItemEntity(s, tip, url,
+		CategoryItemEntity entity = new CategoryItemEntity(s, null, null,
 				dataset, dataset.getRowKey(row), dataset.getColumnKey(column));
+		entity.setToolTipGenerator(getToolTipGenerator(row, column));
+		entity.setURLGenerator(getItemURLGenerator(row, column));
 		entities.add(entity);
 	}
 
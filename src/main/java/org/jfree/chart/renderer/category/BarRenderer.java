@@ -824,7 +824,10 @@ public class BarRenderer extends AbstractCategoryItemRenderer
 		CategoryAxis domainAxis = getDomainAxis(plot, rendererIndex);
 		CategoryDataset dataset = plot.getDataset(rendererIndex);
 		if (dataset != null) {
+			// only the visible categories share the data area
 			int columns = dataset.getColumnCount();
+			columns = domainAxis.getVisibleCategoryEnd(columns)
+					- domainAxis.getVisibleCategoryStart(columns);
 			int rows = state.getVisibleSeriesCount() >= 0
 					? state.getVisibleSeriesCount() : dataset.getRowCount();
 			double space = 0.0;
@@ -0,0 +1,159 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * AbstractXYDecimator.java
+ * ------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.jfree.chart.ui.RectangleEdge;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * A base class for the decimators supplied with JFreeChart. Decimators are
+ * immutable, so a single instance can be shared between plots and used from
+ * more than one thread at a time.
+ *
+ * @since 2.0
+ */
+public abstract class AbstractXYDecimator implements XYDecimator,
+		Serializable {
+
+	/** For serialization. */
+	private static final long serialVersionUID = -4181375096427707633L;
+
+	/**
+	 * Default constructor.
+	 */
+	protected AbstractXYDecimator() {
+		super();
+	}
+
+	/**
+	 * Returns the number of pixels along the domain axis for the specified
+	 * data area.
+	 *
+	 * @param dataArea
+	 *            the data area.
+	 * @param domainEdge
+	 *            the edge for the domain axis.
+	 *
+	 * @return The pixel count (always at least 1).
+	 */
+	protected static int getPixelCount(Rectangle2D dataArea,
+			RectangleEdge domainEdge) {
+		double length = RectangleEdge.isLeftOrRight(domainEdge)
+				? dataArea.getHeight() : dataArea.getWidth();
+		return Math.max(1, (int) Math.ceil(length));
+	}
+
+	/**
+	 * Tests this decimator for equality with an arbitrary object. Decimators
+	 * without attributes are equal to any other instance of the same class.
+	 *
+	 * @param obj
+	 *            the object ({@code null} permitted).
+	 *
+	 * @return A boolean.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		return obj != null && obj.getClass().equals(getClass());
+	}
+
+	/**
+	 * Returns a hash code for this decimator.
+	 *
+	 * @return A hash code.
+	 */
+	@Override
+	public int hashCode() {
+		return getClass().hashCode();
+	}
+
+	/**
+	 * An ascending list of item indices, used to collect the result of a
+	 * decimation.
+	 */
+	protected static final class ItemIndices {
+
+		/** Storage for the indices. */
+		private int[] indices;
+
+		/** The number of indices in the list. */
+		private int count;
+
+		/**
+		 * Creates a new empty list.
+		 *
+		 * @param initialCapacity
+		 *            the initial capacity.
+		 */
+		public ItemIndices(int initialCapacity) {
+			this.indices = new int[Math.max(initialCapacity, 4)];
+		}
+
+		/**
+		 * Appends an index to the list. Indices that are not greater than
+		 * the last index in the list are ignored, so that the list remains
+		 * in ascending order without duplicates.
+		 *
+		 * @param item
+		 *            the item index.
+		 */
+		public void add(int item) {
+			if (this.count > 0 && item <= this.indices[this.count - 1]) {
+				return;
+			}
+			if (this.count == this.indices.length) {
+				this.indices = Arrays.copyOf(this.indices, this.count * 2);
+			}
+			this.indices[this.count++] = item;
+		}
+
+		/**
+		 * Returns the indices in a new array.
+		 *
+		 * @return The indices.
+		 */
+		public int[] toArray() {
+			return Arrays.copyOf(this.indices, this.count);
+		}
+
+	}
+
+}
@@ -1986,17 +1986,12 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
 						(float) (entityY - r), (float) (entityX - r), (float) w, (float) w);
 			}
 		}
-		String tip = null;
-		XYToolTipGenerator generator = getToolTipGenerator(series, item);
-		if (generator != null) {
-			tip = generator.generateToolTip(dataset, series, item);
-		}
-		String url = null;
-		if (getURLGenerator() != null) {
-			url = getURLGenerator().generateURL(dataset, series, item);
-		}
+		// the tool tip and URL text are generated when first requested, most
+		// entities are never hovered over
 		XYItemEntity entity = new XYItemEntity(hotspot, dataset, series, item,
-				tip, url);
+				null, null);
+		entity.setToolTipGenerator(getToolTipGenerator(series, item));
+		entity.setURLGenerator(getURLGenerator());
 		entities.add(entity);
 	}
 
@@ -0,0 +1,246 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------
+ * LTTBXYDecimator.java
+ * --------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.data.xy.XYDataset;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * A decimator that uses the Largest-Triangle-Three-Buckets (LTTB) algorithm.
+ * The items are divided into buckets of equal size (by item count), and from
+ * each bucket the item that forms the largest triangle with the item
+ * selected from the previous bucket and the average of the next bucket is
+ * kept. This preserves the visual shape of a series well with a fixed number
+ * of points, but (unlike {@link M4XYDecimator}) does not guarantee that every
+ * extreme value is drawn.
+ * <p>
+ * The number of buckets is the number of pixels along the domain axis
+ * multiplied by the points-per-pixel attribute. Items with a {@code NaN}
+ * value are never selected for their area, but the first one in each bucket
+ * is kept so that gaps in a series are preserved.
+ *
+ * @since 2.0
+ */
+public class LTTBXYDecimator extends AbstractXYDecimator {
+
+	/** For serialization. */
+	private static final long serialVersionUID = 3811546530366357307L;
+
+	/** The number of points to keep per pixel along the domain axis. */
+	private final double pointsPerPixel;
+
+	/**
+	 * Creates a new decimator that keeps one point per pixel.
+	 */
+	public LTTBXYDecimator() {
+		this(1.0);
+	}
+
+	/**
+	 * Creates a new decimator.
+	 *
+	 * @param pointsPerPixel
+	 *            the number of points to keep per pixel along the domain
+	 *            axis (must be greater than zero).
+	 */
+	public LTTBXYDecimator(double pointsPerPixel) {
+		super();
+		if (!(pointsPerPixel > 0.0)) {
+			throw new IllegalArgumentException(
+					"Requires 'pointsPerPixel' > 0.");
+		}
+		this.pointsPerPixel = pointsPerPixel;
+	}
+
+	/**
+	 * Returns the number of points kept per pixel along the domain axis.
+	 *
+	 * @return The number of points per pixel.
+	 */
+	public double getPointsPerPixel() {
+		return this.pointsPerPixel;
+	}
+
+	/**
+	 * Returns the indices of the items that should be rendered.
+	 *
+	 * @param dataset
+	 *            the dataset ({@code null} not permitted).
+	 * @param series
+	 *            the series index.
+	 * @param firstItem
+	 *            the index of the first item to consider.
+	 * @param lastItem
+	 *            the index of the last item to consider.
+	 * @param domainAxis
+	 *            the domain axis ({@code null} not permitted).
+	 * @param dataArea
+	 *            the area within which the data is being drawn.
+	 * @param domainEdge
+	 *            the edge for the domain axis.
+	 *
+	 * @return The item indices, or {@code null} if all items should be
+	 *         rendered.
+	 */
+	@Override
+	public int[] decimate(XYDataset dataset, int series, int firstItem,
+			int lastItem, ValueAxis domainAxis, Rectangle2D dataArea,
+			RectangleEdge domainEdge) {
+		int itemCount = lastItem - firstItem + 1;
+		double target = getPixelCount(dataArea, domainEdge)
+				* this.pointsPerPixel;
+		int threshold = (int) Math.max(3.0, Math.min(target, itemCount));
+		if (itemCount <= threshold) {
+			return null;
+		}
+		ItemIndices result = new ItemIndices(threshold * 2);
+		result.add(firstItem);
+		double bucketSize = (double) (itemCount - 2) / (threshold - 2);
+		double ax = dataset.getXValue(series, firstItem);
+		double ay = dataset.getYValue(series, firstItem);
+		for (int b = 0; b < threshold - 2; b++) {
+			int start = bucketStart(firstItem, bucketSize, b, lastItem);
+			int end = bucketStart(firstItem, bucketSize, b + 1, lastItem);
+			int nextEnd = b == threshold - 3 ? lastItem + 1
+					: bucketStart(firstItem, bucketSize, b + 2, lastItem);
+
+			// the average of the next bucket is the third triangle vertex
+			double sumX = 0.0;
+			double sumY = 0.0;
+			int n = 0;
+			for (int i = end; i < nextEnd; i++) {
+				double x = dataset.getXValue(series, i);
+				double y = dataset.getYValue(series, i);
+				if (!Double.isNaN(x) && !Double.isNaN(y)) {
+					sumX += x;
+					sumY += y;
+					n++;
+				}
+			}
+			double cx = n > 0 ? sumX / n : dataset.getXValue(series, lastItem);
+			double cy = n > 0 ? sumY / n : dataset.getYValue(series, lastItem);
+
+			int selected = -1;
+			int gap = -1;
+			double maxArea = 0.0;
+			for (int i = start; i < end; i++) {
+				double x = dataset.getXValue(series, i);
+				double y = dataset.getYValue(series, i);
+				if (Double.isNaN(x) || Double.isNaN(y)) {
+					if (gap < 0) {
+						gap = i;
+					}
+					continue;
+				}
+				double area = Math.abs((ax - cx) * (y - ay)
+						- (ax - x) * (cy - ay));
+				if (selected < 0 || area > maxArea) {
+					selected = i;
+					maxArea = area;
+				}
+			}
+			if (selected >= 0 && gap >= 0) {
+				result.add(Math.min(selected, gap));
+				result.add(Math.max(selected, gap));
+			}
+			else {
+				result.add(Math.max(selected, gap));
+			}
+			if (selected >= 0) {
+				ax = dataset.getXValue(series, selected);
+				ay = dataset.getYValue(series, selected);
+			}
+		}
+		result.add(lastItem);
+		return result.toArray();
+	}
+
+	/**
+	 * Returns the index of the first item in a bucket.
+	 *
+	 * @param firstItem
+	 *            the index of the first item in the range.
+	 * @param bucketSize
+	 *            the (average) number of items per bucket.
+	 * @param bucket
+	 *            the bucket index.
+	 * @param lastItem
+	 *            the index of the last item in the range.
+	 *
+	 * @return The item index.
+	 */
+	private static int bucketStart(int firstItem, double bucketSize,
+			int bucket, int lastItem) {
+		int start = firstItem + 1 + (int) Math.floor(bucket * bucketSize);
+		return Math.min(start, lastItem);
+	}
+
+	/**
+	 * Tests this decimator for equality with an arbitrary object.
+	 *
+	 * @param obj
+	 *            the object ({@code null} permitted).
+	 *
+	 * @return A boolean.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof LTTBXYDecimator)) {
+			return false;
+		}
+		LTTBXYDecimator that = (LTTBXYDecimator) obj;
+		if (this.pointsPerPixel != that.pointsPerPixel) {
+			return false;
+		}
+		return super.equals(obj);
+	}
+
+	/**
+	 * Returns a hash code for this decimator.
+	 *
+	 * @return A hash code.
+	 */
+	@Override
+	public int hashCode() {
+		long bits = Double.doubleToLongBits(this.pointsPerPixel);
+		return 31 * super.hashCode() + (int) (bits ^ (bits >>> 32));
+	}
+
+}
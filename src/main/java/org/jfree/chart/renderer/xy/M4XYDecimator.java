@@ -0,0 +1,92 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------
+ * M4XYDecimator.java
+ * ------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+/**
+ * A decimator that implements M4 aggregation: for each run of consecutive
+ * items that fall in the same pixel column, the first, last, minimum and
+ * maximum items are kept. Unlike {@link MinMaxXYDecimator}, this preserves
+ * the lines that enter and leave each column, so that a line chart drawn
+ * from the decimated items looks the same as one drawn from all the
+ * items. Decimation only takes place when there are more than four items per
+ * pixel column on average.
+ *
+ * @since 2.0
+ */
+public class M4XYDecimator extends MinMaxXYDecimator {
+
+	/** For serialization. */
+	private static final long serialVersionUID = -2580735128440964375L;
+
+	/**
+	 * Creates a new decimator.
+	 */
+	public M4XYDecimator() {
+		super();
+	}
+
+	/**
+	 * Returns the maximum number of items kept for each pixel column.
+	 *
+	 * @return The number of items ({@code 4} for this decimator).
+	 */
+	@Override
+	protected int getItemsPerColumn() {
+		return 4;
+	}
+
+	/**
+	 * Adds the items that represent a single pixel column to the result.
+	 *
+	 * @param result
+	 *            the result.
+	 * @param first
+	 *            the index of the first item in the column.
+	 * @param min
+	 *            the index of the item with the minimum y-value.
+	 * @param max
+	 *            the index of the item with the maximum y-value.
+	 * @param last
+	 *            the index of the last item in the column.
+	 */
+	@Override
+	protected void addColumn(ItemIndices result, int first, int min, int max,
+			int last) {
+		result.add(first);
+		result.add(Math.min(min, max));
+		result.add(Math.max(min, max));
+		result.add(last);
+	}
+
+}
@@ -0,0 +1,179 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * MinMaxXYDecimator.java
+ * ----------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.data.xy.XYDataset;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * A decimator that keeps, for each run of consecutive items that fall in the
+ * same pixel column, the items with the minimum and maximum y-values. The
+ * first and last items in the range are always kept, and items with a
+ * {@code NaN} y-value are kept (once per gap) so that gaps in a series are
+ * preserved. Decimation only takes place when there are more than two items
+ * per pixel column on average.
+ *
+ * @since 2.0
+ */
+public class MinMaxXYDecimator extends AbstractXYDecimator {
+
+	/** For serialization. */
+	private static final long serialVersionUID = 6021658471298816214L;
+
+	/**
+	 * Creates a new decimator.
+	 */
+	public MinMaxXYDecimator() {
+		super();
+	}
+
+	/**
+	 * Returns the maximum number of items kept for each pixel column.
+	 *
+	 * @return The number of items ({@code 2} for this decimator).
+	 */
+	protected int getItemsPerColumn() {
+		return 2;
+	}
+
+	/**
+	 * Adds the items that represent a single pixel column to the result.
+	 *
+	 * @param result
+	 *            the result.
+	 * @param first
+	 *            the index of the first item in the column.
+	 * @param min
+	 *            the index of the item with the minimum y-value.
+	 * @param max
+	 *            the index of the item with the maximum y-value.
+	 * @param last
+	 *            the index of the last item in the column.
+	 */
+	protected void addColumn(ItemIndices result, int first, int min, int max,
+			int last) {
+		result.add(Math.min(min, max));
+		result.add(Math.max(min, max));
+	}
+
+	/**
+	 * Returns the indices of the items that should be rendered.
+	 *
+	 * @param dataset
+	 *            the dataset ({@code null} not permitted).
+	 * @param series
+	 *            the series index.
+	 * @param firstItem
+	 *            the index of the first item to consider.
+	 * @param lastItem
+	 *            the index of the last item to consider.
+	 * @param domainAxis
+	 *            the domain axis ({@code null} not permitted).
+	 * @param dataArea
+	 *            the area within which the data is being drawn.
+	 * @param domainEdge
+	 *            the edge for the domain axis.
+	 *
+	 * @return The item indices, or {@code null} if all items should be
+	 *         rendered.
+	 */
+	@Override
+	public int[] decimate(XYDataset dataset, int series, int firstItem,
+			int lastItem, ValueAxis domainAxis, Rectangle2D dataArea,
+			RectangleEdge domainEdge) {
+		int pixels = getPixelCount(dataArea, domainEdge);
+		int itemsPerColumn = getItemsPerColumn();
+		if (lastItem - firstItem + 1 <= (long) pixels * itemsPerColumn) {
+			return null;
+		}
+		ItemIndices result = new ItemIndices(pixels * itemsPerColumn + 2);
+		result.add(firstItem);
+		int column = 0;
+		int first = -1;
+		int last = -1;
+		int min = -1;
+		int max = -1;
+		double minY = 0.0;
+		double maxY = 0.0;
+		boolean inGap = false;
+		for (int item = firstItem; item <= lastItem; item++) {
+			double y = dataset.getYValue(series, item);
+			double xx = domainAxis.valueToJava2D(
+					dataset.getXValue(series, item), dataArea, domainEdge);
+			if (Double.isNaN(y) || Double.isNaN(xx)
+					|| Double.isInfinite(xx)) {
+				if (first >= 0) {
+					addColumn(result, first, min, max, last);
+					first = -1;
+				}
+				if (!inGap) {
+					result.add(item);
+					inGap = true;
+				}
+				continue;
+			}
+			inGap = false;
+			int c = (int) Math.floor(xx);
+			if (first < 0 || c != column) {
+				if (first >= 0) {
+					addColumn(result, first, min, max, last);
+				}
+				column = c;
+				first = item;
+				min = item;
+				max = item;
+				minY = y;
+				maxY = y;
+			}
+			else if (y < minY) {
+				min = item;
+				minY = y;
+			}
+			else if (y > maxY) {
+				max = item;
+				maxY = y;
+			}
+			last = item;
+		}
+		if (first >= 0) {
+			addColumn(result, first, min, max, last);
+		}
+		result.add(lastItem);
+		return result.toArray();
+	}
+
+}
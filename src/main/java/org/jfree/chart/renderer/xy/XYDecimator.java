@@ -0,0 +1,84 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------
+ * XYDecimator.java
+ * ----------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.data.xy.XYDataset;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * A decimator selects a subset of the items in a series for rendering. The
+ * {@link XYPlot} applies its decimator (if any) between the dataset and the
+ * renderer, so that a series with many more items than there are pixels
+ * across the data area can be drawn at a cost that depends on the width of
+ * the plot rather than on the number of items.
+ *
+ * @see XYPlot#setDecimator(XYDecimator)
+ *
+ * @since 2.0
+ */
+public interface XYDecimator {
+
+	/**
+	 * Returns the indices of the items in the range {@code firstItem} to
+	 * {@code lastItem} (inclusive) that should be passed to the renderer, or
+	 * {@code null} if all the items in the range should be rendered. The
+	 * returned indices must be in ascending order, without duplicates, and
+	 * must include {@code firstItem} and {@code lastItem}.
+	 *
+	 * @param dataset
+	 *            the dataset ({@code null} not permitted).
+	 * @param series
+	 *            the series index.
+	 * @param firstItem
+	 *            the index of the first item to consider.
+	 * @param lastItem
+	 *            the index of the last item to consider.
+	 * @param domainAxis
+	 *            the domain axis ({@code null} not permitted).
+	 * @param dataArea
+	 *            the area within which the data is being drawn.
+	 * @param domainEdge
+	 *            the edge for the domain axis.
+	 *
+	 * @return The item indices (possibly {@code null}).
+	 */
+	public int[] decimate(XYDataset dataset, int series, int firstItem,
+			int lastItem, ValueAxis domainAxis, Rectangle2D dataArea,
+			RectangleEdge domainEdge);
+
+}
@@ -50,6 +50,8 @@ package org.jfree.chart.renderer.xy;
 
 import static org.jfree.geometry.GeometryUtils.emptyLine;
 
+import java.util.Arrays;
+
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.RendererState;
@@ -89,6 +91,32 @@ public class XYItemRendererState extends RendererState {
 	 */
 	private boolean processVisibleItemsOnly;
 
+	/**
+	 * The indices of the items that the plot passes to the renderer in the
+	 * current series, or {@code null} if all items between the first and last
+	 * item indices are passed.
+	 *
+	 * @since 2.0
+	 */
+	private int[] itemIndices;
+
+	/**
+	 * Transformed (Java2D) coordinates prepared in advance by the plot, one
+	 * entry per series (entries may be {@code null}).
+	 *
+	 * @since 2.0
+	 */
+	private TransformedSeries[] transformed;
+
+	/**
+	 * A flag that indicates whether the renderer reads the transformed
+	 * coordinates prepared by the plot (the plot only prepares them for
+	 * renderers that do).
+	 *
+	 * @since 2.0
+	 */
+	private boolean useTransformedCoordinates;
+
 	/**
 	 * Creates a new state.
 	 *
@@ -129,6 +157,37 @@ public class XYItemRendererState extends RendererState {
 		this.processVisibleItemsOnly = flag;
 	}
 
+	/**
+	 * Returns the flag that indicates whether the renderer reads the
+	 * transformed coordinates prepared by the plot (see
+	 * {@link #getTransformedX(int, int)}). The default value is
+	 * <code>false</code>, in which case the plot does not prepare any
+	 * coordinates for the renderer.
+	 *
+	 * @return A boolean.
+	 *
+	 * @since 2.0
+	 *
+	 * @see #setUseTransformedCoordinates(boolean)
+	 */
+	public boolean getUseTransformedCoordinates() {
+		return this.useTransformedCoordinates;
+	}
+
+	/**
+	 * Sets the flag that indicates whether the renderer reads the transformed
+	 * coordinates prepared by the plot. A renderer that does should set this
+	 * flag in its <code>initialise()</code> method.
+	 *
+	 * @param flag
+	 *            the new flag value.
+	 *
+	 * @since 2.0
+	 */
+	public void setUseTransformedCoordinates(boolean flag) {
+		this.useTransformedCoordinates = flag;
+	}
+
 	/**
 	 * Returns the first item index (this is updated with each call to
 	 * {@link #startSeriesPass(XYDataset, int, int, int, int, int)}.
@@ -153,6 +212,199 @@ public class XYItemRendererState extends RendererState {
 		return this.lastItemIndex;
 	}
 
+	/**
+	 * Returns the indices of the items that the plot passes to the renderer
+	 * for the current series, or {@code null} if every item between the first
+	 * and last item indices is passed. A non-{@code null} value indicates that
+	 * the plot has decimated the series (see {@link XYDecimator}).
+	 *
+	 * @return The item indices (possibly {@code null}).
+	 *
+	 * @since 2.0
+	 */
+	public int[] getItemIndices() {
+		return this.itemIndices;
+	}
+
+	/**
+	 * Sets the indices of the items that the plot passes to the renderer for
+	 * the current series. This is called by the {@link XYPlot} before each
+	 * series pass, you won't normally call it directly.
+	 *
+	 * @param indices
+	 *            the item indices in ascending order ({@code null} permitted).
+	 *
+	 * @since 2.0
+	 */
+	public void setItemIndices(int[] indices) {
+		this.itemIndices = indices;
+	}
+
+	/**
+	 * Returns the index of the item that precedes the specified item in the
+	 * sequence of items passed to the renderer. Renderers that connect
+	 * adjacent items (with lines, for example) should use this method rather
+	 * than assuming that the previous item is {@code item - 1}.
+	 *
+	 * @param item
+	 *            the item index.
+	 *
+	 * @return The index of the previous item (-1 if there is none).
+	 *
+	 * @since 2.0
+	 */
+	public int getPreviousItemIndex(int item) {
+		if (this.itemIndices != null) {
+			int i = Arrays.binarySearch(this.itemIndices, item);
+			if (i > 0) {
+				return this.itemIndices[i - 1];
+			}
+		}
+		return item - 1;
+	}
+
+	/**
+	 * Records the transformed (Java2D) coordinates of some items in a series.
+	 * For a renderer that sets the {@link #getUseTransformedCoordinates()}
+	 * flag, the plot computes these coordinates before the items are drawn
+	 * (on worker threads if the plot renders datasets in parallel, see
+	 * {@link XYPlot#setParallelRendering(boolean)}), and the renderer can use
+	 * them instead of transforming each data value itself. The coordinates
+	 * are the values returned by
+	 * {@code valueToJava2D()} for the domain and range axes, before any
+	 * adjustment for the plot orientation.
+	 *
+	 * @param series
+	 *            the series index.
+	 * @param firstItem
+	 *            the index of the item for the first coordinate, used when
+	 *            {@code items} is {@code null}.
+	 * @param items
+	 *            the item index for each coordinate in ascending order
+	 *            ({@code null} if the coordinates are for consecutive items).
+	 * @param transX
+	 *            the transformed domain coordinates.
+	 * @param transY
+	 *            the transformed range coordinates.
+	 *
+	 * @since 2.0
+	 */
+	public void setTransformedCoordinates(int series, int firstItem,
+			int[] items, double[] transX, double[] transY) {
+		setTransformedCoordinates(series, firstItem, items, transX, transY,
+				transX.length);
+	}
+
+	/**
+	 * Records the transformed (Java2D) coordinates of some items in a series,
+	 * held in the first <code>count</code> elements of the coordinate arrays
+	 * (see {@link #setTransformedCoordinates(int, int, int[], double[],
+	 * double[])}). This allows the plot to reuse its buffers from one frame
+	 * to the next.
+	 *
+	 * @param series
+	 *            the series index.
+	 * @param firstItem
+	 *            the index of the item for the first coordinate, used when
+	 *            {@code items} is {@code null}.
+	 * @param items
+	 *            the item index for each coordinate in ascending order
+	 *            ({@code null} if the coordinates are for consecutive items).
+	 * @param transX
+	 *            the transformed domain coordinates.
+	 * @param transY
+	 *            the transformed range coordinates.
+	 * @param count
+	 *            the number of coordinates.
+	 *
+	 * @since 2.0
+	 */
+	public void setTransformedCoordinates(int series, int firstItem,
+			int[] items, double[] transX, double[] transY, int count) {
+		if (this.transformed == null) {
+			this.transformed = new TransformedSeries[series + 1];
+		}
+		else if (series >= this.transformed.length) {
+			this.transformed = Arrays.copyOf(this.transformed, series + 1);
+		}
+		this.transformed[series] = new TransformedSeries(firstItem, items,
+				transX, transY, count);
+	}
+
+	/**
+	 * Returns the position of an item in the prepared coordinates for a
+	 * series, or -1 if the coordinates for the item have not been prepared.
+	 *
+	 * @param series
+	 *            the series index.
+	 * @param item
+	 *            the item index.
+	 *
+	 * @return The position.
+	 */
+	private int transformedPosition(int series, int item) {
+		if (this.transformed == null || series >= this.transformed.length
+				|| this.transformed[series] == null) {
+			return -1;
+		}
+		return this.transformed[series].indexOf(item);
+	}
+
+	/**
+	 * Returns {@code true} if the transformed coordinates for the specified
+	 * item have been prepared by the plot, and {@code false} otherwise.
+	 *
+	 * @param series
+	 *            the series index.
+	 * @param item
+	 *            the item index.
+	 *
+	 * @return A boolean.
+	 *
+	 * @see #setTransformedCoordinates(int, int, int[], double[], double[])
+	 *
+	 * @since 2.0
+	 */
+	public boolean isTransformed(int series, int item) {
+		return transformedPosition(series, item) >= 0;
+	}
+
+	/**
+	 * Returns the prepared transformed domain coordinate for an item. Check
+	 * {@link #isTransformed(int, int)} before calling this method.
+	 *
+	 * @param series
+	 *            the series index.
+	 * @param item
+	 *            the item index.
+	 *
+	 * @return The coordinate.
+	 *
+	 * @since 2.0
+	 */
+	public double getTransformedX(int series, int item) {
+		return this.transformed[series].transX[
+				transformedPosition(series, item)];
+	}
+
+	/**
+	 * Returns the prepared transformed range coordinate for an item. Check
+	 * {@link #isTransformed(int, int)} before calling this method.
+	 *
+	 * @param series
+	 *            the series index.
+	 * @param item
+	 *            the item index.
+	 *
+	 * @return The coordinate.
+	 *
+	 * @since 2.0
+	 */
+	public double getTransformedY(int series, int item) {
+		return this.transformed[series].transY[
+				transformedPosition(series, item)];
+	}
+
 	/**
 	 * This method is called by the {@link XYPlot} when it starts a pass through
 	 * the (visible) items in a series. The default implementation records the
@@ -209,4 +461,65 @@ public class XYItemRendererState extends RendererState {
 		// do nothing...this is just a hook for subclasses
 	}
 
+	/**
+	 * The prepared transformed coordinates for a series.
+	 */
+	private static final class TransformedSeries {
+
+		/** The index of the first item (used when items is null). */
+		private final int firstItem;
+
+		/** The item indices (null for consecutive items). */
+		private final int[] items;
+
+		/** The transformed domain coordinates. */
+		private final double[] transX;
+
+		/** The transformed range coordinates. */
+		private final double[] transY;
+
+		/** The number of coordinates. */
+		private final int count;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param firstItem
+		 *            the index of the first item.
+		 * @param items
+		 *            the item indices ({@code null} permitted).
+		 * @param transX
+		 *            the transformed domain coordinates.
+		 * @param transY
+		 *            the transformed range coordinates.
+		 * @param count
+		 *            the number of coordinates.
+		 */
+		TransformedSeries(int firstItem, int[] items, double[] transX,
+				double[] transY, int count) {
+			this.firstItem = firstItem;
+			this.items = items;
+			this.transX = transX;
+			this.transY = transY;
+			this.count = count;
+		}
+
+		/**
+		 * Returns the position of an item in the coordinate arrays, or -1.
+		 *
+		 * @param item
+		 *            the item index.
+		 *
+		 * @return The position.
+		 */
+		int indexOf(int item) {
+			if (this.items != null) {
+				return Math.max(Arrays.binarySearch(this.items, item), -1);
+			}
+			int i = item - this.firstItem;
+			return i >= 0 && i < this.count ? i : -1;
+		}
+
+	}
+
 }
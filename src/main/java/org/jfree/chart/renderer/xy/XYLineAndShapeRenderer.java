@@ -105,6 +105,7 @@ import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.util.LineUtils;
 import org.jfree.chart.util.SerialUtils;
+import org.jfree.chart.util.ShapeStamp;
 import org.jfree.data.xy.XYDataset;
 
 import com.sun.javafx.geom.Path2D;
@@ -181,6 +182,12 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
 	 */
 	private boolean drawSeriesLineAsPath;
 
+	/**
+	 * The stamp for the most recently drawn series shape, reused for all the
+	 * items that share that shape (see {@link #lookupMarkerStamp}).
+	 */
+	private transient ShapeStamp markerStamp;
+
 	/**
 	 * Creates a new renderer with both lines and shapes visible.
 	 */
@@ -765,6 +772,7 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
 
 		State state = new State(info);
 		state.seriesPath = new Path2D();
+		state.setUseTransformedCoordinates(true);
 		return state;
 
 	}
@@ -904,31 +912,46 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
 			ValueAxis domainAxis,
 			ValueAxis rangeAxis,
 			Rectangle2D dataArea) {
-		if (item == 0) {
-			return;
-		}
-
-		// get the data point...
-		double x1 = dataset.getXValue(series, item);
-		double y1 = dataset.getYValue(series, item);
-		if (Double.isNaN(y1) || Double.isNaN(x1)) {
+		int previous = state.getPreviousItemIndex(item);
+		if (previous < 0) {
 			return;
 		}
 
-		double x0 = dataset.getXValue(series, item - 1);
-		double y0 = dataset.getYValue(series, item - 1);
-		if (Double.isNaN(y0) || Double.isNaN(x0)) {
-			return;
+		double transX0;
+		double transY0;
+		double transX1;
+		double transY1;
+		if (state.isTransformed(series, item)
+				&& state.isTransformed(series, previous)) {
+			// the plot has already transformed the data values (a missing
+			// value gives a NaN coordinate, which is checked below)
+			transX0 = state.getTransformedX(series, previous);
+			transY0 = state.getTransformedY(series, previous);
+			transX1 = state.getTransformedX(series, item);
+			transY1 = state.getTransformedY(series, item);
 		}
+		else {
+			// get the data point...
+			double x1 = dataset.getXValue(series, item);
+			double y1 = dataset.getYValue(series, item);
+			if (Double.isNaN(y1) || Double.isNaN(x1)) {
+				return;
+			}
 
-		RectangleEdge xAxisLocation = plot.getDomainAxisEdge();
-		RectangleEdge yAxisLocation = plot.getRangeAxisEdge();
+			double x0 = dataset.getXValue(series, previous);
+			double y0 = dataset.getYValue(series, previous);
+			if (Double.isNaN(y0) || Double.isNaN(x0)) {
+				return;
+			}
 
-		double transX0 = domainAxis.valueToJava2D(x0, dataArea, xAxisLocation);
-		double transY0 = rangeAxis.valueToJava2D(y0, dataArea, yAxisLocation);
+			RectangleEdge xAxisLocation = plot.getDomainAxisEdge();
+			RectangleEdge yAxisLocation = plot.getRangeAxisEdge();
 
-		double transX1 = domainAxis.valueToJava2D(x1, dataArea, xAxisLocation);
-		double transY1 = rangeAxis.valueToJava2D(y1, dataArea, yAxisLocation);
+			transX0 = domainAxis.valueToJava2D(x0, dataArea, xAxisLocation);
+			transY0 = rangeAxis.valueToJava2D(y0, dataArea, yAxisLocation);
+			transX1 = domainAxis.valueToJava2D(x1, dataArea, xAxisLocation);
+			transY1 = rangeAxis.valueToJava2D(y1, dataArea, yAxisLocation);
+		}
 
 		// only draw if we have good values
 		if (Double.isNaN(transX0) || Double.isNaN(transY0)
@@ -1010,14 +1033,22 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
 			ValueAxis rangeAxis,
 			Rectangle2D dataArea) {
 
-		RectangleEdge xAxisLocation = plot.getDomainAxisEdge();
-		RectangleEdge yAxisLocation = plot.getRangeAxisEdge();
-
-		// get the data point...
-		double x1 = dataset.getXValue(series, item);
-		double y1 = dataset.getYValue(series, item);
-		double transX1 = domainAxis.valueToJava2D(x1, dataArea, xAxisLocation);
-		double transY1 = rangeAxis.valueToJava2D(y1, dataArea, yAxisLocation);
+		double transX1;
+		double transY1;
+		if (state.isTransformed(series, item)) {
+			transX1 = state.getTransformedX(series, item);
+			transY1 = state.getTransformedY(series, item);
+		}
+		else {
+			RectangleEdge xAxisLocation = plot.getDomainAxisEdge();
+			RectangleEdge yAxisLocation = plot.getRangeAxisEdge();
+
+			// get the data point...
+			double x1 = dataset.getXValue(series, item);
+			double y1 = dataset.getYValue(series, item);
+			transX1 = domainAxis.valueToJava2D(x1, dataArea, xAxisLocation);
+			transY1 = rangeAxis.valueToJava2D(y1, dataArea, yAxisLocation);
+		}
 
 		State s = (State) state;
 		// update path to reflect latest point
@@ -1105,15 +1136,29 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
 
 		if (getItemShapeVisible(series, item)) {
 			Shape shape = getItemShape(series, item);
+			double shapeX = transX1;
+			double shapeY = transY1;
 			if (orientation == PlotOrientation.HORIZONTAL) {
-				shape = ShapeUtils.createTranslatedShape(shape, transY1,
-						transX1);
-			} else if (orientation == PlotOrientation.VERTICAL) {
-				shape = ShapeUtils.createTranslatedShape(shape, transX1,
-						transY1);
+				shapeX = transY1;
+				shapeY = transX1;
+			}
+			ShapeStamp stamp = lookupMarkerStamp(series, shape);
+			boolean visible;
+			if (stamp != null) {
+				// the series shape is stamped at the item location, a
+				// translated copy is only needed for the entity
+				visible = stamp.intersects(shapeX, shapeY, dataArea);
+				if (entities != null) {
+					entityArea = stamp.createTranslatedShape(shapeX, shapeY);
+				}
+			}
+			else {
+				shape = ShapeUtils.createTranslatedShape(shape, shapeX,
+						shapeY);
+				visible = shape.intersects(ShapeUtils.asRectBounds(dataArea));
+				entityArea = shape;
 			}
-			entityArea = shape;
-			if (shape.intersects(ShapeUtils.asRectBounds(dataArea))) {
+			if (visible) {
 				if (getItemShapeFilled(series, item)) {
 					if (this.useFillPaint) {
 						g2.setFill(getItemFillPaint(series, item));
@@ -1123,7 +1168,12 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
 						g2.setFill(getItemPaint(series, item));
 						g2.setStroke(getItemPaint(series, item));
 					}
-					ShapeUtils.fillShape(g2, shape);
+					if (stamp != null) {
+						stamp.fill(g2, shapeX, shapeY);
+					}
+					else {
+						ShapeUtils.fillShape(g2, shape);
+					}
 				}
 				if (this.drawOutlines) {
 					if (getUseOutlinePaint()) {
@@ -1135,7 +1185,12 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
 						g2.setStroke(getItemPaint(series, item));
 					}
 					setStrokeProperties(g2, getItemOutlineStroke(series, item));
-					ShapeUtils.outlineShape(g2, shape);
+					if (stamp != null) {
+						stamp.outline(g2, shapeX, shapeY);
+					}
+					else {
+						ShapeUtils.outlineShape(g2, shape);
+					}
 				}
 			}
 		}
@@ -1165,6 +1220,32 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
 		}
 	}
 
+	/**
+	 * Returns the stamp to use for drawing an item shape, or {@code null} if
+	 * the shape is not the series shape (for example, because a custom
+	 * {@link org.jfree.chart.renderer.item.ShapeIRS} supplies a different
+	 * shape for this item).  The stamp is created the first time a series
+	 * shape is drawn and reused for the items that follow.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param shape
+	 *            the item shape.
+	 *
+	 * @return The stamp (possibly {@code null}).
+	 */
+	private ShapeStamp lookupMarkerStamp(int series, Shape shape) {
+		if (shape == null || shape != lookupSeriesShape(series)) {
+			return null;
+		}
+		ShapeStamp stamp = this.markerStamp;
+		if (stamp == null || stamp.getShape() != shape) {
+			stamp = new ShapeStamp(shape);
+			this.markerStamp = stamp;
+		}
+		return stamp;
+	}
+
 	/**
 	 * Returns a legend item for the specified series.
 	 *
@@ -0,0 +1,283 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * TextMeasureCache.java
+ * ---------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.chart.text;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.scene.text.Font;
+
+import org.jfree.chart.util.ParamChecks;
+
+import com.sun.javafx.tk.FontMetrics;
+import com.sun.javafx.tk.Toolkit;
+
+/**
+ * A bounded, least-recently-used cache of font metrics (keyed by font) and
+ * string widths (keyed by font and string).  Axes, legends and titles measure
+ * the same labels on every repaint, and each measurement goes through the
+ * toolkit's font loader, so a shared instance (see
+ * {@link TextUtilities#getTextMeasureCache()}) is used for all text
+ * measurement in JFreeChart.  The methods in this class are thread-safe.
+ * The lock is only held to look up and store entries: fonts are loaded and
+ * strings are measured outside it, so threads that draw charts at the same
+ * time (when exporting images, for example) do not wait for each other's
+ * measurements.
+ *
+ * @since 2.0
+ */
+public class TextMeasureCache {
+
+	/** The default maximum number of fonts. */
+	public static final int DEFAULT_MAXIMUM_FONT_COUNT = 64;
+
+	/** The default maximum number of strings per font. */
+	public static final int DEFAULT_MAXIMUM_STRING_COUNT = 1024;
+
+	/** The maximum number of strings per font. */
+	private final int maximumStringCount;
+
+	/** The cache entries (in access order). */
+	private final LinkedHashMap<Font, FontEntry> fonts;
+
+	/** The number of font metrics lookups answered from the cache. */
+	private long metricsHitCount;
+
+	/** The number of font metrics lookups that required the font loader. */
+	private long metricsMissCount;
+
+	/** The number of string width lookups answered from the cache. */
+	private long widthHitCount;
+
+	/** The number of string width lookups that required a measurement. */
+	private long widthMissCount;
+
+	/**
+	 * Creates a new cache with the default limits.
+	 */
+	public TextMeasureCache() {
+		this(DEFAULT_MAXIMUM_FONT_COUNT, DEFAULT_MAXIMUM_STRING_COUNT);
+	}
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param maximumFontCount
+	 *            the maximum number of fonts (at least 1).
+	 * @param maximumStringCount
+	 *            the maximum number of strings per font (at least 1).
+	 */
+	public TextMeasureCache(final int maximumFontCount,
+			int maximumStringCount) {
+		if (maximumFontCount < 1 || maximumStringCount < 1) {
+			throw new IllegalArgumentException("Requires positive limits.");
+		}
+		this.maximumStringCount = maximumStringCount;
+		this.fonts = new LinkedHashMap<Font, FontEntry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<Font, FontEntry> eldest) {
+				return size() > maximumFontCount;
+			}
+		};
+	}
+
+	/**
+	 * Returns the font metrics for a font.
+	 *
+	 * @param font
+	 *            the font (<code>null</code> not permitted).
+	 *
+	 * @return The font metrics.
+	 */
+	public FontMetrics getFontMetrics(Font font) {
+		ParamChecks.nullNotPermitted(font, "font");
+		synchronized (this) {
+			FontEntry entry = this.fonts.get(font);
+			if (entry != null) {
+				this.metricsHitCount++;
+				return entry.metrics;
+			}
+			this.metricsMissCount++;
+		}
+		return putEntry(font, loadFontMetrics(font)).metrics;
+	}
+
+	/**
+	 * Returns the width of a string in the specified font.
+	 *
+	 * @param text
+	 *            the text (<code>null</code> not permitted).
+	 * @param font
+	 *            the font (<code>null</code> not permitted).
+	 *
+	 * @return The width.
+	 */
+	public float getStringWidth(String text, Font font) {
+		ParamChecks.nullNotPermitted(text, "text");
+		ParamChecks.nullNotPermitted(font, "font");
+		FontEntry entry;
+		synchronized (this) {
+			entry = this.fonts.get(font);
+			if (entry != null) {
+				Float width = entry.widths.get(text);
+				if (width != null) {
+					this.widthHitCount++;
+					return width.floatValue();
+				}
+			}
+			this.widthMissCount++;
+		}
+		FontMetrics fm = entry != null ? entry.metrics
+				: loadFontMetrics(font);
+		float result = fm.computeStringWidth(text);
+		entry = putEntry(font, fm);
+		synchronized (this) {
+			entry.widths.putIfAbsent(text, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Loads the font metrics for a font from the toolkit (this is called
+	 * without holding the lock).
+	 *
+	 * @param font
+	 *            the font.
+	 *
+	 * @return The font metrics.
+	 */
+	private static FontMetrics loadFontMetrics(Font font) {
+		return Toolkit.getToolkit().getFontLoader().getFontMetrics(font);
+	}
+
+	/**
+	 * Returns the entry for a font, adding one with the specified metrics if
+	 * there is none (another thread may have added an entry since the
+	 * metrics were loaded, in which case that entry is kept).  This does not
+	 * count as a hit or a miss.
+	 *
+	 * @param font
+	 *            the font.
+	 * @param metrics
+	 *            the font metrics.
+	 *
+	 * @return The entry.
+	 */
+	private synchronized FontEntry putEntry(Font font, FontMetrics metrics) {
+		FontEntry entry = this.fonts.get(font);
+		if (entry == null) {
+			entry = new FontEntry(metrics, this.maximumStringCount);
+			this.fonts.put(font, entry);
+		}
+		return entry;
+	}
+
+	/**
+	 * Returns the number of font metrics lookups that were answered from the
+	 * cache.
+	 *
+	 * @return The hit count.
+	 */
+	public synchronized long getMetricsHitCount() {
+		return this.metricsHitCount;
+	}
+
+	/**
+	 * Returns the number of font metrics lookups that were not answered from
+	 * the cache.
+	 *
+	 * @return The miss count.
+	 */
+	public synchronized long getMetricsMissCount() {
+		return this.metricsMissCount;
+	}
+
+	/**
+	 * Returns the number of string width lookups that were answered from the
+	 * cache.
+	 *
+	 * @return The hit count.
+	 */
+	public synchronized long getWidthHitCount() {
+		return this.widthHitCount;
+	}
+
+	/**
+	 * Returns the number of string width lookups that were not answered from
+	 * the cache.
+	 *
+	 * @return The miss count.
+	 */
+	public synchronized long getWidthMissCount() {
+		return this.widthMissCount;
+	}
+
+	/**
+	 * Removes all entries from the cache and resets the counters.
+	 */
+	public synchronized void clear() {
+		this.fonts.clear();
+		this.metricsHitCount = 0L;
+		this.metricsMissCount = 0L;
+		this.widthHitCount = 0L;
+		this.widthMissCount = 0L;
+	}
+
+	/**
+	 * The cached data for one font.
+	 */
+	private static final class FontEntry {
+
+		/** The font metrics. */
+		final FontMetrics metrics;
+
+		/** The string widths (in access order). */
+		final LinkedHashMap<String, Float> widths;
+
+		FontEntry(FontMetrics metrics, final int maximumStringCount) {
+			this.metrics = metrics;
+			this.widths = new LinkedHashMap<String, Float>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(
+						Map.Entry<String, Float> eldest) {
+					return size() > maximumStringCount;
+				}
+			};
+		}
+
+	}
+
+}
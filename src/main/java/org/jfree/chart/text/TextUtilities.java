@@ -85,7 +85,6 @@ import org.jfree.chart.util.ShapeUtils;
 import com.sun.javafx.geom.Shape;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.tk.FontMetrics;
-import com.sun.javafx.tk.Toolkit;
 
 /**
  * Some utility methods for working with text.
@@ -114,6 +113,10 @@ public class TextUtilities {
 	 */
 	private static boolean useFontMetricsGetStringBounds = false;
 
+	/** The cache used for all text measurement. */
+	private static final TextMeasureCache TEXT_MEASURE_CACHE
+			= new TextMeasureCache();
+
 	/**
 	 * Private constructor prevents object creation.
 	 */
@@ -357,7 +360,7 @@ public class TextUtilities {
 		// bounds.setRect(bounds.getX(), bounds.getY(), bounds.getWidth(),
 		// lm.getHeight());
 		// } else {
-		double width = fm.computeStringWidth(text);
+		double width = TEXT_MEASURE_CACHE.getStringWidth(text, fm.getFont());
 		double height = fm.getLineHeight();
 		bounds = new Rectangle2D(0.0, -fm.getAscent(), width,
 				height);
@@ -517,12 +520,24 @@ public class TextUtilities {
 	/**
 	 * Returns font metrics for specified font.
 	 * 
-	 * @param g2
-	 *            the graphics device.
+	 * @param font
+	 *            the font.
 	 * @return FontMetrics
 	 */
 	public static FontMetrics getFontMetrics(Font font) {
-		return Toolkit.getToolkit().getFontLoader().getFontMetrics(font);
+		return TEXT_MEASURE_CACHE.getFontMetrics(font);
+	}
+
+	/**
+	 * Returns the cache that is used for the font metrics and string widths
+	 * (shared by axes, legends and titles).
+	 * 
+	 * @return The cache (never {@code null}).
+	 * 
+	 * @since 2.0
+	 */
+	public static TextMeasureCache getTextMeasureCache() {
+		return TEXT_MEASURE_CACHE;
 	}
 
 	/**
@@ -0,0 +1,377 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------
+ * RingBufferList.java
+ * -------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A list backed by a circular array.  Elements can be added to or removed
+ * from either end of the list in constant (amortized) time, which makes this
+ * class suitable for storing a sliding window of data where the oldest item
+ * is discarded each time a new item is appended.  Insertion and removal at
+ * other positions shifts the elements on the shorter side of the index.
+ *
+ * @param <E>  the element type.
+ *
+ * @since 2.0
+ */
+public class RingBufferList<E> extends AbstractList<E> implements RandomAccess,
+		Cloneable, Serializable {
+
+	/** For serialization. */
+	private static final long serialVersionUID = -2245305587418452915L;
+
+	/** The default initial capacity of the list. */
+	private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+	/** Storage for the elements (the length is always a power of two). */
+	private transient Object[] elements;
+
+	/** The array index of the first element in the list. */
+	private transient int head;
+
+	/** The number of elements in the list. */
+	private int size;
+
+	/**
+	 * Creates a new empty list.
+	 */
+	public RingBufferList() {
+		this(DEFAULT_INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Creates a new empty list with at least the specified capacity.
+	 *
+	 * @param initialCapacity
+	 *            the initial capacity (must be non-negative).
+	 */
+	public RingBufferList(int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException(
+					"Requires 'initialCapacity' >= 0.");
+		}
+		this.elements = new Object[capacityFor(initialCapacity)];
+		this.head = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * Returns the smallest power of two that is greater than or equal to the
+	 * required capacity (with a minimum of 2).
+	 *
+	 * @param required
+	 *            the required capacity.
+	 *
+	 * @return The capacity.
+	 */
+	private static int capacityFor(int required) {
+		if (required > (1 << 30)) {
+			throw new IllegalStateException("Required capacity too large.");
+		}
+		int capacity = Integer.highestOneBit(Math.max(required, 2));
+		return capacity < required ? capacity << 1 : capacity;
+	}
+
+	/**
+	 * Returns the array index for the element at the specified position in
+	 * the list.
+	 *
+	 * @param index
+	 *            the list index.
+	 *
+	 * @return The array index.
+	 */
+	private int slot(int index) {
+		return (this.head + index) & (this.elements.length - 1);
+	}
+
+	/**
+	 * Ensures that the storage array can hold the specified number of
+	 * elements, growing it if necessary.
+	 *
+	 * @param required
+	 *            the required capacity.
+	 */
+	private void ensureCapacity(int required) {
+		if (required <= this.elements.length) {
+			return;
+		}
+		Object[] grown = new Object[capacityFor(required)];
+		for (int i = 0; i < this.size; i++) {
+			grown[i] = this.elements[slot(i)];
+		}
+		this.elements = grown;
+		this.head = 0;
+	}
+
+	/**
+	 * Throws an {@code IndexOutOfBoundsException} if the index is not in the
+	 * range {@code 0} to {@code limit}.
+	 *
+	 * @param index
+	 *            the index.
+	 * @param limit
+	 *            the highest valid index.
+	 */
+	private void checkIndex(int index, int limit) {
+		if (index < 0 || index > limit) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: "
+					+ this.size);
+		}
+	}
+
+	/**
+	 * Returns the number of elements in the list.
+	 *
+	 * @return The number of elements.
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the element at the specified position in the list.
+	 *
+	 * @param index
+	 *            the index.
+	 *
+	 * @return The element.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E get(int index) {
+		checkIndex(index, this.size - 1);
+		return (E) this.elements[slot(index)];
+	}
+
+	/**
+	 * Replaces the element at the specified position in the list.
+	 *
+	 * @param index
+	 *            the index.
+	 * @param element
+	 *            the new element ({@code null} permitted).
+	 *
+	 * @return The element previously at the specified position.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E set(int index, E element) {
+		checkIndex(index, this.size - 1);
+		int i = slot(index);
+		E old = (E) this.elements[i];
+		this.elements[i] = element;
+		return old;
+	}
+
+	/**
+	 * Appends an element to the end of the list.
+	 *
+	 * @param element
+	 *            the element ({@code null} permitted).
+	 *
+	 * @return {@code true}.
+	 */
+	@Override
+	public boolean add(E element) {
+		ensureCapacity(this.size + 1);
+		this.elements[slot(this.size)] = element;
+		this.size++;
+		this.modCount++;
+		return true;
+	}
+
+	/**
+	 * Inserts an element at the specified position in the list.
+	 *
+	 * @param index
+	 *            the index.
+	 * @param element
+	 *            the element ({@code null} permitted).
+	 */
+	@Override
+	public void add(int index, E element) {
+		checkIndex(index, this.size);
+		ensureCapacity(this.size + 1);
+		if (index < this.size / 2) {
+			// shift the leading elements one place towards the front
+			this.head = (this.head - 1) & (this.elements.length - 1);
+			for (int i = 0; i < index; i++) {
+				this.elements[slot(i)] = this.elements[slot(i + 1)];
+			}
+		} else {
+			for (int i = this.size; i > index; i--) {
+				this.elements[slot(i)] = this.elements[slot(i - 1)];
+			}
+		}
+		this.elements[slot(index)] = element;
+		this.size++;
+		this.modCount++;
+	}
+
+	/**
+	 * Removes the element at the specified position in the list.  Removing
+	 * the first or last element takes constant time.
+	 *
+	 * @param index
+	 *            the index.
+	 *
+	 * @return The element removed.
+	 */
+	@Override
+	public E remove(int index) {
+		E removed = get(index);
+		if (index < this.size / 2) {
+			for (int i = index; i > 0; i--) {
+				this.elements[slot(i)] = this.elements[slot(i - 1)];
+			}
+			this.elements[this.head] = null;
+			this.head = slot(1);
+		} else {
+			for (int i = index; i < this.size - 1; i++) {
+				this.elements[slot(i)] = this.elements[slot(i + 1)];
+			}
+			this.elements[slot(this.size - 1)] = null;
+		}
+		this.size--;
+		this.modCount++;
+		return removed;
+	}
+
+	/**
+	 * Removes the elements from {@code fromIndex} (inclusive) to
+	 * {@code toIndex} (exclusive).  This is used by {@code subList().clear()}.
+	 *
+	 * @param fromIndex
+	 *            the index of the first element to remove.
+	 * @param toIndex
+	 *            the index after the last element to remove.
+	 */
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		int count = toIndex - fromIndex;
+		if (count <= 0) {
+			return;
+		}
+		if (fromIndex == 0) {
+			for (int i = 0; i < count; i++) {
+				this.elements[slot(i)] = null;
+			}
+			this.head = slot(count);
+		} else {
+			for (int i = fromIndex; i < this.size - count; i++) {
+				this.elements[slot(i)] = this.elements[slot(i + count)];
+			}
+			for (int i = this.size - count; i < this.size; i++) {
+				this.elements[slot(i)] = null;
+			}
+		}
+		this.size -= count;
+		this.modCount++;
+	}
+
+	/**
+	 * Removes all elements from the list.
+	 */
+	@Override
+	public void clear() {
+		Arrays.fill(this.elements, null);
+		this.head = 0;
+		this.size = 0;
+		this.modCount++;
+	}
+
+	/**
+	 * Returns a shallow copy of this list (the elements themselves are not
+	 * cloned).
+	 *
+	 * @return A clone.
+	 *
+	 * @throws CloneNotSupportedException
+	 *             not thrown by this class, but subclasses may differ.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public Object clone() throws CloneNotSupportedException {
+		RingBufferList<E> clone = (RingBufferList<E>) super.clone();
+		clone.elements = this.elements.clone();
+		return clone;
+	}
+
+	/**
+	 * Provides serialization support.
+	 *
+	 * @param stream
+	 *            the output stream.
+	 *
+	 * @throws IOException
+	 *             if there is an I/O error.
+	 */
+	private void writeObject(ObjectOutputStream stream) throws IOException {
+		stream.defaultWriteObject();
+		for (int i = 0; i < this.size; i++) {
+			stream.writeObject(this.elements[slot(i)]);
+		}
+	}
+
+	/**
+	 * Provides serialization support.
+	 *
+	 * @param stream
+	 *            the input stream.
+	 *
+	 * @throws IOException
+	 *             if there is an I/O error.
+	 * @throws ClassNotFoundException
+	 *             if there is a classpath problem.
+	 */
+	private void readObject(ObjectInputStream stream) throws IOException,
+			ClassNotFoundException {
+		stream.defaultReadObject();
+		this.elements = new Object[capacityFor(this.size)];
+		this.head = 0;
+		for (int i = 0; i < this.size; i++) {
+			this.elements[i] = stream.readObject();
+		}
+	}
+
+}
@@ -0,0 +1,300 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------
+ * ShapeStamp.java
+ * ---------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.chart.util;
+
+import com.sun.javafx.geom.Arc2D;
+import com.sun.javafx.geom.Ellipse2D;
+import com.sun.javafx.geom.PathIterator;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.RoundRectangle2D;
+import com.sun.javafx.geom.Shape;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.GraphicsContext;
+
+/**
+ * A shape that has been prepared once so that it can be filled or outlined
+ * at many different locations without creating a translated copy of the
+ * shape for each location.  Renderers use this to draw the same marker
+ * shape at every data item in a series.
+ * <P>
+ * Ellipses, arcs and rectangles are drawn with the corresponding
+ * {@link GraphicsContext} primitives, as {@link ShapeUtils} does, other
+ * shapes are replayed from a path template that is read from the shape's
+ * path iterator when the stamp is created.  A stamp is immutable, it does not track later changes to the
+ * shape it was created from.
+ *
+ * @since 2.0
+ */
+public final class ShapeStamp {
+
+	/** The shape (never <code>null</code>). */
+	private final Shape shape;
+
+	/** The bounds of the shape. */
+	private final RectBounds bounds;
+
+	/** The segment types for the path template. */
+	private final int[] segmentTypes;
+
+	/** The coordinates for the path template. */
+	private final float[] coords;
+
+	/**
+	 * Creates a new stamp for the specified shape.
+	 *
+	 * @param shape
+	 *            the shape ({@code null} not permitted).
+	 */
+	public ShapeStamp(Shape shape) {
+		ParamChecks.nullNotPermitted(shape, "shape");
+		this.shape = shape;
+		this.bounds = shape.getBounds();
+		if (shape instanceof Ellipse2D || shape instanceof Arc2D
+				|| shape instanceof RoundRectangle2D) {
+			this.segmentTypes = null;
+			this.coords = null;
+			return;
+		}
+		int segmentCount = 0;
+		int coordCount = 0;
+		float[] c = new float[6];
+		PathIterator iterator = shape.getPathIterator(null);
+		while (!iterator.isDone()) {
+			coordCount += coordinateCount(iterator.currentSegment(c));
+			segmentCount++;
+			iterator.next();
+		}
+		this.segmentTypes = new int[segmentCount];
+		this.coords = new float[coordCount];
+		int s = 0;
+		int i = 0;
+		iterator = shape.getPathIterator(null);
+		while (!iterator.isDone()) {
+			int type = iterator.currentSegment(c);
+			int n = coordinateCount(type);
+			this.segmentTypes[s++] = type;
+			System.arraycopy(c, 0, this.coords, i, n);
+			i += n;
+			iterator.next();
+		}
+	}
+
+	/**
+	 * Returns the number of coordinates used by a path segment.
+	 *
+	 * @param segmentType
+	 *            the segment type.
+	 *
+	 * @return The number of coordinates.
+	 */
+	private static int coordinateCount(int segmentType) {
+		switch (segmentType) {
+		case PathIterator.SEG_MOVETO:
+		case PathIterator.SEG_LINETO:
+			return 2;
+		case PathIterator.SEG_QUADTO:
+			return 4;
+		case PathIterator.SEG_CUBICTO:
+			return 6;
+		case PathIterator.SEG_CLOSE:
+			return 0;
+		default:
+			throw new RuntimeException("Unrecognised segment type "
+					+ segmentType);
+		}
+	}
+
+	/**
+	 * Returns the shape that this stamp was created from.
+	 *
+	 * @return The shape (never {@code null}).
+	 */
+	public Shape getShape() {
+		return this.shape;
+	}
+
+	/**
+	 * Returns {@code true} if the shape, translated by {@code (x, y)},
+	 * intersects the specified area.  Most shapes are either entirely inside
+	 * or entirely outside the area, which is decided from the bounds; only
+	 * shapes that straddle the edge of the area need the exact test.
+	 *
+	 * @param x
+	 *            the x-translation.
+	 * @param y
+	 *            the y-translation.
+	 * @param area
+	 *            the area ({@code null} not permitted).
+	 *
+	 * @return A boolean.
+	 */
+	public boolean intersects(double x, double y, Rectangle2D area) {
+		double minX = x + this.bounds.getMinX();
+		double maxX = x + this.bounds.getMaxX();
+		double minY = y + this.bounds.getMinY();
+		double maxY = y + this.bounds.getMaxY();
+		if (maxX < area.getMinX() || minX > area.getMaxX()
+				|| maxY < area.getMinY() || minY > area.getMaxY()) {
+			return false;
+		}
+		if (minX >= area.getMinX() && maxX <= area.getMaxX()
+				&& minY >= area.getMinY() && maxY <= area.getMaxY()) {
+			return true;
+		}
+		return this.shape.intersects((float) (area.getMinX() - x),
+				(float) (area.getMinY() - y), (float) area.getWidth(),
+				(float) area.getHeight());
+	}
+
+	/**
+	 * Returns a new shape that is the shape of this stamp translated by
+	 * {@code (x, y)}.
+	 *
+	 * @param x
+	 *            the x-translation.
+	 * @param y
+	 *            the y-translation.
+	 *
+	 * @return A new shape.
+	 */
+	public Shape createTranslatedShape(double x, double y) {
+		return ShapeUtils.createTranslatedShape(this.shape, x, y);
+	}
+
+	/**
+	 * Fills the shape, translated by {@code (x, y)}, using the current fill
+	 * of the graphics context.
+	 *
+	 * @param g2
+	 *            the graphics context ({@code null} not permitted).
+	 * @param x
+	 *            the x-translation.
+	 * @param y
+	 *            the y-translation.
+	 */
+	public void fill(GraphicsContext g2, double x, double y) {
+		if (this.shape instanceof Ellipse2D) {
+			Ellipse2D e = (Ellipse2D) this.shape;
+			g2.fillOval(x + e.x, y + e.y, e.width, e.height);
+		}
+		else if (this.shape instanceof Arc2D) {
+			Arc2D a = (Arc2D) this.shape;
+			g2.fillArc(x + a.x, y + a.y, a.width, a.height, a.start, a.extent,
+					ShapeUtils.intToArcType(a.getArcType()));
+		}
+		else if (this.shape instanceof RoundRectangle2D) {
+			RoundRectangle2D rr = (RoundRectangle2D) this.shape;
+			g2.fillRoundRect(x + rr.x, y + rr.y, rr.width, rr.height,
+					rr.arcWidth, rr.arcHeight);
+		}
+		else {
+			tracePath(g2, x, y);
+			g2.fill();
+		}
+	}
+
+	/**
+	 * Draws the outline of the shape, translated by {@code (x, y)}, using the
+	 * current stroke settings of the graphics context.
+	 *
+	 * @param g2
+	 *            the graphics context ({@code null} not permitted).
+	 * @param x
+	 *            the x-translation.
+	 * @param y
+	 *            the y-translation.
+	 */
+	public void outline(GraphicsContext g2, double x, double y) {
+		if (this.shape instanceof Ellipse2D) {
+			Ellipse2D e = (Ellipse2D) this.shape;
+			g2.strokeOval(x + e.x, y + e.y, e.width, e.height);
+		}
+		else if (this.shape instanceof Arc2D) {
+			Arc2D a = (Arc2D) this.shape;
+			g2.strokeArc(x + a.x, y + a.y, a.width, a.height, a.start,
+					a.extent, ShapeUtils.intToArcType(a.getArcType()));
+		}
+		else if (this.shape instanceof RoundRectangle2D) {
+			RoundRectangle2D rr = (RoundRectangle2D) this.shape;
+			g2.strokeRoundRect(x + rr.x, y + rr.y, rr.width, rr.height,
+					rr.arcWidth, rr.arcHeight);
+		}
+		else {
+			tracePath(g2, x, y);
+			g2.stroke();
+		}
+	}
+
+	/**
+	 * Replays the path template, translated by {@code (x, y)}, as the current
+	 * path of the graphics context.
+	 *
+	 * @param g2
+	 *            the graphics context.
+	 * @param x
+	 *            the x-translation.
+	 * @param y
+	 *            the y-translation.
+	 */
+	private void tracePath(GraphicsContext g2, double x, double y) {
+		float[] c = this.coords;
+		int i = 0;
+		g2.beginPath();
+		for (int type : this.segmentTypes) {
+			switch (type) {
+			case PathIterator.SEG_MOVETO:
+				g2.moveTo(x + c[i], y + c[i + 1]);
+				break;
+			case PathIterator.SEG_LINETO:
+				g2.lineTo(x + c[i], y + c[i + 1]);
+				break;
+			case PathIterator.SEG_QUADTO:
+				g2.quadraticCurveTo(x + c[i], y + c[i + 1], x + c[i + 2],
+						y + c[i + 3]);
+				break;
+			case PathIterator.SEG_CUBICTO:
+				g2.bezierCurveTo(x + c[i], y + c[i + 1], x + c[i + 2],
+						y + c[i + 3], x + c[i + 4], y + c[i + 5]);
+				break;
+			default:
+				g2.closePath();
+				break;
+			}
+			i += coordinateCount(type);
+		}
+	}
+
+}
@@ -657,7 +657,7 @@ public class ShapeUtils {
 		}
 	}
 
-	private static ArcType intToArcType(int t) {
+	static ArcType intToArcType(int t) {
 		if (t == Arc2D.CHORD) {
 			return ArcType.CHORD;
 		} else if (t == Arc2D.OPEN) {
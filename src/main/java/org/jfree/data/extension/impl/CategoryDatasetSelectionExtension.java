@@ -40,9 +40,11 @@
 
 package org.jfree.data.extension.impl;
 
+import java.util.BitSet;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
-import org.jfree.data.DefaultKeyedValues2D;
+import org.jfree.data.UnknownKeyException;
 import org.jfree.data.category.CategoryDataset;
 import org.jfree.data.extension.DatasetCursor;
 import org.jfree.data.extension.DatasetIterator;
@@ -70,16 +72,23 @@ public class CategoryDatasetSelectionExtension<ROW_KEY extends Comparable<ROW_KE
 	 */
 	private CategoryDataset dataset;
 
-	// could improve here by using own bool data structure
+	/**
+	 * Storage for the selection attributes of the data items (one bit per
+	 * item, at index <code>row * columnCount + column</code>).
+	 */
+	private BitSet selectionData;
 
-	/** storage for the selection attributes of the data items. */
-	private DefaultKeyedValues2D selectionData;
+	/**
+	 * The items that have a selection attribute (items with a
+	 * <code>null</code> value only get one when they are selected).
+	 */
+	private BitSet itemData;
 
-	/** defines true as byte value */
-	private final Number TRUE = new Byte((byte) 1);
+	/** The number of rows when the selection was reset. */
+	private int rowCount;
 
-	/** defines false as byte value */
-	private final Number FALSE = new Byte((byte) 0);
+	/** The number of columns when the selection was reset. */
+	private int columnCount;
 
 	/**
 	 * Creates a separate selection extension for the specified dataset.
@@ -106,7 +115,7 @@ public class CategoryDatasetSelectionExtension<ROW_KEY extends Comparable<ROW_KE
 	public CategoryDatasetSelectionExtension(CategoryDataset dataset,
 			SelectionChangeListener<CategoryCursor<ROW_KEY, COLUMN_KEY>>
 			initialListener) {
-		super(dataset);
+		this(dataset);
 		addChangeListener(initialListener);
 	}
 
@@ -121,8 +130,7 @@ public class CategoryDatasetSelectionExtension<ROW_KEY extends Comparable<ROW_KE
 	 */
 	@Override
 	public boolean isSelected(CategoryCursor<ROW_KEY, COLUMN_KEY> cursor) {
-		return (TRUE == this.selectionData.getValue(cursor.rowKey,
-				cursor.columnKey));
+		return this.selectionData.get(indexOf(cursor));
 	}
 
 	/**
@@ -131,11 +139,9 @@ public class CategoryDatasetSelectionExtension<ROW_KEY extends Comparable<ROW_KE
 	@Override
 	public void setSelected(CategoryCursor<ROW_KEY, COLUMN_KEY> cursor,
 			boolean selected) {
-		if (selected) {
-			selectionData.setValue(TRUE, cursor.rowKey, cursor.columnKey);
-		} else {
-			selectionData.setValue(FALSE, cursor.rowKey, cursor.columnKey);
-		}
+		int index = indexOf(cursor);
+		this.selectionData.set(index, selected);
+		this.itemData.set(index);
 		notifyIfRequired();
 	}
 
@@ -161,17 +167,44 @@ public class CategoryDatasetSelectionExtension<ROW_KEY extends Comparable<ROW_KE
 		initSelection();
 	}
 
+	/**
+	 * Returns the bit index for the item that a cursor points to.
+	 * 
+	 * @param cursor
+	 *            the cursor (<code>null</code> not permitted).
+	 * 
+	 * @return The bit index.
+	 * 
+	 * @throws UnknownKeyException
+	 *             if the row or column key is not recognised.
+	 */
+	private int indexOf(CategoryCursor<ROW_KEY, COLUMN_KEY> cursor) {
+		int row = this.dataset.getRowIndex(cursor.rowKey);
+		int column = this.dataset.getColumnIndex(cursor.columnKey);
+		if (row < 0 || row >= this.rowCount) {
+			throw new UnknownKeyException("Row key (" + cursor.rowKey
+					+ ") not recognised.");
+		}
+		if (column < 0 || column >= this.columnCount) {
+			throw new UnknownKeyException("Column key (" + cursor.columnKey
+					+ ") not recognised.");
+		}
+		return row * this.columnCount + column;
+	}
+
 	/**
 	 * inits the selection attribute storage and sets all data items to
 	 * unselected
 	 */
 	private void initSelection() {
-		this.selectionData = new DefaultKeyedValues2D();
-		for (int i = 0; i < dataset.getRowCount(); i++) {
-			for (int j = 0; j < dataset.getColumnCount(); j++) {
-				if (dataset.getValue(i, j) != null) {
-					selectionData.addValue(FALSE, dataset.getRowKey(i),
-							dataset.getColumnKey(j));
+		this.rowCount = this.dataset.getRowCount();
+		this.columnCount = this.dataset.getColumnCount();
+		this.selectionData = new BitSet();
+		this.itemData = new BitSet(this.rowCount * this.columnCount);
+		for (int i = 0; i < this.rowCount; i++) {
+			for (int j = 0; j < this.columnCount; j++) {
+				if (this.dataset.getValue(i, j) != null) {
+					this.itemData.set(i * this.columnCount + j);
 				}
 			}
 		}
@@ -207,19 +240,11 @@ public class CategoryDatasetSelectionExtension<ROW_KEY extends Comparable<ROW_KE
 	private class CategoryDatasetSelectionIterator implements
 			DatasetIterator<CategoryCursor<ROW_KEY, COLUMN_KEY>> {
 
-		// could be improved wtr speed by storing selected elements directly for
-		// faster access however storage efficiency would decrease
-
 		/** a generated serial id */
 		private static final long serialVersionUID = -6861323401482698708L;
 
-		/** current row position */
-		private int row = 0;
-
-		/**
-		 * current column position initialized before the start of the dataset
-		 */
-		private int column = -1;
+		/** the bit index of the next position (-1 if there is none) */
+		private int index = -1;
 
 		/**
 		 * return all data item positions (null), only the selected (true) or
@@ -231,6 +256,7 @@ public class CategoryDatasetSelectionExtension<ROW_KEY extends Comparable<ROW_KE
 		 * Creates an iterator over all data item positions
 		 */
 		public CategoryDatasetSelectionIterator() {
+			this.index = advance(0);
 		}
 
 		/**
@@ -243,6 +269,7 @@ public class CategoryDatasetSelectionExtension<ROW_KEY extends Comparable<ROW_KE
 		 */
 		public CategoryDatasetSelectionIterator(boolean selected) {
 			this.filter = Boolean.valueOf(selected);
+			this.index = advance(0);
 		}
 
 		/**
@@ -250,19 +277,19 @@ public class CategoryDatasetSelectionExtension<ROW_KEY extends Comparable<ROW_KE
 		 */
 		@Override
 		public boolean hasNext() {
-			if (nextPosition()[0] != -1) {
-				return true;
-			}
-			return false;
+			return this.index >= 0;
 		}
 
 		/**
 		 * {@link Iterator#next()}
 		 */
 		public CategoryCursor<ROW_KEY, COLUMN_KEY> next() {
-			int[] newPos = nextPosition();
-			row = newPos[0];
-			column = newPos[1];
+			if (this.index < 0) {
+				throw new NoSuchElementException();
+			}
+			int row = this.index / columnCount;
+			int column = this.index % columnCount;
+			this.index = advance(this.index + 1);
 			// category datasets are not yet typed therefore the cast is
 			// necessary (and may fail)
 			return new CategoryCursor<ROW_KEY, COLUMN_KEY>(
@@ -279,35 +306,27 @@ public class CategoryDatasetSelectionExtension<ROW_KEY extends Comparable<ROW_KE
 		}
 
 		/**
-		 * Calculates the next position based on the current position and the
-		 * filter status.
+		 * Calculates the first position at or after the specified one that
+		 * matches the filter.
+		 * 
+		 * @param from
+		 *            the bit index to start from.
 		 * 
-		 * @return an array holding the next position [row, column]
+		 * @return The bit index of the next position (or -1).
 		 */
-		private int[] nextPosition() {
-			int pRow = this.row;
-			int pColumn = this.column;
-			while (pRow < dataset.getRowCount()) {
-				if ((pColumn + 1) >= selectionData.getColumnCount()) {
-					pRow++;
-					pColumn = -1;
-					continue;
+		private int advance(int from) {
+			int next;
+			if (this.filter == null) {
+				next = from;
+			} else if (this.filter.booleanValue()) {
+				next = selectionData.nextSetBit(from);
+			} else {
+				next = itemData.nextSetBit(from);
+				while (next >= 0 && selectionData.get(next)) {
+					next = itemData.nextSetBit(next + 1);
 				}
-				if (filter != null) {
-					if (!((filter.equals(Boolean.TRUE) && TRUE.equals(
-							selectionData.getValue(pRow, (pColumn + 1))))
-					|| (filter.equals(Boolean.FALSE) && FALSE.equals(
-							selectionData.getValue(pRow, (pColumn + 1)))))) {
-						pColumn++;
-						continue;
-					}
-				}
-
-				// success
-				return new int[] { pRow, (pColumn + 1) };
 			}
-
-			return new int[] { -1, -1 };
+			return next >= 0 && next < rowCount * columnCount ? next : -1;
 		}
 	}
 
@@ -40,18 +40,37 @@
 
 package org.jfree.data.extension.impl;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.EventListener;
 import java.util.List;
 
+import org.jfree.chart.util.ParamChecks;
 import org.jfree.data.extension.DatasetExtension;
+import org.jfree.data.general.AbstractDataset;
 import org.jfree.data.general.Dataset;
 
 /**
  * Allows the handling of separate {@link DatasetExtension}. Pairs a dataset and
  * a DatasetExtension together and provides unified access to DatasetExtensions
  * regardless of their implementation (in a dataset or separate).
+ * <br><br>
+ * Datasets are matched by identity (not by <code>equals()</code>, which
+ * compares all the data in a dataset) so a lookup takes constant time and
+ * does not allocate, which makes it cheap enough to call once per render
+ * pass, or even per item.  The manager refers to the datasets weakly: an
+ * extension that the dataset itself refers to (for example, a selection
+ * extension that is registered as a listener on an {@link AbstractDataset})
+ * is also referred to weakly, so that both can be garbage collected once the
+ * dataset is no longer in use.  Any other extension is referred to strongly
+ * until it is removed with {@link #unregisterDatasetExtension(
+ * DatasetExtension)}.
  * 
  * @author zinsmaie
  */
@@ -60,28 +79,94 @@ public class DatasetExtensionManager implements Serializable {
 	/** a generated serial id */
 	private static final long serialVersionUID = 3727659792806462637L;
 
+	/** The initial number of buckets (a power of two). */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * all separate extensions have to be registered here (hash buckets,
+	 * keyed by the identity of the dataset)
+	 */
+	private transient Entry[] table;
+
+	/** The number of entries in the table. */
+	private transient int size;
+
+	/** The queue for datasets that have been garbage collected. */
+	private transient ReferenceQueue<Dataset> queue;
+
 	/**
-	 * all separate extensions have to be registered here
+	 * Creates a new extension manager with no registered extensions.
 	 */
-	private HashMap<Dataset, List<DatasetExtension>> registeredExtensions = new HashMap<Dataset, List<DatasetExtension>>();
+	public DatasetExtensionManager() {
+		init();
+	}
+
+	/**
+	 * Initialises the (transient) registry storage.
+	 */
+	private void init() {
+		this.table = new Entry[INITIAL_CAPACITY];
+		this.size = 0;
+		this.queue = new ReferenceQueue<Dataset>();
+	}
 
 	/**
 	 * Registers a separate dataset extension at the extension manager (the
 	 * extension is automatically paired with its dataset).
 	 * 
 	 * @param extension
-	 *            the extension.
+	 *            the extension (<code>null</code> not permitted).
 	 */
 	public void registerDatasetExtension(DatasetExtension extension) {
-		List<DatasetExtension> extensionList = registeredExtensions.get(
-				extension.getDataset());
-		if (extensionList != null) {
-			extensionList.add(extension);
-		} else {
-			extensionList = new LinkedList<DatasetExtension>();
-			extensionList.add(extension);
-			registeredExtensions.put(extension.getDataset(), extensionList);
+		ParamChecks.nullNotPermitted(extension, "extension");
+		Dataset dataset = extension.getDataset();
+		expungeStaleEntries();
+		Entry entry = getEntry(dataset);
+		if (entry == null) {
+			if (this.size >= this.table.length * 3 / 4) {
+				resize();
+			}
+			int hash = System.identityHashCode(dataset);
+			int bucket = hash & (this.table.length - 1);
+			entry = new Entry(dataset, hash, this.queue, this.table[bucket]);
+			this.table[bucket] = entry;
+			this.size++;
 		}
+		boolean weak = dataset instanceof AbstractDataset
+				&& extension instanceof EventListener
+				&& ((AbstractDataset) dataset).hasListener(
+						(EventListener) extension);
+		entry.extensions.add(weak ? new WeakReference<DatasetExtension>(
+				extension) : extension);
+	}
+
+	/**
+	 * Removes a separate dataset extension from the extension manager.
+	 * 
+	 * @param extension
+	 *            the extension (<code>null</code> not permitted).
+	 * 
+	 * @return A boolean indicating whether the extension was registered.
+	 * 
+	 * @since 2.0
+	 */
+	public boolean unregisterDatasetExtension(DatasetExtension extension) {
+		ParamChecks.nullNotPermitted(extension, "extension");
+		expungeStaleEntries();
+		Entry entry = getEntry(extension.getDataset());
+		if (entry == null) {
+			return false;
+		}
+		for (int i = 0; i < entry.extensions.size(); i++) {
+			if (entry.get(i) == extension) {
+				entry.extensions.remove(i);
+				if (entry.extensions.isEmpty()) {
+					removeEntry(entry);
+				}
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -113,24 +198,183 @@ public class DatasetExtensionManager implements Serializable {
 	 */
 	public <T extends DatasetExtension> T getExtension(Dataset dataset,
 			Class<T> interfaceClass) {
-		if (interfaceClass.isAssignableFrom(dataset.getClass())) {
+		if (interfaceClass.isInstance(dataset)) {
 			// the dataset supports the interface
 			return interfaceClass.cast(dataset);
-		} else {
-			List<DatasetExtension> extensionList = registeredExtensions.get(dataset);
-			if (extensionList != null) {
-				for (DatasetExtension extension : extensionList) {
-					if (interfaceClass.isAssignableFrom(extension.getClass())) {
-						// the dataset does not support the extension but
-						// a matching helper object is registered for the
-						// dataset
-						return interfaceClass.cast(extension);
-					}
+		}
+		Entry entry = getEntry(dataset);
+		if (entry != null) {
+			for (int i = 0; i < entry.extensions.size(); i++) {
+				DatasetExtension extension = entry.get(i);
+				if (interfaceClass.isInstance(extension)) {
+					// the dataset does not support the extension but
+					// a matching helper object is registered for the
+					// dataset
+					return interfaceClass.cast(extension);
 				}
 			}
 		}
+		return null;
+	}
 
+	/**
+	 * Returns the entry for a dataset, or <code>null</code>.
+	 * 
+	 * @param dataset
+	 *            the dataset (<code>null</code> permitted).
+	 * 
+	 * @return The entry (possibly <code>null</code>).
+	 */
+	private Entry getEntry(Dataset dataset) {
+		if (dataset == null) {
+			return null;
+		}
+		int hash = System.identityHashCode(dataset);
+		Entry entry = this.table[hash & (this.table.length - 1)];
+		while (entry != null) {
+			if (entry.hash == hash && entry.get() == dataset) {
+				return entry;
+			}
+			entry = entry.next;
+		}
 		return null;
 	}
 
+	/**
+	 * Unlinks an entry from the table.
+	 * 
+	 * @param entry
+	 *            the entry.
+	 */
+	private void removeEntry(Entry entry) {
+		int bucket = entry.hash & (this.table.length - 1);
+		Entry previous = null;
+		Entry e = this.table[bucket];
+		while (e != null) {
+			if (e == entry) {
+				if (previous == null) {
+					this.table[bucket] = e.next;
+				} else {
+					previous.next = e.next;
+				}
+				this.size--;
+				return;
+			}
+			previous = e;
+			e = e.next;
+		}
+	}
+
+	/**
+	 * Removes the entries for datasets that have been garbage collected.
+	 */
+	private void expungeStaleEntries() {
+		Reference<? extends Dataset> ref;
+		while ((ref = this.queue.poll()) != null) {
+			removeEntry((Entry) ref);
+		}
+	}
+
+	/**
+	 * Doubles the number of buckets in the table.
+	 */
+	private void resize() {
+		Entry[] old = this.table;
+		this.table = new Entry[old.length * 2];
+		for (Entry e : old) {
+			while (e != null) {
+				Entry next = e.next;
+				int bucket = e.hash & (this.table.length - 1);
+				e.next = this.table[bucket];
+				this.table[bucket] = e;
+				e = next;
+			}
+		}
+	}
+
+	/**
+	 * Provides serialization support.
+	 * 
+	 * @param stream
+	 *            the output stream.
+	 * 
+	 * @throws IOException
+	 *             if there is an I/O error.
+	 */
+	private void writeObject(ObjectOutputStream stream) throws IOException {
+		stream.defaultWriteObject();
+		List<DatasetExtension> extensions = new ArrayList<DatasetExtension>();
+		for (Entry e : this.table) {
+			for (; e != null; e = e.next) {
+				for (int i = 0; i < e.extensions.size(); i++) {
+					DatasetExtension extension = e.get(i);
+					if (extension != null) {
+						extensions.add(extension);
+					}
+				}
+			}
+		}
+		stream.writeObject(extensions);
+	}
+
+	/**
+	 * Provides serialization support.
+	 * 
+	 * @param stream
+	 *            the input stream.
+	 * 
+	 * @throws IOException
+	 *             if there is an I/O error.
+	 * @throws ClassNotFoundException
+	 *             if there is a classpath problem.
+	 */
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream stream) throws IOException,
+			ClassNotFoundException {
+		stream.defaultReadObject();
+		init();
+		for (DatasetExtension extension
+				: (List<DatasetExtension>) stream.readObject()) {
+			registerDatasetExtension(extension);
+		}
+	}
+
+	/**
+	 * A table entry: a weak reference to a dataset plus the extensions that
+	 * are registered for it.  Each extension is stored either directly or
+	 * in a {@link WeakReference}.
+	 */
+	private static final class Entry extends WeakReference<Dataset> {
+
+		/** The identity hash code of the dataset. */
+		final int hash;
+
+		/** The extensions (or weak references to them). */
+		final List<Object> extensions = new ArrayList<Object>(2);
+
+		/** The next entry in the bucket. */
+		Entry next;
+
+		Entry(Dataset dataset, int hash, ReferenceQueue<Dataset> queue,
+				Entry next) {
+			super(dataset, queue);
+			this.hash = hash;
+			this.next = next;
+		}
+
+		/**
+		 * Returns the extension at the specified position, or
+		 * <code>null</code> if it has been garbage collected.
+		 */
+		@SuppressWarnings("unchecked")
+		DatasetExtension get(int index) {
+			Object extension = this.extensions.get(index);
+			if (extension instanceof WeakReference) {
+				return ((WeakReference<DatasetExtension>) extension).get();
+			}
+			return (DatasetExtension) extension;
+		}
+
+	}
+
 }
@@ -40,7 +40,9 @@
 
 package org.jfree.data.extension.impl;
 
-import java.util.HashMap;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import org.jfree.data.UnknownKeyException;
 import org.jfree.data.extension.DatasetCursor;
@@ -69,8 +71,14 @@ public class PieDatasetSelectionExtension<KEY extends Comparable<KEY>>
 	 */
 	private PieDataset dataset;
 
-	/** Storage for the selection attributes of the data items. */
-	private HashMap<KEY, Boolean> selectionData;
+	/**
+	 * Storage for the selection attributes of the data items (one bit per
+	 * section, indexed by the position of its key in the dataset).
+	 */
+	private BitSet selectionData;
+
+	/** The number of sections when the selection was reset. */
+	private int itemCount;
 
 	/**
 	 * Creates a separate selection extension for the specified dataset.
@@ -96,7 +104,7 @@ public class PieDatasetSelectionExtension<KEY extends Comparable<KEY>>
 	 */
 	public PieDatasetSelectionExtension(PieDataset dataset,
 			SelectionChangeListener initialListener) {
-		super(dataset);
+		this(dataset);
 		addChangeListener(initialListener);
 	}
 
@@ -105,11 +113,7 @@ public class PieDatasetSelectionExtension<KEY extends Comparable<KEY>>
 	 */
 	@Override
 	public boolean isSelected(PieCursor<KEY> cursor) {
-		Boolean b = this.selectionData.get(cursor.key);
-		if (b == null) {
-			throw new UnknownKeyException("Unrecognised key " + cursor.key);
-		}
-		return Boolean.TRUE.equals(b);
+		return this.selectionData.get(indexOf(cursor));
 	}
 
 	/**
@@ -117,7 +121,7 @@ public class PieDatasetSelectionExtension<KEY extends Comparable<KEY>>
 	 */
 	@Override
 	public void setSelected(PieCursor<KEY> cursor, boolean selected) {
-		this.selectionData.put(cursor.key, Boolean.valueOf(selected));
+		this.selectionData.set(indexOf(cursor), selected);
 		notifyIfRequired();
 	}
 
@@ -141,19 +145,32 @@ public class PieDatasetSelectionExtension<KEY extends Comparable<KEY>>
 		initSelection();
 	}
 
+	/**
+	 * Returns the bit index for the section that a cursor points to.
+	 * 
+	 * @param cursor
+	 *            the cursor (<code>null</code> not permitted).
+	 * 
+	 * @return The bit index.
+	 * 
+	 * @throws UnknownKeyException
+	 *             if the key is not recognised.
+	 */
+	private int indexOf(PieCursor<KEY> cursor) {
+		int index = this.dataset.getIndex(cursor.key);
+		if (index < 0 || index >= this.itemCount) {
+			throw new UnknownKeyException("Unrecognised key " + cursor.key);
+		}
+		return index;
+	}
+
 	/**
 	 * Inits the selection attribute storage and sets all data items to
 	 * unselected.
 	 */
 	private void initSelection() {
-		this.selectionData = new HashMap<KEY, Boolean>();
-
-		// pie datasets are not yet typed therefore the cast is necessary
-		// (and may fail)
-		for (Comparable key : this.dataset.getKeys()) {
-			this.selectionData.put((KEY) key, Boolean.FALSE);
-		}
-
+		this.itemCount = this.dataset.getItemCount();
+		this.selectionData = new BitSet(this.itemCount);
 		notifyIfRequired();
 	}
 
@@ -186,13 +203,10 @@ public class PieDatasetSelectionExtension<KEY extends Comparable<KEY>>
 	private class PieDatasetSelectionIterator
 			implements DatasetIterator<PieCursor<KEY>> {
 
-		// could be improved wtr speed by storing selected elements directly for
-		// faster access however storage efficiency would decrease
-
 		/** a generated serial id */
 		private static final long serialVersionUID = -9037547822331524470L;
 
-		/** current section initialized before the start of the dataset */
+		/** the next section (-1 if there is none) */
 		private int section = -1;
 
 		/**
@@ -205,6 +219,7 @@ public class PieDatasetSelectionExtension<KEY extends Comparable<KEY>>
 		 * creates an iterator over all data item positions
 		 */
 		public PieDatasetSelectionIterator() {
+			this.section = advance(0);
 		}
 
 		/**
@@ -216,16 +231,14 @@ public class PieDatasetSelectionExtension<KEY extends Comparable<KEY>>
 		 *            item positions
 		 */
 		public PieDatasetSelectionIterator(boolean selected) {
-			filter = selected;
+			this.filter = selected;
+			this.section = advance(0);
 		}
 
 		/** {@link Iterator#hasNext()  */
 		@Override
 		public boolean hasNext() {
-			if (nextPosition() != -1) {
-				return true;
-			}
-			return false;
+			return this.section >= 0;
 		}
 
 		/**
@@ -233,10 +246,13 @@ public class PieDatasetSelectionExtension<KEY extends Comparable<KEY>>
 		 */
 		@Override
 		public PieCursor<KEY> next() {
-			this.section = nextPosition();
+			if (this.section < 0) {
+				throw new NoSuchElementException();
+			}
 			// pie datasets are not yet typed therefore the cast is necessary
 			// (and may fail)
 			KEY key = (KEY) dataset.getKey(this.section);
+			this.section = advance(this.section + 1);
 			return new PieCursor<KEY>(key);
 		}
 
@@ -249,27 +265,22 @@ public class PieDatasetSelectionExtension<KEY extends Comparable<KEY>>
 		}
 
 		/**
-		 * Calculates the next position based on the current position and the
-		 * filter status.
+		 * Calculates the first section at or after the specified one that
+		 * matches the filter.
 		 * 
-		 * @return an array holding the next position section
+		 * @param from
+		 *            the section to start from.
+		 * 
+		 * @return The next section (or -1).
 		 */
-		private int nextPosition() {
-			int pSection = this.section;
-			while ((pSection + 1) < dataset.getItemCount()) {
-				if (filter != null) {
-					Comparable<?> key = dataset.getKey((pSection + 1));
-					if (!(filter.equals(selectionData.get(key)))) {
-						pSection++;
-						continue;
-					}
-				}
-
-				// success
-				return (pSection + 1);
+		private int advance(int from) {
+			int next = from;
+			if (Boolean.TRUE.equals(this.filter)) {
+				next = selectionData.nextSetBit(from);
+			} else if (Boolean.FALSE.equals(this.filter)) {
+				next = selectionData.nextClearBit(from);
 			}
-
-			return -1;
+			return next >= 0 && next < itemCount ? next : -1;
 		}
 	}
 }
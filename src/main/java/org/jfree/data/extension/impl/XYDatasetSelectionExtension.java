@@ -40,8 +40,9 @@
 
 package org.jfree.data.extension.impl;
 
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import org.jfree.data.extension.DatasetCursor;
 import org.jfree.data.extension.DatasetIterator;
@@ -52,7 +53,11 @@ import org.jfree.data.general.SelectionChangeListener;
 import org.jfree.data.xy.XYDataset;
 
 /**
- * Extends a xy dataset with a selection state for each data item.
+ * Extends a xy dataset with a selection state for each data item.  The
+ * selection state is stored in one bitset per series (one bit per item), and
+ * the bulk operations ({@link #setSelected(int, int, int, boolean)},
+ * {@link #invertSelection(int)} and {@link #retainSelected(int, int, int)})
+ * work on whole words at a time.
  * 
  * @author zinsmaie
  */
@@ -70,10 +75,13 @@ public class XYDatasetSelectionExtension extends
 	private XYDataset dataset;
 
 	/**
-	 * Storage for the selection attributes of the data items (one list for each
-	 * series).
+	 * Storage for the selection attributes of the data items (one bitset for
+	 * each series, a set bit marks a selected item).
 	 */
-	private ArrayList<Boolean>[] selectionData;
+	private BitSet[] selectionData;
+
+	/** The number of items in each series (when the selection was reset). */
+	private int[] itemCounts;
 
 	/**
 	 * Creates a separate selection extension for the specified dataset.
@@ -81,13 +89,9 @@ public class XYDatasetSelectionExtension extends
 	 * @param dataset
 	 *            the underlying dataset (<code>null</code> not permitted).
 	 */
-	@SuppressWarnings("unchecked")
-	// can't instantiate selection data with
-	// correct type (array limits)
 	public XYDatasetSelectionExtension(XYDataset dataset) {
 		super(dataset);
 		this.dataset = dataset;
-		this.selectionData = new ArrayList[dataset.getSeriesCount()];
 		initSelection();
 	}
 
@@ -103,7 +107,7 @@ public class XYDatasetSelectionExtension extends
 	 */
 	public XYDatasetSelectionExtension(XYDataset dataset,
 			SelectionChangeListener<XYCursor> initialListener) {
-		super(dataset);
+		this(dataset);
 		addChangeListener(initialListener);
 	}
 
@@ -131,7 +135,25 @@ public class XYDatasetSelectionExtension extends
 	 */
 	@Override
 	public boolean isSelected(XYCursor cursor) {
-		return (selectionData[cursor.series].get(cursor.item));
+		return isSelected(cursor.series, cursor.item);
+	}
+
+	/**
+	 * Returns {@code true} if a data item is selected, and {@code false}
+	 * otherwise.
+	 * 
+	 * @param series
+	 *            the series index.
+	 * @param item
+	 *            the item index.
+	 * 
+	 * @return A boolean.
+	 * 
+	 * @since 2.0
+	 */
+	public boolean isSelected(int series, int item) {
+		checkItem(series, item);
+		return this.selectionData[series].get(item);
 	}
 
 	/**
@@ -145,10 +167,92 @@ public class XYDatasetSelectionExtension extends
 	 */
 	@Override
 	public void setSelected(XYCursor cursor, boolean selected) {
-		selectionData[cursor.series].set(cursor.item, selected);
+		checkItem(cursor.series, cursor.item);
+		this.selectionData[cursor.series].set(cursor.item, selected);
+		notifyIfRequired();
+	}
+
+	/**
+	 * Sets the selection state of a range of data items in one series, and
+	 * sends a single change event.
+	 * 
+	 * @param series
+	 *            the series index.
+	 * @param firstItem
+	 *            the index of the first item.
+	 * @param lastItem
+	 *            the index of the last item (inclusive).
+	 * @param selected
+	 *            the new selection state.
+	 * 
+	 * @since 2.0
+	 */
+	public void setSelected(int series, int firstItem, int lastItem,
+			boolean selected) {
+		checkRange(series, firstItem, lastItem);
+		this.selectionData[series].set(firstItem, lastItem + 1, selected);
+		notifyIfRequired();
+	}
+
+	/**
+	 * Inverts the selection state of all data items in one series.
+	 * 
+	 * @param series
+	 *            the series index.
+	 * 
+	 * @since 2.0
+	 */
+	public void invertSelection(int series) {
+		checkRange(series, 0, -1);
+		this.selectionData[series].flip(0, this.itemCounts[series]);
+		notifyIfRequired();
+	}
+
+	/**
+	 * Deselects all data items in one series that lie outside a range of
+	 * items, so that the selection becomes its intersection with the range.
+	 * For a series with ascending x-values, the item range for a region
+	 * of the x-axis can be found with
+	 * {@link org.jfree.data.general.DatasetUtilities#findItemIndicesForX(
+	 * XYDataset, int, double)}.
+	 * 
+	 * @param series
+	 *            the series index.
+	 * @param firstItem
+	 *            the index of the first item.
+	 * @param lastItem
+	 *            the index of the last item (inclusive,
+	 *            <code>lastItem &lt; firstItem</code> deselects all items).
+	 * 
+	 * @since 2.0
+	 */
+	public void retainSelected(int series, int firstItem, int lastItem) {
+		checkRange(series, firstItem, lastItem);
+		BitSet bits = this.selectionData[series];
+		if (lastItem < firstItem) {
+			bits.clear();
+		} else {
+			bits.clear(0, firstItem);
+			bits.clear(lastItem + 1, this.itemCounts[series]);
+		}
 		notifyIfRequired();
 	}
 
+	/**
+	 * Returns the number of selected data items in a series.
+	 * 
+	 * @param series
+	 *            the series index.
+	 * 
+	 * @return The number of selected items.
+	 * 
+	 * @since 2.0
+	 */
+	public int getSelectedItemCount(int series) {
+		checkRange(series, 0, -1);
+		return this.selectionData[series].cardinality();
+	}
+
 	/**
 	 * {@link DatasetSelectionExtension#clearSelection()}
 	 */
@@ -162,15 +266,48 @@ public class XYDatasetSelectionExtension extends
 	 * unselected
 	 */
 	private void initSelection() {
-		for (int i = 0; i < dataset.getSeriesCount(); i++) {
-			selectionData[i] = new ArrayList<Boolean>(dataset.getItemCount(i));
-			for (int j = 0; j < dataset.getItemCount(i); j++) {
-				selectionData[i].add(Boolean.FALSE);
-			}
+		int seriesCount = this.dataset.getSeriesCount();
+		this.selectionData = new BitSet[seriesCount];
+		this.itemCounts = new int[seriesCount];
+		for (int i = 0; i < seriesCount; i++) {
+			this.itemCounts[i] = this.dataset.getItemCount(i);
+			this.selectionData[i] = new BitSet(this.itemCounts[i]);
 		}
 		notifyIfRequired();
 	}
 
+	/**
+	 * Checks that an item range is valid (an empty range must still lie
+	 * within the series).  An invalid series index results in an
+	 * <code>ArrayIndexOutOfBoundsException</code>.
+	 * 
+	 * @param series
+	 *            the series index.
+	 * @param firstItem
+	 *            the index of the first item.
+	 * @param lastItem
+	 *            the index of the last item.
+	 */
+	private void checkRange(int series, int firstItem, int lastItem) {
+		if (firstItem < 0 || lastItem >= this.itemCounts[series]
+				|| firstItem > lastItem + 1) {
+			throw new IndexOutOfBoundsException("Invalid item range: "
+					+ firstItem + " to " + lastItem);
+		}
+	}
+
+	/**
+	 * Checks that a series index and an item index are valid.
+	 * 
+	 * @param series
+	 *            the series index.
+	 * @param item
+	 *            the item index.
+	 */
+	private void checkItem(int series, int item) {
+		checkRange(series, item, item);
+	}
+
 	// ITERATOR IMPLEMENTATION
 
 	/**
@@ -192,23 +329,23 @@ public class XYDatasetSelectionExtension extends
 	/**
 	 * Allows to iterate over all data items or the selected / unselected data
 	 * items. Provides on each iteration step a DatasetCursor that defines the
-	 * position of the data item.
+	 * position of the data item.  The filtered iterators jump from one
+	 * matching item to the next with {@link BitSet#nextSetBit(int)} and
+	 * {@link BitSet#nextClearBit(int)}, so words without a match are
+	 * skipped.
 	 * 
 	 * @author zinsmaie
 	 */
 	private class XYDatasetSelectionIterator
 			implements DatasetIterator<XYCursor> {
 
-		// could be improved wtr speed by storing selected elements directly
-		// for faster access however storage efficiency would decrease
-
 		/** A generated serial id. */
 		private static final long serialVersionUID = 125607273863837608L;
 
-		/** current series position */
+		/** the series of the next position */
 		private int series = 0;
 
-		/** current item position initialized before the start of the dataset */
+		/** the item of the next position (-1 if there is none) */
 		private int item = -1;
 
 		/**
@@ -221,6 +358,7 @@ public class XYDatasetSelectionExtension extends
 		 * Creates an iterator over all data item positions.
 		 */
 		public XYDatasetSelectionIterator() {
+			advance(0, 0);
 		}
 
 		/**
@@ -233,15 +371,13 @@ public class XYDatasetSelectionExtension extends
 		 */
 		public XYDatasetSelectionIterator(boolean selected) {
 			this.filter = selected;
+			advance(0, 0);
 		}
 
 		/** {@link Iterator#hasNext()  */
 		@Override
 		public boolean hasNext() {
-			if (nextPosition()[0] != -1) {
-				return true;
-			}
-			return false;
+			return this.item >= 0;
 		}
 
 		/**
@@ -249,10 +385,12 @@ public class XYDatasetSelectionExtension extends
 		 */
 		@Override
 		public XYCursor next() {
-			int[] newPos = nextPosition();
-			this.series = newPos[0];
-			this.item = newPos[1];
-			return new XYCursor(this.series, this.item);
+			if (this.item < 0) {
+				throw new NoSuchElementException();
+			}
+			XYCursor cursor = new XYCursor(this.series, this.item);
+			advance(this.series, this.item + 1);
+			return cursor;
 		}
 
 		/**
@@ -264,33 +402,31 @@ public class XYDatasetSelectionExtension extends
 		}
 
 		/**
-		 * Calculates the next position based on the current position and the
-		 * filter status.
+		 * Moves to the first position at or after the specified one that
+		 * matches the filter.
 		 * 
-		 * @return an array holding the next position [series, item]
+		 * @param s
+		 *            the series index.
+		 * @param i
+		 *            the item index.
 		 */
-		private int[] nextPosition() {
-			int pSeries = this.series;
-			int pItem = this.item;
-
-			while (pSeries < selectionData.length) {
-				if ((pItem + 1) >= selectionData[pSeries].size()) {
-					pSeries++;
-					pItem = -1;
-					continue;
+		private void advance(int s, int i) {
+			while (s < selectionData.length) {
+				int next = i;
+				if (Boolean.TRUE.equals(this.filter)) {
+					next = selectionData[s].nextSetBit(i);
+				} else if (Boolean.FALSE.equals(this.filter)) {
+					next = selectionData[s].nextClearBit(i);
 				}
-				if (filter != null) {
-					if (!(filter.equals(selectionData[pSeries].get(pItem + 1)))) {
-						pItem++;
-						continue;
-					}
+				if (next >= 0 && next < itemCounts[s]) {
+					this.series = s;
+					this.item = next;
+					return;
 				}
-
-				// success
-				return new int[] { pSeries, (pItem + 1) };
+				s++;
+				i = 0;
 			}
-
-			return new int[] { -1, -1 };
+			this.item = -1;
 		}
 	}
 
@@ -82,12 +82,60 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
 	/** Storage for registered change listeners. */
 	private transient EventListenerList listenerList;
 
+	/**
+	 * A flag that controls whether or not change events are sent to the
+	 * registered listeners.
+	 */
+	private transient boolean notify;
+
+	/**
+	 * A flag that records that a change event was suppressed while the
+	 * notify flag was <code>false</code>.
+	 */
+	private transient boolean changePending;
+
 	/**
 	 * Constructs a dataset. By default, the dataset is assigned to its own
 	 * group.
 	 */
 	protected AbstractDataset() {
 		this.listenerList = new EventListenerList();
+		this.notify = true;
+	}
+
+	/**
+	 * Returns the flag that controls whether or not change events are sent to
+	 * registered listeners.
+	 *
+	 * @return A boolean.
+	 *
+	 * @see #setNotify(boolean)
+	 *
+	 * @since 2.0
+	 */
+	public boolean isNotify() {
+		return this.notify;
+	}
+
+	/**
+	 * Sets the flag that controls whether or not change events are sent to
+	 * registered listeners.  While the flag is <code>false</code> the
+	 * changes are only recorded, and setting it back to <code>true</code>
+	 * sends a single {@link DatasetChangeEvent} if there were any.
+	 *
+	 * @param notify
+	 *            the new value of the flag.
+	 *
+	 * @see #isNotify()
+	 *
+	 * @since 2.0
+	 */
+	public void setNotify(boolean notify) {
+		this.notify = notify;
+		if (notify && this.changePending) {
+			this.changePending = false;
+			fireDatasetChanged();
+		}
 	}
 
 	/**
@@ -155,7 +203,10 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
 	 * @see #removeChangeListener(DatasetChangeListener)
 	 */
 	protected void notifyListeners(DatasetChangeEvent event) {
-
+		if (!this.notify) {
+			this.changePending = true;
+			return;
+		}
 		Object[] listeners = this.listenerList.getListenerList();
 		for (int i = listeners.length - 2; i >= 0; i -= 2) {
 			if (listeners[i] == DatasetChangeListener.class) {
@@ -180,6 +231,8 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
 	public Object clone() throws CloneNotSupportedException {
 		AbstractDataset clone = (AbstractDataset) super.clone();
 		clone.listenerList = new EventListenerList();
+		clone.notify = true;
+		clone.changePending = false;
 		return clone;
 	}
 
@@ -211,6 +264,7 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
 			throws IOException, ClassNotFoundException {
 		stream.defaultReadObject();
 		this.listenerList = new EventListenerList();
+		this.notify = true;
 		stream.registerValidation(this, 10); // see comments about priority of
 												// 10 in validateObject()
 	}
@@ -0,0 +1,399 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------
+ * RangeIndex.java
+ * ---------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.general;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.jfree.chart.util.ParamChecks;
+
+/**
+ * A segment tree over a sequence of values that answers "what are the
+ * minimum and maximum of the values at positions <code>first</code> to
+ * <code>last</code>?" in logarithmic time.  The index is maintained
+ * incrementally: appending a value, replacing a value and removing the
+ * first value all run in logarithmic (amortized) time, which covers the
+ * usual ways that a series grows.
+ * <P>
+ * {@code Double.NaN} values occupy a position in the sequence but are ignored
+ * for the purpose of the minimum and maximum.
+ *
+ * @since 2.0
+ */
+public class RangeIndex implements Cloneable, Serializable {
+
+	/** For serialization. */
+	private static final long serialVersionUID = -3460925287283019134L;
+
+	/** The number of leaves in the tree (always a power of two). */
+	private int capacity;
+
+	/** The position of the first value among the leaves. */
+	private int start;
+
+	/** The number of values in the sequence. */
+	private int size;
+
+	/**
+	 * The minimum of each node (node 1 is the root, the leaves start at
+	 * <code>capacity</code>); Double.NaN marks a node with no values.
+	 */
+	private double[] minTree;
+
+	/** The maximum of each node (see {@link #minTree}). */
+	private double[] maxTree;
+
+	/**
+	 * Creates a new, empty, index.
+	 */
+	public RangeIndex() {
+		this.capacity = 16;
+		this.minTree = new double[2 * this.capacity];
+		this.maxTree = new double[2 * this.capacity];
+		Arrays.fill(this.minTree, Double.NaN);
+		Arrays.fill(this.maxTree, Double.NaN);
+	}
+
+	/**
+	 * Creates a new index for the first <code>count</code> values in the
+	 * specified array.  The tree is built bottom-up in linear time, which is
+	 * considerably faster than adding the values one at a time.
+	 *
+	 * @param values
+	 *            the values (<code>null</code> not permitted).
+	 * @param count
+	 *            the number of values to include.
+	 */
+	public RangeIndex(double[] values, int count) {
+		ParamChecks.nullNotPermitted(values, "values");
+		if (count < 0 || count > values.length) {
+			throw new IllegalArgumentException("Invalid 'count' argument: "
+					+ count);
+		}
+		int c = 16;
+		while (c < count) {
+			c *= 2;
+		}
+		this.capacity = c;
+		this.size = count;
+		this.minTree = new double[2 * c];
+		this.maxTree = new double[2 * c];
+		Arrays.fill(this.minTree, Double.NaN);
+		Arrays.fill(this.maxTree, Double.NaN);
+		System.arraycopy(values, 0, this.minTree, c, count);
+		System.arraycopy(values, 0, this.maxTree, c, count);
+		fillInternalNodes(this.minTree, this.maxTree, c);
+	}
+
+	/**
+	 * Returns the number of values (including {@code Double.NaN} values) in
+	 * the sequence.
+	 *
+	 * @return The number of values.
+	 */
+	public int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Appends a value to the end of the sequence.
+	 *
+	 * @param value
+	 *            the value ({@code Double.NaN} permitted).
+	 */
+	public void add(double value) {
+		if (this.start + this.size == this.capacity) {
+			// full up to the last leaf...either reclaim the space freed by
+			// removeFirst() or double the capacity
+			int newCapacity = this.capacity;
+			if (this.size > this.capacity / 2) {
+				newCapacity = this.capacity * 2;
+			}
+			rebuild(newCapacity);
+		}
+		this.size++;
+		setLeaf(this.start + this.size - 1, value);
+	}
+
+	/**
+	 * Replaces the value at the specified position.
+	 *
+	 * @param index
+	 *            the position (zero-based).
+	 * @param value
+	 *            the new value ({@code Double.NaN} permitted).
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if <code>index</code> is not a valid position.
+	 */
+	public void set(int index, double value) {
+		checkIndex(index);
+		setLeaf(this.start + index, value);
+	}
+
+	/**
+	 * Removes the first value from the sequence.
+	 *
+	 * @throws IllegalStateException
+	 *             if the sequence is empty.
+	 */
+	public void removeFirst() {
+		if (this.size == 0) {
+			throw new IllegalStateException("The index is empty.");
+		}
+		setLeaf(this.start, Double.NaN);
+		this.size--;
+		this.start = this.size == 0 ? 0 : this.start + 1;
+	}
+
+	/**
+	 * Removes all values from the sequence.
+	 */
+	public void clear() {
+		Arrays.fill(this.minTree, Double.NaN);
+		Arrays.fill(this.maxTree, Double.NaN);
+		this.start = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * Returns the smallest value at the positions <code>first</code> to
+	 * <code>last</code> (inclusive), or {@code Double.NaN} if there are no
+	 * values other than {@code Double.NaN} in that range.
+	 *
+	 * @param first
+	 *            the first position.
+	 * @param last
+	 *            the last position (if this is less than <code>first</code>,
+	 *            the range is empty).
+	 *
+	 * @return The minimum.
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the range is not empty and is not within the sequence.
+	 */
+	public double getMin(int first, int last) {
+		if (last < first) {
+			return Double.NaN;
+		}
+		checkIndex(first);
+		checkIndex(last);
+		double result = Double.NaN;
+		int lo = this.capacity + this.start + first;
+		int hi = this.capacity + this.start + last + 1;
+		while (lo < hi) {
+			if ((lo & 1) == 1) {
+				result = minIgnoreNaN(result, this.minTree[lo++]);
+			}
+			if ((hi & 1) == 1) {
+				result = minIgnoreNaN(result, this.minTree[--hi]);
+			}
+			lo >>= 1;
+			hi >>= 1;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the largest value at the positions <code>first</code> to
+	 * <code>last</code> (inclusive), or {@code Double.NaN} if there are no
+	 * values other than {@code Double.NaN} in that range.
+	 *
+	 * @param first
+	 *            the first position.
+	 * @param last
+	 *            the last position (if this is less than <code>first</code>,
+	 *            the range is empty).
+	 *
+	 * @return The maximum.
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if the range is not empty and is not within the sequence.
+	 */
+	public double getMax(int first, int last) {
+		if (last < first) {
+			return Double.NaN;
+		}
+		checkIndex(first);
+		checkIndex(last);
+		double result = Double.NaN;
+		int lo = this.capacity + this.start + first;
+		int hi = this.capacity + this.start + last + 1;
+		while (lo < hi) {
+			if ((lo & 1) == 1) {
+				result = maxIgnoreNaN(result, this.maxTree[lo++]);
+			}
+			if ((hi & 1) == 1) {
+				result = maxIgnoreNaN(result, this.maxTree[--hi]);
+			}
+			lo >>= 1;
+			hi >>= 1;
+		}
+		return result;
+	}
+
+	/**
+	 * Sets the value of a leaf and updates its ancestors.
+	 *
+	 * @param position
+	 *            the leaf position (not including the capacity offset).
+	 * @param value
+	 *            the value.
+	 */
+	private void setLeaf(int position, double value) {
+		int node = this.capacity + position;
+		this.minTree[node] = value;
+		this.maxTree[node] = value;
+		node >>= 1;
+		while (node > 0) {
+			this.minTree[node] = minIgnoreNaN(this.minTree[2 * node],
+					this.minTree[2 * node + 1]);
+			this.maxTree[node] = maxIgnoreNaN(this.maxTree[2 * node],
+					this.maxTree[2 * node + 1]);
+			node >>= 1;
+		}
+	}
+
+	/**
+	 * Moves the values to the start of a tree with the specified capacity and
+	 * recalculates all the internal nodes.
+	 *
+	 * @param newCapacity
+	 *            the new capacity (a power of two, at least the size).
+	 */
+	private void rebuild(int newCapacity) {
+		double[] newMin = new double[2 * newCapacity];
+		double[] newMax = new double[2 * newCapacity];
+		Arrays.fill(newMin, Double.NaN);
+		Arrays.fill(newMax, Double.NaN);
+		System.arraycopy(this.minTree, this.capacity + this.start, newMin,
+				newCapacity, this.size);
+		System.arraycopy(this.maxTree, this.capacity + this.start, newMax,
+				newCapacity, this.size);
+		fillInternalNodes(newMin, newMax, newCapacity);
+		this.capacity = newCapacity;
+		this.start = 0;
+		this.minTree = newMin;
+		this.maxTree = newMax;
+	}
+
+	/**
+	 * Calculates all the internal nodes of a tree from its leaves.
+	 *
+	 * @param min
+	 *            the minimum tree.
+	 * @param max
+	 *            the maximum tree.
+	 * @param capacity
+	 *            the number of leaves.
+	 */
+	private static void fillInternalNodes(double[] min, double[] max,
+			int capacity) {
+		for (int node = capacity - 1; node > 0; node--) {
+			min[node] = minIgnoreNaN(min[2 * node], min[2 * node + 1]);
+			max[node] = maxIgnoreNaN(max[2 * node], max[2 * node + 1]);
+		}
+	}
+
+	/**
+	 * Checks that a position is within the sequence.
+	 *
+	 * @param index
+	 *            the position.
+	 */
+	private void checkIndex(int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: "
+					+ this.size);
+		}
+	}
+
+	/**
+	 * Returns the minimum of two values, ignoring a {@code Double.NaN}.
+	 *
+	 * @param a
+	 *            the first value.
+	 * @param b
+	 *            the second value.
+	 *
+	 * @return The minimum.
+	 */
+	private static double minIgnoreNaN(double a, double b) {
+		if (Double.isNaN(a)) {
+			return b;
+		}
+		if (Double.isNaN(b)) {
+			return a;
+		}
+		return Math.min(a, b);
+	}
+
+	/**
+	 * Returns the maximum of two values, ignoring a {@code Double.NaN}.
+	 *
+	 * @param a
+	 *            the first value.
+	 * @param b
+	 *            the second value.
+	 *
+	 * @return The maximum.
+	 */
+	private static double maxIgnoreNaN(double a, double b) {
+		if (Double.isNaN(a)) {
+			return b;
+		}
+		if (Double.isNaN(b)) {
+			return a;
+		}
+		return Math.max(a, b);
+	}
+
+	/**
+	 * Returns a clone of this instance.
+	 *
+	 * @return A clone.
+	 *
+	 * @throws CloneNotSupportedException
+	 *             not thrown by this class.
+	 */
+	@Override
+	public Object clone() throws CloneNotSupportedException {
+		RangeIndex clone = (RangeIndex) super.clone();
+		clone.minTree = this.minTree.clone();
+		clone.maxTree = this.maxTree.clone();
+		return clone;
+	}
+
+}
@@ -0,0 +1,284 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------
+ * RollingMinMax.java
+ * ------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.data.general;
+
+import java.io.Serializable;
+
+/**
+ * Tracks the minimum and maximum of a sliding window of values, where new
+ * values are appended at the end of the window and old values are removed
+ * from the front.  Both operations run in constant amortized time, using a
+ * pair of monotonic deques (one for the minimum, one for the maximum).
+ * <P>
+ * {@code Double.NaN} values occupy a position in the window but are ignored
+ * for the purpose of the minimum and maximum.
+ *
+ * @since 2.0
+ */
+public class RollingMinMax implements Cloneable, Serializable {
+
+	/** For serialization. */
+	private static final long serialVersionUID = 2395287374062592441L;
+
+	/** The sequence number of the first value in the window. */
+	private long first;
+
+	/** The sequence number that will be assigned to the next value. */
+	private long next;
+
+	/** Candidates for the minimum (values increasing from front to back). */
+	private MonotonicDeque minDeque;
+
+	/** Candidates for the maximum (values decreasing from front to back). */
+	private MonotonicDeque maxDeque;
+
+	/**
+	 * Creates a new, empty, window.
+	 */
+	public RollingMinMax() {
+		this.first = 0L;
+		this.next = 0L;
+		this.minDeque = new MonotonicDeque();
+		this.maxDeque = new MonotonicDeque();
+	}
+
+	/**
+	 * Returns the number of values (including {@code Double.NaN} values)
+	 * currently in the window.
+	 *
+	 * @return The number of values.
+	 */
+	public int getSize() {
+		return (int) (this.next - this.first);
+	}
+
+	/**
+	 * Returns the smallest value in the window, or {@code Double.NaN} if the
+	 * window contains no values other than {@code Double.NaN}.
+	 *
+	 * @return The minimum.
+	 */
+	public double getMin() {
+		return this.minDeque.isEmpty() ? Double.NaN
+				: this.minDeque.firstValue();
+	}
+
+	/**
+	 * Returns the largest value in the window, or {@code Double.NaN} if the
+	 * window contains no values other than {@code Double.NaN}.
+	 *
+	 * @return The maximum.
+	 */
+	public double getMax() {
+		return this.maxDeque.isEmpty() ? Double.NaN
+				: this.maxDeque.firstValue();
+	}
+
+	/**
+	 * Appends a value to the end of the window.
+	 *
+	 * @param value
+	 *            the value ({@code Double.NaN} permitted).
+	 */
+	public void add(double value) {
+		if (!Double.isNaN(value)) {
+			while (!this.minDeque.isEmpty()
+					&& this.minDeque.lastValue() >= value) {
+				this.minDeque.removeLast();
+			}
+			this.minDeque.addLast(this.next, value);
+			while (!this.maxDeque.isEmpty()
+					&& this.maxDeque.lastValue() <= value) {
+				this.maxDeque.removeLast();
+			}
+			this.maxDeque.addLast(this.next, value);
+		}
+		this.next++;
+	}
+
+	/**
+	 * Removes the first (oldest) value from the window.
+	 *
+	 * @throws IllegalStateException
+	 *             if the window is empty.
+	 */
+	public void removeFirst() {
+		if (this.first == this.next) {
+			throw new IllegalStateException("The window is empty.");
+		}
+		if (!this.minDeque.isEmpty()
+				&& this.minDeque.firstSequence() == this.first) {
+			this.minDeque.removeFirst();
+		}
+		if (!this.maxDeque.isEmpty()
+				&& this.maxDeque.firstSequence() == this.first) {
+			this.maxDeque.removeFirst();
+		}
+		this.first++;
+	}
+
+	/**
+	 * Removes all values from the window.
+	 */
+	public void clear() {
+		this.first = 0L;
+		this.next = 0L;
+		this.minDeque.clear();
+		this.maxDeque.clear();
+	}
+
+	/**
+	 * Returns a clone of this instance.
+	 *
+	 * @return A clone.
+	 *
+	 * @throws CloneNotSupportedException
+	 *             not thrown by this class.
+	 */
+	@Override
+	public Object clone() throws CloneNotSupportedException {
+		RollingMinMax clone = (RollingMinMax) super.clone();
+		clone.minDeque = (MonotonicDeque) this.minDeque.clone();
+		clone.maxDeque = (MonotonicDeque) this.maxDeque.clone();
+		return clone;
+	}
+
+	/**
+	 * A double-ended queue of (sequence number, value) pairs, stored in
+	 * circular primitive arrays.
+	 */
+	private static class MonotonicDeque implements Cloneable, Serializable {
+
+		/** For serialization. */
+		private static final long serialVersionUID = 1L;
+
+		/** The sequence numbers (capacity is always a power of two). */
+		private long[] sequences;
+
+		/** The values. */
+		private double[] values;
+
+		/** The array index of the first entry. */
+		private int head;
+
+		/** The number of entries. */
+		private int size;
+
+		/**
+		 * Creates a new empty deque.
+		 */
+		MonotonicDeque() {
+			this.sequences = new long[16];
+			this.values = new double[16];
+		}
+
+		/** Returns {@code true} if the deque is empty. */
+		boolean isEmpty() {
+			return this.size == 0;
+		}
+
+		/** Returns the sequence number of the first entry. */
+		long firstSequence() {
+			return this.sequences[this.head];
+		}
+
+		/** Returns the value of the first entry. */
+		double firstValue() {
+			return this.values[this.head];
+		}
+
+		/** Returns the value of the last entry. */
+		double lastValue() {
+			return this.values[(this.head + this.size - 1)
+					& (this.values.length - 1)];
+		}
+
+		/** Adds an entry at the end of the deque. */
+		void addLast(long sequence, double value) {
+			if (this.size == this.values.length) {
+				grow();
+			}
+			int i = (this.head + this.size) & (this.values.length - 1);
+			this.sequences[i] = sequence;
+			this.values[i] = value;
+			this.size++;
+		}
+
+		/** Removes the first entry. */
+		void removeFirst() {
+			this.head = (this.head + 1) & (this.values.length - 1);
+			this.size--;
+		}
+
+		/** Removes the last entry. */
+		void removeLast() {
+			this.size--;
+		}
+
+		/** Removes all entries. */
+		void clear() {
+			this.head = 0;
+			this.size = 0;
+		}
+
+		/**
+		 * Doubles the capacity of the deque, moving the entries to the start
+		 * of the new arrays.
+		 */
+		private void grow() {
+			int capacity = this.values.length;
+			long[] s = new long[capacity << 1];
+			double[] v = new double[capacity << 1];
+			for (int i = 0; i < this.size; i++) {
+				int j = (this.head + i) & (capacity - 1);
+				s[i] = this.sequences[j];
+				v[i] = this.values[j];
+			}
+			this.sequences = s;
+			this.values = v;
+			this.head = 0;
+		}
+
+		/** Returns a deep copy of the deque. */
+		@Override
+		public Object clone() throws CloneNotSupportedException {
+			MonotonicDeque clone = (MonotonicDeque) super.clone();
+			clone.sequences = this.sequences.clone();
+			clone.values = this.values.clone();
+			return clone;
+		}
+
+	}
+
+}
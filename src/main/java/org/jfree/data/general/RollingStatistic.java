@@ -0,0 +1,85 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * RollingStatistic.java
+ * ---------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.general;
+
+/**
+ * The statistics that can be read from a {@link RollingStatistics} instance.
+ *
+ * @since 2.0
+ */
+public enum RollingStatistic {
+
+	/** The simple moving average. */
+	MEAN("RollingStatistic.MEAN"),
+
+	/** The exponential moving average. */
+	EXPONENTIAL_MEAN("RollingStatistic.EXPONENTIAL_MEAN"),
+
+	/** The rolling sum. */
+	SUM("RollingStatistic.SUM"),
+
+	/** The rolling (sample) standard deviation. */
+	STANDARD_DEVIATION("RollingStatistic.STANDARD_DEVIATION"),
+
+	/** The rolling minimum. */
+	MINIMUM("RollingStatistic.MINIMUM"),
+
+	/** The rolling maximum. */
+	MAXIMUM("RollingStatistic.MAXIMUM");
+
+	/** The name. */
+	private String name;
+
+	/**
+	 * Private constructor.
+	 *
+	 * @param name
+	 *            the name.
+	 */
+	private RollingStatistic(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Returns a string representing the object.
+	 *
+	 * @return The string.
+	 */
+	@Override
+	public String toString() {
+		return this.name;
+	}
+
+}
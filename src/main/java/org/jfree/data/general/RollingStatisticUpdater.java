@@ -0,0 +1,453 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------------
+ * RollingStatisticUpdater.java
+ * ----------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.general;
+
+import org.jfree.chart.util.ParamChecks;
+import org.jfree.data.time.TimeSeries;
+import org.jfree.data.xy.XYSeries;
+
+/**
+ * Keeps a target series up to date with a rolling statistic (for example a
+ * moving average) of a source series.  The updater listens for changes to
+ * the source series: when items have been appended to the source, only the
+ * new items are processed, so a live series can be followed at a constant
+ * cost per item.  The updater keeps track of the number of items processed,
+ * so appended items are found even if they repeat the last item.  Items
+ * that are dropped from the start of the source (to respect its maximum
+ * item count, for example) are also handled without a recalculation, as
+ * long as the last item processed can still be told apart from the items
+ * around it by its x-value.  Any other change that affects the last item
+ * processed triggers a full recalculation; changes to earlier items are not
+ * detected, call {@link #recalculate()} after making them.
+ * <P>
+ * For a {@link TimeSeries}, the x-value of an item is the serial index of
+ * its time period, so the span of the window is a number of time periods.
+ *
+ * @see RollingStatistics
+ *
+ * @since 2.0
+ */
+public class RollingStatisticUpdater implements SeriesChangeListener {
+
+	/** The source series. */
+	private Series source;
+
+	/** The target series. */
+	private Series target;
+
+	/** Reads the source series and writes the target series. */
+	private SeriesAccess access;
+
+	/** The statistic. */
+	private RollingStatistic statistic;
+
+	/** The rolling window. */
+	private RollingStatistics statistics;
+
+	/** The number of source items processed (0 before the first update). */
+	private int processedCount;
+
+	/** The x-value of the first source item at the last update. */
+	private double firstX;
+
+	/** The value of the first source item at the last update. */
+	private double firstValue;
+
+	/** The x-value of the last item processed. */
+	private double lastX;
+
+	/** The value of the last item processed. */
+	private double lastValue;
+
+	/**
+	 * Creates an updater for a time series.  The existing items in the
+	 * target series are replaced.
+	 *
+	 * @param source
+	 *            the source series ({@code null} not permitted).
+	 * @param target
+	 *            the target series ({@code null} not permitted).
+	 * @param statistic
+	 *            the statistic ({@code null} not permitted).
+	 * @param maximumPointCount
+	 *            the maximum number of items in the window (at least 1, use
+	 *            {@code Integer.MAX_VALUE} for no limit).
+	 * @param periodCount
+	 *            the maximum number of time periods spanned by the window
+	 *            (use {@code Double.POSITIVE_INFINITY} for no limit).
+	 */
+	public RollingStatisticUpdater(TimeSeries source, TimeSeries target,
+			RollingStatistic statistic, int maximumPointCount,
+			double periodCount) {
+		this(source, target, new TimeSeriesAccess(source, target), statistic,
+				maximumPointCount, periodCount);
+	}
+
+	/**
+	 * Creates an updater for an {@link XYSeries}.  The existing items in the
+	 * target series are replaced.
+	 *
+	 * @param source
+	 *            the source series ({@code null} not permitted).
+	 * @param target
+	 *            the target series ({@code null} not permitted).
+	 * @param statistic
+	 *            the statistic ({@code null} not permitted).
+	 * @param maximumPointCount
+	 *            the maximum number of items in the window (at least 1, use
+	 *            {@code Integer.MAX_VALUE} for no limit).
+	 * @param span
+	 *            the maximum x-distance spanned by the window (use
+	 *            {@code Double.POSITIVE_INFINITY} for no limit).
+	 */
+	public RollingStatisticUpdater(XYSeries source, XYSeries target,
+			RollingStatistic statistic, int maximumPointCount, double span) {
+		this(source, target, new XYSeriesAccess(source, target), statistic,
+				maximumPointCount, span);
+	}
+
+	/**
+	 * Creates a new updater.
+	 *
+	 * @param source
+	 *            the source series.
+	 * @param target
+	 *            the target series.
+	 * @param access
+	 *            reads the source and writes the target.
+	 * @param statistic
+	 *            the statistic.
+	 * @param maximumPointCount
+	 *            the maximum number of items in the window.
+	 * @param span
+	 *            the maximum x-distance spanned by the window.
+	 */
+	private RollingStatisticUpdater(Series source, Series target,
+			SeriesAccess access, RollingStatistic statistic,
+			int maximumPointCount, double span) {
+		ParamChecks.nullNotPermitted(source, "source");
+		ParamChecks.nullNotPermitted(target, "target");
+		ParamChecks.nullNotPermitted(statistic, "statistic");
+		if (source == target) {
+			throw new IllegalArgumentException(
+					"The source and target must be different series.");
+		}
+		this.source = source;
+		this.target = target;
+		this.access = access;
+		this.statistic = statistic;
+		this.statistics = new RollingStatistics(maximumPointCount, span);
+		recalculate();
+		source.addChangeListener(this);
+	}
+
+	/**
+	 * Returns the source series.
+	 *
+	 * @return The source series.
+	 */
+	public Series getSource() {
+		return this.source;
+	}
+
+	/**
+	 * Returns the target series.
+	 *
+	 * @return The target series.
+	 */
+	public Series getTarget() {
+		return this.target;
+	}
+
+	/**
+	 * Returns the statistic.
+	 *
+	 * @return The statistic.
+	 */
+	public RollingStatistic getStatistic() {
+		return this.statistic;
+	}
+
+	/**
+	 * Recalculates the target series from all the items in the source
+	 * series.
+	 */
+	public void recalculate() {
+		update(true);
+	}
+
+	/**
+	 * Stops following the source series.
+	 */
+	public void dispose() {
+		this.source.removeChangeListener(this);
+	}
+
+	/**
+	 * Receives notification of a change to the source series and updates the
+	 * target series.
+	 *
+	 * @param event
+	 *            the event.
+	 */
+	@Override
+	public void seriesChanged(SeriesChangeEvent event) {
+		update(false);
+	}
+
+	/**
+	 * Updates the target series, processing only the items appended to the
+	 * source series since the last update unless a full recalculation is
+	 * requested or needed.
+	 *
+	 * @param recalculate
+	 *            recalculate from the start?
+	 */
+	private void update(boolean recalculate) {
+		int count = this.access.getItemCount();
+		int first = 0;
+		if (this.processedCount > 0 && !recalculate) {
+			first = findFirstNewItem(count);
+			recalculate = first < 0;
+		}
+		if (!recalculate && first == count) {
+			return;
+		}
+		boolean notify = this.target.getNotify();
+		this.target.setNotify(false);
+		try {
+			if (recalculate || this.processedCount == 0) {
+				this.statistics.clear();
+				this.processedCount = 0;
+				this.access.clearTarget();
+				first = 0;
+			}
+			for (int i = first; i < count; i++) {
+				double x = this.access.getX(i);
+				double value = this.access.getValue(i);
+				this.statistics.add(x, value);
+				double result = this.statistics.getValue(this.statistic);
+				this.access.addResult(i, Double.isNaN(result) ? null
+						: Double.valueOf(result));
+				this.lastX = x;
+				this.lastValue = value;
+			}
+			this.processedCount = count;
+			if (count > 0) {
+				this.firstX = this.access.getX(0);
+				this.firstValue = this.access.getValue(0);
+			}
+		}
+		finally {
+			this.target.setNotify(notify);
+		}
+	}
+
+	/**
+	 * Returns the index of the first source item that has not been
+	 * processed yet, or -1 if the source has changed in a way that requires
+	 * a full recalculation.
+	 *
+	 * @param count
+	 *            the number of items in the source series.
+	 *
+	 * @return The index of the first new item, or -1.
+	 */
+	private int findFirstNewItem(int count) {
+		int last = this.processedCount - 1;
+		if (count > last && matches(0, this.firstX, this.firstValue)
+				&& matches(last, this.lastX, this.lastValue)) {
+			// nothing was removed, so the items after the processed ones are
+			// new (even if they have the same x-value as the last one)
+			return last + 1;
+		}
+		// items have been removed from the start of the series, find the
+		// last item processed by scanning back past the new items, but only
+		// if no other item has the same x-value
+		int i = count - 1;
+		while (i >= 0 && this.access.getX(i) > this.lastX) {
+			i--;
+		}
+		if (i >= 0 && matches(i, this.lastX, this.lastValue)
+				&& (i == 0 || this.access.getX(i - 1) < this.lastX)) {
+			return i + 1;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns {@code true} if a source item has the specified x-value and
+	 * value.
+	 *
+	 * @param item
+	 *            the item index.
+	 * @param x
+	 *            the x-value.
+	 * @param value
+	 *            the value.
+	 *
+	 * @return A boolean.
+	 */
+	private boolean matches(int item, double x, double value) {
+		return this.access.getX(item) == x
+				&& Double.compare(this.access.getValue(item), value) == 0;
+	}
+
+	/**
+	 * Reads the items of the source series and adds items to the target
+	 * series.
+	 */
+	private abstract static class SeriesAccess {
+
+		/** Returns the number of items in the source series. */
+		abstract int getItemCount();
+
+		/** Returns the x-value of an item in the source series. */
+		abstract double getX(int item);
+
+		/** Returns the value of an item in the source series. */
+		abstract double getValue(int item);
+
+		/** Adds the result for a source item to the target series. */
+		abstract void addResult(int item, Number value);
+
+		/** Removes all items from the target series. */
+		abstract void clearTarget();
+
+	}
+
+	/**
+	 * Access to a source and target {@link TimeSeries}.
+	 */
+	private static class TimeSeriesAccess extends SeriesAccess {
+
+		/** The source series. */
+		private TimeSeries source;
+
+		/** The target series. */
+		private TimeSeries target;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param source
+		 *            the source series.
+		 * @param target
+		 *            the target series.
+		 */
+		TimeSeriesAccess(TimeSeries source, TimeSeries target) {
+			this.source = source;
+			this.target = target;
+		}
+
+		@Override
+		int getItemCount() {
+			return this.source.getItemCount();
+		}
+
+		@Override
+		double getX(int item) {
+			return this.source.getTimePeriod(item).getSerialIndex();
+		}
+
+		@Override
+		double getValue(int item) {
+			return this.source.getYValue(item);
+		}
+
+		@Override
+		void addResult(int item, Number value) {
+			this.target.add(this.source.getTimePeriod(item), value, false);
+		}
+
+		@Override
+		void clearTarget() {
+			this.target.clear();
+		}
+
+	}
+
+	/**
+	 * Access to a source and target {@link XYSeries}.
+	 */
+	private static class XYSeriesAccess extends SeriesAccess {
+
+		/** The source series. */
+		private XYSeries source;
+
+		/** The target series. */
+		private XYSeries target;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param source
+		 *            the source series.
+		 * @param target
+		 *            the target series.
+		 */
+		XYSeriesAccess(XYSeries source, XYSeries target) {
+			this.source = source;
+			this.target = target;
+		}
+
+		@Override
+		int getItemCount() {
+			return this.source.getItemCount();
+		}
+
+		@Override
+		double getX(int item) {
+			return this.source.getXValue(item);
+		}
+
+		@Override
+		double getValue(int item) {
+			return this.source.getYValue(item);
+		}
+
+		@Override
+		void addResult(int item, Number value) {
+			this.target.add(this.source.getXValue(item), value, false);
+		}
+
+		@Override
+		void clearTarget() {
+			this.target.clear();
+		}
+
+	}
+
+}
@@ -0,0 +1,428 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * RollingStatistics.java
+ * ----------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.general;
+
+import java.io.Serializable;
+
+/**
+ * Maintains statistics (mean, sum, standard deviation, minimum, maximum and
+ * an exponential moving average) for a sliding window over a sequence of
+ * (x, value) pairs.  Each value is added in constant amortized time: the
+ * sums are updated as values enter and leave the window, and the minimum
+ * and maximum are tracked with a {@link RollingMinMax}.
+ * <P>
+ * The window holds at most {@code maximumPointCount} points, and only the
+ * points with an x-value greater than {@code x - span}, where {@code x} is
+ * the x-value of the most recently added point.  The x-values should be
+ * added in ascending order.
+ * <P>
+ * {@code Double.NaN} values occupy a position in the window but are
+ * otherwise ignored.
+ *
+ * @since 2.0
+ */
+public class RollingStatistics implements Cloneable, Serializable {
+
+	/** For serialization. */
+	private static final long serialVersionUID = -2793452108317285036L;
+
+	/** The maximum number of points in the window. */
+	private int maximumPointCount;
+
+	/** The maximum x-distance between the first and last points. */
+	private double span;
+
+	/** The x-values in the window (capacity is always a power of two). */
+	private double[] xValues;
+
+	/** The values in the window. */
+	private double[] values;
+
+	/** The array index of the first point in the window. */
+	private int head;
+
+	/** The number of points in the window. */
+	private int size;
+
+	/** The number of values (other than {@code Double.NaN}) in the window. */
+	private int valueCount;
+
+	/** The sum of the values in the window. */
+	private double sum;
+
+	/** The compensation for the rounding errors in {@code sum}. */
+	private double sumCompensation;
+
+	/** The running mean (used for the variance). */
+	private double mean;
+
+	/** The sum of squared differences from the running mean. */
+	private double m2;
+
+	/** The minimum and maximum of the window. */
+	private RollingMinMax minMax;
+
+	/** The exponential moving average. */
+	private double exponentialMean;
+
+	/** The number of values included in the exponential moving average. */
+	private long exponentialCount;
+
+	/**
+	 * Creates a new instance with a window holding the specified number of
+	 * points.
+	 *
+	 * @param pointCount
+	 *            the number of points (at least 1).
+	 */
+	public RollingStatistics(int pointCount) {
+		this(pointCount, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param maximumPointCount
+	 *            the maximum number of points in the window (at least 1, use
+	 *            {@code Integer.MAX_VALUE} for no limit).
+	 * @param span
+	 *            the maximum x-distance between the first and last points in
+	 *            the window, exclusive (greater than zero, use
+	 *            {@code Double.POSITIVE_INFINITY} for no limit).
+	 */
+	public RollingStatistics(int maximumPointCount, double span) {
+		if (maximumPointCount < 1) {
+			throw new IllegalArgumentException(
+					"Requires 'maximumPointCount' >= 1.");
+		}
+		if (!(span > 0.0)) {
+			throw new IllegalArgumentException("Requires 'span' > 0.");
+		}
+		this.maximumPointCount = maximumPointCount;
+		this.span = span;
+		int capacity = Integer.highestOneBit(Math.max(Math.min(
+				maximumPointCount, 1024) - 1, 8)) << 1;
+		this.xValues = new double[capacity];
+		this.values = new double[capacity];
+		this.minMax = new RollingMinMax();
+		this.exponentialMean = Double.NaN;
+	}
+
+	/**
+	 * Returns the maximum number of points in the window.
+	 *
+	 * @return The maximum number of points.
+	 */
+	public int getMaximumPointCount() {
+		return this.maximumPointCount;
+	}
+
+	/**
+	 * Returns the maximum x-distance between the first and last points in
+	 * the window.
+	 *
+	 * @return The span.
+	 */
+	public double getSpan() {
+		return this.span;
+	}
+
+	/**
+	 * Returns the number of points (including points with a
+	 * {@code Double.NaN} value) currently in the window.
+	 *
+	 * @return The number of points.
+	 */
+	public int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the number of values other than {@code Double.NaN} in the
+	 * window.
+	 *
+	 * @return The number of values.
+	 */
+	public int getValueCount() {
+		return this.valueCount;
+	}
+
+	/**
+	 * Returns the sum of the values in the window (zero if there are no
+	 * values).
+	 *
+	 * @return The sum.
+	 */
+	public double getSum() {
+		return this.sum + this.sumCompensation;
+	}
+
+	/**
+	 * Returns the mean of the values in the window, or {@code Double.NaN} if
+	 * there are no values.
+	 *
+	 * @return The mean.
+	 */
+	public double getMean() {
+		if (this.valueCount == 0) {
+			return Double.NaN;
+		}
+		return getSum() / this.valueCount;
+	}
+
+	/**
+	 * Returns the sample variance of the values in the window, or
+	 * {@code Double.NaN} if there are fewer than two values.
+	 *
+	 * @return The variance.
+	 */
+	public double getVariance() {
+		if (this.valueCount < 2) {
+			return Double.NaN;
+		}
+		return Math.max(this.m2, 0.0) / (this.valueCount - 1);
+	}
+
+	/**
+	 * Returns the sample standard deviation of the values in the window, or
+	 * {@code Double.NaN} if there are fewer than two values.
+	 *
+	 * @return The standard deviation.
+	 */
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
+
+	/**
+	 * Returns the smallest value in the window, or {@code Double.NaN} if
+	 * there are no values.
+	 *
+	 * @return The minimum.
+	 */
+	public double getMin() {
+		return this.minMax.getMin();
+	}
+
+	/**
+	 * Returns the largest value in the window, or {@code Double.NaN} if
+	 * there are no values.
+	 *
+	 * @return The maximum.
+	 */
+	public double getMax() {
+		return this.minMax.getMax();
+	}
+
+	/**
+	 * Returns the exponential moving average of all the values added so far,
+	 * with a smoothing factor of {@code 2 / (N + 1)}, where {@code N} is the
+	 * maximum point count.  Until {@code N} values have been added, this is
+	 * the mean of the values added so far.  Returns {@code Double.NaN} if no
+	 * values have been added.
+	 *
+	 * @return The exponential moving average.
+	 */
+	public double getExponentialMean() {
+		return this.exponentialMean;
+	}
+
+	/**
+	 * Returns the value of the specified statistic.
+	 *
+	 * @param statistic
+	 *            the statistic ({@code null} not permitted).
+	 *
+	 * @return The value.
+	 */
+	public double getValue(RollingStatistic statistic) {
+		switch (statistic) {
+		case MEAN:
+			return getMean();
+		case EXPONENTIAL_MEAN:
+			return getExponentialMean();
+		case SUM:
+			return getSum();
+		case STANDARD_DEVIATION:
+			return getStandardDeviation();
+		case MINIMUM:
+			return getMin();
+		case MAXIMUM:
+			return getMax();
+		default:
+			throw new IllegalArgumentException("Unknown statistic: "
+					+ statistic);
+		}
+	}
+
+	/**
+	 * Adds a point at the end of the window, first removing the points that
+	 * would no longer be in the window.
+	 *
+	 * @param x
+	 *            the x-value.
+	 * @param value
+	 *            the value ({@code Double.NaN} permitted).
+	 */
+	public void add(double x, double value) {
+		double limit = x - this.span;
+		while (this.size > 0 && (this.size >= this.maximumPointCount
+				|| this.xValues[this.head] <= limit)) {
+			removeFirst();
+		}
+		if (this.size == this.values.length) {
+			grow();
+		}
+		int i = (this.head + this.size) & (this.values.length - 1);
+		this.xValues[i] = x;
+		this.values[i] = value;
+		this.size++;
+		this.minMax.add(value);
+		if (Double.isNaN(value)) {
+			return;
+		}
+		this.valueCount++;
+		addToSum(value);
+		double delta = value - this.mean;
+		this.mean += delta / this.valueCount;
+		this.m2 += delta * (value - this.mean);
+
+		this.exponentialCount++;
+		if (this.exponentialCount <= this.maximumPointCount) {
+			double n = this.exponentialCount;
+			this.exponentialMean = this.exponentialCount == 1 ? value
+					: this.exponentialMean + (value - this.exponentialMean) / n;
+		}
+		else {
+			double alpha = 2.0 / (this.maximumPointCount + 1.0);
+			this.exponentialMean += alpha * (value - this.exponentialMean);
+		}
+	}
+
+	/**
+	 * Removes the first point from the window.
+	 */
+	private void removeFirst() {
+		double value = this.values[this.head];
+		this.head = (this.head + 1) & (this.values.length - 1);
+		this.size--;
+		this.minMax.removeFirst();
+		if (Double.isNaN(value)) {
+			return;
+		}
+		this.valueCount--;
+		if (this.valueCount == 0) {
+			// start again from exact zeros, so errors do not accumulate
+			this.sum = 0.0;
+			this.sumCompensation = 0.0;
+			this.mean = 0.0;
+			this.m2 = 0.0;
+			return;
+		}
+		addToSum(-value);
+		double oldMean = this.mean;
+		this.mean -= (value - oldMean) / this.valueCount;
+		this.m2 -= (value - this.mean) * (value - oldMean);
+	}
+
+	/**
+	 * Adds a value to the running sum, with compensation for rounding errors
+	 * (Neumaier's variant of Kahan summation).
+	 *
+	 * @param value
+	 *            the value.
+	 */
+	private void addToSum(double value) {
+		double t = this.sum + value;
+		if (Math.abs(this.sum) >= Math.abs(value)) {
+			this.sumCompensation += (this.sum - t) + value;
+		}
+		else {
+			this.sumCompensation += (value - t) + this.sum;
+		}
+		this.sum = t;
+	}
+
+	/**
+	 * Doubles the capacity of the window arrays, moving the points to the
+	 * start of the new arrays.
+	 */
+	private void grow() {
+		int capacity = this.values.length;
+		double[] x = new double[capacity << 1];
+		double[] v = new double[capacity << 1];
+		for (int i = 0; i < this.size; i++) {
+			int j = (this.head + i) & (capacity - 1);
+			x[i] = this.xValues[j];
+			v[i] = this.values[j];
+		}
+		this.xValues = x;
+		this.values = v;
+		this.head = 0;
+	}
+
+	/**
+	 * Removes all the points and resets the exponential moving average.
+	 */
+	public void clear() {
+		this.head = 0;
+		this.size = 0;
+		this.valueCount = 0;
+		this.sum = 0.0;
+		this.sumCompensation = 0.0;
+		this.mean = 0.0;
+		this.m2 = 0.0;
+		this.minMax.clear();
+		this.exponentialMean = Double.NaN;
+		this.exponentialCount = 0L;
+	}
+
+	/**
+	 * Returns a clone of this instance.
+	 *
+	 * @return A clone.
+	 *
+	 * @throws CloneNotSupportedException
+	 *             not thrown by this class.
+	 */
+	@Override
+	public Object clone() throws CloneNotSupportedException {
+		RollingStatistics clone = (RollingStatistics) super.clone();
+		clone.xValues = this.xValues.clone();
+		clone.values = this.values.clone();
+		clone.minMax = (RollingMinMax) this.minMax.clone();
+		return clone;
+	}
+
+}
@@ -40,18 +40,38 @@
 
 package org.jfree.data.io;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
 
+import org.jfree.chart.util.ParamChecks;
 import org.jfree.data.category.CategoryDataset;
 import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.time.Millisecond;
+import org.jfree.data.time.RegularTimePeriod;
+import org.jfree.data.time.TimeSeries;
+import org.jfree.data.time.TimeSeriesCollection;
+import org.jfree.data.xy.PrimitiveXYSeries;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
 
 /**
- * A utility class for reading {@link CategoryDataset} data from a CSV file.
- * This initial version is very basic, and won't handle errors in the data file
- * very gracefully.
+ * A utility class for reading {@link CategoryDataset},
+ * {@link XYSeriesCollection} and {@link TimeSeriesCollection} data from a
+ * CSV file.  The first line of the file contains the column names.
+ * <P>
+ * The input is parsed in large blocks directly from a character buffer, so
+ * no {@code String} is created for numeric fields, and the values are added
+ * to the target dataset with change notifications suppressed, so that a
+ * single change event is sent when the whole file has been read.  With
+ * {@link #setParallel(boolean)} the blocks are also parsed in parallel.
+ * Empty fields are read as missing ({@code null}) values, and fields that
+ * are not numbers cause a {@link NumberFormatException}.
  */
 public class CSV {
 
@@ -61,6 +81,12 @@ public class CSV {
 	/** The text delimiter. */
 	private char textDelimiter;
 
+	/** Parse blocks of rows in parallel? */
+	private boolean parallel;
+
+	/** The time zone for date/time fields that do not specify an offset. */
+	private TimeZone timeZone;
+
 	/**
 	 * Creates a new CSV reader where the field delimiter is a comma, and the
 	 * text delimiter is a double-quote.
@@ -81,10 +107,70 @@ public class CSV {
 	public CSV(char fieldDelimiter, char textDelimiter) {
 		this.fieldDelimiter = fieldDelimiter;
 		this.textDelimiter = textDelimiter;
+		this.parallel = false;
+		this.timeZone = TimeZone.getDefault();
+	}
+
+	/**
+	 * Returns the flag that controls whether or not blocks of rows are
+	 * parsed in parallel.
+	 *
+	 * @return A boolean.
+	 *
+	 * @since 2.0
+	 */
+	public boolean isParallel() {
+		return this.parallel;
 	}
 
 	/**
-	 * Reads a {@link CategoryDataset} from a CSV file or input source.
+	 * Sets the flag that controls whether or not blocks of rows are parsed
+	 * in parallel on the common {@code ForkJoinPool}.  The rows are still
+	 * added to the dataset in file order.  In parallel mode, quoted fields
+	 * must not contain line breaks.
+	 *
+	 * @param parallel
+	 *            the new flag value.
+	 *
+	 * @since 2.0
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Returns the time zone for date/time fields that do not specify an
+	 * offset.
+	 *
+	 * @return The time zone (never {@code null}).
+	 *
+	 * @since 2.0
+	 */
+	public TimeZone getTimeZone() {
+		return this.timeZone;
+	}
+
+	/**
+	 * Sets the time zone for date/time fields that do not specify an offset
+	 * (the default is the JVM default time zone).  This is also the time
+	 * zone used to create the time periods in
+	 * {@link #readTimeSeriesCollection(Reader, TimeSeriesCollection, Class,
+	 * String, String...)}.
+	 *
+	 * @param zone
+	 *            the time zone ({@code null} not permitted).
+	 *
+	 * @since 2.0
+	 */
+	public void setTimeZone(TimeZone zone) {
+		ParamChecks.nullNotPermitted(zone, "zone");
+		this.timeZone = zone;
+	}
+
+	/**
+	 * Reads a {@link CategoryDataset} from a CSV file or input source.  The
+	 * first column contains the row keys, and the remaining columns contain
+	 * the values.
 	 *
 	 * @param in
 	 *            the input source.
@@ -95,115 +181,480 @@ public class CSV {
 	 *             if there is an I/O problem.
 	 */
 	public CategoryDataset readCategoryDataset(Reader in) throws IOException {
-
 		DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-		BufferedReader reader = new BufferedReader(in);
-		List<String> columnKeys = null;
-		int lineIndex = 0;
-		String line = reader.readLine();
-		while (line != null) {
-			if (lineIndex == 0) { // first line contains column keys
-				columnKeys = extractColumnKeys(line);
+		dataset.setNotify(false);
+		createParser().parse(in, new CategoryHandler(dataset),
+				this.parallel);
+		dataset.setNotify(true);
+		return dataset;
+	}
+
+	/**
+	 * Reads an {@link XYSeriesCollection} from a CSV file or input source.
+	 *
+	 * @param in
+	 *            the input source ({@code null} not permitted).
+	 * @param xColumn
+	 *            the name of the column containing the x-values
+	 *            ({@code null} not permitted).
+	 * @param yColumns
+	 *            the names of the columns containing the y-values, one
+	 *            series is created for each (if none are specified, all the
+	 *            other columns are read).
+	 *
+	 * @return A new collection.
+	 *
+	 * @throws IOException
+	 *             if there is an I/O problem or a column is not found.
+	 *
+	 * @since 2.0
+	 */
+	public XYSeriesCollection readXYDataset(Reader in, String xColumn,
+			String... yColumns) throws IOException {
+		XYSeriesCollection result = new XYSeriesCollection();
+		readXYDataset(in, result, xColumn, yColumns);
+		return result;
+	}
+
+	/**
+	 * Reads the data from a CSV file or input source into an
+	 * {@link XYSeriesCollection}.  The series are named after the
+	 * y-columns; the data is appended to the existing series with the same
+	 * key, and new series are created as {@link PrimitiveXYSeries}.  Rows
+	 * with no x-value are ignored.  The collection sends a single
+	 * {@code DatasetChangeEvent} when the data has been read.
+	 *
+	 * @param in
+	 *            the input source ({@code null} not permitted).
+	 * @param target
+	 *            the target collection ({@code null} not permitted).
+	 * @param xColumn
+	 *            the name of the column containing the x-values
+	 *            ({@code null} not permitted).
+	 * @param yColumns
+	 *            the names of the columns containing the y-values (if none
+	 *            are specified, all the other columns are read).
+	 *
+	 * @throws IOException
+	 *             if there is an I/O problem or a column is not found.
+	 *
+	 * @since 2.0
+	 */
+	public void readXYDataset(Reader in, XYSeriesCollection target,
+			String xColumn, String... yColumns) throws IOException {
+		ParamChecks.nullNotPermitted(in, "in");
+		ParamChecks.nullNotPermitted(target, "target");
+		ParamChecks.nullNotPermitted(xColumn, "xColumn");
+		XYHandler handler = new XYHandler(target, xColumn, yColumns);
+		boolean notify = target.isNotify();
+		target.setNotify(false);
+		try {
+			createParser().parse(in, handler, this.parallel);
+		}
+		finally {
+			for (XYSeries series : handler.series) {
+				series.fireSeriesChanged();
 			}
-			else { // remaining lines contain a row key and data values
-				extractRowKeyAndData(line, dataset, columnKeys);
+			target.setNotify(notify);
+		}
+	}
+
+	/**
+	 * Reads a {@link TimeSeriesCollection} from a CSV file or input source,
+	 * with one {@link Millisecond} per row.
+	 *
+	 * @param in
+	 *            the input source ({@code null} not permitted).
+	 * @param timeColumn
+	 *            the name of the column containing the date/times
+	 *            ({@code null} not permitted).
+	 * @param valueColumns
+	 *            the names of the columns containing the values, one series
+	 *            is created for each (if none are specified, all the other
+	 *            columns are read).
+	 *
+	 * @return A new collection.
+	 *
+	 * @throws IOException
+	 *             if there is an I/O problem or a column is not found.
+	 *
+	 * @since 2.0
+	 */
+	public TimeSeriesCollection readTimeSeriesCollection(Reader in,
+			String timeColumn, String... valueColumns) throws IOException {
+		TimeSeriesCollection result = new TimeSeriesCollection(
+				this.timeZone);
+		readTimeSeriesCollection(in, result, Millisecond.class, timeColumn,
+				valueColumns);
+		return result;
+	}
+
+	/**
+	 * Reads the data from a CSV file or input source into a
+	 * {@link TimeSeriesCollection}.  The date/times are either numbers
+	 * (milliseconds since 1-Jan-1970 UTC) or ISO-8601 dates and date-times
+	 * ({@code 2016-02-29}, {@code 2016-02-29 13:45:00.250},
+	 * {@code 2016-02-29T13:45:00Z} or {@code 2016-02-29T13:45+01:00}).  The
+	 * series are named after the value columns; the data is appended to the
+	 * existing series with the same key.  Rows with no date/time are
+	 * ignored.  The collection sends a single {@code DatasetChangeEvent}
+	 * when the data has been read.
+	 *
+	 * @param in
+	 *            the input source ({@code null} not permitted).
+	 * @param target
+	 *            the target collection ({@code null} not permitted).
+	 * @param periodClass
+	 *            the {@link RegularTimePeriod} subclass for the rows (it
+	 *            must have a {@code (Date, TimeZone, Locale)} constructor,
+	 *            {@code null} not permitted).
+	 * @param timeColumn
+	 *            the name of the column containing the date/times
+	 *            ({@code null} not permitted).
+	 * @param valueColumns
+	 *            the names of the columns containing the values (if none are
+	 *            specified, all the other columns are read).
+	 *
+	 * @throws IOException
+	 *             if there is an I/O problem or a column is not found.
+	 * @throws org.jfree.data.general.SeriesException
+	 *             if two rows fall in the same time period.
+	 *
+	 * @since 2.0
+	 */
+	public void readTimeSeriesCollection(Reader in,
+			TimeSeriesCollection target,
+			Class<? extends RegularTimePeriod> periodClass,
+			String timeColumn, String... valueColumns) throws IOException {
+		ParamChecks.nullNotPermitted(in, "in");
+		ParamChecks.nullNotPermitted(target, "target");
+		ParamChecks.nullNotPermitted(periodClass, "periodClass");
+		ParamChecks.nullNotPermitted(timeColumn, "timeColumn");
+		TimeSeriesHandler handler = new TimeSeriesHandler(target,
+				periodClass, this.timeZone, timeColumn, valueColumns);
+		boolean notify = target.isNotify();
+		target.setNotify(false);
+		try {
+			createParser().parse(in, handler, this.parallel);
+		}
+		finally {
+			for (TimeSeries series : handler.series) {
+				series.fireSeriesChanged();
 			}
-			line = reader.readLine();
-			lineIndex++;
+			target.setNotify(notify);
 		}
-		return dataset;
+	}
 
+	/**
+	 * Creates a parser with the settings of this reader.
+	 *
+	 * @return A parser.
+	 */
+	private CSVParser createParser() {
+		return new CSVParser(this.fieldDelimiter, this.textDelimiter,
+				this.timeZone);
+	}
+
+	/**
+	 * Returns the index of a column in the header.
+	 *
+	 * @param header
+	 *            the column names.
+	 * @param column
+	 *            the column name.
+	 *
+	 * @return The index.
+	 *
+	 * @throws IOException
+	 *             if the column is not found.
+	 */
+	private static int columnIndex(List<String> header, String column)
+			throws IOException {
+		int index = header.indexOf(column);
+		if (index < 0) {
+			throw new IOException("Column '" + column + "' not found.");
+		}
+		return index;
 	}
 
 	/**
-	 * Extracts the column keys from a string.
+	 * Returns the indices of the value columns in the header.
+	 *
+	 * @param header
+	 *            the column names.
+	 * @param keyColumn
+	 *            the index of the x or time column.
+	 * @param columns
+	 *            the value column names (if empty, all the columns except
+	 *            the key column).
 	 *
-	 * @param line
-	 *            a line from the input file.
+	 * @return The indices.
 	 *
-	 * @return A list of column keys.
+	 * @throws IOException
+	 *             if a column is not found.
 	 */
-	private List<String> extractColumnKeys(String line) {
-		List<String> keys = new java.util.ArrayList<String>();
-		int fieldIndex = 0;
-		int start = 0;
-		for (int i = 0; i < line.length(); i++) {
-			if (line.charAt(i) == this.fieldDelimiter) {
-				if (fieldIndex > 0) { // first field is ignored, since
-										// column 0 is for row keys
-					String key = line.substring(start, i);
-					keys.add(removeStringDelimiters(key));
+	private static int[] valueColumns(List<String> header, int keyColumn,
+			String[] columns) throws IOException {
+		if (columns == null || columns.length == 0) {
+			int[] result = new int[header.size() - 1];
+			int count = 0;
+			for (int i = 0; i < header.size(); i++) {
+				if (i != keyColumn) {
+					result[count++] = i;
 				}
-				start = i + 1;
-				fieldIndex++;
 			}
+			return result;
 		}
-		String key = line.substring(start, line.length());
-		keys.add(removeStringDelimiters(key));
-		return keys;
+		int[] result = new int[columns.length];
+		for (int i = 0; i < columns.length; i++) {
+			result[i] = columnIndex(header, columns[i]);
+		}
+		return result;
 	}
 
 	/**
-	 * Extracts the row key and data for a single line from the input source.
-	 *
-	 * @param line
-	 *            the line from the input source.
-	 * @param dataset
-	 *            the dataset to be populated.
-	 * @param columnKeys
-	 *            the column keys.
+	 * Adds the rows to a {@link DefaultCategoryDataset}.
+	 */
+	private static class CategoryHandler implements CSVParser.Handler {
+
+		/** The dataset. */
+		private final DefaultCategoryDataset dataset;
+
+		/** The column keys, indexed by field (the first is not used). */
+		private List<String> columnKeys;
+
+		CategoryHandler(DefaultCategoryDataset dataset) {
+			this.dataset = dataset;
+		}
+
+		@Override
+		public int[] columnTypes(List<String> header) {
+			this.columnKeys = header;
+			int[] types = new int[header.size()];
+			types[0] = CSVParser.TEXT;
+			for (int i = 1; i < types.length; i++) {
+				types[i] = CSVParser.NUMBER;
+			}
+			return types;
+		}
+
+		@Override
+		public void prepare(CSVParser.Chunk chunk) {
+			// nothing to do
+		}
+
+		@Override
+		public void accept(CSVParser.Chunk chunk) {
+			String[] rowKeys = chunk.texts[0];
+			for (int row = 0; row < chunk.rowCount; row++) {
+				for (int i = 1; i < chunk.numbers.length; i++) {
+					double value = chunk.numbers[i][row];
+					if (Double.isNaN(value)) {
+						this.dataset.addValue(null, rowKeys[row],
+								this.columnKeys.get(i));
+					}
+					else {
+						this.dataset.addValue(value, rowKeys[row],
+								this.columnKeys.get(i));
+					}
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Appends the rows to the series in an {@link XYSeriesCollection}.
 	 */
-	private void extractRowKeyAndData(String line,
-			DefaultCategoryDataset dataset,
-			List<String> columnKeys) {
-		Comparable rowKey = null;
-		int fieldIndex = 0;
-		int start = 0;
-		for (int i = 0; i < line.length(); i++) {
-			if (line.charAt(i) == this.fieldDelimiter) {
-				if (fieldIndex == 0) { // first field contains the row key
-					String key = line.substring(start, i);
-					rowKey = removeStringDelimiters(key);
+	private static class XYHandler implements CSVParser.Handler {
+
+		/** The target collection. */
+		private final XYSeriesCollection target;
+
+		/** The x column name. */
+		private final String xColumn;
+
+		/** The y column names. */
+		private final String[] yColumns;
+
+		/** The x column index. */
+		private int x;
+
+		/** The y column indices. */
+		private int[] y;
+
+		/** The series for the y columns. */
+		final List<XYSeries> series = new ArrayList<>();
+
+		XYHandler(XYSeriesCollection target, String xColumn,
+				String[] yColumns) {
+			this.target = target;
+			this.xColumn = xColumn;
+			this.yColumns = yColumns;
+		}
+
+		@Override
+		public int[] columnTypes(List<String> header) throws IOException {
+			this.x = columnIndex(header, this.xColumn);
+			this.y = valueColumns(header, this.x, this.yColumns);
+			int[] types = new int[header.size()];
+			Arrays.fill(types, CSVParser.SKIP);
+			types[this.x] = CSVParser.NUMBER;
+			for (int column : this.y) {
+				types[column] = CSVParser.NUMBER;
+				String key = header.get(column);
+				XYSeries s;
+				if (this.target.getSeriesIndex(key) >= 0) {
+					s = this.target.getSeries(key);
 				}
-				else { // remaining fields contain values
-					Double value = Double.valueOf(
-							removeStringDelimiters(line.substring(start, i))
-							);
-					dataset.addValue(
-							value, rowKey,
-							columnKeys.get(fieldIndex - 1)
-							);
+				else {
+					s = new PrimitiveXYSeries(key);
+					this.target.addSeries(s);
+				}
+				this.series.add(s);
+			}
+			return types;
+		}
+
+		@Override
+		public void prepare(CSVParser.Chunk chunk) {
+			// nothing to do
+		}
+
+		@Override
+		public void accept(CSVParser.Chunk chunk) {
+			double[] xValues = chunk.numbers[this.x];
+			for (int i = 0; i < this.y.length; i++) {
+				XYSeries s = this.series.get(i);
+				double[] yValues = chunk.numbers[this.y[i]];
+				for (int row = 0; row < chunk.rowCount; row++) {
+					if (Double.isNaN(xValues[row])) {
+						continue;
+					}
+					if (Double.isNaN(yValues[row])) {
+						s.add(xValues[row], (Number) null, false);
+					}
+					else {
+						s.add(xValues[row], yValues[row], false);
+					}
 				}
-				start = i + 1;
-				fieldIndex++;
 			}
 		}
-		Double value = Double.valueOf(
-				removeStringDelimiters(line.substring(start, line.length()))
-				);
-		dataset.addValue(
-				value, rowKey, columnKeys.get(fieldIndex - 1)
-				);
+
 	}
 
 	/**
-	 * Removes the string delimiters from a key (as well as any white space
-	 * outside the delimiters).
-	 *
-	 * @param key
-	 *            the key (including delimiters).
-	 *
-	 * @return The key without delimiters.
+	 * Appends the rows to the series in a {@link TimeSeriesCollection}.
 	 */
-	private String removeStringDelimiters(String key) {
-		String k = key.trim();
-		if (k.charAt(0) == this.textDelimiter) {
-			k = k.substring(1);
+	private static class TimeSeriesHandler implements CSVParser.Handler {
+
+		/** The target collection. */
+		private final TimeSeriesCollection target;
+
+		/** The time period class. */
+		private final Class<? extends RegularTimePeriod> periodClass;
+
+		/** The time zone for the time periods. */
+		private final TimeZone zone;
+
+		/** The time column name. */
+		private final String timeColumn;
+
+		/** The value column names. */
+		private final String[] valueColumns;
+
+		/** The time column index. */
+		private int time;
+
+		/** The value column indices. */
+		private int[] values;
+
+		/** The series for the value columns. */
+		final List<TimeSeries> series = new ArrayList<>();
+
+		TimeSeriesHandler(TimeSeriesCollection target,
+				Class<? extends RegularTimePeriod> periodClass,
+				TimeZone zone, String timeColumn, String[] valueColumns) {
+			this.target = target;
+			this.periodClass = periodClass;
+			this.zone = zone;
+			this.timeColumn = timeColumn;
+			this.valueColumns = valueColumns;
+		}
+
+		@Override
+		public int[] columnTypes(List<String> header) throws IOException {
+			this.time = columnIndex(header, this.timeColumn);
+			this.values = valueColumns(header, this.time, this.valueColumns);
+			int[] types = new int[header.size()];
+			Arrays.fill(types, CSVParser.SKIP);
+			types[this.time] = CSVParser.TIME;
+			for (int column : this.values) {
+				types[column] = CSVParser.NUMBER;
+				String key = header.get(column);
+				TimeSeries s = this.target.getSeries(key);
+				if (s == null) {
+					s = new TimeSeries(key);
+					this.target.addSeries(s);
+				}
+				this.series.add(s);
+			}
+			return types;
 		}
-		if (k.charAt(k.length() - 1) == this.textDelimiter) {
-			k = k.substring(0, k.length() - 1);
+
+		/**
+		 * Creates the time periods for the rows (this is the most expensive
+		 * step, so it is done here to run in parallel with the parsing).
+		 * Consecutive rows in the same period share the same instance.
+		 */
+		@Override
+		public void prepare(CSVParser.Chunk chunk) {
+			double[] times = chunk.numbers[this.time];
+			RegularTimePeriod[] periods
+					= new RegularTimePeriod[chunk.rowCount];
+			Locale locale = Locale.getDefault();
+			RegularTimePeriod last = null;
+			for (int row = 0; row < chunk.rowCount; row++) {
+				if (Double.isNaN(times[row])) {
+					continue;
+				}
+				long t = (long) Math.floor(times[row]);
+				if (last == null || t < last.getFirstMillisecond()
+						|| t > last.getLastMillisecond()) {
+					last = RegularTimePeriod.createInstance(
+							this.periodClass, new Date(t), this.zone,
+							locale);
+					if (last == null) {
+						throw new IllegalArgumentException("Cannot create "
+								+ this.periodClass.getName() + " instances.");
+					}
+				}
+				periods[row] = last;
+			}
+			chunk.attachment = periods;
 		}
-		return k;
+
+		@Override
+		public void accept(CSVParser.Chunk chunk) {
+			RegularTimePeriod[] periods
+					= (RegularTimePeriod[]) chunk.attachment;
+			for (int i = 0; i < this.values.length; i++) {
+				TimeSeries s = this.series.get(i);
+				double[] v = chunk.numbers[this.values[i]];
+				for (int row = 0; row < chunk.rowCount; row++) {
+					if (periods[row] == null) {
+						continue;
+					}
+					if (Double.isNaN(v[row])) {
+						s.add(periods[row], (Number) null, false);
+					}
+					else {
+						s.add(periods[row], v[row], false);
+					}
+				}
+			}
+		}
+
 	}
 
 }
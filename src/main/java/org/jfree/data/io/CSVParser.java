@@ -0,0 +1,831 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------
+ * CSVParser.java
+ * --------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A streaming CSV parser used by {@link CSV}.  The input is read in large
+ * blocks of characters and the selected columns are parsed directly from
+ * the character buffer into primitive arrays, one {@link Chunk} of rows at a
+ * time, so no {@code String} is created for numeric fields.  Records end
+ * with {@code '\n'}, {@code "\r\n"} or a lone {@code '\r'} (as with
+ * {@code BufferedReader.readLine()}), and blank lines are skipped.  In
+ * parallel mode the blocks are cut at the last line break and parsed on the
+ * common {@link ForkJoinPool}, while the chunks are still handed to the
+ * {@link Handler} in file order.
+ */
+final class CSVParser {
+
+	/** Column type for a field that is not read. */
+	static final int SKIP = -1;
+
+	/** Column type for a text field. */
+	static final int TEXT = 0;
+
+	/** Column type for a numeric field. */
+	static final int NUMBER = 1;
+
+	/**
+	 * Column type for a date/time field (milliseconds since the epoch, or an
+	 * ISO-8601 date or date-time).
+	 */
+	static final int TIME = 2;
+
+	/** The number of characters read from the input at a time. */
+	private static final int BLOCK_SIZE = 1 << 20;
+
+	/** The powers of ten that can be represented exactly by a double. */
+	private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4,
+			1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+			1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+	/**
+	 * Receives the header and the parsed rows.  All methods except
+	 * {@link #prepare(Chunk)} are called on the thread that called
+	 * {@link CSVParser#parse(Reader, Handler, boolean)}.
+	 */
+	interface Handler {
+
+		/**
+		 * Returns the column types for the fields in the header.
+		 *
+		 * @param header
+		 *            the column names.
+		 *
+		 * @return The column types, one of {@link #SKIP}, {@link #TEXT},
+		 *         {@link #NUMBER} and {@link #TIME} for each field.
+		 *
+		 * @throws IOException
+		 *             if a required column is missing.
+		 */
+		int[] columnTypes(List<String> header) throws IOException;
+
+		/**
+		 * Called once for each chunk before it is handed to
+		 * {@link #accept(Chunk)}, on a worker thread in parallel mode.
+		 *
+		 * @param chunk
+		 *            the chunk.
+		 */
+		void prepare(Chunk chunk);
+
+		/**
+		 * Adds the rows in a chunk to the target.
+		 *
+		 * @param chunk
+		 *            the chunk.
+		 */
+		void accept(Chunk chunk);
+
+	}
+
+	/**
+	 * The values of the selected columns for a block of rows, indexed by
+	 * the position of the field in the header.
+	 */
+	static final class Chunk {
+
+		/** The number of rows. */
+		int rowCount;
+
+		/** The numeric columns (elements are {@code null} for the others). */
+		double[][] numbers;
+
+		/** The text columns (elements are {@code null} for the others). */
+		String[][] texts;
+
+		/** Additional data created by {@link Handler#prepare(Chunk)}. */
+		Object attachment;
+
+		/** The index of the first character that was not consumed. */
+		int end;
+
+		/** The fields that are read. */
+		private final int[] selected;
+
+		/**
+		 * Creates a new chunk.
+		 *
+		 * @param types
+		 *            the column types.
+		 * @param capacity
+		 *            the initial row capacity.
+		 */
+		Chunk(int[] types, int capacity) {
+			this.numbers = new double[types.length][];
+			this.texts = new String[types.length][];
+			int count = 0;
+			int[] s = new int[types.length];
+			for (int i = 0; i < types.length; i++) {
+				if (types[i] == TEXT) {
+					this.texts[i] = new String[capacity];
+					s[count++] = i;
+				}
+				else if (types[i] != SKIP) {
+					this.numbers[i] = new double[capacity];
+					s[count++] = i;
+				}
+			}
+			this.selected = Arrays.copyOf(s, count);
+		}
+
+		/**
+		 * Prepares the storage for the row at index {@code rowCount},
+		 * filling the selected fields with missing values.
+		 */
+		void startRow() {
+			int row = this.rowCount;
+			for (int field : this.selected) {
+				if (this.numbers[field] != null) {
+					if (row == this.numbers[field].length) {
+						this.numbers[field] = Arrays.copyOf(
+								this.numbers[field], row * 2);
+					}
+					this.numbers[field][row] = Double.NaN;
+				}
+				else {
+					if (row == this.texts[field].length) {
+						this.texts[field] = Arrays.copyOf(
+								this.texts[field], row * 2);
+					}
+					this.texts[field][row] = null;
+				}
+			}
+		}
+
+	}
+
+	/** The field delimiter. */
+	private final char fieldDelimiter;
+
+	/** The text delimiter. */
+	private final char textDelimiter;
+
+	/** The time zone for date/time fields without an offset. */
+	private final TimeZone zone;
+
+	/**
+	 * Creates a new parser.
+	 *
+	 * @param fieldDelimiter
+	 *            the field delimiter.
+	 * @param textDelimiter
+	 *            the text delimiter.
+	 * @param zone
+	 *            the time zone for date/time fields without an offset.
+	 */
+	CSVParser(char fieldDelimiter, char textDelimiter, TimeZone zone) {
+		this.fieldDelimiter = fieldDelimiter;
+		this.textDelimiter = textDelimiter;
+		this.zone = zone;
+	}
+
+	/**
+	 * Reads the header and all the rows from a source.
+	 *
+	 * @param in
+	 *            the input source.
+	 * @param handler
+	 *            the handler.
+	 * @param parallel
+	 *            parse blocks of rows in parallel?  In this mode, quoted
+	 *            fields must not contain line breaks.
+	 *
+	 * @throws IOException
+	 *             if there is an I/O problem.
+	 */
+	void parse(Reader in, Handler handler, boolean parallel)
+			throws IOException {
+		char[] buffer = new char[BLOCK_SIZE];
+		int length = 0;
+		boolean eof = false;
+
+		// the header
+		int headerEnd = recordEnd(buffer, 0, length);
+		while (headerEnd < 0 && !eof) {
+			if (length == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+			int n = in.read(buffer, length, buffer.length - length);
+			if (n < 0) {
+				eof = true;
+			}
+			else {
+				length += n;
+			}
+			headerEnd = recordEnd(buffer, 0, length);
+		}
+		if (headerEnd < 0) {
+			headerEnd = length;
+		}
+		int[] types = handler.columnTypes(textFields(buffer, 0, headerEnd));
+		int start = Math.min(headerEnd + 1, length);
+
+		Deque<ForkJoinTask<Chunk>> tasks = new ArrayDeque<>();
+		int maxTasks = 2 * ForkJoinPool.getCommonPoolParallelism();
+		try {
+			while (true) {
+				// move the unconsumed characters to the start of the buffer
+				// and fill it up again
+				length -= start;
+				System.arraycopy(buffer, start, buffer, 0, length);
+				start = 0;
+				if (length == buffer.length) {
+					buffer = Arrays.copyOf(buffer, buffer.length * 2);
+				}
+				while (!eof && length < buffer.length) {
+					int n = in.read(buffer, length, buffer.length - length);
+					if (n < 0) {
+						eof = true;
+					}
+					else {
+						length += n;
+					}
+				}
+				if (length == 0) {
+					break;
+				}
+				if (parallel) {
+					int cut = eof ? length
+							: lastLineBreak(buffer, length) + 1;
+					if (cut > 0) {
+						char[] block = Arrays.copyOf(buffer, cut);
+						while (tasks.size() >= maxTasks) {
+							handler.accept(tasks.removeFirst().join());
+						}
+						tasks.addLast(ForkJoinPool.commonPool().submit(() -> {
+							Chunk chunk = parseChunk(block, 0, cut, true,
+									types);
+							handler.prepare(chunk);
+							return chunk;
+						}));
+					}
+					start = cut;
+				}
+				else {
+					Chunk chunk = parseChunk(buffer, 0, length, eof, types);
+					handler.prepare(chunk);
+					handler.accept(chunk);
+					start = chunk.end;
+				}
+				if (eof && start == length) {
+					break;
+				}
+			}
+			while (!tasks.isEmpty()) {
+				handler.accept(tasks.removeFirst().join());
+			}
+		}
+		finally {
+			for (ForkJoinTask<Chunk> task : tasks) {
+				task.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the line break that ends the record starting at
+	 * {@code start}, or {@code -1} if the record is not complete.
+	 *
+	 * @param buffer
+	 *            the characters.
+	 * @param start
+	 *            the start of the record.
+	 * @param end
+	 *            the end of the characters (exclusive).
+	 *
+	 * @return The index of the line break.
+	 */
+	private int recordEnd(char[] buffer, int start, int end) {
+		boolean quoted = false;
+		for (int i = start; i < end; i++) {
+			char c = buffer[i];
+			if (c == this.textDelimiter) {
+				quoted = !quoted;
+			}
+			else if (isLineBreak(c) && !quoted) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns {@code true} if a character ends a record.  A {@code "\r\n"}
+	 * pair ends the record at the {@code '\r'}, and the {@code '\n'} is then
+	 * skipped as a blank line.
+	 *
+	 * @param c
+	 *            the character.
+	 *
+	 * @return A boolean.
+	 */
+	private static boolean isLineBreak(char c) {
+		return c == '\n' || c == '\r';
+	}
+
+	/**
+	 * Returns the index of the last line break before {@code end}, or
+	 * {@code -1}.
+	 *
+	 * @param buffer
+	 *            the characters.
+	 * @param end
+	 *            the end of the characters (exclusive).
+	 *
+	 * @return The index.
+	 */
+	private static int lastLineBreak(char[] buffer, int end) {
+		for (int i = end - 1; i >= 0; i--) {
+			if (isLineBreak(buffer[i])) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index of the field delimiter or line break that ends the
+	 * field starting at {@code start}, or {@code end}.
+	 *
+	 * @param buffer
+	 *            the characters.
+	 * @param start
+	 *            the start of the field.
+	 * @param end
+	 *            the end of the characters (exclusive).
+	 *
+	 * @return The end of the field.
+	 */
+	private int fieldEnd(char[] buffer, int start, int end) {
+		boolean quoted = false;
+		int i = start;
+		while (i < end) {
+			char c = buffer[i];
+			if (c == this.textDelimiter) {
+				quoted = !quoted;
+			}
+			else if (!quoted && (c == this.fieldDelimiter
+					|| isLineBreak(c))) {
+				break;
+			}
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * Splits a single record into text fields.
+	 *
+	 * @param buffer
+	 *            the characters.
+	 * @param start
+	 *            the start of the record.
+	 * @param end
+	 *            the end of the record (exclusive).
+	 *
+	 * @return The fields.
+	 */
+	private List<String> textFields(char[] buffer, int start, int end) {
+		List<String> result = new ArrayList<>();
+		int pos = start;
+		while (true) {
+			int i = fieldEnd(buffer, pos, end);
+			result.add(text(buffer, pos, i));
+			if (i >= end) {
+				return result;
+			}
+			pos = i + 1;
+		}
+	}
+
+	/**
+	 * Parses the rows in a block of characters.
+	 *
+	 * @param buffer
+	 *            the characters.
+	 * @param start
+	 *            the index of the first character.
+	 * @param end
+	 *            the end of the characters (exclusive).
+	 * @param eof
+	 *            {@code true} if there are no more characters after
+	 *            {@code end}, so that the last row is complete even if it
+	 *            is not followed by a line break.
+	 * @param types
+	 *            the column types.
+	 *
+	 * @return The rows (the {@code end} of the chunk is the start of the
+	 *         first incomplete row).
+	 */
+	Chunk parseChunk(char[] buffer, int start, int end, boolean eof,
+			int[] types) {
+		Chunk chunk = new Chunk(types, Math.max(16, (end - start)
+				/ (4 * types.length + 1)));
+		int pos = start;
+		rows:
+		while (pos < end) {
+			int rowStart = pos;
+			chunk.startRow();
+			int field = 0;
+			while (true) {
+				int i = fieldEnd(buffer, pos, end);
+				if (i == end && !eof) {
+					chunk.end = rowStart;
+					return chunk;
+				}
+				if (field == 0 && (i == end || isLineBreak(buffer[i]))
+						&& isBlank(buffer, pos, i)) {
+					pos = i + 1;
+					continue rows;
+				}
+				if (field < types.length) {
+					switch (types[field]) {
+						case TEXT:
+							chunk.texts[field][chunk.rowCount]
+									= text(buffer, pos, i);
+							break;
+						case NUMBER:
+							chunk.numbers[field][chunk.rowCount]
+									= number(buffer, pos, i);
+							break;
+						case TIME:
+							chunk.numbers[field][chunk.rowCount]
+									= time(buffer, pos, i);
+							break;
+						default:
+							break;
+					}
+				}
+				field++;
+				if (i == end || isLineBreak(buffer[i])) {
+					pos = i + 1;
+					break;
+				}
+				pos = i + 1;
+			}
+			chunk.rowCount++;
+		}
+		chunk.end = Math.min(pos, end);
+		return chunk;
+	}
+
+	/**
+	 * Returns {@code true} if a range of characters is empty or contains
+	 * only white space.
+	 */
+	private static boolean isBlank(char[] buffer, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (buffer[i] > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a text field, without the white space and text delimiters
+	 * around it, and with doubled text delimiters replaced by single ones.
+	 */
+	private String text(char[] buffer, int start, int end) {
+		while (start < end && buffer[start] <= ' ') {
+			start++;
+		}
+		while (end > start && buffer[end - 1] <= ' ') {
+			end--;
+		}
+		if (end - start >= 2 && buffer[start] == this.textDelimiter
+				&& buffer[end - 1] == this.textDelimiter) {
+			start++;
+			end--;
+		}
+		StringBuilder sb = null;
+		for (int i = start; i < end; i++) {
+			if (buffer[i] == this.textDelimiter && i + 1 < end
+					&& buffer[i + 1] == this.textDelimiter) {
+				if (sb == null) {
+					sb = new StringBuilder(end - start);
+				}
+				sb.append(buffer, start, i + 1 - start);
+				start = i + 2;
+				i++;
+			}
+		}
+		if (sb == null) {
+			return new String(buffer, start, end - start);
+		}
+		return sb.append(buffer, start, end - start).toString();
+	}
+
+	/**
+	 * Returns a numeric field, or {@code Double.NaN} if the field is empty.
+	 *
+	 * @throws NumberFormatException
+	 *             if the field is not a number.
+	 */
+	private double number(char[] buffer, int start, int end) {
+		while (start < end && buffer[start] <= ' ') {
+			start++;
+		}
+		while (end > start && buffer[end - 1] <= ' ') {
+			end--;
+		}
+		if (end - start >= 2 && buffer[start] == this.textDelimiter
+				&& buffer[end - 1] == this.textDelimiter) {
+			return number(buffer, start + 1, end - 1);
+		}
+		if (start == end) {
+			return Double.NaN;
+		}
+		return parseDouble(buffer, start, end);
+	}
+
+	/**
+	 * Returns a date/time field in milliseconds since the epoch, or
+	 * {@code Double.NaN} if the field is empty.
+	 *
+	 * @throws NumberFormatException
+	 *             if the field is not a date/time.
+	 */
+	private double time(char[] buffer, int start, int end) {
+		while (start < end && buffer[start] <= ' ') {
+			start++;
+		}
+		while (end > start && buffer[end - 1] <= ' ') {
+			end--;
+		}
+		if (end - start >= 2 && buffer[start] == this.textDelimiter
+				&& buffer[end - 1] == this.textDelimiter) {
+			return time(buffer, start + 1, end - 1);
+		}
+		if (start == end) {
+			return Double.NaN;
+		}
+		if (end - start >= 10 && buffer[start + 4] == '-') {
+			return parseDateTime(buffer, start, end, this.zone);
+		}
+		return parseDouble(buffer, start, end);
+	}
+
+	/**
+	 * Parses a decimal number.  Numbers with at most 15 significant digits
+	 * and a small exponent are converted exactly with a single
+	 * multiplication or division, everything else is passed to
+	 * {@link Double#parseDouble(String)}.
+	 *
+	 * @param buffer
+	 *            the characters.
+	 * @param start
+	 *            the start of the number.
+	 * @param end
+	 *            the end of the number (exclusive).
+	 *
+	 * @return The number.
+	 *
+	 * @throws NumberFormatException
+	 *             if the characters are not a number.
+	 */
+	static double parseDouble(char[] buffer, int start, int end) {
+		int i = start;
+		boolean negative = false;
+		if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+			negative = buffer[i] == '-';
+			i++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int exponent = 0;
+		boolean valid = false;
+		while (i < end && buffer[i] >= '0' && buffer[i] <= '9') {
+			if (digits < 16) {
+				mantissa = mantissa * 10 + (buffer[i] - '0');
+				if (mantissa != 0) {
+					digits++;
+				}
+			}
+			else {
+				digits++;
+			}
+			valid = true;
+			i++;
+		}
+		if (i < end && buffer[i] == '.') {
+			i++;
+			while (i < end && buffer[i] >= '0' && buffer[i] <= '9') {
+				if (digits < 16) {
+					mantissa = mantissa * 10 + (buffer[i] - '0');
+					if (mantissa != 0) {
+						digits++;
+					}
+					exponent--;
+				}
+				else {
+					digits++;
+				}
+				valid = true;
+				i++;
+			}
+		}
+		if (valid && i < end && (buffer[i] == 'e' || buffer[i] == 'E')) {
+			i++;
+			boolean negativeExponent = false;
+			if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+				negativeExponent = buffer[i] == '-';
+				i++;
+			}
+			int e = 0;
+			valid = false;
+			while (i < end && buffer[i] >= '0' && buffer[i] <= '9') {
+				e = Math.min(e * 10 + (buffer[i] - '0'), 100000);
+				valid = true;
+				i++;
+			}
+			exponent += negativeExponent ? -e : e;
+		}
+		if (!valid || i != end || digits > 15 || exponent < -22
+				|| exponent > 22) {
+			return Double.parseDouble(new String(buffer, start,
+					end - start));
+		}
+		double result = mantissa;
+		if (exponent < 0) {
+			result = result / POWERS_OF_TEN[-exponent];
+		}
+		else {
+			result = result * POWERS_OF_TEN[exponent];
+		}
+		return negative ? -result : result;
+	}
+
+	/**
+	 * Parses an ISO-8601 date ({@code yyyy-MM-dd}) or date-time
+	 * ({@code yyyy-MM-dd HH:mm[:ss[.SSS]]}, with a space or {@code T}
+	 * between the date and the time), optionally followed by {@code Z} or
+	 * an offset ({@code +HH:mm}).
+	 *
+	 * @param buffer
+	 *            the characters.
+	 * @param start
+	 *            the start of the date.
+	 * @param end
+	 *            the end of the date (exclusive).
+	 * @param zone
+	 *            the time zone if there is no offset.
+	 *
+	 * @return The number of milliseconds since the epoch.
+	 *
+	 * @throws NumberFormatException
+	 *             if the characters are not a date/time.
+	 */
+	static double parseDateTime(char[] buffer, int start, int end,
+			TimeZone zone) {
+		int year = digits(buffer, start, 4, end);
+		int month = digits(buffer, start + 5, 2, end);
+		int day = digits(buffer, start + 8, 2, end);
+		if (buffer[start + 7] != '-' || month < 1 || month > 12 || day < 1
+				|| day > 31) {
+			throw invalidDate(buffer, start, end);
+		}
+		long local = daysFromCivil(year, month, day) * 86400000L;
+		int i = start + 10;
+		if (i < end && (buffer[i] == 'T' || buffer[i] == ' ')) {
+			int hour = digits(buffer, i + 1, 2, end);
+			int minute = digits(buffer, i + 4, 2, end);
+			if (buffer[i + 3] != ':') {
+				throw invalidDate(buffer, start, end);
+			}
+			local += hour * 3600000L + minute * 60000L;
+			i += 6;
+			if (i < end && buffer[i] == ':') {
+				local += digits(buffer, i + 1, 2, end) * 1000L;
+				i += 3;
+				if (i < end && (buffer[i] == '.' || buffer[i] == ',')) {
+					i++;
+					int scale = 100;
+					while (i < end && buffer[i] >= '0' && buffer[i] <= '9') {
+						local += (buffer[i] - '0') * scale;
+						scale = scale / 10;
+						i++;
+					}
+				}
+			}
+		}
+		if (i == end) {
+			return local - zone.getOffset(local - zone.getRawOffset());
+		}
+		if (buffer[i] == 'Z' && i + 1 == end) {
+			return local;
+		}
+		if (buffer[i] == '+' || buffer[i] == '-') {
+			int sign = buffer[i] == '-' ? -1 : 1;
+			int minutes = digits(buffer, i + 1, 2, end) * 60;
+			i += 3;
+			if (i < end && buffer[i] == ':') {
+				i++;
+			}
+			if (i < end) {
+				minutes += digits(buffer, i, 2, end);
+				i += 2;
+			}
+			if (i == end) {
+				return local - sign * minutes * 60000L;
+			}
+		}
+		throw invalidDate(buffer, start, end);
+	}
+
+	/**
+	 * Parses a fixed number of decimal digits.
+	 */
+	private static int digits(char[] buffer, int start, int count,
+			int end) {
+		if (start + count > end) {
+			throw invalidDate(buffer, start, end);
+		}
+		int result = 0;
+		for (int i = start; i < start + count; i++) {
+			char c = buffer[i];
+			if (c < '0' || c > '9') {
+				throw invalidDate(buffer, start, end);
+			}
+			result = result * 10 + (c - '0');
+		}
+		return result;
+	}
+
+	/**
+	 * Creates the exception for an invalid date/time.
+	 */
+	private static NumberFormatException invalidDate(char[] buffer,
+			int start, int end) {
+		return new NumberFormatException("Invalid date/time: "
+				+ new String(buffer, start, Math.max(0, end - start)));
+	}
+
+	/**
+	 * Returns the number of days between 1970-01-01 and a date in the
+	 * proleptic Gregorian calendar.
+	 *
+	 * @param year
+	 *            the year.
+	 * @param month
+	 *            the month (1-12).
+	 * @param day
+	 *            the day of the month (1-31).
+	 *
+	 * @return The number of days.
+	 */
+	static long daysFromCivil(int year, int month, int day) {
+		int y = month <= 2 ? year - 1 : year;
+		int era = (y >= 0 ? y : y - 399) / 400;
+		int yearOfEra = y - era * 400;
+		int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5
+				+ day - 1;
+		int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100
+				+ dayOfYear;
+		return era * 146097L + dayOfEra - 719468;
+	}
+
+}
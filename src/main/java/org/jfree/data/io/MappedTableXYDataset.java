@@ -0,0 +1,78 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------
+ * MappedTableXYDataset.java
+ * -------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.io;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.jfree.data.xy.TableXYDataset;
+
+/**
+ * A {@link MappedXYDataset} for a file in which all the series share the
+ * same x-values.  Instances are created by {@link MappedXYDataset#open(File)}.
+ *
+ * @since 2.0
+ */
+public class MappedTableXYDataset extends MappedXYDataset
+		implements TableXYDataset {
+
+	/** For serialization. */
+	private static final long serialVersionUID = 2785610369284451177L;
+
+	/**
+	 * Creates a dataset for a file.
+	 *
+	 * @param file
+	 *            the file.
+	 *
+	 * @throws IOException
+	 *             if the file cannot be read or is not in the expected
+	 *             format.
+	 */
+	MappedTableXYDataset(File file) throws IOException {
+		super(file);
+	}
+
+	/**
+	 * Returns the number of items in every series.
+	 *
+	 * @return The item count.
+	 */
+	@Override
+	public int getItemCount() {
+		return getSeriesCount() > 0 ? getItemCount(0) : 0;
+	}
+
+}
@@ -0,0 +1,1044 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------
+ * MappedXYDataset.java
+ * --------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jfree.chart.util.ParamChecks;
+import org.jfree.data.DomainInfo;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.RangeInfo;
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jfree.data.xy.PrimitiveXYDataset;
+import org.jfree.data.xy.TableXYDataset;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * An {@link XYDataset} that reads its data from a memory-mapped file in a
+ * compact binary format.  Opening a file only reads the header, so it is
+ * fast even for very large files, the values are read from the operating
+ * system's page cache (which is shared by all the processes that map the
+ * file) rather than copied onto the heap, and the domain and range bounds
+ * are stored in the file.  Use {@link #write(XYDataset, File)} to create a
+ * file and {@link #open(File)} to read it.  The dataset is read-only.
+ * <P>
+ * The columns stay mapped until the dataset is garbage collected (Java
+ * has no way to unmap a file explicitly), so there is no {@code close()}
+ * method.  The file must not be modified in place while a dataset maps it,
+ * since a read from a truncated mapping fails with an {@link InternalError}
+ * (or crashes the JVM).  {@link #write(XYDataset, File)} replaces the file
+ * rather than overwriting it, so that a dataset opened earlier continues
+ * to read the old contents; on platforms that do not allow a mapped file
+ * to be replaced (such as Windows), the write fails instead.
+ * <P>
+ * The file format is columnar, with all numbers little-endian:
+ * <ul>
+ * <li>a 16 byte header: the magic number {@code 0x4A464358} ("JFCX"), the
+ * format version (1), flags (1 if all the series share the same x-values,
+ * see {@link TableXYDataset}) and the series count, each as an
+ * {@code int};</li>
+ * <li>a 72 byte entry for each series: the item count, the file offsets
+ * of the x-value column, the y-value column and the series key (as
+ * {@code long}s), the length of the key and the series flags (as
+ * {@code int}s), then the minimum and maximum x-values and the minimum and
+ * maximum y-values (as {@code double}s);</li>
+ * <li>the series keys, as UTF-8 text;</li>
+ * <li>the columns, each starting at a multiple of 8 bytes.  The y-values
+ * are {@code double}s ({@code Double.NaN} for a {@code null} value).  The
+ * x-values are {@code long}s if the series flags include 1 (used when all
+ * the x-values are whole numbers, such as the millisecond values for a time
+ * series) and {@code double}s otherwise.  The series flags include 2 if the
+ * x-values are in ascending order.</li>
+ * </ul>
+ *
+ * @since 2.0
+ */
+public class MappedXYDataset extends AbstractXYDataset
+		implements PrimitiveXYDataset, DomainInfo, RangeInfo {
+
+	/** For serialization. */
+	private static final long serialVersionUID = -5807324219558314106L;
+
+	/** The magic number at the start of the file ("JFCX"). */
+	static final int MAGIC = 0x4A464358;
+
+	/** The format version. */
+	static final int VERSION = 1;
+
+	/** The file flag for series that share the same x-values. */
+	static final int FLAG_TABLE = 1;
+
+	/** The series flag for x-values stored as {@code long}s. */
+	static final int SERIES_LONG_X = 1;
+
+	/** The series flag for x-values in ascending order. */
+	static final int SERIES_ASCENDING_X = 2;
+
+	/** The size of the file header in bytes. */
+	static final int HEADER_SIZE = 16;
+
+	/** The size of a series entry in bytes. */
+	static final int SERIES_ENTRY_SIZE = 72;
+
+	/**
+	 * The number of values in each mapped segment of a column, as a power of
+	 * two (a single mapping is limited to 2GB).
+	 */
+	private static final int SEGMENT_SHIFT = 27;
+
+	/** The file. */
+	private File file;
+
+	/** The series keys. */
+	private String[] keys;
+
+	/** The item count for each series. */
+	private int[] itemCounts;
+
+	/** The series flags. */
+	private int[] seriesFlags;
+
+	/** The bounds for each series (x min, x max, y min, y max). */
+	private double[][] bounds;
+
+	/** The x-value columns (possibly shared between series). */
+	private transient Column[] xColumns;
+
+	/** The y-value columns. */
+	private transient Column[] yColumns;
+
+	/**
+	 * Opens a file written by {@link #write(XYDataset, File)}.  If all the
+	 * series share the same x-values, the result is a
+	 * {@link TableXYDataset}.
+	 *
+	 * @param file
+	 *            the file ({@code null} not permitted).
+	 *
+	 * @return The dataset.
+	 *
+	 * @throws IOException
+	 *             if the file cannot be read or is not in the expected
+	 *             format.
+	 */
+	public static MappedXYDataset open(File file) throws IOException {
+		ParamChecks.nullNotPermitted(file, "file");
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+			ByteBuffer header = readFully(raf.getChannel(), 0L, HEADER_SIZE);
+			if (header.getInt(0) != MAGIC) {
+				throw new IOException("Not a dataset file: " + file);
+			}
+			if (header.getInt(4) != VERSION) {
+				throw new IOException("Unsupported version: "
+						+ header.getInt(4));
+			}
+			if ((header.getInt(8) & FLAG_TABLE) != 0) {
+				return new MappedTableXYDataset(file);
+			}
+		}
+		return new MappedXYDataset(file);
+	}
+
+	/**
+	 * Creates a dataset for a file.
+	 *
+	 * @param file
+	 *            the file.
+	 *
+	 * @throws IOException
+	 *             if the file cannot be read or is not in the expected
+	 *             format.
+	 */
+	MappedXYDataset(File file) throws IOException {
+		this.file = file;
+		map();
+	}
+
+	/**
+	 * Reads the header and series entries and maps the columns.
+	 *
+	 * @throws IOException
+	 *             if there is an I/O problem.
+	 */
+	private void map() throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(this.file, "r")) {
+			FileChannel channel = raf.getChannel();
+			long size = channel.size();
+			ByteBuffer header = readFully(channel, 0L, HEADER_SIZE);
+			if (header.getInt(0) != MAGIC) {
+				throw new IOException("Not a dataset file: " + this.file);
+			}
+			int seriesCount = header.getInt(12);
+			if (seriesCount < 0 || HEADER_SIZE + (long) seriesCount
+					* SERIES_ENTRY_SIZE > size) {
+				throw new IOException("Invalid series count.");
+			}
+			ByteBuffer entries = readFully(channel, HEADER_SIZE,
+					seriesCount * SERIES_ENTRY_SIZE);
+			this.keys = new String[seriesCount];
+			this.itemCounts = new int[seriesCount];
+			this.seriesFlags = new int[seriesCount];
+			this.bounds = new double[seriesCount][];
+			this.xColumns = new Column[seriesCount];
+			this.yColumns = new Column[seriesCount];
+			Map<Long, Column> xColumnsByOffset = new HashMap<Long, Column>();
+			for (int s = 0; s < seriesCount; s++) {
+				int e = s * SERIES_ENTRY_SIZE;
+				long count = entries.getLong(e);
+				long xOffset = entries.getLong(e + 8);
+				long yOffset = entries.getLong(e + 16);
+				long keyOffset = entries.getLong(e + 24);
+				int keyLength = entries.getInt(e + 32);
+				int flags = entries.getInt(e + 36);
+				if (count < 0 || count > Integer.MAX_VALUE
+						|| xOffset + count * 8 > size
+						|| yOffset + count * 8 > size
+						|| keyLength < 0 || keyOffset + keyLength > size) {
+					throw new IOException("Invalid entry for series " + s
+							+ ".");
+				}
+				ByteBuffer key = readFully(channel, keyOffset, keyLength);
+				this.keys[s] = new String(key.array(), 0, keyLength,
+						StandardCharsets.UTF_8);
+				this.itemCounts[s] = (int) count;
+				this.seriesFlags[s] = flags;
+				this.bounds[s] = new double[] { entries.getDouble(e + 40),
+						entries.getDouble(e + 48), entries.getDouble(e + 56),
+						entries.getDouble(e + 64) };
+				Column x = xColumnsByOffset.get(xOffset);
+				if (x == null) {
+					x = new Column(channel, xOffset, (int) count,
+							(flags & SERIES_LONG_X) != 0);
+					xColumnsByOffset.put(xOffset, x);
+				}
+				this.xColumns[s] = x;
+				this.yColumns[s] = new Column(channel, yOffset, (int) count,
+						false);
+			}
+		}
+	}
+
+	/**
+	 * Reads part of a file into a little-endian heap buffer.
+	 *
+	 * @param channel
+	 *            the channel.
+	 * @param position
+	 *            the file position.
+	 * @param length
+	 *            the number of bytes.
+	 *
+	 * @return The buffer.
+	 *
+	 * @throws IOException
+	 *             if there is an I/O problem or the file is too short.
+	 */
+	private static ByteBuffer readFully(FileChannel channel, long position,
+			int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		while (buffer.hasRemaining()) {
+			int n = channel.read(buffer, position + buffer.position());
+			if (n < 0) {
+				throw new IOException("Unexpected end of file.");
+			}
+		}
+		return buffer;
+	}
+
+	/**
+	 * Returns the file that the dataset reads.
+	 *
+	 * @return The file.
+	 */
+	public File getFile() {
+		return this.file;
+	}
+
+	/**
+	 * Returns the number of series in the dataset.
+	 *
+	 * @return The series count.
+	 */
+	@Override
+	public int getSeriesCount() {
+		return this.keys.length;
+	}
+
+	/**
+	 * Returns the key for a series.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 *
+	 * @return The key for the series.
+	 */
+	@Override
+	public Comparable getSeriesKey(int series) {
+		return this.keys[series];
+	}
+
+	/**
+	 * Returns the number of items in a series.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 *
+	 * @return The item count.
+	 */
+	@Override
+	public int getItemCount(int series) {
+		return this.itemCounts[series];
+	}
+
+	/**
+	 * Returns {@link DomainOrder#ASCENDING} if the x-values in every series
+	 * are in ascending order, and {@link DomainOrder#NONE} otherwise.
+	 *
+	 * @return The domain order.
+	 */
+	@Override
+	public DomainOrder getDomainOrder() {
+		for (int flags : this.seriesFlags) {
+			if ((flags & SERIES_ASCENDING_X) == 0) {
+				return DomainOrder.NONE;
+			}
+		}
+		return DomainOrder.ASCENDING;
+	}
+
+	/**
+	 * Returns the x-value for an item within a series.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param item
+	 *            the item index (zero-based).
+	 *
+	 * @return The x-value.
+	 */
+	@Override
+	public Number getX(int series, int item) {
+		return getXValue(series, item);
+	}
+
+	/**
+	 * Returns the x-value for an item within a series.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param item
+	 *            the item index (zero-based).
+	 *
+	 * @return The x-value.
+	 */
+	@Override
+	public double getXValue(int series, int item) {
+		checkItem(series, item);
+		return this.xColumns[series].get(item);
+	}
+
+	/**
+	 * Returns the y-value for an item within a series.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param item
+	 *            the item index (zero-based).
+	 *
+	 * @return The y-value (possibly {@code null}).
+	 */
+	@Override
+	public Number getY(int series, int item) {
+		double y = getYValue(series, item);
+		return Double.isNaN(y) ? null : Double.valueOf(y);
+	}
+
+	/**
+	 * Returns the y-value for an item within a series.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param item
+	 *            the item index (zero-based).
+	 *
+	 * @return The y-value ({@code Double.NaN} for a {@code null} value).
+	 */
+	@Override
+	public double getYValue(int series, int item) {
+		checkItem(series, item);
+		return this.yColumns[series].get(item);
+	}
+
+	/**
+	 * Copies the x-values for a range of items in a series into an array.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param firstItem
+	 *            the index of the first item to copy.
+	 * @param lastItem
+	 *            the index of the last item to copy.
+	 * @param dest
+	 *            the destination array ({@code null} not permitted).
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 */
+	@Override
+	public void getXValues(int series, int firstItem, int lastItem,
+			double[] dest, int destPos) {
+		checkRange(series, firstItem, lastItem);
+		this.xColumns[series].get(firstItem, lastItem - firstItem + 1, dest,
+				destPos);
+	}
+
+	/**
+	 * Copies the y-values for a range of items in a series into an array.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param firstItem
+	 *            the index of the first item to copy.
+	 * @param lastItem
+	 *            the index of the last item to copy.
+	 * @param dest
+	 *            the destination array ({@code null} not permitted).
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 */
+	@Override
+	public void getYValues(int series, int firstItem, int lastItem,
+			double[] dest, int destPos) {
+		checkRange(series, firstItem, lastItem);
+		this.yColumns[series].get(firstItem, lastItem - firstItem + 1, dest,
+				destPos);
+	}
+
+	/**
+	 * Checks an item index (the columns are mapped in segments, so an index
+	 * past the end of a series could otherwise read another column).
+	 *
+	 * @param series
+	 *            the series index.
+	 * @param item
+	 *            the item index.
+	 */
+	private void checkItem(int series, int item) {
+		if (item < 0 || item >= this.itemCounts[series]) {
+			throw new IndexOutOfBoundsException("Item index " + item
+					+ " out of bounds.");
+		}
+	}
+
+	/**
+	 * Checks a range of item indices.
+	 *
+	 * @param series
+	 *            the series index.
+	 * @param firstItem
+	 *            the first item index.
+	 * @param lastItem
+	 *            the last item index.
+	 */
+	private void checkRange(int series, int firstItem, int lastItem) {
+		if (firstItem < 0 || lastItem >= this.itemCounts[series]
+				|| lastItem < firstItem - 1) {
+			throw new IndexOutOfBoundsException("Item range " + firstItem
+					+ " to " + lastItem + " out of bounds.");
+		}
+	}
+
+	/**
+	 * Returns the bounds of the values in the file, over all the series.
+	 *
+	 * @param index
+	 *            the index in the series bounds of the minimum value (0 for
+	 *            the x-values, 2 for the y-values).
+	 *
+	 * @return The bounds ({@code null} if there are no values).
+	 */
+	private Range findBounds(int index) {
+		double lower = Double.NaN;
+		double upper = Double.NaN;
+		for (double[] b : this.bounds) {
+			if (!Double.isNaN(b[index]) && !(b[index] >= lower)) {
+				lower = b[index];
+			}
+			if (!Double.isNaN(b[index + 1]) && !(b[index + 1] <= upper)) {
+				upper = b[index + 1];
+			}
+		}
+		return Double.isNaN(lower) ? null : new Range(lower, upper);
+	}
+
+	/**
+	 * Returns the minimum x-value in the dataset.
+	 *
+	 * @param includeInterval
+	 *            ignored, this dataset has no x-intervals.
+	 *
+	 * @return The minimum value ({@code Double.NaN} if there are no values).
+	 */
+	@Override
+	public double getDomainLowerBound(boolean includeInterval) {
+		Range r = findBounds(0);
+		return r != null ? r.getLowerBound() : Double.NaN;
+	}
+
+	/**
+	 * Returns the maximum x-value in the dataset.
+	 *
+	 * @param includeInterval
+	 *            ignored, this dataset has no x-intervals.
+	 *
+	 * @return The maximum value ({@code Double.NaN} if there are no values).
+	 */
+	@Override
+	public double getDomainUpperBound(boolean includeInterval) {
+		Range r = findBounds(0);
+		return r != null ? r.getUpperBound() : Double.NaN;
+	}
+
+	/**
+	 * Returns the range of the x-values in the dataset, as recorded in the
+	 * file.
+	 *
+	 * @param includeInterval
+	 *            ignored, this dataset has no x-intervals.
+	 *
+	 * @return The range ({@code null} if there are no values).
+	 */
+	@Override
+	public Range getDomainBounds(boolean includeInterval) {
+		return findBounds(0);
+	}
+
+	/**
+	 * Returns the minimum y-value in the dataset.
+	 *
+	 * @param includeInterval
+	 *            ignored, this dataset has no y-intervals.
+	 *
+	 * @return The minimum value ({@code Double.NaN} if there are no values).
+	 */
+	@Override
+	public double getRangeLowerBound(boolean includeInterval) {
+		Range r = findBounds(2);
+		return r != null ? r.getLowerBound() : Double.NaN;
+	}
+
+	/**
+	 * Returns the maximum y-value in the dataset.
+	 *
+	 * @param includeInterval
+	 *            ignored, this dataset has no y-intervals.
+	 *
+	 * @return The maximum value ({@code Double.NaN} if there are no values).
+	 */
+	@Override
+	public double getRangeUpperBound(boolean includeInterval) {
+		Range r = findBounds(2);
+		return r != null ? r.getUpperBound() : Double.NaN;
+	}
+
+	/**
+	 * Returns the range of the y-values in the dataset, as recorded in the
+	 * file.
+	 *
+	 * @param includeInterval
+	 *            ignored, this dataset has no y-intervals.
+	 *
+	 * @return The range ({@code null} if there are no values).
+	 */
+	@Override
+	public Range getRangeBounds(boolean includeInterval) {
+		return findBounds(2);
+	}
+
+	/**
+	 * Maps the file again after deserialization.
+	 *
+	 * @param stream
+	 *            the input stream.
+	 *
+	 * @throws IOException
+	 *             if there is an I/O error.
+	 * @throws ClassNotFoundException
+	 *             if there is a classpath problem.
+	 */
+	private void readObject(ObjectInputStream stream)
+			throws IOException, ClassNotFoundException {
+		stream.defaultReadObject();
+		map();
+	}
+
+	/**
+	 * Writes a dataset to a file in the format read by
+	 * {@link #open(File)}.  If the dataset is a {@link TableXYDataset}, the
+	 * x-values are written once and shared by all the series.  The series
+	 * keys are written as strings.  The data is written to a temporary file
+	 * in the same directory, which is then moved into place (atomically
+	 * where the file system supports it), so the target file is never
+	 * partly written and datasets that already map it are not affected.
+	 * On file systems with POSIX permissions, the new file gets the
+	 * permissions of the file it replaces, or {@code rw-r--r--} if there
+	 * was none, so that other users' processes can still map it.
+	 *
+	 * @param dataset
+	 *            the dataset ({@code null} not permitted).
+	 * @param file
+	 *            the file ({@code null} not permitted).
+	 *
+	 * @throws IOException
+	 *             if there is an I/O problem.
+	 */
+	public static void write(XYDataset dataset, File file)
+			throws IOException {
+		ParamChecks.nullNotPermitted(dataset, "dataset");
+		ParamChecks.nullNotPermitted(file, "file");
+		int seriesCount = dataset.getSeriesCount();
+		boolean table = dataset instanceof TableXYDataset && seriesCount > 0;
+		byte[][] keys = new byte[seriesCount][];
+		long position = HEADER_SIZE + (long) seriesCount * SERIES_ENTRY_SIZE;
+		long[] keyOffsets = new long[seriesCount];
+		for (int s = 0; s < seriesCount; s++) {
+			keys[s] = String.valueOf(dataset.getSeriesKey(s)).getBytes(
+					StandardCharsets.UTF_8);
+			keyOffsets[s] = position;
+			position += keys[s].length;
+		}
+		position = (position + 7) & ~7L;
+
+		ByteBuffer entries = ByteBuffer.allocate(HEADER_SIZE
+				+ seriesCount * SERIES_ENTRY_SIZE);
+		entries.order(ByteOrder.LITTLE_ENDIAN);
+		entries.putInt(MAGIC).putInt(VERSION).putInt(table ? FLAG_TABLE : 0)
+				.putInt(seriesCount);
+		Path target = file.toPath().toAbsolutePath();
+		Path temp = Files.createTempFile(target.getParent(),
+				target.getFileName() + ".", ".tmp");
+		boolean written = false;
+		try {
+			try (FileChannel channel = FileChannel.open(temp,
+					StandardOpenOption.WRITE)) {
+				writeData(channel, dataset, table, keys, keyOffsets, position,
+						entries);
+			}
+			copyPermissions(target, temp);
+			try {
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+			written = true;
+		}
+		finally {
+			if (!written) {
+				Files.deleteIfExists(temp);
+			}
+		}
+	}
+
+	/**
+	 * Gives the temporary file the POSIX permissions of the file that it
+	 * will replace, or {@code rw-r--r--} if there is no such file, instead
+	 * of the owner-only permissions of a new temporary file.  Nothing is
+	 * done on file systems without POSIX permissions.
+	 *
+	 * @param target
+	 *            the file that will be replaced.
+	 * @param temp
+	 *            the temporary file.
+	 *
+	 * @throws IOException
+	 *             if there is an I/O problem.
+	 */
+	private static void copyPermissions(Path target, Path temp)
+			throws IOException {
+		if (Files.getFileAttributeView(temp,
+				PosixFileAttributeView.class) == null) {
+			return;
+		}
+		Set<PosixFilePermission> permissions;
+		if (Files.exists(target)) {
+			permissions = Files.getPosixFilePermissions(target);
+		}
+		else {
+			permissions = PosixFilePermissions.fromString("rw-r--r--");
+		}
+		Files.setPosixFilePermissions(temp, permissions);
+	}
+
+	/**
+	 * Writes the series keys, the columns and the header and series entries
+	 * for {@link #write(XYDataset, File)}.
+	 *
+	 * @param channel
+	 *            the channel for the (empty) file.
+	 * @param dataset
+	 *            the dataset.
+	 * @param table
+	 *            write the x-values once for all the series?
+	 * @param keys
+	 *            the series keys (as UTF-8).
+	 * @param keyOffsets
+	 *            the file offsets of the series keys.
+	 * @param position
+	 *            the file offset of the first column.
+	 * @param entries
+	 *            a buffer containing the header, with room for the series
+	 *            entries.
+	 *
+	 * @throws IOException
+	 *             if there is an I/O problem.
+	 */
+	private static void writeData(FileChannel channel, XYDataset dataset,
+			boolean table, byte[][] keys, long[] keyOffsets, long position,
+			ByteBuffer entries) throws IOException {
+		int seriesCount = dataset.getSeriesCount();
+		ColumnWriter writer = new ColumnWriter(channel, position);
+		for (int s = 0; s < seriesCount; s++) {
+			writer.writeBytes(keyOffsets[s], keys[s]);
+		}
+		long sharedXOffset = -1L;
+		int sharedFlags = 0;
+		double[] sharedX = null;
+		for (int s = 0; s < seriesCount; s++) {
+			int count = dataset.getItemCount(s);
+			long xOffset;
+			int flags;
+			double[] xBounds;
+			if (table && s > 0) {
+				xOffset = sharedXOffset;
+				flags = sharedFlags;
+				xBounds = sharedX;
+			}
+			else {
+				flags = scanX(dataset, s);
+				xOffset = writer.getPosition();
+				xBounds = writer.writeColumn(dataset, s, true,
+						(flags & SERIES_LONG_X) != 0);
+				sharedXOffset = xOffset;
+				sharedFlags = flags;
+				sharedX = xBounds;
+			}
+			long yOffset = writer.getPosition();
+			double[] yBounds = writer.writeColumn(dataset, s, false,
+					false);
+			entries.putLong(count).putLong(xOffset).putLong(yOffset)
+					.putLong(keyOffsets[s]).putInt(keys[s].length)
+					.putInt(flags).putDouble(xBounds[0])
+					.putDouble(xBounds[1]).putDouble(yBounds[0])
+					.putDouble(yBounds[1]);
+		}
+		writer.flush();
+		entries.flip();
+		while (entries.hasRemaining()) {
+			channel.write(entries, entries.position());
+		}
+	}
+
+	/**
+	 * Returns the series flags describing the x-values in a series.
+	 *
+	 * @param dataset
+	 *            the dataset.
+	 * @param series
+	 *            the series index.
+	 *
+	 * @return The flags.
+	 */
+	private static int scanX(XYDataset dataset, int series) {
+		boolean whole = true;
+		boolean ascending = true;
+		double previous = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < dataset.getItemCount(series); i++) {
+			double x = dataset.getXValue(series, i);
+			if (whole && !(Math.abs(x) <= (1L << 53) && x == Math.rint(x))) {
+				whole = false;
+			}
+			if (!(x >= previous)) {
+				ascending = false;
+			}
+			previous = x;
+		}
+		return (whole ? SERIES_LONG_X : 0)
+				| (ascending ? SERIES_ASCENDING_X : 0);
+	}
+
+	/**
+	 * Writes columns to a file through a buffer.
+	 */
+	private static class ColumnWriter {
+
+		/** The channel. */
+		private FileChannel channel;
+
+		/** The buffer. */
+		private ByteBuffer buffer;
+
+		/** The file position of the start of the buffer. */
+		private long position;
+
+		/**
+		 * Creates a new writer.
+		 *
+		 * @param channel
+		 *            the channel.
+		 * @param position
+		 *            the file position of the first column.
+		 */
+		ColumnWriter(FileChannel channel, long position) {
+			this.channel = channel;
+			this.position = position;
+			this.buffer = ByteBuffer.allocateDirect(1 << 16);
+			this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+		}
+
+		/**
+		 * Returns the file position for the next value.
+		 *
+		 * @return The position.
+		 */
+		long getPosition() {
+			return this.position + this.buffer.position();
+		}
+
+		/**
+		 * Writes bytes at a file position.
+		 *
+		 * @param position
+		 *            the position.
+		 * @param bytes
+		 *            the bytes.
+		 *
+		 * @throws IOException
+		 *             if there is an I/O problem.
+		 */
+		void writeBytes(long position, byte[] bytes) throws IOException {
+			ByteBuffer b = ByteBuffer.wrap(bytes);
+			while (b.hasRemaining()) {
+				this.channel.write(b, position + b.position());
+			}
+		}
+
+		/**
+		 * Writes the x- or y-values of a series as a column.
+		 *
+		 * @param dataset
+		 *            the dataset.
+		 * @param series
+		 *            the series index.
+		 * @param x
+		 *            write the x-values (rather than the y-values)?
+		 * @param asLong
+		 *            write the values as {@code long}s?
+		 *
+		 * @return The minimum and maximum values ({@code Double.NaN} if
+		 *         there are none).
+		 *
+		 * @throws IOException
+		 *             if there is an I/O problem.
+		 */
+		double[] writeColumn(XYDataset dataset, int series, boolean x,
+				boolean asLong) throws IOException {
+			double min = Double.NaN;
+			double max = Double.NaN;
+			for (int i = 0; i < dataset.getItemCount(series); i++) {
+				double v = x ? dataset.getXValue(series, i)
+						: dataset.getYValue(series, i);
+				if (!Double.isNaN(v)) {
+					min = v >= min ? min : v;
+					max = v <= max ? max : v;
+				}
+				if (!this.buffer.hasRemaining()) {
+					flush();
+				}
+				if (asLong) {
+					this.buffer.putLong((long) v);
+				}
+				else {
+					this.buffer.putDouble(v);
+				}
+			}
+			return new double[] { min, max };
+		}
+
+		/**
+		 * Writes the buffered values to the file.
+		 *
+		 * @throws IOException
+		 *             if there is an I/O problem.
+		 */
+		void flush() throws IOException {
+			this.buffer.flip();
+			while (this.buffer.hasRemaining()) {
+				this.position += this.channel.write(this.buffer,
+						this.position);
+			}
+			this.buffer.clear();
+		}
+
+	}
+
+	/**
+	 * A column of values mapped from a file, in segments of at most
+	 * {@code 2^SEGMENT_SHIFT} values.
+	 */
+	private static class Column {
+
+		/** The segments, for a column of doubles. */
+		private DoubleBuffer[] doubles;
+
+		/** The segments, for a column of longs. */
+		private LongBuffer[] longs;
+
+		/**
+		 * Maps a column.
+		 *
+		 * @param channel
+		 *            the channel.
+		 * @param offset
+		 *            the file offset of the first value.
+		 * @param count
+		 *            the number of values.
+		 * @param asLong
+		 *            are the values {@code long}s?
+		 *
+		 * @throws IOException
+		 *             if there is an I/O problem.
+		 */
+		Column(FileChannel channel, long offset, int count, boolean asLong)
+				throws IOException {
+			int segmentCount = Math.max(1, (int) (((long) count
+					+ (1 << SEGMENT_SHIFT) - 1) >>> SEGMENT_SHIFT));
+			if (asLong) {
+				this.longs = new LongBuffer[segmentCount];
+			}
+			else {
+				this.doubles = new DoubleBuffer[segmentCount];
+			}
+			for (int i = 0; i < segmentCount; i++) {
+				long first = (long) i << SEGMENT_SHIFT;
+				long n = Math.min(count - first, 1L << SEGMENT_SHIFT);
+				MappedByteBuffer b = channel.map(FileChannel.MapMode.READ_ONLY,
+						offset + first * 8, n * 8);
+				b.order(ByteOrder.LITTLE_ENDIAN);
+				if (asLong) {
+					this.longs[i] = b.asLongBuffer();
+				}
+				else {
+					this.doubles[i] = b.asDoubleBuffer();
+				}
+			}
+		}
+
+		/**
+		 * Returns a value.
+		 *
+		 * @param index
+		 *            the index.
+		 *
+		 * @return The value.
+		 */
+		double get(int index) {
+			int i = index & ((1 << SEGMENT_SHIFT) - 1);
+			if (this.longs != null) {
+				return this.longs[index >>> SEGMENT_SHIFT].get(i);
+			}
+			return this.doubles[index >>> SEGMENT_SHIFT].get(i);
+		}
+
+		/**
+		 * Copies a range of values into an array.
+		 *
+		 * @param index
+		 *            the index of the first value.
+		 * @param count
+		 *            the number of values.
+		 * @param dest
+		 *            the destination array.
+		 * @param destPos
+		 *            the position in the array for the first value.
+		 */
+		void get(int index, int count, double[] dest, int destPos) {
+			int mask = (1 << SEGMENT_SHIFT) - 1;
+			while (count > 0) {
+				int segment = index >>> SEGMENT_SHIFT;
+				int i = index & mask;
+				int n = Math.min(count, (1 << SEGMENT_SHIFT) - i);
+				if (this.longs != null) {
+					LongBuffer b = this.longs[segment];
+					for (int j = 0; j < n; j++) {
+						dest[destPos + j] = b.get(i + j);
+					}
+				}
+				else {
+					DoubleBuffer b = this.doubles[segment].duplicate();
+					b.position(i);
+					b.get(dest, destPos, n);
+				}
+				index += n;
+				destPos += n;
+				count -= n;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,730 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------
+ * BinnedHistogramDataset.java
+ * ---------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.statistics;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.DoubleStream;
+
+import org.jfree.chart.util.ParamChecks;
+import org.jfree.chart.util.PublicCloneable;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.xy.AbstractIntervalXYDataset;
+import org.jfree.data.xy.IntervalXYDataset;
+
+/**
+ * A histogram dataset for large numbers of observations.  The bins are
+ * defined by an array of edges (either equal-width bins between two bounds,
+ * or bins of any width) and the counts are held in a {@code long[]}, so
+ * finding the bin for an observation takes constant time for equal-width
+ * bins and a binary search otherwise.  Each bin includes its lower edge and
+ * excludes its upper edge, except that the last bin also includes the upper
+ * bound.
+ * <P>
+ * Large arrays of observations can be counted in parallel (see
+ * {@link #addObservations(double[], boolean)}), as can a parallel
+ * {@link DoubleStream} (see {@link #addObservations(DoubleStream)}).  The
+ * partial counts for each thread are merged into the dataset when all the
+ * observations have been counted.  The dataset itself is not thread-safe.
+ *
+ * @see HistogramDataset
+ *
+ * @since 2.0
+ */
+public class BinnedHistogramDataset extends AbstractIntervalXYDataset
+		implements IntervalXYDataset, Cloneable, PublicCloneable,
+		Serializable {
+
+	/** For serialization. */
+	private static final long serialVersionUID = 4216839017351268592L;
+
+	/**
+	 * The minimum number of observations counted by each task when the
+	 * observations are counted in parallel.
+	 */
+	private static final int MINIMUM_CHUNK_SIZE = 1 << 16;
+
+	/** The series key. */
+	private Comparable key;
+
+	/** The bin edges (one more than the number of bins). */
+	private double[] edges;
+
+	/** Are the bins all the same width? */
+	private boolean equalWidth;
+
+	/** The number of bins per unit, for equal-width bins. */
+	private double binsPerUnit;
+
+	/** The number of observations in each bin. */
+	private long[] counts;
+
+	/**
+	 * A flag that controls whether or not the bin count is divided by the bin
+	 * size.
+	 */
+	private boolean adjustForBinSize;
+
+	/**
+	 * Creates a new dataset with equal-width bins.  Note that the
+	 * {@code adjustForBinSize} flag defaults to {@code true}.
+	 *
+	 * @param key
+	 *            the series key ({@code null} not permitted).
+	 * @param lowerBound
+	 *            the lower bound of the first bin.
+	 * @param upperBound
+	 *            the upper bound of the last bin (greater than
+	 *            {@code lowerBound}).
+	 * @param binCount
+	 *            the number of bins (at least 1).
+	 */
+	public BinnedHistogramDataset(Comparable key, double lowerBound,
+			double upperBound, int binCount) {
+		ParamChecks.nullNotPermitted(key, "key");
+		if (binCount < 1) {
+			throw new IllegalArgumentException("Requires 'binCount' >= 1.");
+		}
+		if (!(lowerBound < upperBound) || Double.isInfinite(lowerBound)
+				|| Double.isInfinite(upperBound)) {
+			throw new IllegalArgumentException("Invalid bounds.");
+		}
+		double[] e = new double[binCount + 1];
+		for (int i = 0; i < binCount; i++) {
+			e[i] = lowerBound + (upperBound - lowerBound) * i / binCount;
+		}
+		e[binCount] = upperBound;
+		this.key = key;
+		this.edges = e;
+		this.equalWidth = true;
+		this.binsPerUnit = binCount / (upperBound - lowerBound);
+		this.counts = new long[binCount];
+		this.adjustForBinSize = true;
+	}
+
+	/**
+	 * Creates a new dataset with bins of any width.  Note that the
+	 * {@code adjustForBinSize} flag defaults to {@code true}.
+	 *
+	 * @param key
+	 *            the series key ({@code null} not permitted).
+	 * @param edges
+	 *            the bin edges, in strictly ascending order (at least two
+	 *            values, {@code null} not permitted).
+	 */
+	public BinnedHistogramDataset(Comparable key, double[] edges) {
+		ParamChecks.nullNotPermitted(key, "key");
+		ParamChecks.nullNotPermitted(edges, "edges");
+		if (edges.length < 2) {
+			throw new IllegalArgumentException(
+					"Requires at least two bin edges.");
+		}
+		for (int i = 0; i < edges.length; i++) {
+			if (Double.isNaN(edges[i]) || Double.isInfinite(edges[i])
+					|| (i > 0 && edges[i] <= edges[i - 1])) {
+				throw new IllegalArgumentException(
+						"The edges must be finite and strictly ascending.");
+			}
+		}
+		this.key = key;
+		this.edges = edges.clone();
+		this.equalWidth = false;
+		this.counts = new long[edges.length - 1];
+		this.adjustForBinSize = true;
+	}
+
+	/**
+	 * Returns a flag that controls whether or not the bin count is divided by
+	 * the bin size in the {@link #getYValue(int, int)} method.
+	 *
+	 * @return A boolean.
+	 *
+	 * @see #setAdjustForBinSize(boolean)
+	 */
+	public boolean getAdjustForBinSize() {
+		return this.adjustForBinSize;
+	}
+
+	/**
+	 * Sets the flag that controls whether or not the bin count is divided by
+	 * the bin size in the {@link #getYValue(int, int)} method, and sends a
+	 * {@link DatasetChangeEvent} to all registered listeners.
+	 *
+	 * @param adjust
+	 *            the flag.
+	 *
+	 * @see #getAdjustForBinSize()
+	 */
+	public void setAdjustForBinSize(boolean adjust) {
+		this.adjustForBinSize = adjust;
+		fireDatasetChanged();
+	}
+
+	/**
+	 * Returns the number of bins.
+	 *
+	 * @return The bin count.
+	 */
+	public int getBinCount() {
+		return this.counts.length;
+	}
+
+	/**
+	 * Returns the number of observations in a bin.
+	 *
+	 * @param bin
+	 *            the bin index (zero-based).
+	 *
+	 * @return The count.
+	 */
+	public long getCount(int bin) {
+		return this.counts[bin];
+	}
+
+	/**
+	 * Returns the total number of observations in all the bins.
+	 *
+	 * @return The total.
+	 */
+	public long getTotalCount() {
+		long total = 0L;
+		for (long count : this.counts) {
+			total += count;
+		}
+		return total;
+	}
+
+	/**
+	 * Returns the index of the bin that the specified value falls into, or
+	 * {@code -1} if the value is outside the bins (or is
+	 * {@code Double.NaN}).
+	 *
+	 * @param value
+	 *            the value.
+	 *
+	 * @return The bin index.
+	 */
+	public int getBinIndex(double value) {
+		double[] e = this.edges;
+		int n = this.counts.length;
+		if (!(value >= e[0] && value <= e[n])) {
+			return -1;
+		}
+		int bin;
+		if (this.equalWidth) {
+			bin = Math.min((int) ((value - e[0]) * this.binsPerUnit), n - 1);
+			// rounding can give a neighbouring bin, so check the edges
+			if (value < e[bin]) {
+				bin--;
+			}
+			else if (bin < n - 1 && value >= e[bin + 1]) {
+				bin++;
+			}
+		}
+		else {
+			bin = Arrays.binarySearch(e, value);
+			if (bin < 0) {
+				bin = -bin - 2;
+			}
+			else if (bin == n) {
+				bin = n - 1;
+			}
+		}
+		return bin;
+	}
+
+	/**
+	 * Adds an observation to the dataset (by incrementing the count for the
+	 * appropriate bin) and sends a {@link DatasetChangeEvent} to all
+	 * registered listeners.
+	 *
+	 * @param value
+	 *            the value (must fall into one of the bins).
+	 */
+	public void addObservation(double value) {
+		addObservation(value, true);
+	}
+
+	/**
+	 * Adds an observation to the dataset (by incrementing the count for the
+	 * appropriate bin).
+	 *
+	 * @param value
+	 *            the value (must fall into one of the bins).
+	 * @param notify
+	 *            send a {@link DatasetChangeEvent} to listeners?
+	 */
+	public void addObservation(double value, boolean notify) {
+		this.counts[findBin(value)]++;
+		if (notify) {
+			fireDatasetChanged();
+		}
+	}
+
+	/**
+	 * Adds a set of values to the dataset and sends a
+	 * {@link DatasetChangeEvent} to all registered listeners.  If any value
+	 * does not fall into a bin, an exception is thrown and no values are
+	 * added.
+	 *
+	 * @param values
+	 *            the values ({@code null} not permitted).
+	 */
+	public void addObservations(double[] values) {
+		addObservations(values, false);
+	}
+
+	/**
+	 * Adds a set of values to the dataset and sends a
+	 * {@link DatasetChangeEvent} to all registered listeners.  If any value
+	 * does not fall into a bin, an exception is thrown and no values are
+	 * added.  When {@code parallel} is {@code true}, large arrays are split
+	 * into chunks that are counted on the common {@link ForkJoinPool}.
+	 *
+	 * @param values
+	 *            the values ({@code null} not permitted).
+	 * @param parallel
+	 *            count the values in parallel?
+	 */
+	public void addObservations(double[] values, boolean parallel) {
+		ParamChecks.nullNotPermitted(values, "values");
+		int chunkSize = Math.max(MINIMUM_CHUNK_SIZE, values.length
+				/ (4 * ForkJoinPool.getCommonPoolParallelism()) + 1);
+		long[] partial;
+		if (!parallel || values.length <= chunkSize) {
+			partial = countObservations(values, 0, values.length);
+		}
+		else {
+			List<ForkJoinTask<long[]>> tasks
+					= new ArrayList<ForkJoinTask<long[]>>();
+			for (int start = 0; start < values.length; start += chunkSize) {
+				int from = start;
+				int to = Math.min(values.length, start + chunkSize);
+				tasks.add(ForkJoinPool.commonPool().submit(
+						() -> countObservations(values, from, to)));
+			}
+			partial = new long[this.counts.length];
+			for (ForkJoinTask<long[]> task : tasks) {
+				merge(partial, task.join());
+			}
+		}
+		merge(this.counts, partial);
+		fireDatasetChanged();
+	}
+
+	/**
+	 * Adds the values from a stream to the dataset and sends a
+	 * {@link DatasetChangeEvent} to all registered listeners.  The stream is
+	 * consumed by this method, in parallel if it is a parallel stream (each
+	 * thread counts into its own array of bins).  If any value does not fall
+	 * into a bin, an exception is thrown and no values are added.
+	 *
+	 * @param values
+	 *            the values ({@code null} not permitted).
+	 */
+	public void addObservations(DoubleStream values) {
+		ParamChecks.nullNotPermitted(values, "values");
+		int binCount = this.counts.length;
+		long[] partial = values.collect(() -> new long[binCount],
+				(c, value) -> c[findBin(value)]++,
+				BinnedHistogramDataset::merge);
+		merge(this.counts, partial);
+		fireDatasetChanged();
+	}
+
+	/**
+	 * Removes all current observation data and sends a
+	 * {@link DatasetChangeEvent} to all registered listeners.
+	 */
+	public void clearObservations() {
+		Arrays.fill(this.counts, 0L);
+		fireDatasetChanged();
+	}
+
+	/**
+	 * Returns the index of the bin for a value, throwing an exception if
+	 * there is no such bin.
+	 *
+	 * @param value
+	 *            the value.
+	 *
+	 * @return The bin index.
+	 */
+	private int findBin(double value) {
+		int bin = getBinIndex(value);
+		if (bin < 0) {
+			throw new IllegalArgumentException("No bin for the value "
+					+ value + ".");
+		}
+		return bin;
+	}
+
+	/**
+	 * Counts a range of values into a new array of bins.
+	 *
+	 * @param values
+	 *            the values.
+	 * @param from
+	 *            the index of the first value (inclusive).
+	 * @param to
+	 *            the index of the last value (exclusive).
+	 *
+	 * @return The counts.
+	 */
+	private long[] countObservations(double[] values, int from, int to) {
+		long[] result = new long[this.counts.length];
+		for (int i = from; i < to; i++) {
+			result[findBin(values[i])]++;
+		}
+		return result;
+	}
+
+	/**
+	 * Adds one array of counts into another.
+	 *
+	 * @param target
+	 *            the target counts.
+	 * @param source
+	 *            the counts to add.
+	 */
+	private static void merge(long[] target, long[] source) {
+		for (int i = 0; i < target.length; i++) {
+			target[i] += source[i];
+		}
+	}
+
+	/**
+	 * Returns the number of series in the dataset (always 1 for this dataset).
+	 *
+	 * @return The series count.
+	 */
+	@Override
+	public int getSeriesCount() {
+		return 1;
+	}
+
+	/**
+	 * Returns the key for a series. Since this dataset only stores a single
+	 * series, the {@code series} argument is ignored.
+	 *
+	 * @param series
+	 *            the series (zero-based index, ignored in this dataset).
+	 *
+	 * @return The key for the series.
+	 */
+	@Override
+	public Comparable getSeriesKey(int series) {
+		return this.key;
+	}
+
+	/**
+	 * Returns the order of the domain (or X) values returned by the dataset.
+	 *
+	 * @return The order (never {@code null}).
+	 */
+	@Override
+	public DomainOrder getDomainOrder() {
+		return DomainOrder.ASCENDING;
+	}
+
+	/**
+	 * Returns the number of items in a series (the number of bins). Since
+	 * this dataset only stores a single series, the {@code series} argument
+	 * is ignored.
+	 *
+	 * @param series
+	 *            the series index (zero-based, ignored in this dataset).
+	 *
+	 * @return The item count.
+	 */
+	@Override
+	public int getItemCount(int series) {
+		return this.counts.length;
+	}
+
+	/**
+	 * Returns the x-value (the middle of the bin) for an item.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param item
+	 *            the item index (zero-based).
+	 *
+	 * @return The x-value (never {@code null}).
+	 */
+	@Override
+	public Number getX(int series, int item) {
+		return getXValue(series, item);
+	}
+
+	/**
+	 * Returns the x-value (the middle of the bin) for an item.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param item
+	 *            the item index (zero-based).
+	 *
+	 * @return The x-value.
+	 */
+	@Override
+	public double getXValue(int series, int item) {
+		return (this.edges[item] + this.edges[item + 1]) / 2.0;
+	}
+
+	/**
+	 * Returns the y-value for an item.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param item
+	 *            the item index (zero-based).
+	 *
+	 * @return The y-value (never {@code null}).
+	 */
+	@Override
+	public Number getY(int series, int item) {
+		return getYValue(series, item);
+	}
+
+	/**
+	 * Returns the y-value for an item: the bin count, divided by the bin
+	 * width if the {@code adjustForBinSize} flag is set.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param item
+	 *            the item index (zero-based).
+	 *
+	 * @return The y-value.
+	 *
+	 * @see #getAdjustForBinSize()
+	 */
+	@Override
+	public double getYValue(int series, int item) {
+		double count = this.counts[item];
+		if (this.adjustForBinSize) {
+			return count / (this.edges[item + 1] - this.edges[item]);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the starting x-value (the lower edge of the bin) for an item.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param item
+	 *            the item index (zero-based).
+	 *
+	 * @return The value.
+	 */
+	@Override
+	public Number getStartX(int series, int item) {
+		return getStartXValue(series, item);
+	}
+
+	/**
+	 * Returns the starting x-value (the lower edge of the bin) for an item.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param item
+	 *            the item index (zero-based).
+	 *
+	 * @return The start x-value.
+	 */
+	@Override
+	public double getStartXValue(int series, int item) {
+		return this.edges[item];
+	}
+
+	/**
+	 * Returns the ending x-value (the upper edge of the bin) for an item.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param item
+	 *            the item index (zero-based).
+	 *
+	 * @return The value.
+	 */
+	@Override
+	public Number getEndX(int series, int item) {
+		return getEndXValue(series, item);
+	}
+
+	/**
+	 * Returns the ending x-value (the upper edge of the bin) for an item.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param item
+	 *            the item index (zero-based).
+	 *
+	 * @return The end x-value.
+	 */
+	@Override
+	public double getEndXValue(int series, int item) {
+		return this.edges[item + 1];
+	}
+
+	/**
+	 * Returns the starting y-value (the same as the y-value) for an item.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param item
+	 *            the item index (zero-based).
+	 *
+	 * @return The value.
+	 */
+	@Override
+	public Number getStartY(int series, int item) {
+		return getY(series, item);
+	}
+
+	/**
+	 * Returns the starting y-value (the same as the y-value) for an item.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param item
+	 *            the item index (zero-based).
+	 *
+	 * @return The start y-value.
+	 */
+	@Override
+	public double getStartYValue(int series, int item) {
+		return getYValue(series, item);
+	}
+
+	/**
+	 * Returns the ending y-value (the same as the y-value) for an item.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param item
+	 *            the item index (zero-based).
+	 *
+	 * @return The value.
+	 */
+	@Override
+	public Number getEndY(int series, int item) {
+		return getY(series, item);
+	}
+
+	/**
+	 * Returns the ending y-value (the same as the y-value) for an item.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param item
+	 *            the item index (zero-based).
+	 *
+	 * @return The end y-value.
+	 */
+	@Override
+	public double getEndYValue(int series, int item) {
+		return getYValue(series, item);
+	}
+
+	/**
+	 * Compares the dataset for equality with an arbitrary object.
+	 *
+	 * @param obj
+	 *            the object ({@code null} permitted).
+	 *
+	 * @return A boolean.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof BinnedHistogramDataset)) {
+			return false;
+		}
+		BinnedHistogramDataset that = (BinnedHistogramDataset) obj;
+		if (!this.key.equals(that.key)) {
+			return false;
+		}
+		if (this.adjustForBinSize != that.adjustForBinSize) {
+			return false;
+		}
+		if (!Arrays.equals(this.edges, that.edges)) {
+			return false;
+		}
+		if (!Arrays.equals(this.counts, that.counts)) {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a hash code for this instance.
+	 *
+	 * @return A hash code.
+	 */
+	@Override
+	public int hashCode() {
+		int result = this.key.hashCode();
+		result = 31 * result + Arrays.hashCode(this.edges);
+		result = 31 * result + Arrays.hashCode(this.counts);
+		return result;
+	}
+
+	/**
+	 * Returns a clone of the dataset.
+	 *
+	 * @return A clone.
+	 *
+	 * @throws CloneNotSupportedException
+	 *             not thrown by this class, but maybe by subclasses (if any).
+	 */
+	@Override
+	public Object clone() throws CloneNotSupportedException {
+		BinnedHistogramDataset clone = (BinnedHistogramDataset) super.clone();
+		clone.edges = this.edges.clone();
+		clone.counts = this.counts.clone();
+		return clone;
+	}
+
+}
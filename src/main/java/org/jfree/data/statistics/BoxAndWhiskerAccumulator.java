@@ -0,0 +1,553 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------------
+ * BoxAndWhiskerAccumulator.java
+ * -----------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.statistics;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jfree.chart.util.ParamChecks;
+import org.jfree.chart.util.PublicCloneable;
+
+/**
+ * Accumulates the statistics for a {@link BoxAndWhiskerItem} from values that
+ * are added one at a time, without keeping all the values.  Up to
+ * {@code exactCount} values are kept, and while no more values than that
+ * have been added the item is exactly the one that
+ * {@link BoxAndWhiskerCalculator} would calculate.  After that the values are
+ * discarded and the quartiles are estimated with the P-square algorithm
+ * (R. Jain and I. Chlamtac, 1985), which uses a fixed amount of memory.  The
+ * mean is always exact.
+ * <P>
+ * In the estimated mode, the {@code tailCount} lowest and highest values are
+ * kept, and the outliers and the regular value bounds are found among them.
+ * At most {@code tailCount} outliers are reported at each end, and if all
+ * the values kept at one end are outliers the regular value bound at that
+ * end is the outlier threshold.
+ *
+ * @see DefaultBoxAndWhiskerCategoryDataset#addObservation(double,
+ *     Comparable, Comparable)
+ *
+ * @since 2.0
+ */
+public class BoxAndWhiskerAccumulator implements Cloneable, PublicCloneable,
+		Serializable {
+
+	/** For serialization. */
+	private static final long serialVersionUID = -1290547386226853190L;
+
+	/** The default number of values for which the statistics are exact. */
+	public static final int DEFAULT_EXACT_COUNT = 1000;
+
+	/** The default number of values kept at each end. */
+	public static final int DEFAULT_TAIL_COUNT = 100;
+
+	/** The number of values for which the statistics are exact. */
+	private int exactCount;
+
+	/** The number of values kept at each end in the estimated mode. */
+	private int tailCount;
+
+	/** The values, until there are too many to keep. */
+	private double[] values;
+
+	/** The number of values (other than {@code Double.NaN}) added. */
+	private long count;
+
+	/** The sum of the values. */
+	private double sum;
+
+	/** The estimators for the first quartile, median and third quartile. */
+	private QuantileEstimator[] quartiles;
+
+	/** The lowest values, in ascending order (estimated mode only). */
+	private double[] lowest;
+
+	/** The highest values, in descending order (estimated mode only). */
+	private double[] highest;
+
+	/** The number of values in {@code lowest} and {@code highest}. */
+	private int tailSize;
+
+	/**
+	 * Creates a new accumulator with the default exact count and tail count.
+	 */
+	public BoxAndWhiskerAccumulator() {
+		this(DEFAULT_EXACT_COUNT, DEFAULT_TAIL_COUNT);
+	}
+
+	/**
+	 * Creates a new accumulator.
+	 *
+	 * @param exactCount
+	 *            the number of values for which the statistics are exact
+	 *            (at least 16).
+	 * @param tailCount
+	 *            the number of values kept at each end when the quartiles
+	 *            are estimated (at least 1, and less than
+	 *            {@code exactCount / 2}).
+	 */
+	public BoxAndWhiskerAccumulator(int exactCount, int tailCount) {
+		if (exactCount < 16) {
+			throw new IllegalArgumentException("Requires 'exactCount' >= 16.");
+		}
+		if (tailCount < 1 || tailCount >= exactCount / 2) {
+			throw new IllegalArgumentException("Requires 1 <= 'tailCount' "
+					+ "< 'exactCount' / 2.");
+		}
+		this.exactCount = exactCount;
+		this.tailCount = tailCount;
+		this.values = new double[16];
+	}
+
+	/**
+	 * Returns the number of values (other than {@code Double.NaN}) added.
+	 *
+	 * @return The count.
+	 */
+	public long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Returns {@code true} if the statistics are exact, and {@code false}
+	 * if the quartiles and outliers are estimated.
+	 *
+	 * @return A boolean.
+	 */
+	public boolean isExact() {
+		return this.quartiles == null;
+	}
+
+	/**
+	 * Adds a value.  {@code Double.NaN} values are ignored.
+	 *
+	 * @param value
+	 *            the value.
+	 */
+	public void add(double value) {
+		if (Double.isNaN(value)) {
+			return;
+		}
+		if (this.quartiles == null) {
+			if (this.count < this.exactCount) {
+				if (this.count == this.values.length) {
+					this.values = Arrays.copyOf(this.values, Math.min(
+							this.exactCount, this.values.length * 2));
+				}
+				this.values[(int) this.count] = value;
+				this.count++;
+				this.sum += value;
+				return;
+			}
+			startEstimating();
+		}
+		this.count++;
+		this.sum += value;
+		for (QuantileEstimator q : this.quartiles) {
+			q.add(value);
+		}
+		addToTails(value);
+	}
+
+	/**
+	 * Adds an array of values.  {@code Double.NaN} values are ignored.
+	 *
+	 * @param values
+	 *            the values ({@code null} not permitted).
+	 */
+	public void addAll(double[] values) {
+		ParamChecks.nullNotPermitted(values, "values");
+		for (double value : values) {
+			add(value);
+		}
+	}
+
+	/**
+	 * Removes all the values.
+	 */
+	public void clear() {
+		this.values = new double[16];
+		this.count = 0L;
+		this.sum = 0.0;
+		this.quartiles = null;
+		this.lowest = null;
+		this.highest = null;
+		this.tailSize = 0;
+	}
+
+	/**
+	 * Returns the statistics for the values added so far.
+	 *
+	 * @return A box-and-whisker item (never {@code null}).
+	 */
+	public BoxAndWhiskerItem getItem() {
+		if (this.quartiles == null) {
+			return BoxAndWhiskerCalculator.calculateBoxAndWhiskerStatistics(
+					Arrays.copyOf(this.values, (int) this.count));
+		}
+		double mean = this.sum / this.count;
+		double median = this.quartiles[1].getEstimate();
+		double q1 = Math.min(this.quartiles[0].getEstimate(), median);
+		double q3 = Math.max(this.quartiles[2].getEstimate(), median);
+		double iqr = q3 - q1;
+		double lowerOutlierThreshold = q1 - iqr * 1.5;
+		double upperOutlierThreshold = q3 + iqr * 1.5;
+		double lowerFaroutThreshold = q1 - iqr * 2.0;
+		double upperFaroutThreshold = q3 + iqr * 2.0;
+
+		List<Number> outliers = new ArrayList<Number>();
+		double minRegularValue = lowerOutlierThreshold;
+		double minOutlier = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < this.tailSize; i++) {
+			double v = this.lowest[i];
+			if (v >= lowerOutlierThreshold) {
+				minRegularValue = v;
+				break;
+			}
+			outliers.add(v);
+			if (v >= lowerFaroutThreshold) {
+				minOutlier = Math.min(minOutlier, v);
+			}
+		}
+		List<Number> upperOutliers = new ArrayList<Number>();
+		double maxRegularValue = upperOutlierThreshold;
+		double maxOutlier = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < this.tailSize; i++) {
+			double v = this.highest[i];
+			if (v <= upperOutlierThreshold) {
+				maxRegularValue = v;
+				break;
+			}
+			upperOutliers.add(0, v);
+			if (v <= upperFaroutThreshold) {
+				maxOutlier = Math.max(maxOutlier, v);
+			}
+		}
+		outliers.addAll(upperOutliers);
+		minOutlier = Math.min(minOutlier, minRegularValue);
+		maxOutlier = Math.max(maxOutlier, maxRegularValue);
+		return new BoxAndWhiskerItem(mean, median, q1, q3, minRegularValue,
+				maxRegularValue, minOutlier, maxOutlier, outliers);
+	}
+
+	/**
+	 * Switches to the estimated mode, initialising the quartile estimators
+	 * and the tails from the values kept so far (there are
+	 * {@code exactCount} of them), and discards the values.
+	 */
+	private void startEstimating() {
+		double[] sorted = this.values;
+		int n = sorted.length;
+		Arrays.sort(sorted);
+		this.quartiles = new QuantileEstimator[] {
+				new QuantileEstimator(0.25, sorted),
+				new QuantileEstimator(0.5, sorted),
+				new QuantileEstimator(0.75, sorted) };
+		this.lowest = new double[this.tailCount];
+		this.highest = new double[this.tailCount];
+		for (int i = 0; i < this.tailCount; i++) {
+			this.lowest[i] = sorted[i];
+			this.highest[i] = sorted[n - 1 - i];
+		}
+		this.tailSize = this.tailCount;
+		this.values = null;
+	}
+
+	/**
+	 * Records a value in the tails, if it is among the lowest or highest
+	 * values seen.
+	 *
+	 * @param value
+	 *            the value.
+	 */
+	private void addToTails(double value) {
+		int last = this.tailSize - 1;
+		if (value < this.lowest[last]) {
+			int i = last;
+			while (i > 0 && this.lowest[i - 1] > value) {
+				this.lowest[i] = this.lowest[i - 1];
+				i--;
+			}
+			this.lowest[i] = value;
+		}
+		if (value > this.highest[last]) {
+			int i = last;
+			while (i > 0 && this.highest[i - 1] < value) {
+				this.highest[i] = this.highest[i - 1];
+				i--;
+			}
+			this.highest[i] = value;
+		}
+	}
+
+	/**
+	 * Tests this accumulator for equality with an arbitrary object.
+	 *
+	 * @param obj
+	 *            the object ({@code null} permitted).
+	 *
+	 * @return A boolean.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof BoxAndWhiskerAccumulator)) {
+			return false;
+		}
+		BoxAndWhiskerAccumulator that = (BoxAndWhiskerAccumulator) obj;
+		if (this.count != that.count || this.exactCount != that.exactCount
+				|| this.tailCount != that.tailCount) {
+			return false;
+		}
+		if (Double.doubleToLongBits(this.sum)
+				!= Double.doubleToLongBits(that.sum)) {
+			return false;
+		}
+		if (!Arrays.equals(this.values, that.values)) {
+			return false;
+		}
+		if (!Arrays.equals(this.quartiles, that.quartiles)) {
+			return false;
+		}
+		if (!Arrays.equals(this.lowest, that.lowest)) {
+			return false;
+		}
+		if (!Arrays.equals(this.highest, that.highest)) {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a hash code for this instance.
+	 *
+	 * @return A hash code.
+	 */
+	@Override
+	public int hashCode() {
+		int result = (int) (this.count ^ (this.count >>> 32));
+		long bits = Double.doubleToLongBits(this.sum);
+		result = 31 * result + (int) (bits ^ (bits >>> 32));
+		return result;
+	}
+
+	/**
+	 * Returns a clone of this accumulator.
+	 *
+	 * @return A clone.
+	 *
+	 * @throws CloneNotSupportedException
+	 *             not thrown by this class.
+	 */
+	@Override
+	public Object clone() throws CloneNotSupportedException {
+		BoxAndWhiskerAccumulator clone
+				= (BoxAndWhiskerAccumulator) super.clone();
+		if (this.values != null) {
+			clone.values = this.values.clone();
+		}
+		if (this.quartiles != null) {
+			clone.quartiles = new QuantileEstimator[this.quartiles.length];
+			for (int i = 0; i < this.quartiles.length; i++) {
+				clone.quartiles[i]
+						= (QuantileEstimator) this.quartiles[i].clone();
+			}
+			clone.lowest = this.lowest.clone();
+			clone.highest = this.highest.clone();
+		}
+		return clone;
+	}
+
+	/**
+	 * Estimates one quantile of a stream of values with the P-square
+	 * algorithm: five markers track the minimum, the maximum, the quantile
+	 * and the quantiles half way to each end, and their heights are adjusted
+	 * with piecewise-parabolic interpolation as values arrive.
+	 */
+	private static class QuantileEstimator implements Cloneable,
+			Serializable {
+
+		/** For serialization. */
+		private static final long serialVersionUID = 6034179542836315204L;
+
+		/** The quantile (between 0 and 1). */
+		private double p;
+
+		/** The marker heights. */
+		private double[] heights;
+
+		/** The marker positions (1-based). */
+		private double[] positions;
+
+		/** The desired marker positions. */
+		private double[] desired;
+
+		/** The increments for the desired marker positions. */
+		private double[] increments;
+
+		/**
+		 * Creates an estimator initialised from sorted values.
+		 *
+		 * @param p
+		 *            the quantile.
+		 * @param sorted
+		 *            the values seen so far, in ascending order (at least
+		 *            16 values).
+		 */
+		QuantileEstimator(double p, double[] sorted) {
+			this.p = p;
+			this.increments = new double[] { 0.0, p / 2.0, p,
+					(1.0 + p) / 2.0, 1.0 };
+			int n = sorted.length;
+			this.desired = new double[5];
+			this.positions = new double[5];
+			this.heights = new double[5];
+			for (int i = 0; i < 5; i++) {
+				this.desired[i] = 1.0 + (n - 1) * this.increments[i];
+				this.positions[i] = Math.rint(this.desired[i]);
+				this.heights[i] = sorted[(int) this.positions[i] - 1];
+			}
+		}
+
+		/**
+		 * Returns the estimate of the quantile.
+		 *
+		 * @return The estimate.
+		 */
+		double getEstimate() {
+			return this.heights[2];
+		}
+
+		/**
+		 * Adds a value.
+		 *
+		 * @param x
+		 *            the value.
+		 */
+		void add(double x) {
+			double[] q = this.heights;
+			double[] n = this.positions;
+			int k;
+			if (x < q[0]) {
+				q[0] = x;
+				k = 0;
+			}
+			else if (x >= q[4]) {
+				q[4] = x;
+				k = 3;
+			}
+			else {
+				k = 0;
+				while (x >= q[k + 1]) {
+					k++;
+				}
+			}
+			for (int i = k + 1; i < 5; i++) {
+				n[i]++;
+			}
+			for (int i = 0; i < 5; i++) {
+				this.desired[i] += this.increments[i];
+			}
+			for (int i = 1; i < 4; i++) {
+				double d = this.desired[i] - n[i];
+				if ((d >= 1.0 && n[i + 1] - n[i] > 1.0)
+						|| (d <= -1.0 && n[i - 1] - n[i] < -1.0)) {
+					int s = d > 0.0 ? 1 : -1;
+					double h = parabolic(i, s);
+					if (q[i - 1] < h && h < q[i + 1]) {
+						q[i] = h;
+					}
+					else {
+						q[i] = q[i] + s * (q[i + s] - q[i]) / (n[i + s] - n[i]);
+					}
+					n[i] += s;
+				}
+			}
+		}
+
+		/**
+		 * Returns the new height for a marker moved by one position, using
+		 * the piecewise-parabolic formula.
+		 *
+		 * @param i
+		 *            the marker index (1 to 3).
+		 * @param s
+		 *            the direction (1 or -1).
+		 *
+		 * @return The height.
+		 */
+		private double parabolic(int i, int s) {
+			double[] q = this.heights;
+			double[] n = this.positions;
+			return q[i] + s / (n[i + 1] - n[i - 1])
+					* ((n[i] - n[i - 1] + s) * (q[i + 1] - q[i])
+					/ (n[i + 1] - n[i])
+					+ (n[i + 1] - n[i] - s) * (q[i] - q[i - 1])
+					/ (n[i] - n[i - 1]));
+		}
+
+		@Override
+		protected Object clone() throws CloneNotSupportedException {
+			QuantileEstimator clone = (QuantileEstimator) super.clone();
+			clone.heights = this.heights.clone();
+			clone.positions = this.positions.clone();
+			clone.desired = this.desired.clone();
+			return clone;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof QuantileEstimator)) {
+				return false;
+			}
+			QuantileEstimator that = (QuantileEstimator) obj;
+			return this.p == that.p
+					&& Arrays.equals(this.heights, that.heights)
+					&& Arrays.equals(this.positions, that.positions)
+					&& Arrays.equals(this.desired, that.desired);
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(this.heights);
+		}
+
+	}
+
+}
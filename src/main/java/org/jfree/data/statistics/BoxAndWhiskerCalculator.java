@@ -55,7 +55,10 @@ import java.util.List;
 /**
  * A utility class that calculates the mean, median, quartiles Q1 and Q3, plus a
  * list of outlier values...all from an arbitrary list of <code>Number</code>
- * objects.
+ * objects or an array of <code>double</code> values.  The quartiles are found
+ * with a selection algorithm, so the values are never fully sorted.  To
+ * summarise values that arrive incrementally without keeping them all, use
+ * a {@link BoxAndWhiskerAccumulator}.
  */
 public abstract class BoxAndWhiskerCalculator {
 
@@ -97,25 +100,95 @@ public abstract class BoxAndWhiskerCalculator {
 			throw new IllegalArgumentException("Null 'values' argument.");
 		}
 
-		List<Number> vlist;
-		if (stripNullAndNaNItems) {
-			vlist = new ArrayList<Number>(values.size());
-			for (Number n : values) {
-				double v = n.doubleValue();
-				if (!Double.isNaN(v)) {
-					vlist.add(n);
-				}
+		double[] working = new double[values.size()];
+		int count = 0;
+		for (Number n : values) {
+			double v = n != null ? n.doubleValue() : Double.NaN;
+			if (!stripNullAndNaNItems || !Double.isNaN(v)) {
+				working[count++] = v;
+			}
+		}
+		return calculateBoxAndWhiskerStatistics(working, count,
+				stripNullAndNaNItems ? null : values);
+
+	}
+
+	/**
+	 * Calculates the statistics required for a {@link BoxAndWhiskerItem} from
+	 * an array of values, ignoring any values that are {@code Double.NaN}.
+	 * The quartiles are found by selection rather than by sorting, and the
+	 * values are reordered in the process (pass a copy of the array if the
+	 * original order is needed).
+	 *
+	 * @param values
+	 *            the values (<code>null</code> not permitted).
+	 *
+	 * @return A box-and-whisker item.
+	 *
+	 * @since 2.0
+	 */
+	public static BoxAndWhiskerItem calculateBoxAndWhiskerStatistics(
+			double[] values) {
+
+		if (values == null) {
+			throw new IllegalArgumentException("Null 'values' argument.");
+		}
+
+		// move the NaN values to the end of the array
+		int count = 0;
+		for (int i = 0; i < values.length; i++) {
+			double v = values[i];
+			if (!Double.isNaN(v)) {
+				values[i] = values[count];
+				values[count++] = v;
 			}
 		}
-		else {
-			vlist = values;
+		return calculateBoxAndWhiskerStatistics(values, count, null);
+
+	}
+
+	/**
+	 * Calculates the statistics for the first {@code count} values in an
+	 * array, reordering them.
+	 *
+	 * @param values
+	 *            the values.
+	 * @param count
+	 *            the number of values to use.
+	 * @param numbers
+	 *            if not {@code null}, the source of the values (the outliers
+	 *            are taken from this list, so that the items keep their type).
+	 *
+	 * @return A box-and-whisker item.
+	 */
+	private static BoxAndWhiskerItem calculateBoxAndWhiskerStatistics(
+			double[] values, int count, List<Number> numbers) {
+
+		double sum = 0.0;
+		int n = 0;
+		for (int i = 0; i < count; i++) {
+			if (!Double.isNaN(values[i])) {
+				sum += values[i];
+				n++;
+			}
 		}
-		Collections.sort(vlist, new NumberComparator());
+		double mean = sum / n;
 
-		double mean = Statistics.calculateMean(vlist, false);
-		double median = Statistics.calculateMedian(vlist, false);
-		double q1 = calculateQ1(vlist);
-		double q3 = calculateQ3(vlist);
+		// select the median first, then the quartiles within each half
+		double median = Statistics.calculateMedian(values, 0, count - 1);
+		double q1 = Double.NaN;
+		double q3 = Double.NaN;
+		if (count > 0) {
+			int h = count / 2;
+			if (count % 2 == 1) {
+				q1 = Statistics.calculateMedian(values, 0, h);
+				q3 = Statistics.calculateMedian(values, h, count - 1);
+			}
+			else {
+				q1 = Statistics.calculateMedian(values, 0, h - 1);
+				q3 = Statistics.calculateMedian(values, h, count - 1);
+			}
+		}
 
 		double interQuartileRange = q3 - q1;
 
@@ -131,25 +204,29 @@ public abstract class BoxAndWhiskerCalculator {
 		double maxOutlier = Double.NEGATIVE_INFINITY;
 		List<Number> outliers = new ArrayList<Number>();
 
-		for (Number number : vlist) {
-			double value = number.doubleValue();
+		int size = numbers != null ? numbers.size() : count;
+		for (int i = 0; i < size; i++) {
+			Number number = numbers != null ? numbers.get(i) : null;
+			double value = numbers != null ? (number != null
+					? number.doubleValue() : Double.NaN) : values[i];
 			if (value > upperOutlierThreshold) {
-				outliers.add(number);
+				outliers.add(number != null ? number : value);
 				if (value > maxOutlier && value <= upperFaroutThreshold) {
 					maxOutlier = value;
 				}
 			} else if (value < lowerOutlierThreshold) {
-				outliers.add(number);
+				outliers.add(number != null ? number : value);
 				if (value < minOutlier && value >= lowerFaroutThreshold) {
 					minOutlier = value;
 				}
-			} else {
+			} else if (!Double.isNaN(value)) {
 				minRegularValue = Math.min(minRegularValue, value);
 				maxRegularValue = Math.max(maxRegularValue, value);
 			}
-			minOutlier = Math.min(minOutlier, minRegularValue);
-			maxOutlier = Math.max(maxOutlier, maxRegularValue);
 		}
+		minOutlier = Math.min(minOutlier, minRegularValue);
+		maxOutlier = Math.max(maxOutlier, maxRegularValue);
+		Collections.sort(outliers, new NumberComparator());
 
 		return new BoxAndWhiskerItem(mean, median,
 				q1, q3, minRegularValue,
@@ -181,14 +258,16 @@ public abstract class BoxAndWhiskerCalculator {
 		if (count > 0) {
 			if (count % 2 == 1) {
 				if (count > 1) {
-					result = Statistics.calculateMedian(values, 0, count / 2);
+					result = Statistics.calculateMedian(values, 0, count / 2,
+							false);
 				}
 				else {
-					result = Statistics.calculateMedian(values, 0, 0);
+					result = Statistics.calculateMedian(values, 0, 0, false);
 				}
 			}
 			else {
-				result = Statistics.calculateMedian(values, 0, count / 2 - 1);
+				result = Statistics.calculateMedian(values, 0,
+						count / 2 - 1, false);
 			}
 
 		}
@@ -217,15 +296,15 @@ public abstract class BoxAndWhiskerCalculator {
 			if (count % 2 == 1) {
 				if (count > 1) {
 					result = Statistics.calculateMedian(values, count / 2,
-							count - 1);
+							count - 1, false);
 				}
 				else {
-					result = Statistics.calculateMedian(values, 0, 0);
+					result = Statistics.calculateMedian(values, 0, 0, false);
 				}
 			}
 			else {
 				result = Statistics.calculateMedian(values, count / 2,
-						count - 1);
+						count - 1, false);
 			}
 		}
 		return result;
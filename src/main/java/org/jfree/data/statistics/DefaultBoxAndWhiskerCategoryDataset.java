@@ -57,9 +57,14 @@
 
 package org.jfree.data.statistics;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.jfree.chart.util.ObjectUtils;
+import org.jfree.chart.util.ParamChecks;
 import org.jfree.chart.util.PublicCloneable;
 import org.jfree.data.KeyedObjects2D;
 import org.jfree.data.Range;
@@ -99,6 +104,12 @@ public class DefaultBoxAndWhiskerCategoryDataset extends AbstractDataset
 	 */
 	private int maximumRangeValueColumn;
 
+	/**
+	 * The accumulators for the cells that have been fed with observations,
+	 * keyed by a list containing the row key and the column key.
+	 */
+	private Map<List<Comparable>, BoxAndWhiskerAccumulator> accumulators;
+
 	/**
 	 * Creates a new dataset.
 	 */
@@ -110,6 +121,8 @@ public class DefaultBoxAndWhiskerCategoryDataset extends AbstractDataset
 		this.maximumRangeValue = Double.NaN;
 		this.maximumRangeValueRow = -1;
 		this.maximumRangeValueColumn = -1;
+		this.accumulators
+				= new HashMap<List<Comparable>, BoxAndWhiskerAccumulator>();
 	}
 
 	/**
@@ -147,6 +160,116 @@ public class DefaultBoxAndWhiskerCategoryDataset extends AbstractDataset
 	 */
 	public void add(BoxAndWhiskerItem item, Comparable rowKey,
 			Comparable columnKey) {
+		this.accumulators.remove(Arrays.asList(rowKey, columnKey));
+		setItem(item, rowKey, columnKey);
+	}
+
+	/**
+	 * Adds an observation to the values summarised by one item and sends a
+	 * {@link DatasetChangeEvent} to all registered listeners.  The item is
+	 * calculated by a {@link BoxAndWhiskerAccumulator}, so the observations
+	 * themselves are not kept once there are many of them (the quartiles
+	 * and outliers are then estimated).  An item added with
+	 * {@link #add(BoxAndWhiskerItem, Comparable, Comparable)} is replaced
+	 * by the item for the observations.
+	 *
+	 * @param value
+	 *            the value ({@code Double.NaN} is ignored).
+	 * @param rowKey
+	 *            the row key (<code>null</code> not permitted).
+	 * @param columnKey
+	 *            the column key (<code>null</code> not permitted).
+	 *
+	 * @see #addObservations(double[], Comparable, Comparable)
+	 *
+	 * @since 2.0
+	 */
+	public void addObservation(double value, Comparable rowKey,
+			Comparable columnKey) {
+		BoxAndWhiskerAccumulator accumulator = getAccumulator(rowKey,
+				columnKey);
+		accumulator.add(value);
+		setItem(accumulator.getItem(), rowKey, columnKey);
+	}
+
+	/**
+	 * Adds observations to the values summarised by one item and sends a
+	 * single {@link DatasetChangeEvent} to all registered listeners.
+	 *
+	 * @param values
+	 *            the values (<code>null</code> not permitted).
+	 * @param rowKey
+	 *            the row key (<code>null</code> not permitted).
+	 * @param columnKey
+	 *            the column key (<code>null</code> not permitted).
+	 *
+	 * @see #addObservation(double, Comparable, Comparable)
+	 *
+	 * @since 2.0
+	 */
+	public void addObservations(double[] values, Comparable rowKey,
+			Comparable columnKey) {
+		BoxAndWhiskerAccumulator accumulator = getAccumulator(rowKey,
+				columnKey);
+		accumulator.addAll(values);
+		setItem(accumulator.getItem(), rowKey, columnKey);
+	}
+
+	/**
+	 * Returns the accumulator for a cell, creating it if necessary.
+	 *
+	 * @param rowKey
+	 *            the row key.
+	 * @param columnKey
+	 *            the column key.
+	 *
+	 * @return The accumulator.
+	 */
+	private BoxAndWhiskerAccumulator getAccumulator(Comparable rowKey,
+			Comparable columnKey) {
+		ParamChecks.nullNotPermitted(rowKey, "rowKey");
+		ParamChecks.nullNotPermitted(columnKey, "columnKey");
+		List<Comparable> key = Arrays.asList(rowKey, columnKey);
+		BoxAndWhiskerAccumulator result = this.accumulators.get(key);
+		if (result == null) {
+			result = new BoxAndWhiskerAccumulator();
+			this.accumulators.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Removes the accumulators for a row or a column.
+	 *
+	 * @param index
+	 *            the index in the accumulator keys (0 for a row, 1 for a
+	 *            column).
+	 * @param key
+	 *            the row or column key.
+	 */
+	private void removeAccumulators(int index, Comparable key) {
+		Iterator<List<Comparable>> iterator
+				= this.accumulators.keySet().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().get(index).equals(key)) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Stores an item in the table, updates the cached bounds and sends a
+	 * {@link DatasetChangeEvent} to all registered listeners.
+	 *
+	 * @param item
+	 *            the item.
+	 * @param rowKey
+	 *            the row key.
+	 * @param columnKey
+	 *            the column key.
+	 */
+	private void setItem(BoxAndWhiskerItem item, Comparable rowKey,
+			Comparable columnKey) {
 
 		this.data.addObject(item, rowKey, columnKey);
 
@@ -214,6 +337,7 @@ public class DefaultBoxAndWhiskerCategoryDataset extends AbstractDataset
 		int r = getRowIndex(rowKey);
 		int c = getColumnIndex(columnKey);
 		this.data.removeObject(rowKey, columnKey);
+		this.accumulators.remove(Arrays.asList(rowKey, columnKey));
 
 		// if this cell held a maximum and/or minimum value, we'll need to
 		// update the cached bounds...
@@ -238,6 +362,7 @@ public class DefaultBoxAndWhiskerCategoryDataset extends AbstractDataset
 	 * @since 1.0.7
 	 */
 	public void removeRow(int rowIndex) {
+		removeAccumulators(0, getRowKey(rowIndex));
 		this.data.removeRow(rowIndex);
 		updateBounds();
 		fireDatasetChanged();
@@ -256,6 +381,7 @@ public class DefaultBoxAndWhiskerCategoryDataset extends AbstractDataset
 	 */
 	public void removeRow(Comparable rowKey) {
 		this.data.removeRow(rowKey);
+		removeAccumulators(0, rowKey);
 		updateBounds();
 		fireDatasetChanged();
 	}
@@ -272,6 +398,7 @@ public class DefaultBoxAndWhiskerCategoryDataset extends AbstractDataset
 	 * @since 1.0.7
 	 */
 	public void removeColumn(int columnIndex) {
+		removeAccumulators(1, getColumnKey(columnIndex));
 		this.data.removeColumn(columnIndex);
 		updateBounds();
 		fireDatasetChanged();
@@ -290,6 +417,7 @@ public class DefaultBoxAndWhiskerCategoryDataset extends AbstractDataset
 	 */
 	public void removeColumn(Comparable columnKey) {
 		this.data.removeColumn(columnKey);
+		removeAccumulators(1, columnKey);
 		updateBounds();
 		fireDatasetChanged();
 	}
@@ -302,6 +430,7 @@ public class DefaultBoxAndWhiskerCategoryDataset extends AbstractDataset
 	 */
 	public void clear() {
 		this.data.clear();
+		this.accumulators.clear();
 		updateBounds();
 		fireDatasetChanged();
 	}
@@ -1005,6 +1134,13 @@ public class DefaultBoxAndWhiskerCategoryDataset extends AbstractDataset
 	public Object clone() throws CloneNotSupportedException {
 		DefaultBoxAndWhiskerCategoryDataset clone = (DefaultBoxAndWhiskerCategoryDataset) super.clone();
 		clone.data = (KeyedObjects2D) this.data.clone();
+		clone.accumulators
+				= new HashMap<List<Comparable>, BoxAndWhiskerAccumulator>();
+		for (Map.Entry<List<Comparable>, BoxAndWhiskerAccumulator> entry
+				: this.accumulators.entrySet()) {
+			clone.accumulators.put(entry.getKey(),
+					(BoxAndWhiskerAccumulator) entry.getValue().clone());
+		}
 		return clone;
 	}
 
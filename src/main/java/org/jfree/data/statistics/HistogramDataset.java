@@ -210,22 +210,49 @@ public class HistogramDataset extends AbstractIntervalXYDataset
 	 *            send {@link DatasetChangeEvent} to listeners?
 	 */
 	public void addObservation(double value, boolean notify) {
-		boolean placed = false;
-		for (HistogramBin bin : this.bins) {
-			if (bin.accepts(value)) {
-				bin.setItemCount(bin.getItemCount() + 1);
-				placed = true;
-				break;
-			}
-		}
-		if (!placed) {
+		HistogramBin bin = findBin(value);
+		if (bin == null) {
 			throw new RuntimeException("No bin.");
 		}
+		bin.setItemCount(bin.getItemCount() + 1);
 		if (notify) {
 			notifyListeners(new DatasetChangeEvent(this, this));
 		}
 	}
 
+	/**
+	 * Returns the bin that accepts the specified value, using a binary search
+	 * (the bins are sorted and do not overlap, so only the bin with the
+	 * highest lower bound not greater than the value, and the bin before it,
+	 * can accept the value).
+	 *
+	 * @param value
+	 *            the value.
+	 *
+	 * @return The bin ({@code null} if no bin accepts the value).
+	 */
+	private HistogramBin findBin(double value) {
+		int low = 0;
+		int high = this.bins.size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (this.bins.get(mid).getLowerBound() <= value) {
+				low = mid + 1;
+			}
+			else {
+				high = mid - 1;
+			}
+		}
+		// 'high' is now the last bin with a lower bound <= value
+		for (int i = high; i >= 0 && i >= high - 1; i--) {
+			HistogramBin bin = this.bins.get(i);
+			if (bin.accepts(value)) {
+				return bin;
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Adds a set of values to the dataset and sends a
 	 * {@link DatasetChangeEvent} to all registered listeners.
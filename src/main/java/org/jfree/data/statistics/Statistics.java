@@ -48,9 +48,8 @@
 
 package org.jfree.data.statistics;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import org.jfree.chart.util.ParamChecks;
 
@@ -170,9 +169,9 @@ public abstract class Statistics {
 
 	/**
 	 * Calculates the median for a list of values ({@code Number} objects). The
-	 * list of values will be copied, and the copy sorted, before calculating
-	 * the median. To avoid this step (if your list of values is already
-	 * sorted), use the {@link #calculateMedian(List, boolean)} method.
+	 * list of values will be copied before calculating the median. To avoid
+	 * this step (if your list of values is already sorted), use the
+	 * {@link #calculateMedian(List, boolean)} method.
 	 *
 	 * @param values
 	 *            the values ({@code null} permitted).
@@ -204,9 +203,14 @@ public abstract class Statistics {
 		}
 		double result = Double.NaN;
 		if (copyAndSort) {
-			List<Number> copy = new ArrayList<Number>(values);
-			Collections.sort((List) copy);
-			values = copy;
+			if (values.isEmpty()) {
+				return result;
+			}
+			double[] copy = new double[values.size()];
+			for (int i = 0; i < copy.length; i++) {
+				copy[i] = values.get(i).doubleValue();
+			}
+			return calculateMedian(copy, 0, copy.length - 1);
 		}
 		int count = values.size();
 		if (count > 0) {
@@ -268,12 +272,14 @@ public abstract class Statistics {
 
 		double result = Double.NaN;
 		if (copyAndSort) {
-			List<Number> working = new ArrayList<Number>(end - start + 1);
+			if (end < start) {
+				return result;
+			}
+			double[] working = new double[end - start + 1];
 			for (int i = start; i <= end; i++) {
-				working.add(values.get(i));
+				working[i - start] = values.get(i).doubleValue();
 			}
-			Collections.sort((List) working);
-			result = calculateMedian(working, false);
+			result = calculateMedian(working, 0, working.length - 1);
 		}
 		else {
 			int count = end - start + 1;
@@ -299,6 +305,126 @@ public abstract class Statistics {
 
 	}
 
+	/**
+	 * Calculates the median of a range of values in an array, which may be in
+	 * any order.  The values in the range are reordered by this method (a
+	 * selection algorithm is used, so that the range does not need to be
+	 * fully sorted).  If the range contains {@code Double.NaN} values, the
+	 * result is unspecified.
+	 *
+	 * @param values
+	 *            the values ({@code null} not permitted).
+	 * @param start
+	 *            the index of the first value in the range.
+	 * @param end
+	 *            the index of the last value in the range (inclusive).
+	 *
+	 * @return The median ({@code Double.NaN} if the range is empty).
+	 *
+	 * @since 2.0
+	 */
+	public static double calculateMedian(double[] values, int start,
+			int end) {
+		ParamChecks.nullNotPermitted(values, "values");
+		int count = end - start + 1;
+		if (count <= 0) {
+			return Double.NaN;
+		}
+		int k = start + (count - 1) / 2;
+		select(values, start, end, k);
+		if (count % 2 == 1) {
+			return values[k];
+		}
+		// the other middle value is the smallest value above position k
+		double next = values[k + 1];
+		for (int i = k + 2; i <= end; i++) {
+			next = Math.min(next, values[i]);
+		}
+		return (values[k] + next) / 2.0;
+	}
+
+	/**
+	 * Reorders a range of values in an array so that the value at index
+	 * {@code k} is the value that would be there if the range was sorted,
+	 * with no greater values before it and no smaller values after it
+	 * (Hoare's quickselect, with a median-of-three pivot).  If the selection
+	 * does not converge quickly (for some unusual orderings of the values),
+	 * the range is sorted instead, so the running time is never worse than
+	 * O(n log n).
+	 *
+	 * @param values
+	 *            the values (no {@code Double.NaN} values).
+	 * @param start
+	 *            the index of the first value in the range.
+	 * @param end
+	 *            the index of the last value in the range (inclusive).
+	 * @param k
+	 *            the index of the value to select.
+	 */
+	static void select(double[] values, int start, int end, int k) {
+		int left = start;
+		int right = end;
+		int budget = 2 * (32 - Integer.numberOfLeadingZeros(end - start + 1));
+		while (right > left) {
+			if (budget-- == 0) {
+				Arrays.sort(values, left, right + 1);
+				return;
+			}
+			int mid = (left + right) >>> 1;
+			if (values[mid] < values[left]) {
+				swap(values, left, mid);
+			}
+			if (values[right] < values[left]) {
+				swap(values, left, right);
+			}
+			if (values[right] < values[mid]) {
+				swap(values, mid, right);
+			}
+			double pivot = values[mid];
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (values[i] < pivot) {
+					i++;
+				}
+				while (values[j] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					swap(values, i, j);
+					i++;
+					j--;
+				}
+			}
+			// values in (j, i) are equal to the pivot
+			if (k <= j) {
+				right = j;
+			}
+			else if (k >= i) {
+				left = i;
+			}
+			else {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Swaps two values in an array.
+	 *
+	 * @param values
+	 *            the array.
+	 * @param i
+	 *            the index of the first value.
+	 * @param j
+	 *            the index of the second value.
+	 */
+	private static void swap(double[] values, int i, int j) {
+		double t = values[i];
+		values[i] = values[j];
+		values[j] = t;
+	}
+
 	/**
 	 * Returns the standard deviation of a set of numbers.
 	 *
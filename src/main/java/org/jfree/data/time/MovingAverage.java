@@ -49,12 +49,18 @@
 
 package org.jfree.data.time;
 
+import org.jfree.data.general.RollingStatistic;
+import org.jfree.data.general.RollingStatistics;
 import org.jfree.data.xy.XYDataset;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 
 /**
- * A utility class for calculating moving averages of time series data.
+ * A utility class for calculating moving averages of time series data.  Each
+ * method makes a single pass through the source data, maintaining the
+ * statistics for the window incrementally (see {@link RollingStatistics}).
+ * To keep a moving average up to date as items are added to a series, use
+ * {@link org.jfree.data.general.RollingStatisticUpdater}.
  */
 public class MovingAverage {
 
@@ -134,47 +140,16 @@ public class MovingAverage {
 			// first data item to have an average calculated...
 			long firstSerial = source.getTimePeriod(0).getSerialIndex() + skip;
 
-			for (int i = source.getItemCount() - 1; i >= 0; i--) {
-
-				// get the current data item...
+			// the window holds the items in the last periodCount periods
+			RollingStatistics window = new RollingStatistics(periodCount,
+					periodCount);
+			for (int i = 0; i < source.getItemCount(); i++) {
 				RegularTimePeriod period = source.getTimePeriod(i);
 				long serial = period.getSerialIndex();
-
+				window.add(serial, source.getYValue(i));
 				if (serial >= firstSerial) {
-					// work out the average for the earlier values...
-					int n = 0;
-					double sum = 0.0;
-					long serialLimit = period.getSerialIndex() - periodCount;
-					int offset = 0;
-					boolean finished = false;
-
-					while ((offset < periodCount) && (!finished)) {
-						if ((i - offset) >= 0) {
-							TimeSeriesDataItem item = source.getRawDataItem(
-									i - offset);
-							RegularTimePeriod p = item.getPeriod();
-							Number v = item.getValue();
-							long currentIndex = p.getSerialIndex();
-							if (currentIndex > serialLimit) {
-								if (v != null) {
-									sum = sum + v.doubleValue();
-									n = n + 1;
-								}
-							}
-							else {
-								finished = true;
-							}
-						}
-						offset = offset + 1;
-					}
-					if (n > 0) {
-						result.add(period, sum / n);
-					}
-					else {
-						result.add(period, null);
-					}
+					result.add(period, toNumber(window.getMean()), false);
 				}
-
 			}
 		}
 
@@ -198,7 +173,8 @@ public class MovingAverage {
 	 *            the number of POINTS used in the average calculation (not
 	 *            periods!)
 	 *
-	 * @return The moving average series.
+	 * @return The moving average series (items with a {@code null} value
+	 *         are ignored in the average).
 	 */
 	public static TimeSeries createPointMovingAverage(TimeSeries source,
 			String name, int pointCount) {
@@ -211,25 +187,76 @@ public class MovingAverage {
 					+ "than or equal to 2.");
 		}
 
+		return createRollingStatistic(source, name, pointCount,
+				RollingStatistic.MEAN);
+	}
+
+	/**
+	 * Creates a new {@link TimeSeries} containing exponential moving average
+	 * values for the given series, with a smoothing factor of
+	 * {@code 2 / (pointCount + 1)}.  The first value is the simple average of
+	 * the first {@code pointCount} items.  If the series is empty (contains
+	 * zero items), the result is an empty series.
+	 *
+	 * @param source
+	 *            the source series.
+	 * @param name
+	 *            the name of the new series.
+	 * @param pointCount
+	 *            the number of points determining the smoothing factor.
+	 *
+	 * @return The exponential moving average series.
+	 *
+	 * @since 2.0
+	 */
+	public static TimeSeries createExponentialMovingAverage(TimeSeries source,
+			String name, int pointCount) {
+		return createRollingStatistic(source, name, pointCount,
+				RollingStatistic.EXPONENTIAL_MEAN);
+	}
+
+	/**
+	 * Creates a new {@link TimeSeries} containing a rolling statistic (for
+	 * example the minimum, maximum or standard deviation) of the values in
+	 * a window of the given number of points.  The first item in the result
+	 * corresponds to the item at index {@code pointCount - 1} in the source
+	 * series, the first for which the window is full.  Items with a
+	 * {@code null} value are ignored in the statistic.
+	 *
+	 * @param source
+	 *            the source series ({@code null} not permitted).
+	 * @param name
+	 *            the name of the new series.
+	 * @param pointCount
+	 *            the number of points in the window.
+	 * @param statistic
+	 *            the statistic ({@code null} not permitted).
+	 *
+	 * @return The series.
+	 *
+	 * @since 2.0
+	 */
+	public static TimeSeries createRollingStatistic(TimeSeries source,
+			String name, int pointCount, RollingStatistic statistic) {
+
+		if (source == null) {
+			throw new IllegalArgumentException("Null 'source'.");
+		}
+		if (statistic == null) {
+			throw new IllegalArgumentException("Null 'statistic'.");
+		}
+		if (pointCount < 1) {
+			throw new IllegalArgumentException("pointCount must be greater "
+					+ "than or equal to 1.");
+		}
+
 		TimeSeries result = new TimeSeries(name);
-		double rollingSumForPeriod = 0.0;
+		RollingStatistics window = new RollingStatistics(pointCount);
 		for (int i = 0; i < source.getItemCount(); i++) {
-			// get the current data item...
-			TimeSeriesDataItem current = source.getRawDataItem(i);
-			RegularTimePeriod period = current.getPeriod();
-			// FIXME: what if value is null on next line?
-			rollingSumForPeriod += current.getValue().doubleValue();
-
-			if (i > pointCount - 1) {
-				// remove the point i-periodCount out of the rolling sum.
-				TimeSeriesDataItem startOfMovingAvg = source.getRawDataItem(
-						i - pointCount);
-				rollingSumForPeriod -= startOfMovingAvg.getValue()
-						.doubleValue();
-				result.add(period, rollingSumForPeriod / pointCount);
-			}
-			else if (i == pointCount - 1) {
-				result.add(period, rollingSumForPeriod / pointCount);
+			window.add(i, source.getYValue(i));
+			if (i >= pointCount - 1) {
+				result.add(source.getTimePeriod(i),
+						toNumber(window.getValue(statistic)), false);
 			}
 		}
 		return result;
@@ -332,46 +359,14 @@ public class MovingAverage {
 			// calculate the lowest x-value to have an average calculated...
 			double first = source.getXValue(series, 0) + skip;
 
-			for (int i = source.getItemCount(series) - 1; i >= 0; i--) {
-
-				// get the current data item...
+			RollingStatistics window = new RollingStatistics(
+					Integer.MAX_VALUE, period);
+			for (int i = 0; i < source.getItemCount(series); i++) {
 				double x = source.getXValue(series, i);
-
+				window.add(x, source.getYValue(series, i));
 				if (x >= first) {
-					// work out the average for the earlier values...
-					int n = 0;
-					double sum = 0.0;
-					double limit = x - period;
-					int offset = 0;
-					boolean finished = false;
-
-					while (!finished) {
-						if ((i - offset) >= 0) {
-							double xx = source.getXValue(series, i - offset);
-							Number yy = source.getY(series, i - offset);
-							if (xx > limit) {
-								if (yy != null) {
-									sum = sum + yy.doubleValue();
-									n = n + 1;
-								}
-							}
-							else {
-								finished = true;
-							}
-						}
-						else {
-							finished = true;
-						}
-						offset = offset + 1;
-					}
-					if (n > 0) {
-						result.add(x, sum / n);
-					}
-					else {
-						result.add(x, null);
-					}
+					result.add(x, toNumber(window.getMean()), false);
 				}
-
 			}
 		}
 
@@ -379,4 +374,65 @@ public class MovingAverage {
 
 	}
 
+	/**
+	 * Creates a new {@link XYSeries} containing a rolling statistic of one
+	 * series in the <code>source</code> dataset, calculated over a window of
+	 * the given number of points.  The first item in the result corresponds
+	 * to the item at index {@code pointCount - 1} in the source series.
+	 *
+	 * @param source
+	 *            the source dataset ({@code null} not permitted).
+	 * @param series
+	 *            the series index (zero based).
+	 * @param name
+	 *            the name for the new series.
+	 * @param pointCount
+	 *            the number of points in the window.
+	 * @param statistic
+	 *            the statistic ({@code null} not permitted).
+	 *
+	 * @return The series.
+	 *
+	 * @since 2.0
+	 */
+	public static XYSeries createRollingStatistic(XYDataset source,
+			int series, String name, int pointCount,
+			RollingStatistic statistic) {
+
+		if (source == null) {
+			throw new IllegalArgumentException("Null source (XYDataset).");
+		}
+		if (statistic == null) {
+			throw new IllegalArgumentException("Null 'statistic'.");
+		}
+		if (pointCount < 1) {
+			throw new IllegalArgumentException("pointCount must be greater "
+					+ "than or equal to 1.");
+		}
+
+		XYSeries result = new XYSeries(name);
+		RollingStatistics window = new RollingStatistics(pointCount);
+		for (int i = 0; i < source.getItemCount(series); i++) {
+			window.add(i, source.getYValue(series, i));
+			if (i >= pointCount - 1) {
+				result.add(source.getXValue(series, i),
+						toNumber(window.getValue(statistic)), false);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a value as a number for a result series, or {@code null} if
+	 * the value is {@code Double.NaN}.
+	 *
+	 * @param value
+	 *            the value.
+	 *
+	 * @return The number (possibly {@code null}).
+	 */
+	private static Number toNumber(double value) {
+		return Double.isNaN(value) ? null : Double.valueOf(value);
+	}
+
 }
@@ -102,7 +102,10 @@ import java.util.TimeZone;
 
 import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.ParamChecks;
+import org.jfree.chart.util.RingBufferList;
 import org.jfree.data.Range;
+import org.jfree.data.general.RangeIndex;
+import org.jfree.data.general.RollingMinMax;
 import org.jfree.data.general.Series;
 import org.jfree.data.general.SeriesChangeEvent;
 import org.jfree.data.general.SeriesException;
@@ -113,6 +116,11 @@ import org.jfree.data.general.SeriesException;
  * The time series will ensure that (a) all data items have the same type of
  * period (for example, {@link Day}) and (b) that each period appears at most
  * one time in the series.
+ * <P>
+ * The items are stored in a circular buffer, so when a maximum item count or
+ * age is set the series can be used as a sliding window: appending a new item
+ * and discarding the oldest one are both constant time operations, including
+ * the update of the cached y-value bounds.
  */
 public class TimeSeries extends Series implements Cloneable, Serializable {
 
@@ -160,6 +168,39 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 	 */
 	private double maxY;
 
+	/**
+	 * Tracks the bounds of the y-values when a maximum item count or age is
+	 * set, so that they can be updated in constant time as the oldest items
+	 * are removed ({@code null} otherwise).
+	 */
+	private RollingMinMax yWindow;
+
+	/**
+	 * A flag that indicates whether the window exactly mirrors the data. This
+	 * is reset when an item is inserted, updated or removed anywhere other
+	 * than at the ends of the series, and restored the next time the bounds
+	 * are found by iteration.
+	 */
+	private boolean windowValid;
+
+	/**
+	 * An index of the y-values by item position, used to find the range of
+	 * the y-values for a range of x-values. This is created when it is first
+	 * needed and discarded by any change that it cannot track incrementally.
+	 * The field is volatile because the index is built by a query, which
+	 * may run on a rendering thread; it is fully built before it is
+	 * published.
+	 */
+	private transient volatile RangeIndex yIndex;
+
+	/**
+	 * Primitive copies of the item coordinates, so that datasets can read
+	 * the x-values (in milliseconds) without a calendar calculation. These
+	 * are created when first needed, for the time zone of the first request,
+	 * and published in the same way as the {@link #yIndex}.
+	 */
+	private transient volatile TimeSeriesColumns columns;
+
 	/**
 	 * Creates a new (empty) time series. By default, a daily time series is
 	 * created. Use one of the other constructors if you require a different
@@ -193,7 +234,7 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 		this.domain = domain;
 		this.range = range;
 		this.timePeriodClass = null;
-		this.data = new java.util.ArrayList<TimeSeriesDataItem>();
+		this.data = new RingBufferList<TimeSeriesDataItem>();
 		this.maximumItemCount = Integer.MAX_VALUE;
 		this.maximumItemAge = Long.MAX_VALUE;
 		this.minY = Double.NaN;
@@ -303,6 +344,7 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 			throw new IllegalArgumentException("Negative 'maximum' argument.");
 		}
 		this.maximumItemCount = maximum;
+		configureWindow();
 		int count = this.data.size();
 		if (count > maximum) {
 			delete(0, count - maximum - 1);
@@ -338,9 +380,24 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 			throw new IllegalArgumentException("Negative 'periods' argument.");
 		}
 		this.maximumItemAge = periods;
+		configureWindow();
 		removeAgedItems(true); // remove old items and notify if necessary
 	}
 
+	/**
+	 * Creates (or discards) the window used to track the y-value bounds,
+	 * depending on whether a maximum item count or age is set.
+	 */
+	private void configureWindow() {
+		if (this.maximumItemCount == Integer.MAX_VALUE
+				&& this.maximumItemAge == Long.MAX_VALUE) {
+			this.yWindow = null;
+		} else if (this.yWindow == null) {
+			this.yWindow = new RollingMinMax();
+			updateMinMaxYByIteration();
+		}
+	}
+
 	/**
 	 * Returns the range of y-values in the time series. Any {@code null} or
 	 * {@code Double.NaN} data values in the series will be ignored (except for
@@ -403,30 +460,264 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 		if (this.data.isEmpty()) {
 			return null;
 		}
-		Calendar calendar = Calendar.getInstance(zone);
-		// since the items are ordered, we could be more clever here and avoid
-		// iterating over all the data
-		double lowY = Double.POSITIVE_INFINITY;
-		double highY = Double.NEGATIVE_INFINITY;
-		for (TimeSeriesDataItem item : this.data) {
-			long millis = item.getPeriod().getMillisecond(xAnchor, calendar);
-			if (xRange.contains(millis)) {
-				Number n = item.getValue();
-				if (n != null) {
-					double v = n.doubleValue();
-					lowY = minIgnoreNaN(lowY, v);
-					highY = maxIgnoreNaN(highY, v);
-				}
+		// the items are ordered by time period, so their anchor points are
+		// ordered too and the items in the x-range can be found by bisection
+		int count = this.data.size();
+		int first;
+		int last;
+		TimeSeriesColumns c = getColumns(zone);
+		if (c != null) {
+			first = c.findFirstIndexAtOrAfter(xRange.getLowerBound(), xAnchor);
+			last = c.findFirstIndexAfter(xRange.getUpperBound(), xAnchor) - 1;
+		}
+		else {
+			Calendar calendar = Calendar.getInstance(zone);
+			first = findFirstIndexAtOrAfter(xRange.getLowerBound(), xAnchor,
+					calendar);
+			last = findFirstIndexAfter(xRange.getUpperBound(), xAnchor,
+					calendar) - 1;
+		}
+		double lowY = Double.NaN;
+		double highY = Double.NaN;
+		if (first == 0 && last == count - 1) {
+			lowY = this.minY;
+			highY = this.maxY;
+		}
+		else if (first <= last) {
+			RangeIndex index = this.yIndex;
+			if (index == null) {
+				double[] y = new double[count];
+				getYValues(0, count - 1, y, 0);
+				index = new RangeIndex(y, count);
+				this.yIndex = index;
 			}
+			lowY = index.getMin(first, last);
+			highY = index.getMax(first, last);
 		}
-		if (Double.isInfinite(lowY) && Double.isInfinite(highY)) {
-			if (lowY < highY) {
-				return new Range(lowY, highY);
+		return new Range(lowY, highY);
+	}
+
+	/**
+	 * Returns the index of the first item with an anchor point at or after
+	 * the specified time, or the item count if there is no such item.
+	 *
+	 * @param millis
+	 *            the time (in milliseconds since the epoch).
+	 * @param anchor
+	 *            the anchor point within each time period.
+	 * @param calendar
+	 *            the calendar used to find the anchor points.
+	 *
+	 * @return The index.
+	 */
+	private int findFirstIndexAtOrAfter(double millis,
+			TimePeriodAnchor anchor, Calendar calendar) {
+		int low = 0;
+		int high = this.data.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			RegularTimePeriod p = this.data.get(mid).getPeriod();
+			if (p.getMillisecond(anchor, calendar) < millis) {
+				low = mid + 1;
 			} else {
-				return new Range(Double.NaN, Double.NaN);
+				high = mid;
 			}
 		}
-		return new Range(lowY, highY);
+		return low;
+	}
+
+	/**
+	 * Returns the index of the first item with an anchor point after the
+	 * specified time, or the item count if there is no such item.
+	 *
+	 * @param millis
+	 *            the time (in milliseconds since the epoch).
+	 * @param anchor
+	 *            the anchor point within each time period.
+	 * @param calendar
+	 *            the calendar used to find the anchor points.
+	 *
+	 * @return The index.
+	 */
+	private int findFirstIndexAfter(double millis, TimePeriodAnchor anchor,
+			Calendar calendar) {
+		int low = 0;
+		int high = this.data.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			RegularTimePeriod p = this.data.get(mid).getPeriod();
+			if (p.getMillisecond(anchor, calendar) <= millis) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the millisecond at the specified anchor point within the time
+	 * period of an item.  This gives the same result as
+	 * {@code getTimePeriod(index).getMillisecond(anchor, calendar)} for a
+	 * calendar in the specified time zone, but the series keeps the
+	 * milliseconds for all its items (calculated for the time zone of the
+	 * first request) so that repeated requests, such as those made when a
+	 * chart is drawn, do not require a calendar calculation.
+	 *
+	 * @param index
+	 *            the item index (zero-based).
+	 * @param anchor
+	 *            the anchor point within the time period ({@code null} not
+	 *            permitted).
+	 * @param zone
+	 *            the time zone ({@code null} not permitted).
+	 *
+	 * @return The millisecond.
+	 *
+	 * @since 2.0
+	 */
+	public long getMillisecond(int index, TimePeriodAnchor anchor,
+			TimeZone zone) {
+		TimeSeriesColumns c = getColumns(zone);
+		if (c != null) {
+			return c.getMillisecond(index, anchor);
+		}
+		return getTimePeriod(index).getMillisecond(anchor,
+				Calendar.getInstance(zone));
+	}
+
+	/**
+	 * Returns the millisecond at the specified anchor point within the time
+	 * period of an item, in the same way as
+	 * {@link #getMillisecond(int, TimePeriodAnchor, TimeZone)}, except that
+	 * the columns are not built if the series does not have them yet.  This
+	 * is used for queries that only look at a few items, such as the domain
+	 * bounds, so that they do not pay for a full pass over the series.
+	 *
+	 * @param index
+	 *            the item index (zero-based).
+	 * @param anchor
+	 *            the anchor point within the time period ({@code null} not
+	 *            permitted).
+	 * @param zone
+	 *            the time zone ({@code null} not permitted).
+	 *
+	 * @return The millisecond.
+	 */
+	long findMillisecond(int index, TimePeriodAnchor anchor, TimeZone zone) {
+		TimeSeriesColumns c = this.columns;
+		if (c != null && c.isFor(zone)) {
+			return c.getMillisecond(index, anchor);
+		}
+		return getTimePeriod(index).getMillisecond(anchor,
+				Calendar.getInstance(zone));
+	}
+
+	/**
+	 * Copies the milliseconds at the specified anchor point within the time
+	 * periods of a range of items into an array (see
+	 * {@link #getMillisecond(int, TimePeriodAnchor, TimeZone)}).
+	 *
+	 * @param firstItem
+	 *            the index of the first item.
+	 * @param lastItem
+	 *            the index of the last item (if this is less than
+	 *            {@code firstItem}, nothing is copied).
+	 * @param anchor
+	 *            the anchor point within each time period ({@code null} not
+	 *            permitted).
+	 * @param zone
+	 *            the time zone ({@code null} not permitted).
+	 * @param dest
+	 *            the destination array ({@code null} not permitted).
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 *
+	 * @since 2.0
+	 */
+	public void getMilliseconds(int firstItem, int lastItem,
+			TimePeriodAnchor anchor, TimeZone zone, double[] dest,
+			int destPos) {
+		TimeSeriesColumns c = getColumns(zone);
+		if (c != null) {
+			c.getMilliseconds(firstItem, lastItem, anchor, dest, destPos);
+			return;
+		}
+		Calendar calendar = Calendar.getInstance(zone);
+		for (int i = firstItem; i <= lastItem; i++) {
+			dest[destPos + i - firstItem] = getTimePeriod(i).getMillisecond(
+					anchor, calendar);
+		}
+	}
+
+	/**
+	 * Returns the value of an item as a primitive.
+	 *
+	 * @param index
+	 *            the item index (zero-based).
+	 *
+	 * @return The value ({@code Double.NaN} if the value is {@code null}).
+	 *
+	 * @since 2.0
+	 */
+	public double getYValue(int index) {
+		TimeSeriesColumns c = this.columns;
+		if (c != null) {
+			return c.getValue(index);
+		}
+		return valueOf(this.data.get(index));
+	}
+
+	/**
+	 * Copies the values of a range of items into an array
+	 * ({@code null} values are copied as {@code Double.NaN}).
+	 *
+	 * @param firstItem
+	 *            the index of the first item.
+	 * @param lastItem
+	 *            the index of the last item (if this is less than
+	 *            {@code firstItem}, nothing is copied).
+	 * @param dest
+	 *            the destination array ({@code null} not permitted).
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 *
+	 * @since 2.0
+	 */
+	public void getYValues(int firstItem, int lastItem, double[] dest,
+			int destPos) {
+		TimeSeriesColumns c = this.columns;
+		if (c != null) {
+			c.getValues(firstItem, lastItem, dest, destPos);
+			return;
+		}
+		for (int i = firstItem; i <= lastItem; i++) {
+			dest[destPos + i - firstItem] = valueOf(this.data.get(i));
+		}
+	}
+
+	/**
+	 * Returns the item coordinate columns for the specified time zone,
+	 * creating them if the series does not have any yet, or {@code null} if
+	 * the series has columns for a different time zone (a series is normally
+	 * shown in a single time zone, so the columns are not swapped back and
+	 * forth when it is not).  Requests for another time zone use a new
+	 * calendar for each call, so that concurrent readers never share a
+	 * mutable calendar.
+	 *
+	 * @param zone
+	 *            the time zone ({@code null} not permitted).
+	 *
+	 * @return The columns (possibly {@code null}).
+	 */
+	private TimeSeriesColumns getColumns(TimeZone zone) {
+		TimeSeriesColumns c = this.columns;
+		if (c == null) {
+			ParamChecks.nullNotPermitted(zone, "zone");
+			c = new TimeSeriesColumns(this.data, zone);
+			this.columns = c;
+		}
+		return c.isFor(zone) ? c : null;
 	}
 
 	/**
@@ -619,9 +910,23 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 	 */
 	public int getIndex(RegularTimePeriod period) {
 		ParamChecks.nullNotPermitted(period, "period");
-		TimeSeriesDataItem dummy = new TimeSeriesDataItem(
-				period, Integer.MIN_VALUE);
-		return Collections.binarySearch(this.data, dummy);
+		// search the periods directly, rather than creating a dummy item
+		int low = 0;
+		int high = this.data.size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int c = this.data.get(mid).getPeriod().compareTo(period);
+			if (c < 0) {
+				low = mid + 1;
+			}
+			else if (c > 0) {
+				high = mid - 1;
+			}
+			else {
+				return mid;
+			}
+		}
+		return -(low + 1);
 	}
 
 	/**
@@ -692,6 +997,7 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 
 		// make the change (if it's not a duplicate time period)...
 		boolean added;
+		boolean appended = true;
 		int count = getItemCount();
 		if (count == 0) {
 			this.data.add(item);
@@ -707,6 +1013,7 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 				if (index < 0) {
 					this.data.add(-index - 1, item);
 					added = true;
+					appended = false;
 				}
 				else {
 					StringBuilder b = new StringBuilder();
@@ -722,10 +1029,12 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 		}
 		if (added) {
 			updateBoundsForAddedItem(item);
+			updateWindowForAddedItem(item, appended);
+			updateIndexForAddedItem(item, appended);
 			// check if this addition will exceed the maximum item count...
 			if (getItemCount() > this.maximumItemCount) {
 				TimeSeriesDataItem d = this.data.remove(0);
-				updateBoundsForRemovedItem(d);
+				updateBoundsForRemovedItem(d, true);
 			}
 
 			removeAgedItems(false); // remove old items if necessary, but
@@ -845,6 +1154,7 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 	 */
 	public void update(int index, Number value) {
 		TimeSeriesDataItem item = this.data.get(index);
+		this.windowValid = false;
 		boolean iterate = false;
 		Number oldYN = item.getValue();
 		if (oldYN != null) {
@@ -854,6 +1164,7 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 			}
 		}
 		item.setValue(value);
+		updateIndexForUpdatedItem(index, item);
 		if (iterate) {
 			updateMinMaxYByIteration();
 		}
@@ -953,6 +1264,7 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 		if (index >= 0) {
 			TimeSeriesDataItem existing = this.data.get(index);
 			overwritten = (TimeSeriesDataItem) existing.clone();
+			this.windowValid = false;
 			// figure out if we need to iterate through all the y-values
 			// to find the revised minY / maxY
 			boolean iterate = false;
@@ -962,6 +1274,7 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 				iterate = oldY <= this.minY || oldY >= this.maxY;
 			}
 			existing.setValue(item.getValue());
+			updateIndexForUpdatedItem(index, existing);
 			if (iterate) {
 				updateMinMaxYByIteration();
 			}
@@ -973,13 +1286,16 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 		}
 		else {
 			item = (TimeSeriesDataItem) item.clone();
+			boolean appended = -index - 1 == this.data.size();
 			this.data.add(-index - 1, item);
 			updateBoundsForAddedItem(item);
+			updateWindowForAddedItem(item, appended);
+			updateIndexForAddedItem(item, appended);
 
 			// check if this addition will exceed the maximum item count...
 			if (getItemCount() > this.maximumItemCount) {
 				TimeSeriesDataItem d = this.data.remove(0);
-				updateBoundsForRemovedItem(d);
+				updateBoundsForRemovedItem(d, true);
 			}
 		}
 		removeAgedItems(false); // remove old items if necessary, but
@@ -1007,11 +1323,11 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 			boolean removed = false;
 			while ((latest - getTimePeriod(0).getSerialIndex())
 			> this.maximumItemAge) {
-				this.data.remove(0);
+				TimeSeriesDataItem d = this.data.remove(0);
+				updateBoundsForRemovedItem(d, true);
 				removed = true;
 			}
 			if (removed) {
-				updateMinMaxYByIteration();
 				if (notify) {
 					fireSeriesChanged();
 				}
@@ -1046,11 +1362,11 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 		boolean removed = false;
 		while (getItemCount() > 0 && (index
 				- getTimePeriod(0).getSerialIndex()) > this.maximumItemAge) {
-			this.data.remove(0);
+			TimeSeriesDataItem d = this.data.remove(0);
+			updateBoundsForRemovedItem(d, true);
 			removed = true;
 		}
 		if (removed) {
-			updateMinMaxYByIteration();
 			if (notify) {
 				fireSeriesChanged();
 			}
@@ -1064,9 +1380,15 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 	public void clear() {
 		if (this.data.size() > 0) {
 			this.data.clear();
+			this.yIndex = null;
+			this.columns = null;
 			this.timePeriodClass = null;
 			this.minY = Double.NaN;
 			this.maxY = Double.NaN;
+			if (this.yWindow != null) {
+				this.yWindow.clear();
+				this.windowValid = true;
+			}
 			fireSeriesChanged();
 		}
 	}
@@ -1082,9 +1404,8 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 	public void delete(RegularTimePeriod period) {
 		int index = getIndex(period);
 		if (index >= 0) {
-			TimeSeriesDataItem item = this.data.remove(
-					index);
-			updateBoundsForRemovedItem(item);
+			TimeSeriesDataItem item = this.data.remove(index);
+			updateBoundsForRemovedItem(item, index == 0);
 			if (this.data.isEmpty()) {
 				this.timePeriodClass = null;
 			}
@@ -1120,9 +1441,9 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 		if (end < start) {
 			throw new IllegalArgumentException("Requires start <= end.");
 		}
-		for (int i = 0; i <= (end - start); i++) {
-			this.data.remove(start);
-		}
+		this.data.subList(start, end + 1).clear();
+		this.yIndex = null;
+		this.columns = null;
 		updateMinMaxYByIteration();
 		if (this.data.isEmpty()) {
 			this.timePeriodClass = null;
@@ -1151,6 +1472,11 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 	public Object clone() throws CloneNotSupportedException {
 		TimeSeries clone = (TimeSeries) super.clone();
 		clone.data = ObjectUtils.deepClone(this.data);
+		if (this.yWindow != null) {
+			clone.yWindow = (RollingMinMax) this.yWindow.clone();
+		}
+		clone.yIndex = null;
+		clone.columns = null;
 		return clone;
 	}
 
@@ -1178,9 +1504,13 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 			throw new IllegalArgumentException("Requires start <= end.");
 		}
 		TimeSeries copy = (TimeSeries) super.clone();
-		copy.minY = Double.NaN;
-		copy.maxY = Double.NaN;
-		copy.data = new java.util.ArrayList<TimeSeriesDataItem>();
+		copy.data = new RingBufferList<TimeSeriesDataItem>();
+		copy.yIndex = null;
+		copy.columns = null;
+		if (this.yWindow != null) {
+			copy.yWindow = new RollingMinMax();
+		}
+		copy.updateMinMaxYByIteration();
 		if (this.data.size() > 0) {
 			for (int index = start; index <= end; index++) {
 				TimeSeriesDataItem item = this.data.get(index);
@@ -1345,10 +1675,39 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 	 *
 	 * @param item
 	 *            the item added ({@code null} not permitted).
+	 * @param first
+	 *            a flag indicating whether the item was removed from the start
+	 *            of the series.
 	 *
 	 * @since 1.0.14
 	 */
-	private void updateBoundsForRemovedItem(TimeSeriesDataItem item) {
+	private void updateBoundsForRemovedItem(TimeSeriesDataItem item,
+			boolean first) {
+		RangeIndex index = this.yIndex;
+		if (index != null) {
+			if (first) {
+				index.removeFirst();
+			} else {
+				this.yIndex = null;
+			}
+		}
+		TimeSeriesColumns c = this.columns;
+		if (c != null) {
+			if (first) {
+				c.removeFirst();
+			} else {
+				this.columns = null;
+			}
+		}
+		if (this.yWindow != null && this.windowValid) {
+			if (first) {
+				this.yWindow.removeFirst();
+				this.minY = this.yWindow.getMin();
+				this.maxY = this.yWindow.getMax();
+				return;
+			}
+			this.windowValid = false;
+		}
 		Number yN = item.getValue();
 		if (yN != null) {
 			double y = yN.doubleValue();
@@ -1369,10 +1728,102 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 	private void updateMinMaxYByIteration() {
 		this.minY = Double.NaN;
 		this.maxY = Double.NaN;
+		if (this.yWindow != null) {
+			this.yWindow.clear();
+			this.windowValid = true;
+		}
 		for (TimeSeriesDataItem aData : this.data) {
 			TimeSeriesDataItem item = aData;
 			updateBoundsForAddedItem(item);
+			updateWindowForAddedItem(item, true);
+		}
+	}
+
+	/**
+	 * Updates the sliding window (if there is one) for an item that has just
+	 * been added to the series.
+	 *
+	 * @param item
+	 *            the item added ({@code null} not permitted).
+	 * @param appended
+	 *            a flag indicating whether the item was added at the end of
+	 *            the series.
+	 */
+	private void updateWindowForAddedItem(TimeSeriesDataItem item,
+			boolean appended) {
+		if (this.yWindow != null && this.windowValid) {
+			if (appended) {
+				Number yN = item.getValue();
+				this.yWindow.add(yN != null ? yN.doubleValue() : Double.NaN);
+			} else {
+				this.windowValid = false;
+			}
+		}
+	}
+
+	/**
+	 * Updates the y-value index and the item coordinate columns (if there are
+	 * any) for an item that has just been added to the series.
+	 *
+	 * @param item
+	 *            the item added ({@code null} not permitted).
+	 * @param appended
+	 *            a flag indicating whether the item was added at the end of
+	 *            the series.
+	 */
+	private void updateIndexForAddedItem(TimeSeriesDataItem item,
+			boolean appended) {
+		RangeIndex index = this.yIndex;
+		if (index != null) {
+			if (appended) {
+				index.add(valueOf(item));
+			} else {
+				this.yIndex = null;
+			}
 		}
+		TimeSeriesColumns c = this.columns;
+		if (c != null) {
+			if (appended) {
+				c.add(item);
+			} else {
+				this.columns = null;
+			}
+		}
+	}
+
+	/**
+	 * Updates the y-value index and the item coordinate columns for an item
+	 * that has a new value.
+	 *
+	 * @param index
+	 *            the item index.
+	 * @param item
+	 *            the item.
+	 */
+	private void updateIndexForUpdatedItem(int index,
+			TimeSeriesDataItem item) {
+		RangeIndex rangeIndex = this.yIndex;
+		if (rangeIndex != null) {
+			rangeIndex.set(index, valueOf(item));
+		}
+		TimeSeriesColumns c = this.columns;
+		if (c != null) {
+			c.setValue(index, valueOf(item));
+		}
+	}
+
+	/**
+	 * Returns the value of an item as a double primitive
+	 * ({@code Double.NaN} for a {@code null} value).
+	 *
+	 * @param item
+	 *            the item ({@code null} not permitted).
+	 *
+	 * @return The value.
+	 */
+	private static double valueOf(TimeSeriesDataItem item) {
+		Number n = item.getValue();
+		return n != null ? n.doubleValue() : Double.NaN;
 	}
 
 	/**
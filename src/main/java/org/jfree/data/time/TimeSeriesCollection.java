@@ -109,6 +109,7 @@ import org.jfree.data.general.DatasetChangeEvent;
 import org.jfree.data.general.Series;
 import org.jfree.data.xy.AbstractIntervalXYDataset;
 import org.jfree.data.xy.IntervalXYDataset;
+import org.jfree.data.xy.PrimitiveXYDataset;
 import org.jfree.data.xy.XYDataset;
 import org.jfree.data.xy.XYDomainInfo;
 import org.jfree.data.xy.XYRangeInfo;
@@ -120,8 +121,9 @@ import org.jfree.data.xy.XYRangeInfo;
  * use with the {@link org.jfree.chart.plot.XYPlot} class.
  */
 public class TimeSeriesCollection extends AbstractIntervalXYDataset
-		implements XYDataset, IntervalXYDataset, DomainInfo, XYDomainInfo,
-		XYRangeInfo, VetoableChangeListener, Serializable {
+		implements XYDataset, IntervalXYDataset, PrimitiveXYDataset,
+		DomainInfo, XYDomainInfo, XYRangeInfo, VetoableChangeListener,
+		Serializable {
 
 	/** For serialization. */
 	private static final long serialVersionUID = 834149929022371137L;
@@ -427,8 +429,8 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
 	@Override
 	public double getXValue(int series, int item) {
 		TimeSeries s = this.data.get(series);
-		RegularTimePeriod period = s.getTimePeriod(item);
-		return getX(period);
+		return s.getMillisecond(item, this.xPosition,
+				this.workingCalendar.getTimeZone());
 	}
 
 	/**
@@ -444,8 +446,8 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
 	@Override
 	public Number getX(int series, int item) {
 		TimeSeries ts = this.data.get(series);
-		RegularTimePeriod period = ts.getTimePeriod(item);
-		return getX(period);
+		return ts.getMillisecond(item, this.xPosition,
+				this.workingCalendar.getTimeZone());
 	}
 
 	/**
@@ -483,8 +485,8 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
 	@Override
 	public synchronized Number getStartX(int series, int item) {
 		TimeSeries ts = this.data.get(series);
-		return ts.getTimePeriod(item).getFirstMillisecond(
-				this.workingCalendar);
+		return ts.getMillisecond(item, TimePeriodAnchor.START,
+				this.workingCalendar.getTimeZone());
 	}
 
 	/**
@@ -500,8 +502,8 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
 	@Override
 	public synchronized Number getEndX(int series, int item) {
 		TimeSeries ts = this.data.get(series);
-		return ts.getTimePeriod(item).getLastMillisecond(
-				this.workingCalendar);
+		return ts.getMillisecond(item, TimePeriodAnchor.END,
+				this.workingCalendar.getTimeZone());
 	}
 
 	/**
@@ -520,6 +522,71 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
 		return ts.getValue(item);
 	}
 
+	/**
+	 * Returns the y-value (as a double primitive) for an item within a
+	 * series.
+	 *
+	 * @param series
+	 *            the series (zero-based index).
+	 * @param item
+	 *            the item (zero-based index).
+	 *
+	 * @return The value (<code>Double.NaN</code> for a <code>null</code>
+	 *         y-value).
+	 */
+	@Override
+	public double getYValue(int series, int item) {
+		TimeSeries ts = this.data.get(series);
+		return ts.getYValue(item);
+	}
+
+	/**
+	 * Copies the x-values for a range of items in a series into an array.
+	 *
+	 * @param series
+	 *            the series (zero-based index).
+	 * @param firstItem
+	 *            the index of the first item to copy.
+	 * @param lastItem
+	 *            the index of the last item to copy.
+	 * @param dest
+	 *            the destination array (<code>null</code> not permitted).
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 *
+	 * @since 2.0
+	 */
+	@Override
+	public void getXValues(int series, int firstItem, int lastItem,
+			double[] dest, int destPos) {
+		TimeSeries ts = this.data.get(series);
+		ts.getMilliseconds(firstItem, lastItem, this.xPosition,
+				this.workingCalendar.getTimeZone(), dest, destPos);
+	}
+
+	/**
+	 * Copies the y-values for a range of items in a series into an array.
+	 *
+	 * @param series
+	 *            the series (zero-based index).
+	 * @param firstItem
+	 *            the index of the first item to copy.
+	 * @param lastItem
+	 *            the index of the last item to copy.
+	 * @param dest
+	 *            the destination array (<code>null</code> not permitted).
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 *
+	 * @since 2.0
+	 */
+	@Override
+	public void getYValues(int series, int firstItem, int lastItem,
+			double[] dest, int destPos) {
+		TimeSeries ts = this.data.get(series);
+		ts.getYValues(firstItem, lastItem, dest, destPos);
+	}
+
 	/**
 	 * Returns the starting Y value for the specified series and item.
 	 *
@@ -632,22 +699,38 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
 		for (TimeSeries series : this.data) {
 			int count = series.getItemCount();
 			if (count > 0) {
-				RegularTimePeriod start = series.getTimePeriod(0);
-				RegularTimePeriod end = series.getTimePeriod(count - 1);
-				Range temp;
-				if (!includeInterval) {
-					temp = new Range(getX(start), getX(end));
-				} else {
-					temp = new Range(
-							start.getFirstMillisecond(this.workingCalendar),
-							end.getLastMillisecond(this.workingCalendar));
-				}
-				result = Range.combine(result, temp);
+				result = Range.combine(result, findDomainBounds(series,
+						includeInterval));
 			}
 		}
 		return result;
 	}
 
+	/**
+	 * Returns the bounds of the x-values for a (non-empty) series.  Only the
+	 * first and last items are read, so this does not build the series'
+	 * coordinate columns if it has none yet.
+	 *
+	 * @param series
+	 *            the series.
+	 * @param includeInterval
+	 *            include the x-interval?
+	 *
+	 * @return The range.
+	 */
+	private Range findDomainBounds(TimeSeries series,
+			boolean includeInterval) {
+		TimeZone zone = this.workingCalendar.getTimeZone();
+		int last = series.getItemCount() - 1;
+		if (includeInterval) {
+			return new Range(series.findMillisecond(0, TimePeriodAnchor.START,
+					zone), series.findMillisecond(last, TimePeriodAnchor.END,
+					zone));
+		}
+		return new Range(series.findMillisecond(0, this.xPosition, zone),
+				series.findMillisecond(last, this.xPosition, zone));
+	}
+
 	/**
 	 * Returns the bounds of the domain values for the specified series.
 	 *
@@ -668,17 +751,8 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
 			TimeSeries series = getSeries(seriesKey);
 			int count = series.getItemCount();
 			if (count > 0) {
-				RegularTimePeriod start = series.getTimePeriod(0);
-				RegularTimePeriod end = series.getTimePeriod(count - 1);
-				Range temp;
-				if (!includeInterval) {
-					temp = new Range(getX(start), getX(end));
-				} else {
-					temp = new Range(
-							start.getFirstMillisecond(this.workingCalendar),
-							end.getLastMillisecond(this.workingCalendar));
-				}
-				result = Range.combine(result, temp);
+				result = Range.combine(result, findDomainBounds(series,
+						includeInterval));
 			}
 		}
 		return result;
@@ -0,0 +1,358 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * TimeSeriesColumns.java
+ * ----------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.time;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Primitive copies of the coordinates of the items in a {@link TimeSeries}:
+ * the first and last millisecond of each time period (as calculated for one
+ * time zone) and the value of each item.  Datasets read these columns when
+ * rendering so that the millisecond values, which otherwise require a
+ * {@link Calendar} calculation, are worked out once per item rather than
+ * once per item per frame.
+ * <P>
+ * The columns are kept up to date by the series as items are appended,
+ * updated and removed from the front of the series; other changes discard
+ * them.
+ */
+final class TimeSeriesColumns {
+
+	/** The initial capacity. */
+	private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+	/** The time zone used to calculate the milliseconds. */
+	private final TimeZone zone;
+
+	/** The calendar used to calculate the milliseconds for new items. */
+	private final Calendar calendar;
+
+	/** The first millisecond of each time period. */
+	private long[] firstMillis;
+
+	/** The last millisecond of each time period. */
+	private long[] lastMillis;
+
+	/** The values ({@code Double.NaN} for a {@code null} value). */
+	private double[] values;
+
+	/** The position of the first item in the arrays. */
+	private int offset;
+
+	/** The number of items. */
+	private int size;
+
+	/**
+	 * Creates the columns for the specified items.
+	 *
+	 * @param items
+	 *            the items, in time period order.
+	 * @param zone
+	 *            the time zone used to calculate the milliseconds.
+	 */
+	TimeSeriesColumns(List<TimeSeriesDataItem> items, TimeZone zone) {
+		this.zone = zone;
+		this.calendar = Calendar.getInstance(zone);
+		int count = items.size();
+		int capacity = Math.max(DEFAULT_INITIAL_CAPACITY, count + count / 4);
+		this.firstMillis = new long[capacity];
+		this.lastMillis = new long[capacity];
+		this.values = new double[capacity];
+		for (int i = 0; i < count; i++) {
+			store(i, items.get(i));
+		}
+		this.size = count;
+	}
+
+	/**
+	 * Returns {@code true} if the milliseconds in these columns were
+	 * calculated for the specified time zone.
+	 *
+	 * @param zone
+	 *            the time zone.
+	 *
+	 * @return A boolean.
+	 */
+	boolean isFor(TimeZone zone) {
+		return this.zone == zone || this.zone.equals(zone);
+	}
+
+	/**
+	 * Returns the number of items.
+	 *
+	 * @return The number of items.
+	 */
+	int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the specified millisecond of an item's time period.
+	 *
+	 * @param index
+	 *            the item index (zero-based).
+	 * @param anchor
+	 *            the anchor point within the time period.
+	 *
+	 * @return The millisecond.
+	 */
+	long getMillisecond(int index, TimePeriodAnchor anchor) {
+		checkIndex(index);
+		return millisecond(this.offset + index, anchor);
+	}
+
+	/**
+	 * Returns the value of an item.
+	 *
+	 * @param index
+	 *            the item index (zero-based).
+	 *
+	 * @return The value ({@code Double.NaN} for a {@code null} value).
+	 */
+	double getValue(int index) {
+		checkIndex(index);
+		return this.values[this.offset + index];
+	}
+
+	/**
+	 * Copies the milliseconds for a range of items into an array.
+	 *
+	 * @param firstItem
+	 *            the index of the first item.
+	 * @param lastItem
+	 *            the index of the last item.
+	 * @param anchor
+	 *            the anchor point within each time period.
+	 * @param dest
+	 *            the destination array.
+	 * @param destPos
+	 *            the position in the destination array.
+	 */
+	void getMilliseconds(int firstItem, int lastItem, TimePeriodAnchor anchor,
+			double[] dest, int destPos) {
+		if (lastItem < firstItem) {
+			return;
+		}
+		checkIndex(firstItem);
+		checkIndex(lastItem);
+		int i = destPos;
+		for (int p = this.offset + firstItem; p <= this.offset + lastItem;
+				p++) {
+			dest[i++] = millisecond(p, anchor);
+		}
+	}
+
+	/**
+	 * Copies the values for a range of items into an array.
+	 *
+	 * @param firstItem
+	 *            the index of the first item.
+	 * @param lastItem
+	 *            the index of the last item.
+	 * @param dest
+	 *            the destination array.
+	 * @param destPos
+	 *            the position in the destination array.
+	 */
+	void getValues(int firstItem, int lastItem, double[] dest, int destPos) {
+		if (lastItem < firstItem) {
+			return;
+		}
+		checkIndex(firstItem);
+		checkIndex(lastItem);
+		System.arraycopy(this.values, this.offset + firstItem, dest, destPos,
+				lastItem - firstItem + 1);
+	}
+
+	/**
+	 * Returns the index of the first item with an anchor point at or after
+	 * the specified time, or the item count if there is no such item.
+	 *
+	 * @param millis
+	 *            the time (in milliseconds since the epoch).
+	 * @param anchor
+	 *            the anchor point within each time period.
+	 *
+	 * @return The index.
+	 */
+	int findFirstIndexAtOrAfter(double millis, TimePeriodAnchor anchor) {
+		int low = 0;
+		int high = this.size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (millisecond(this.offset + mid, anchor) < millis) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the index of the first item with an anchor point after the
+	 * specified time, or the item count if there is no such item.
+	 *
+	 * @param millis
+	 *            the time (in milliseconds since the epoch).
+	 * @param anchor
+	 *            the anchor point within each time period.
+	 *
+	 * @return The index.
+	 */
+	int findFirstIndexAfter(double millis, TimePeriodAnchor anchor) {
+		int low = 0;
+		int high = this.size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (millisecond(this.offset + mid, anchor) <= millis) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Appends an item, which must follow all the existing items.
+	 *
+	 * @param item
+	 *            the item.
+	 */
+	void add(TimeSeriesDataItem item) {
+		if (this.offset + this.size == this.values.length) {
+			// either reclaim the space freed by removeFirst() or grow
+			int capacity = this.values.length;
+			if (this.size > capacity / 2) {
+				capacity = capacity * 2;
+			}
+			long[] first = new long[capacity];
+			long[] last = new long[capacity];
+			double[] v = new double[capacity];
+			System.arraycopy(this.firstMillis, this.offset, first, 0,
+					this.size);
+			System.arraycopy(this.lastMillis, this.offset, last, 0, this.size);
+			System.arraycopy(this.values, this.offset, v, 0, this.size);
+			this.firstMillis = first;
+			this.lastMillis = last;
+			this.values = v;
+			this.offset = 0;
+		}
+		store(this.size, item);
+		this.size++;
+	}
+
+	/**
+	 * Removes the first item.
+	 */
+	void removeFirst() {
+		checkIndex(0);
+		this.size--;
+		this.offset = this.size == 0 ? 0 : this.offset + 1;
+	}
+
+	/**
+	 * Updates the value of an item.
+	 *
+	 * @param index
+	 *            the item index (zero-based).
+	 * @param value
+	 *            the new value ({@code Double.NaN} for a {@code null} value).
+	 */
+	void setValue(int index, double value) {
+		checkIndex(index);
+		this.values[this.offset + index] = value;
+	}
+
+	/**
+	 * Stores the coordinates of an item at a position relative to the
+	 * offset.
+	 *
+	 * @param index
+	 *            the item index (zero-based).
+	 * @param item
+	 *            the item.
+	 */
+	private void store(int index, TimeSeriesDataItem item) {
+		RegularTimePeriod period = item.getPeriod();
+		int p = this.offset + index;
+		this.firstMillis[p] = period.getFirstMillisecond(this.calendar);
+		this.lastMillis[p] = period.getLastMillisecond(this.calendar);
+		Number value = item.getValue();
+		this.values[p] = value != null ? value.doubleValue() : Double.NaN;
+	}
+
+	/**
+	 * Returns the specified millisecond of the time period at an array
+	 * position, using the same calculation as
+	 * {@link RegularTimePeriod#getMillisecond(TimePeriodAnchor, Calendar)}.
+	 *
+	 * @param p
+	 *            the array position.
+	 * @param anchor
+	 *            the anchor point within the time period.
+	 *
+	 * @return The millisecond.
+	 */
+	private long millisecond(int p, TimePeriodAnchor anchor) {
+		if (anchor == TimePeriodAnchor.START) {
+			return this.firstMillis[p];
+		}
+		else if (anchor == TimePeriodAnchor.END) {
+			return this.lastMillis[p];
+		}
+		long m1 = this.firstMillis[p];
+		return m1 + (this.lastMillis[p] - m1) / 2;
+	}
+
+	/**
+	 * Checks that an item index is valid.
+	 *
+	 * @param index
+	 *            the item index.
+	 */
+	private void checkIndex(int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: "
+					+ this.size);
+		}
+	}
+
+}
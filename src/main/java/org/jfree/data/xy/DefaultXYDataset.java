@@ -48,6 +48,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.jfree.chart.util.ParamChecks;
 import org.jfree.chart.util.PublicCloneable;
 import org.jfree.data.DomainOrder;
 import org.jfree.data.general.DatasetChangeEvent;
@@ -59,7 +60,7 @@ import org.jfree.data.general.DatasetChangeEvent;
  * @since 1.0.2
  */
 public class DefaultXYDataset extends AbstractXYDataset
-		implements XYDataset, PublicCloneable {
+		implements PrimitiveXYDataset, PublicCloneable {
 
 	/**
 	 * Storage for the series keys. This list must be kept in sync with the
@@ -254,6 +255,80 @@ public class DefaultXYDataset extends AbstractXYDataset
 		return getYValue(series, item);
 	}
 
+	/**
+	 * Copies the x-values for a range of items in a series into an array.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param firstItem
+	 *            the index of the first item to copy.
+	 * @param lastItem
+	 *            the index of the last item to copy.
+	 * @param dest
+	 *            the destination array (<code>null</code> not permitted).
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 *
+	 * @since 2.0
+	 */
+	@Override
+	public void getXValues(int series, int firstItem, int lastItem,
+			double[] dest, int destPos) {
+		double[][] seriesData = this.seriesList.get(series);
+		copyValues(seriesData[0], firstItem, lastItem, dest, destPos);
+	}
+
+	/**
+	 * Copies the y-values for a range of items in a series into an array.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param firstItem
+	 *            the index of the first item to copy.
+	 * @param lastItem
+	 *            the index of the last item to copy.
+	 * @param dest
+	 *            the destination array (<code>null</code> not permitted).
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 *
+	 * @since 2.0
+	 */
+	@Override
+	public void getYValues(int series, int firstItem, int lastItem,
+			double[] dest, int destPos) {
+		double[][] seriesData = this.seriesList.get(series);
+		copyValues(seriesData[1], firstItem, lastItem, dest, destPos);
+	}
+
+	/**
+	 * Copies the values <code>firstItem</code> to <code>lastItem</code>
+	 * (inclusive) from one array to another.
+	 *
+	 * @param values
+	 *            the source values.
+	 * @param firstItem
+	 *            the index of the first item to copy.
+	 * @param lastItem
+	 *            the index of the last item to copy.
+	 * @param dest
+	 *            the destination array.
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 */
+	private static void copyValues(double[] values, int firstItem,
+			int lastItem, double[] dest, int destPos) {
+		ParamChecks.nullNotPermitted(dest, "dest");
+		if (lastItem >= firstItem) {
+			if (firstItem < 0 || lastItem >= values.length) {
+				throw new IndexOutOfBoundsException("Items " + firstItem
+						+ " to " + lastItem + ", Size: " + values.length);
+			}
+			System.arraycopy(values, firstItem, dest, destPos,
+					lastItem - firstItem + 1);
+		}
+	}
+
 	/**
 	 * Adds a series or if a series with the same key already exists replaces
 	 * the data for that series, then sends a {@link DatasetChangeEvent} to all
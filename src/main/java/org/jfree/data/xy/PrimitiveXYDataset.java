@@ -0,0 +1,96 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------
+ * PrimitiveXYDataset.java
+ * -----------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.xy;
+
+/**
+ * An optional extension of {@link XYDataset} for datasets that can copy the
+ * x- and y-values of a range of items into caller-supplied arrays in one
+ * call.  Renderers use this to read a whole series slice without the
+ * per-item method calls (and, for some datasets, the boxing) of
+ * {@link XYDataset#getXValue(int, int)} and
+ * {@link XYDataset#getYValue(int, int)}.
+ *
+ * @since 2.0
+ */
+public interface PrimitiveXYDataset extends XYDataset {
+
+	/**
+	 * Copies the x-values for the items <code>firstItem</code> to
+	 * <code>lastItem</code> (inclusive) in a series into an array, starting
+	 * at <code>destPos</code>.  The values copied are the same as those
+	 * returned by {@link #getXValue(int, int)}.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param firstItem
+	 *            the index of the first item to copy.
+	 * @param lastItem
+	 *            the index of the last item to copy.
+	 * @param dest
+	 *            the destination array (<code>null</code> not permitted).
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if an item index or the destination range is out of bounds.
+	 */
+	public void getXValues(int series, int firstItem, int lastItem,
+			double[] dest, int destPos);
+
+	/**
+	 * Copies the y-values for the items <code>firstItem</code> to
+	 * <code>lastItem</code> (inclusive) in a series into an array, starting
+	 * at <code>destPos</code>.  The values copied are the same as those
+	 * returned by {@link #getYValue(int, int)}, so a <code>null</code>
+	 * y-value is copied as <code>Double.NaN</code>.
+	 *
+	 * @param series
+	 *            the series index (zero-based).
+	 * @param firstItem
+	 *            the index of the first item to copy.
+	 * @param lastItem
+	 *            the index of the last item to copy.
+	 * @param dest
+	 *            the destination array (<code>null</code> not permitted).
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 *
+	 * @throws IndexOutOfBoundsException
+	 *             if an item index or the destination range is out of bounds.
+	 */
+	public void getYValues(int series, int firstItem, int lastItem,
+			double[] dest, int destPos);
+
+}
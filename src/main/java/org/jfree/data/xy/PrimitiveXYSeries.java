@@ -0,0 +1,1270 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * PrimitiveXYSeries.java
+ * ----------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import org.jfree.chart.util.ParamChecks;
+import org.jfree.data.general.RollingMinMax;
+import org.jfree.data.general.SeriesChangeEvent;
+import org.jfree.data.general.SeriesException;
+
+/**
+ * An {@link XYSeries} that stores its data in two growable arrays of
+ * <code>double</code> primitives rather than as a list of {@link XYDataItem}
+ * instances. This substantially reduces the memory footprint (and garbage
+ * collection overhead) for series containing millions of items. The series
+ * supports the same auto-sort, duplicate x-value and maximum item count
+ * behaviour as {@link XYSeries}, and can be added to an
+ * {@link XYSeriesCollection} in the usual way.
+ * <P>
+ * {@link XYDataItem} instances are created only on request (for example, by
+ * {@link #getDataItem(int)} or {@link #getItems()}) and are copies, so
+ * modifying them has no effect on the series. All x-values are stored as
+ * doubles, so {@link #indexOf(Number)} compares the double value of its
+ * argument. The inherited <code>data</code> list is not used by this class.
+ * <P>
+ * Removing the oldest items (for example, when a maximum item count is set)
+ * takes constant amortized time, as the start of the data is tracked by an
+ * offset into the arrays rather than by moving the remaining values.
+ *
+ * @since 2.0
+ */
+public class PrimitiveXYSeries extends XYSeries {
+
+	/** For serialization. */
+	private static final long serialVersionUID = 4611217463196426017L;
+
+	/** The default initial capacity for the value arrays. */
+	private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+	/**
+	 * The bits of a (non-canonical) NaN value that is used to record a
+	 * <code>null</code> y-value. Because it is a NaN, the stored value can be
+	 * returned directly from {@link #getYValue(int)}.
+	 */
+	private static final long NULL_Y_BITS = 0x7ff80000000ffeedL;
+
+	/** The value stored for a <code>null</code> y-value. */
+	private static final double NULL_Y = Double.longBitsToDouble(NULL_Y_BITS);
+
+	/** Storage for the x-values. */
+	private transient double[] xValues;
+
+	/** Storage for the y-values (see {@link #writeObject}). */
+	private transient double[] yValues;
+
+	/** The array index of the first item in the series. */
+	private transient int offset;
+
+	/** The number of items in the series. */
+	private int itemCount;
+
+	/** The lowest x-value in the series, excluding Double.NaN values. */
+	private double minX;
+
+	/** The highest x-value in the series, excluding Double.NaN values. */
+	private double maxX;
+
+	/** The lowest y-value in the series, excluding Double.NaN values. */
+	private double minY;
+
+	/** The highest y-value in the series, excluding Double.NaN values. */
+	private double maxY;
+
+	/**
+	 * Tracks the bounds of the x-values when a maximum item count is set
+	 * (<code>null</code> otherwise).
+	 */
+	private RollingMinMax xWindow;
+
+	/** Tracks the bounds of the y-values when a maximum item count is set. */
+	private RollingMinMax yWindow;
+
+	/** A flag that indicates whether the windows exactly mirror the data. */
+	private boolean windowsValid;
+
+	/**
+	 * Creates a new empty series. By default, items added to the series will be
+	 * sorted into ascending order by x-value, and duplicate x-values will be
+	 * allowed.
+	 *
+	 * @param key
+	 *            the series key (<code>null</code> not permitted).
+	 */
+	public PrimitiveXYSeries(Comparable key) {
+		this(key, true, true);
+	}
+
+	/**
+	 * Constructs a new empty series, with the auto-sort flag set as requested,
+	 * and duplicate values allowed.
+	 *
+	 * @param key
+	 *            the series key (<code>null</code> not permitted).
+	 * @param autoSort
+	 *            a flag that controls whether or not the items in the series
+	 *            are sorted.
+	 */
+	public PrimitiveXYSeries(Comparable key, boolean autoSort) {
+		this(key, autoSort, true);
+	}
+
+	/**
+	 * Constructs a new series that contains no data.
+	 *
+	 * @param key
+	 *            the series key (<code>null</code> not permitted).
+	 * @param autoSort
+	 *            a flag that controls whether or not the items in the series
+	 *            are sorted.
+	 * @param allowDuplicateXValues
+	 *            a flag that controls whether duplicate x-values are allowed.
+	 */
+	public PrimitiveXYSeries(Comparable key, boolean autoSort,
+			boolean allowDuplicateXValues) {
+		this(key, autoSort, allowDuplicateXValues, DEFAULT_INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Constructs a new series that contains no data, with storage
+	 * preallocated for the specified number of items.
+	 *
+	 * @param key
+	 *            the series key (<code>null</code> not permitted).
+	 * @param autoSort
+	 *            a flag that controls whether or not the items in the series
+	 *            are sorted.
+	 * @param allowDuplicateXValues
+	 *            a flag that controls whether duplicate x-values are allowed.
+	 * @param initialCapacity
+	 *            the initial capacity (must be non-negative).
+	 */
+	public PrimitiveXYSeries(Comparable key, boolean autoSort,
+			boolean allowDuplicateXValues, int initialCapacity) {
+		super(key, autoSort, allowDuplicateXValues);
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException(
+					"Requires 'initialCapacity' >= 0.");
+		}
+		this.xValues = new double[initialCapacity];
+		this.yValues = new double[initialCapacity];
+		this.itemCount = 0;
+		this.minX = Double.NaN;
+		this.maxX = Double.NaN;
+		this.minY = Double.NaN;
+		this.maxY = Double.NaN;
+	}
+
+	/**
+	 * Returns the smallest x-value in the series, ignoring any Double.NaN
+	 * values.
+	 *
+	 * @return The smallest x-value.
+	 */
+	@Override
+	public double getMinX() {
+		return this.minX;
+	}
+
+	/**
+	 * Returns the largest x-value in the series, ignoring any Double.NaN
+	 * values.
+	 *
+	 * @return The largest x-value.
+	 */
+	@Override
+	public double getMaxX() {
+		return this.maxX;
+	}
+
+	/**
+	 * Returns the smallest y-value in the series, ignoring any null and
+	 * Double.NaN values.
+	 *
+	 * @return The smallest y-value.
+	 */
+	@Override
+	public double getMinY() {
+		return this.minY;
+	}
+
+	/**
+	 * Returns the largest y-value in the series, ignoring any null and
+	 * Double.NaN values.
+	 *
+	 * @return The largest y-value.
+	 */
+	@Override
+	public double getMaxY() {
+		return this.maxY;
+	}
+
+	/**
+	 * Returns the number of items in the series.
+	 *
+	 * @return The item count.
+	 */
+	@Override
+	public int getItemCount() {
+		return this.itemCount;
+	}
+
+	/**
+	 * Returns an unmodifiable view of the data items in the series. Each call
+	 * to <code>get()</code> on the returned list creates a new
+	 * {@link XYDataItem}.
+	 *
+	 * @return The list of data items.
+	 */
+	@Override
+	public List<XYDataItem> getItems() {
+		return Collections.unmodifiableList(new ItemList());
+	}
+
+	/**
+	 * Sets the maximum number of items that will be retained in the series,
+	 * removing the oldest items (and sending a {@link SeriesChangeEvent} to
+	 * all registered listeners) if necessary.
+	 *
+	 * @param maximum
+	 *            the maximum number of items for the series.
+	 */
+	@Override
+	public void setMaximumItemCount(int maximum) {
+		int remove = this.itemCount - maximum;
+		if (remove > 0) {
+			removeValues(0, remove);
+			discardIndex();
+		}
+		super.setMaximumItemCount(maximum);
+		if (maximum == Integer.MAX_VALUE) {
+			this.xWindow = null;
+			this.yWindow = null;
+		} else if (this.xWindow == null) {
+			this.xWindow = new RollingMinMax();
+			this.yWindow = new RollingMinMax();
+			this.windowsValid = false;
+		}
+		if (remove > 0 || (this.xWindow != null && !this.windowsValid)) {
+			findBoundsByIteration();
+		}
+		if (remove > 0) {
+			fireSeriesChanged();
+		}
+	}
+
+	/**
+	 * Adds a data item to the series and, if requested, sends a
+	 * {@link SeriesChangeEvent} to all registered listeners. The item itself
+	 * is not retained by the series.
+	 *
+	 * @param item
+	 *            the (x, y) item (<code>null</code> not permitted).
+	 * @param notify
+	 *            a flag that controls whether or not a
+	 *            {@link SeriesChangeEvent} is sent to all registered listeners.
+	 */
+	@Override
+	public void add(XYDataItem item, boolean notify) {
+		ParamChecks.nullNotPermitted(item, "item");
+		addValue(item.getXValue(), toStoredY(item.getY()), notify);
+	}
+
+	/**
+	 * Adds a data item to the series and sends a {@link SeriesChangeEvent} to
+	 * all registered listeners.
+	 *
+	 * @param x
+	 *            the x value.
+	 * @param y
+	 *            the y value.
+	 */
+	@Override
+	public void add(double x, double y) {
+		addValue(x, y, true);
+	}
+
+	/**
+	 * Adds a data item to the series and, if requested, sends a
+	 * {@link SeriesChangeEvent} to all registered listeners.
+	 *
+	 * @param x
+	 *            the x value.
+	 * @param y
+	 *            the y value.
+	 * @param notify
+	 *            a flag that controls whether or not a
+	 *            {@link SeriesChangeEvent} is sent to all registered listeners.
+	 */
+	@Override
+	public void add(double x, double y, boolean notify) {
+		addValue(x, y, notify);
+	}
+
+	/**
+	 * Adds a data item to the series and sends a {@link SeriesChangeEvent} to
+	 * all registered listeners.
+	 *
+	 * @param x
+	 *            the x value.
+	 * @param y
+	 *            the y value (<code>null</code> permitted).
+	 */
+	@Override
+	public void add(double x, Number y) {
+		addValue(x, toStoredY(y), true);
+	}
+
+	/**
+	 * Adds a data item to the series and, if requested, sends a
+	 * {@link SeriesChangeEvent} to all registered listeners.
+	 *
+	 * @param x
+	 *            the x value.
+	 * @param y
+	 *            the y value (<code>null</code> permitted).
+	 * @param notify
+	 *            a flag that controls whether or not a
+	 *            {@link SeriesChangeEvent} is sent to all registered listeners.
+	 */
+	@Override
+	public void add(double x, Number y, boolean notify) {
+		addValue(x, toStoredY(y), notify);
+	}
+
+	/**
+	 * Adds new data to the series and, if requested, sends a
+	 * {@link SeriesChangeEvent} to all registered listeners.
+	 *
+	 * @param x
+	 *            the x-value (<code>null</code> not permitted).
+	 * @param y
+	 *            the y-value (<code>null</code> permitted).
+	 * @param notify
+	 *            a flag the controls whether or not a {@link SeriesChangeEvent}
+	 *            is sent to all registered listeners.
+	 */
+	@Override
+	public void add(Number x, Number y, boolean notify) {
+		ParamChecks.nullNotPermitted(x, "x");
+		addValue(x.doubleValue(), toStoredY(y), notify);
+	}
+
+	/**
+	 * Adds a value to the series, taking care of sorting, duplicate checks
+	 * and the maximum item count.
+	 *
+	 * @param x
+	 *            the x-value.
+	 * @param y
+	 *            the (stored) y-value.
+	 * @param notify
+	 *            notify listeners?
+	 */
+	private void addValue(double x, double y, boolean notify) {
+		int index;
+		if (getAutoSort()) {
+			// add *after* any existing items with the same x-value
+			index = upperBound(x);
+			if (!getAllowDuplicateXValues() && index > 0
+					&& sameX(this.xValues[this.offset + index - 1], x)) {
+				throw new SeriesException("X-value already exists.");
+			}
+		} else {
+			if (!getAllowDuplicateXValues() && indexOf(x) >= 0) {
+				throw new SeriesException("X-value already exists.");
+			}
+			index = this.itemCount;
+		}
+		insertValue(index, x, y);
+		updateBoundsForAddedValue(x, y, index == this.itemCount - 1);
+		if (this.itemCount > getMaximumItemCount()) {
+			removeFirstValue();
+		}
+		if (notify) {
+			fireSeriesChanged();
+		}
+	}
+
+	/**
+	 * Deletes a range of items from the series and sends a
+	 * {@link SeriesChangeEvent} to all registered listeners.
+	 *
+	 * @param start
+	 *            the start index (zero-based).
+	 * @param end
+	 *            the end index (zero-based).
+	 */
+	@Override
+	public void delete(int start, int end) {
+		if (start < 0 || end >= this.itemCount || start > end + 1) {
+			throw new IndexOutOfBoundsException("start = " + start
+					+ ", end = " + end + ", itemCount = " + this.itemCount);
+		}
+		removeValues(start, end + 1);
+		discardIndex();
+		findBoundsByIteration();
+		fireSeriesChanged();
+	}
+
+	/**
+	 * Removes the item at the specified index and sends a
+	 * {@link SeriesChangeEvent} to all registered listeners.
+	 *
+	 * @param index
+	 *            the index.
+	 *
+	 * @return The item removed.
+	 */
+	@Override
+	public XYDataItem remove(int index) {
+		XYDataItem removed = getDataItem(index);
+		double x = this.xValues[this.offset + index];
+		double y = this.yValues[this.offset + index];
+		removeValues(index, index + 1);
+		updateBoundsForRemovedValue(x, y, index == 0);
+		fireSeriesChanged();
+		return removed;
+	}
+
+	/**
+	 * Removes all data items from the series and sends a
+	 * {@link SeriesChangeEvent} to all registered listeners.
+	 */
+	@Override
+	public void clear() {
+		if (this.itemCount > 0) {
+			this.itemCount = 0;
+			this.offset = 0;
+			discardIndex();
+			if (this.xWindow != null) {
+				this.xWindow.clear();
+				this.yWindow.clear();
+				this.windowsValid = true;
+			}
+			this.minX = Double.NaN;
+			this.maxX = Double.NaN;
+			this.minY = Double.NaN;
+			this.maxY = Double.NaN;
+			fireSeriesChanged();
+		}
+	}
+
+	/**
+	 * Returns a new data item containing the values at the specified index.
+	 *
+	 * @param index
+	 *            the index.
+	 *
+	 * @return The data item with the specified index.
+	 */
+	@Override
+	public XYDataItem getDataItem(int index) {
+		checkIndex(index);
+		return new XYDataItem(new Double(this.xValues[this.offset + index]),
+				toNumber(this.yValues[this.offset + index]));
+	}
+
+	/**
+	 * Returns a new data item containing the values at the specified index
+	 * (there is no stored item to return).
+	 *
+	 * @param index
+	 *            the index.
+	 *
+	 * @return The data item with the specified index.
+	 */
+	@Override
+	XYDataItem getRawDataItem(int index) {
+		return getDataItem(index);
+	}
+
+	/**
+	 * Returns the x-value at the specified index.
+	 *
+	 * @param index
+	 *            the index (zero-based).
+	 *
+	 * @return The x-value (never <code>null</code>).
+	 */
+	@Override
+	public Number getX(int index) {
+		checkIndex(index);
+		return new Double(this.xValues[this.offset + index]);
+	}
+
+	/**
+	 * Returns the y-value at the specified index.
+	 *
+	 * @param index
+	 *            the index (zero-based).
+	 *
+	 * @return The y-value (possibly <code>null</code>).
+	 */
+	@Override
+	public Number getY(int index) {
+		checkIndex(index);
+		return toNumber(this.yValues[this.offset + index]);
+	}
+
+	/**
+	 * Returns the x-value at the specified index as a double primitive.
+	 *
+	 * @param index
+	 *            the index (zero-based).
+	 *
+	 * @return The x-value.
+	 */
+	@Override
+	public double getXValue(int index) {
+		checkIndex(index);
+		return this.xValues[this.offset + index];
+	}
+
+	/**
+	 * Returns the y-value at the specified index as a double primitive
+	 * (<code>Double.NaN</code> for a <code>null</code> y-value).
+	 *
+	 * @param index
+	 *            the index (zero-based).
+	 *
+	 * @return The y-value.
+	 */
+	@Override
+	public double getYValue(int index) {
+		checkIndex(index);
+		return this.yValues[this.offset + index];
+	}
+
+	/**
+	 * Copies the x-values for the items <code>firstItem</code> to
+	 * <code>lastItem</code> (inclusive) into an array.
+	 *
+	 * @param firstItem
+	 *            the index of the first item to copy.
+	 * @param lastItem
+	 *            the index of the last item to copy.
+	 * @param dest
+	 *            the destination array (<code>null</code> not permitted).
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 */
+	@Override
+	public void getXValues(int firstItem, int lastItem, double[] dest,
+			int destPos) {
+		copyValues(this.xValues, firstItem, lastItem, dest, destPos);
+	}
+
+	/**
+	 * Copies the y-values for the items <code>firstItem</code> to
+	 * <code>lastItem</code> (inclusive) into an array.  A <code>null</code>
+	 * y-value is copied as <code>Double.NaN</code>.
+	 *
+	 * @param firstItem
+	 *            the index of the first item to copy.
+	 * @param lastItem
+	 *            the index of the last item to copy.
+	 * @param dest
+	 *            the destination array (<code>null</code> not permitted).
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 */
+	@Override
+	public void getYValues(int firstItem, int lastItem, double[] dest,
+			int destPos) {
+		copyValues(this.yValues, firstItem, lastItem, dest, destPos);
+	}
+
+	/**
+	 * Copies the stored values for a range of items into an array.
+	 *
+	 * @param values
+	 *            the storage array.
+	 * @param firstItem
+	 *            the index of the first item to copy.
+	 * @param lastItem
+	 *            the index of the last item to copy.
+	 * @param dest
+	 *            the destination array (<code>null</code> not permitted).
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 */
+	private void copyValues(double[] values, int firstItem, int lastItem,
+			double[] dest, int destPos) {
+		ParamChecks.nullNotPermitted(dest, "dest");
+		if (lastItem >= firstItem) {
+			checkIndex(firstItem);
+			checkIndex(lastItem);
+			System.arraycopy(values, this.offset + firstItem, dest, destPos,
+					lastItem - firstItem + 1);
+		}
+	}
+
+	/**
+	 * Updates the value of an item in the series and sends a
+	 * {@link SeriesChangeEvent} to all registered listeners.
+	 *
+	 * @param index
+	 *            the item (zero based index).
+	 * @param y
+	 *            the new value (<code>null</code> permitted).
+	 */
+	@Override
+	public void updateByIndex(int index, Number y) {
+		checkIndex(index);
+		setYValue(index, toStoredY(y));
+		fireSeriesChanged();
+	}
+
+	/**
+	 * Adds or updates an item in the series and sends a
+	 * {@link SeriesChangeEvent} to all registered listeners.
+	 *
+	 * @param x
+	 *            the x-value.
+	 * @param y
+	 *            the y-value.
+	 *
+	 * @return The item that was overwritten, if any.
+	 */
+	@Override
+	public XYDataItem addOrUpdate(double x, double y) {
+		return addOrUpdateValue(x, y);
+	}
+
+	/**
+	 * Adds or updates an item in the series and sends a
+	 * {@link SeriesChangeEvent} to all registered listeners.
+	 *
+	 * @param x
+	 *            the x-value (<code>null</code> not permitted).
+	 * @param y
+	 *            the y-value (<code>null</code> permitted).
+	 *
+	 * @return A copy of the overwritten data item, or <code>null</code> if no
+	 *         item was overwritten.
+	 */
+	@Override
+	public XYDataItem addOrUpdate(Number x, Number y) {
+		ParamChecks.nullNotPermitted(x, "x");
+		return addOrUpdateValue(x.doubleValue(), toStoredY(y));
+	}
+
+	/**
+	 * Adds or updates an item in the series and sends a
+	 * {@link SeriesChangeEvent} to all registered listeners.
+	 *
+	 * @param item
+	 *            the data item (<code>null</code> not permitted).
+	 *
+	 * @return A copy of the overwritten data item, or <code>null</code> if no
+	 *         item was overwritten.
+	 */
+	@Override
+	public XYDataItem addOrUpdate(XYDataItem item) {
+		ParamChecks.nullNotPermitted(item, "item");
+		return addOrUpdateValue(item.getXValue(), toStoredY(item.getY()));
+	}
+
+	/**
+	 * Adds or updates a value in the series and sends a
+	 * {@link SeriesChangeEvent} to all registered listeners.
+	 *
+	 * @param x
+	 *            the x-value.
+	 * @param y
+	 *            the (stored) y-value.
+	 *
+	 * @return A data item containing the overwritten values, or
+	 *         <code>null</code>.
+	 */
+	private XYDataItem addOrUpdateValue(double x, double y) {
+		if (getAllowDuplicateXValues()) {
+			addValue(x, y, true);
+			return null;
+		}
+		XYDataItem overwritten = null;
+		int index = indexOf(x);
+		if (index >= 0) {
+			overwritten = getDataItem(index);
+			setYValue(index, y);
+		} else {
+			int insertAt = getAutoSort() ? -index - 1 : this.itemCount;
+			insertValue(insertAt, x, y);
+			updateBoundsForAddedValue(x, y, insertAt == this.itemCount - 1);
+			if (this.itemCount > getMaximumItemCount()) {
+				removeFirstValue();
+			}
+		}
+		fireSeriesChanged();
+		return overwritten;
+	}
+
+	/**
+	 * Returns the index of the item with the specified x-value, or a negative
+	 * index if the series does not contain an item with that x-value.
+	 *
+	 * @param x
+	 *            the x-value (<code>null</code> not permitted).
+	 *
+	 * @return The index.
+	 */
+	@Override
+	public int indexOf(Number x) {
+		ParamChecks.nullNotPermitted(x, "x");
+		return indexOf(x.doubleValue());
+	}
+
+	/**
+	 * Returns the index of the item with the specified x-value, or a negative
+	 * index if the series does not contain an item with that x-value. For a
+	 * sorted series the negative index encodes the insertion point in the
+	 * same way as <code>Collections.binarySearch()</code>; for an unsorted
+	 * series the index is found by iterating through all items and -1 is
+	 * returned if there is no match.
+	 *
+	 * @param x
+	 *            the x-value.
+	 *
+	 * @return The index.
+	 */
+	public int indexOf(double x) {
+		if (getAutoSort()) {
+			int low = 0;
+			int high = this.itemCount - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				double midX = this.xValues[this.offset + mid];
+				if (midX < x) {
+					low = mid + 1;
+				} else if (midX > x) {
+					high = mid - 1;
+				} else {
+					return mid;
+				}
+			}
+			return -(low + 1);
+		} else {
+			for (int i = 0; i < this.itemCount; i++) {
+				if (sameX(this.xValues[this.offset + i], x)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+
+	/**
+	 * Returns a new array containing the x and y values from this series.
+	 *
+	 * @return A new array containing the x and y values from this series.
+	 */
+	@Override
+	public double[][] toArray() {
+		int end = this.offset + this.itemCount;
+		return new double[][] {
+				Arrays.copyOfRange(this.xValues, this.offset, end),
+				Arrays.copyOfRange(this.yValues, this.offset, end)};
+	}
+
+	/**
+	 * Returns a clone of the series.
+	 *
+	 * @return A clone of the series.
+	 *
+	 * @throws CloneNotSupportedException
+	 *             if there is a cloning problem.
+	 */
+	@Override
+	public Object clone() throws CloneNotSupportedException {
+		PrimitiveXYSeries clone = (PrimitiveXYSeries) super.clone();
+		int end = this.offset + this.itemCount;
+		clone.xValues = Arrays.copyOfRange(this.xValues, this.offset, end);
+		clone.yValues = Arrays.copyOfRange(this.yValues, this.offset, end);
+		clone.offset = 0;
+		if (this.xWindow != null) {
+			clone.xWindow = (RollingMinMax) this.xWindow.clone();
+			clone.yWindow = (RollingMinMax) this.yWindow.clone();
+		}
+		return clone;
+	}
+
+	/**
+	 * Creates a new series by copying a subset of the data in this series.
+	 *
+	 * @param start
+	 *            the index of the first item to copy.
+	 * @param end
+	 *            the index of the last item to copy.
+	 *
+	 * @return A series containing a copy of this series from start until end.
+	 *
+	 * @throws CloneNotSupportedException
+	 *             if there is a cloning problem.
+	 */
+	@Override
+	public XYSeries createCopy(int start, int end)
+			throws CloneNotSupportedException {
+		PrimitiveXYSeries copy = (PrimitiveXYSeries) super.clone();
+		if (this.itemCount > 0) {
+			copy.xValues = Arrays.copyOfRange(this.xValues, this.offset + start,
+					this.offset + end + 1);
+			copy.yValues = Arrays.copyOfRange(this.yValues, this.offset + start,
+					this.offset + end + 1);
+			copy.itemCount = copy.xValues.length;
+		}
+		copy.offset = 0;
+		if (this.xWindow != null) {
+			copy.xWindow = new RollingMinMax();
+			copy.yWindow = new RollingMinMax();
+		}
+		copy.findBoundsByIteration();
+		return copy;
+	}
+
+	/**
+	 * Tests this series for equality with an arbitrary object.
+	 *
+	 * @param obj
+	 *            the object to test against for equality (<code>null</code>
+	 *            permitted).
+	 *
+	 * @return A boolean.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof PrimitiveXYSeries)) {
+			return false;
+		}
+		if (!super.equals(obj)) {
+			return false;
+		}
+		PrimitiveXYSeries that = (PrimitiveXYSeries) obj;
+		if (this.itemCount != that.itemCount) {
+			return false;
+		}
+		for (int i = 0; i < this.itemCount; i++) {
+			double x1 = this.xValues[this.offset + i];
+			double x2 = that.xValues[that.offset + i];
+			if (Double.doubleToLongBits(x1) != Double.doubleToLongBits(x2)) {
+				return false;
+			}
+			double y1 = this.yValues[this.offset + i];
+			double y2 = that.yValues[that.offset + i];
+			if (isNullY(y1) != isNullY(y2)) {
+				return false;
+			}
+			if (Double.doubleToLongBits(y1) != Double.doubleToLongBits(y2)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Throws an <code>IndexOutOfBoundsException</code> if the index is not
+	 * valid for this series.
+	 *
+	 * @param index
+	 *            the index.
+	 */
+	private void checkIndex(int index) {
+		if (index < 0 || index >= this.itemCount) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: "
+					+ this.itemCount);
+		}
+	}
+
+	/**
+	 * Returns the index of the first item with an x-value greater than the
+	 * specified value (this is where a new item with that x-value should be
+	 * inserted in a sorted series).
+	 *
+	 * @param x
+	 *            the x-value.
+	 *
+	 * @return The index.
+	 */
+	private int upperBound(double x) {
+		int low = 0;
+		int high = this.itemCount;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (this.xValues[this.offset + mid] > x) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Inserts a value at the specified index, growing (or compacting) the
+	 * arrays if required.
+	 *
+	 * @param index
+	 *            the index.
+	 * @param x
+	 *            the x-value.
+	 * @param y
+	 *            the (stored) y-value.
+	 */
+	private void insertValue(int index, double x, double y) {
+		if (index == 0 && this.offset > 0) {
+			this.offset--;
+		} else {
+			if (this.offset + this.itemCount == this.xValues.length) {
+				if (this.itemCount < this.xValues.length / 2) {
+					// there is plenty of space at the front of the arrays
+					System.arraycopy(this.xValues, this.offset, this.xValues, 0,
+							this.itemCount);
+					System.arraycopy(this.yValues, this.offset, this.yValues, 0,
+							this.itemCount);
+				} else {
+					int capacity = Math.max(DEFAULT_INITIAL_CAPACITY,
+							this.itemCount + (this.itemCount >> 1));
+					this.xValues = Arrays.copyOfRange(this.xValues,
+							this.offset, this.offset + capacity);
+					this.yValues = Arrays.copyOfRange(this.yValues,
+							this.offset, this.offset + capacity);
+				}
+				this.offset = 0;
+			}
+			int i = this.offset + index;
+			if (index < this.itemCount) {
+				System.arraycopy(this.xValues, i, this.xValues, i + 1,
+						this.itemCount - index);
+				System.arraycopy(this.yValues, i, this.yValues, i + 1,
+						this.itemCount - index);
+			}
+		}
+		this.xValues[this.offset + index] = x;
+		this.yValues[this.offset + index] = y;
+		this.itemCount++;
+	}
+
+	/**
+	 * Removes the values in the range <code>start</code> (inclusive) to
+	 * <code>end</code> (exclusive). Bounds are not updated.
+	 *
+	 * @param start
+	 *            the start index.
+	 * @param end
+	 *            the end index (exclusive).
+	 */
+	private void removeValues(int start, int end) {
+		if (start == 0) {
+			this.offset += end;
+		} else {
+			int tail = this.itemCount - end;
+			if (tail > 0) {
+				System.arraycopy(this.xValues, this.offset + end, this.xValues,
+						this.offset + start, tail);
+				System.arraycopy(this.yValues, this.offset + end, this.yValues,
+						this.offset + start, tail);
+			}
+		}
+		this.itemCount -= end - start;
+		if (this.itemCount == 0) {
+			this.offset = 0;
+		}
+	}
+
+	/**
+	 * Removes the first (oldest) item in the series, updating the bounds.
+	 */
+	private void removeFirstValue() {
+		double x = this.xValues[this.offset];
+		double y = this.yValues[this.offset];
+		removeValues(0, 1);
+		updateBoundsForRemovedValue(x, y, true);
+	}
+
+	/**
+	 * Sets the y-value at the specified index, updating the cached bounds.
+	 *
+	 * @param index
+	 *            the index.
+	 * @param y
+	 *            the new (stored) y-value.
+	 */
+	private void setYValue(int index, double y) {
+		// figure out if we need to iterate through all the y-values
+		boolean iterate = false;
+		double oldY = this.yValues[this.offset + index];
+		this.windowsValid = false;
+		if (!Double.isNaN(oldY)) {
+			iterate = oldY <= this.minY || oldY >= this.maxY;
+		}
+		this.yValues[this.offset + index] = y;
+		updateIndexForUpdatedValue(index, y);
+		if (iterate) {
+			findBoundsByIteration();
+		} else {
+			this.minY = minIgnoreNaN(this.minY, y);
+			this.maxY = maxIgnoreNaN(this.maxY, y);
+		}
+	}
+
+	/**
+	 * Updates the cached values for the minimum and maximum data values.
+	 *
+	 * @param x
+	 *            the x-value added.
+	 * @param y
+	 *            the y-value added.
+	 * @param appended
+	 *            a flag indicating whether the value was added at the end of
+	 *            the series.
+	 */
+	private void updateBoundsForAddedValue(double x, double y,
+			boolean appended) {
+		this.minX = minIgnoreNaN(this.minX, x);
+		this.maxX = maxIgnoreNaN(this.maxX, x);
+		this.minY = minIgnoreNaN(this.minY, y);
+		this.maxY = maxIgnoreNaN(this.maxY, y);
+		updateIndexForAddedValue(y, appended);
+		if (this.xWindow != null && this.windowsValid) {
+			if (appended) {
+				this.xWindow.add(x);
+				this.yWindow.add(y);
+			} else {
+				this.windowsValid = false;
+			}
+		}
+	}
+
+	/**
+	 * Updates the cached values for the minimum and maximum data values on the
+	 * basis that the specified values have just been removed.
+	 *
+	 * @param x
+	 *            the x-value removed.
+	 * @param y
+	 *            the y-value removed.
+	 * @param first
+	 *            a flag indicating whether the value was removed from the
+	 *            start of the series.
+	 */
+	private void updateBoundsForRemovedValue(double x, double y,
+			boolean first) {
+		updateIndexForRemovedValue(first);
+		if (this.xWindow != null && this.windowsValid) {
+			if (first) {
+				this.xWindow.removeFirst();
+				this.yWindow.removeFirst();
+				this.minX = this.xWindow.getMin();
+				this.maxX = this.xWindow.getMax();
+				this.minY = this.yWindow.getMin();
+				this.maxY = this.yWindow.getMax();
+				return;
+			}
+			this.windowsValid = false;
+		}
+		boolean itemContributesToXBounds = !Double.isNaN(x)
+				&& (x <= this.minX || x >= this.maxX);
+		boolean itemContributesToYBounds = !Double.isNaN(y)
+				&& (y <= this.minY || y >= this.maxY);
+		if (itemContributesToYBounds) {
+			findBoundsByIteration();
+		} else if (itemContributesToXBounds) {
+			if (getAutoSort()) {
+				if (this.itemCount > 0) {
+					this.minX = this.xValues[this.offset];
+					this.maxX = this.xValues[this.offset + this.itemCount - 1];
+				} else {
+					this.minX = Double.NaN;
+					this.maxX = Double.NaN;
+				}
+			} else {
+				findBoundsByIteration();
+			}
+		}
+	}
+
+	/**
+	 * Finds the bounds of the x and y values for the series, by iterating
+	 * through all the data values.
+	 */
+	private void findBoundsByIteration() {
+		double x0 = Double.NaN;
+		double x1 = Double.NaN;
+		double y0 = Double.NaN;
+		double y1 = Double.NaN;
+		if (this.xWindow != null) {
+			this.xWindow.clear();
+			this.yWindow.clear();
+			this.windowsValid = true;
+		}
+		for (int i = 0; i < this.itemCount; i++) {
+			double x = this.xValues[this.offset + i];
+			x0 = minIgnoreNaN(x0, x);
+			x1 = maxIgnoreNaN(x1, x);
+			double y = this.yValues[this.offset + i];
+			y0 = minIgnoreNaN(y0, y);
+			y1 = maxIgnoreNaN(y1, y);
+			if (this.xWindow != null) {
+				this.xWindow.add(x);
+				this.yWindow.add(y);
+			}
+		}
+		this.minX = x0;
+		this.maxX = x1;
+		this.minY = y0;
+		this.maxY = y1;
+	}
+
+	/**
+	 * Returns <code>true</code> if the two x-values should be considered
+	 * duplicates.
+	 *
+	 * @param x1
+	 *            the first x-value.
+	 * @param x2
+	 *            the second x-value.
+	 *
+	 * @return A boolean.
+	 */
+	private static boolean sameX(double x1, double x2) {
+		return x1 == x2 || (Double.isNaN(x1) && Double.isNaN(x2));
+	}
+
+	/**
+	 * Returns <code>true</code> if the stored y-value represents
+	 * <code>null</code>.
+	 *
+	 * @param y
+	 *            the stored y-value.
+	 *
+	 * @return A boolean.
+	 */
+	private static boolean isNullY(double y) {
+		return Double.doubleToRawLongBits(y) == NULL_Y_BITS;
+	}
+
+	/**
+	 * Converts a y-value to the form used for storage.
+	 *
+	 * @param y
+	 *            the y-value (<code>null</code> permitted).
+	 *
+	 * @return The stored value.
+	 */
+	private static double toStoredY(Number y) {
+		return y != null ? y.doubleValue() : NULL_Y;
+	}
+
+	/**
+	 * Converts a stored y-value to a <code>Number</code>.
+	 *
+	 * @param y
+	 *            the stored y-value.
+	 *
+	 * @return The y-value (possibly <code>null</code>).
+	 */
+	private static Number toNumber(double y) {
+		return isNullY(y) ? null : new Double(y);
+	}
+
+	/**
+	 * Provides serialization support. The values are written by hand because
+	 * the default serialization of a <code>double</code> does not preserve
+	 * the bits of the NaN value used to record a <code>null</code> y-value.
+	 *
+	 * @param stream
+	 *            the output stream.
+	 *
+	 * @throws IOException
+	 *             if there is an I/O error.
+	 */
+	private void writeObject(ObjectOutputStream stream) throws IOException {
+		stream.defaultWriteObject();
+		for (int i = this.offset; i < this.offset + this.itemCount; i++) {
+			stream.writeLong(Double.doubleToRawLongBits(this.xValues[i]));
+			stream.writeLong(Double.doubleToRawLongBits(this.yValues[i]));
+		}
+	}
+
+	/**
+	 * Provides serialization support.
+	 *
+	 * @param stream
+	 *            the input stream.
+	 *
+	 * @throws IOException
+	 *             if there is an I/O error.
+	 * @throws ClassNotFoundException
+	 *             if there is a classpath problem.
+	 */
+	private void readObject(ObjectInputStream stream)
+			throws IOException, ClassNotFoundException {
+		stream.defaultReadObject();
+		this.xValues = new double[this.itemCount];
+		this.yValues = new double[this.itemCount];
+		for (int i = 0; i < this.itemCount; i++) {
+			this.xValues[i] = Double.longBitsToDouble(stream.readLong());
+			this.yValues[i] = Double.longBitsToDouble(stream.readLong());
+		}
+	}
+
+	/**
+	 * A read-only list view of the series that creates data items on demand.
+	 */
+	private class ItemList extends AbstractList<XYDataItem> implements
+			RandomAccess {
+
+		@Override
+		public XYDataItem get(int index) {
+			return getDataItem(index);
+		}
+
+		@Override
+		public int size() {
+			return PrimitiveXYSeries.this.itemCount;
+		}
+
+	}
+
+}
@@ -85,6 +85,10 @@ import java.util.Collections;
 import java.util.List;
 import org.jfree.chart.util.ObjectUtils;
 import org.jfree.chart.util.ParamChecks;
+import org.jfree.chart.util.RingBufferList;
+import org.jfree.data.Range;
+import org.jfree.data.general.RangeIndex;
+import org.jfree.data.general.RollingMinMax;
 import org.jfree.data.general.Series;
 import org.jfree.data.general.SeriesChangeEvent;
 import org.jfree.data.general.SeriesException;
@@ -95,6 +99,11 @@ import org.jfree.data.general.SeriesException;
  * and duplicate x-values are permitted. Both the sorting and duplicate defaults
  * can be changed in the constructor. Y-values can be <code>null</code> to
  * represent missing values.
+ * <P>
+ * The items are stored in a circular buffer, so when a maximum item count is
+ * set (see {@link #setMaximumItemCount(int)}) the series can be used as a
+ * sliding window: appending a new item and discarding the oldest one are both
+ * constant time operations, including the update of the cached bounds.
  */
 public class XYSeries extends Series implements Cloneable, Serializable {
 
@@ -132,6 +141,34 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 	/** The highest y-value in the series, excluding Double.NaN values. */
 	private double maxY;
 
+	/**
+	 * Tracks the bounds of the x-values when a maximum item count is set, so
+	 * that they can be updated in constant time as the oldest items are
+	 * removed (<code>null</code> when there is no maximum item count).
+	 */
+	private RollingMinMax xWindow;
+
+	/** Tracks the bounds of the y-values (see {@link #xWindow}). */
+	private RollingMinMax yWindow;
+
+	/**
+	 * A flag that indicates whether the windows exactly mirror the data. This
+	 * is reset when an item is inserted, updated or removed anywhere other
+	 * than at the ends of the series, and restored the next time the bounds
+	 * are found by iteration.
+	 */
+	private boolean windowsValid;
+
+	/**
+	 * An index of the y-values by item position, used to find the range of
+	 * the y-values for a range of x-values. This is created when it is first
+	 * needed and discarded by any change that it cannot track incrementally.
+	 * The field is volatile because the index is built by a query, which
+	 * may run on a rendering thread; it is fully built before it is
+	 * published.
+	 */
+	private transient volatile RangeIndex yIndex;
+
 	/**
 	 * Creates a new empty series. By default, items added to the series will be
 	 * sorted into ascending order by x-value, and duplicate x-values will be
@@ -173,7 +210,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 	public XYSeries(Comparable key, boolean autoSort,
 			boolean allowDuplicateXValues) {
 		super(key);
-		this.data = new java.util.ArrayList<XYDataItem>();
+		this.data = new RingBufferList<XYDataItem>();
 		this.autoSort = autoSort;
 		this.allowDuplicateXValues = allowDuplicateXValues;
 		this.minX = Double.NaN;
@@ -267,10 +304,26 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 	 *
 	 * @param item
 	 *            the item added (<code>null</code> not permitted).
+	 * @param first
+	 *            a flag indicating whether the item was removed from the start
+	 *            of the series.
 	 *
 	 * @since 1.0.13
 	 */
-	private void updateBoundsForRemovedItem(XYDataItem item) {
+	private void updateBoundsForRemovedItem(XYDataItem item, boolean first) {
+		updateIndexForRemovedValue(first);
+		if (this.xWindow != null && this.windowsValid) {
+			if (first) {
+				this.xWindow.removeFirst();
+				this.yWindow.removeFirst();
+				this.minX = this.xWindow.getMin();
+				this.maxX = this.xWindow.getMax();
+				this.minY = this.yWindow.getMin();
+				this.maxY = this.yWindow.getMax();
+				return;
+			}
+			this.windowsValid = false;
+		}
 		boolean itemContributesToXBounds = false;
 		boolean itemContributesToYBounds = false;
 		double x = item.getXValue();
@@ -290,7 +343,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 		if (itemContributesToYBounds) {
 			findBoundsByIteration();
 		} else if (itemContributesToXBounds) {
-			if (getAutoSort()) {
+			if (getAutoSort() && !this.data.isEmpty()) {
 				this.minX = getX(0).doubleValue();
 				this.maxX = getX(getItemCount() - 1).doubleValue();
 			} else {
@@ -310,11 +363,212 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 		this.maxX = Double.NaN;
 		this.minY = Double.NaN;
 		this.maxY = Double.NaN;
+		if (this.xWindow != null) {
+			this.xWindow.clear();
+			this.yWindow.clear();
+			this.windowsValid = true;
+		}
 		for (XYDataItem item : this.data) {
 			updateBoundsForAddedItem(item);
+			updateWindowsForAddedItem(item, true);
+		}
+	}
+
+	/**
+	 * Updates the sliding windows (if there are any) for an item that has
+	 * just been added to the series.
+	 *
+	 * @param item
+	 *            the item added (<code>null</code> not permitted).
+	 * @param appended
+	 *            a flag indicating whether the item was added at the end of
+	 *            the series.
+	 */
+	private void updateWindowsForAddedItem(XYDataItem item, boolean appended) {
+		if (this.xWindow != null && this.windowsValid) {
+			if (appended) {
+				this.xWindow.add(item.getXValue());
+				this.yWindow.add(item.getYValue());
+			} else {
+				this.windowsValid = false;
+			}
+		}
+	}
+
+	/**
+	 * Updates the y-value index (if there is one) for a value that has just
+	 * been added to the series.
+	 *
+	 * @param y
+	 *            the y-value added (<code>Double.NaN</code> for a
+	 *            <code>null</code> value).
+	 * @param appended
+	 *            a flag indicating whether the value was added at the end of
+	 *            the series.
+	 */
+	void updateIndexForAddedValue(double y, boolean appended) {
+		RangeIndex index = this.yIndex;
+		if (index != null) {
+			if (appended) {
+				index.add(y);
+			} else {
+				this.yIndex = null;
+			}
+		}
+	}
+
+	/**
+	 * Updates the y-value index (if there is one) for a value that has just
+	 * been removed from the series.
+	 *
+	 * @param first
+	 *            a flag indicating whether the value was removed from the
+	 *            start of the series.
+	 */
+	void updateIndexForRemovedValue(boolean first) {
+		RangeIndex index = this.yIndex;
+		if (index != null) {
+			if (first) {
+				index.removeFirst();
+			} else {
+				this.yIndex = null;
+			}
+		}
+	}
+
+	/**
+	 * Updates the y-value index (if there is one) for a y-value that has
+	 * just been changed.
+	 *
+	 * @param index
+	 *            the item index.
+	 * @param y
+	 *            the new y-value (<code>Double.NaN</code> for a
+	 *            <code>null</code> value).
+	 */
+	void updateIndexForUpdatedValue(int index, double y) {
+		RangeIndex rangeIndex = this.yIndex;
+		if (rangeIndex != null) {
+			rangeIndex.set(index, y);
 		}
 	}
 
+	/**
+	 * Discards the y-value index, following a change that it cannot track.
+	 */
+	void discardIndex() {
+		this.yIndex = null;
+	}
+
+	/**
+	 * Returns the range of the y-values for the items with an x-value in the
+	 * specified range, ignoring <code>null</code> and <code>Double.NaN</code>
+	 * y-values. For a sorted series this takes logarithmic time, using an
+	 * index of the y-values that is built the first time that it is needed
+	 * and then maintained as items are appended, updated or removed from the
+	 * start of the series. For an unsorted series, the items are iterated.
+	 * <P>
+	 * Concurrent calls are safe as long as the series is not being changed
+	 * at the same time: the index is built into a local variable and
+	 * published through a volatile field, so a reader never sees a partly
+	 * built index (two readers may both build it, in which case one copy is
+	 * discarded).
+	 *
+	 * @param xRange
+	 *            the x-range (<code>null</code> not permitted).
+	 *
+	 * @return The range of y-values, or <code>null</code> if there are no
+	 *         y-values for items in the x-range.
+	 *
+	 * @since 2.0
+	 */
+	public Range findYRange(Range xRange) {
+		ParamChecks.nullNotPermitted(xRange, "xRange");
+		int count = getItemCount();
+		double lower = Double.NaN;
+		double upper = Double.NaN;
+		if (this.autoSort) {
+			int first = findFirstIndexAtOrAbove(xRange.getLowerBound());
+			int last = findFirstIndexAbove(xRange.getUpperBound()) - 1;
+			if (first == 0 && last == count - 1) {
+				lower = getMinY();
+				upper = getMaxY();
+			}
+			else if (first <= last) {
+				RangeIndex index = this.yIndex;
+				if (index == null) {
+					double[] y = new double[count];
+					getYValues(0, count - 1, y, 0);
+					index = new RangeIndex(y, count);
+					this.yIndex = index;
+				}
+				lower = index.getMin(first, last);
+				upper = index.getMax(first, last);
+			}
+		}
+		else {
+			for (int i = 0; i < count; i++) {
+				double y = getYValue(i);
+				if (!Double.isNaN(y) && xRange.contains(getXValue(i))) {
+					lower = minIgnoreNaN(lower, y);
+					upper = maxIgnoreNaN(upper, y);
+				}
+			}
+		}
+		if (Double.isNaN(lower)) {
+			return null;
+		}
+		return new Range(lower, upper);
+	}
+
+	/**
+	 * Returns the index of the first item with an x-value greater than or
+	 * equal to the specified value, or the item count if there is no such
+	 * item. The series must be sorted.
+	 *
+	 * @param x
+	 *            the x-value.
+	 *
+	 * @return The index.
+	 */
+	private int findFirstIndexAtOrAbove(double x) {
+		int low = 0;
+		int high = getItemCount();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (getXValue(mid) < x) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the index of the first item with an x-value greater than the
+	 * specified value, or the item count if there is no such item. The
+	 * series must be sorted.
+	 *
+	 * @param x
+	 *            the x-value.
+	 *
+	 * @return The index.
+	 */
+	private int findFirstIndexAbove(double x) {
+		int low = 0;
+		int high = getItemCount();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (getXValue(mid) <= x) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
 	/**
 	 * Returns the flag that controls whether the items in the series are
 	 * automatically sorted. There is no setter for this flag, it must be
@@ -390,11 +644,22 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 	 */
 	public void setMaximumItemCount(int maximum) {
 		this.maximumItemCount = maximum;
+		if (maximum == Integer.MAX_VALUE) {
+			this.xWindow = null;
+			this.yWindow = null;
+		} else if (this.xWindow == null) {
+			this.xWindow = new RollingMinMax();
+			this.yWindow = new RollingMinMax();
+			this.windowsValid = false;
+		}
 		int remove = this.data.size() - maximum;
 		if (remove > 0) {
 			this.data.subList(0, remove).clear();
+			this.yIndex = null;
 			findBoundsByIteration();
 			fireSeriesChanged();
+		} else if (this.xWindow != null && !this.windowsValid) {
+			findBoundsByIteration();
 		}
 	}
 
@@ -527,9 +792,11 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 	public void add(XYDataItem item, boolean notify) {
 		ParamChecks.nullNotPermitted(item, "item");
 		item = item.copy();
+		boolean appended = true;
 		if (this.autoSort) {
 			int index = Collections.binarySearch(this.data, item);
 			if (index < 0) {
+				appended = -index - 1 == this.data.size();
 				this.data.add(-index - 1, item);
 			} else {
 				if (this.allowDuplicateXValues) {
@@ -541,6 +808,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 					}
 					if (index < this.data.size()) {
 						this.data.add(index, item);
+						appended = false;
 					} else {
 						this.data.add(item);
 					}
@@ -561,9 +829,11 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 			this.data.add(item);
 		}
 		updateBoundsForAddedItem(item);
+		updateWindowsForAddedItem(item, appended);
+		updateIndexForAddedValue(item.getYValue(), appended);
 		if (getItemCount() > this.maximumItemCount) {
 			XYDataItem removed = this.data.remove(0);
-			updateBoundsForRemovedItem(removed);
+			updateBoundsForRemovedItem(removed, true);
 		}
 		if (notify) {
 			fireSeriesChanged();
@@ -581,6 +851,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 	 */
 	public void delete(int start, int end) {
 		this.data.subList(start, end + 1).clear();
+		this.yIndex = null;
 		findBoundsByIteration();
 		fireSeriesChanged();
 	}
@@ -596,7 +867,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 	 */
 	public XYDataItem remove(int index) {
 		XYDataItem removed = this.data.remove(index);
-		updateBoundsForRemovedItem(removed);
+		updateBoundsForRemovedItem(removed, index == 0);
 		fireSeriesChanged();
 		return removed;
 	}
@@ -623,10 +894,16 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 	public void clear() {
 		if (this.data.size() > 0) {
 			this.data.clear();
+			this.yIndex = null;
 			this.minX = Double.NaN;
 			this.maxX = Double.NaN;
 			this.minY = Double.NaN;
 			this.maxY = Double.NaN;
+			if (this.xWindow != null) {
+				this.xWindow.clear();
+				this.yWindow.clear();
+				this.windowsValid = true;
+			}
 			fireSeriesChanged();
 		}
 	}
@@ -682,6 +959,87 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 		return getRawDataItem(index).getY();
 	}
 
+	/**
+	 * Returns the x-value at the specified index as a double primitive.
+	 *
+	 * @param index
+	 *            the index (zero-based).
+	 *
+	 * @return The x-value.
+	 *
+	 * @see #getX(int)
+	 */
+	public double getXValue(int index) {
+		return getRawDataItem(index).getXValue();
+	}
+
+	/**
+	 * Returns the y-value at the specified index as a double primitive. If
+	 * the y-value is <code>null</code>, this method returns
+	 * <code>Double.NaN</code>.
+	 *
+	 * @param index
+	 *            the index (zero-based).
+	 *
+	 * @return The y-value.
+	 *
+	 * @see #getY(int)
+	 */
+	public double getYValue(int index) {
+		return getRawDataItem(index).getYValue();
+	}
+
+	/**
+	 * Copies the x-values for the items <code>firstItem</code> to
+	 * <code>lastItem</code> (inclusive) into an array.
+	 *
+	 * @param firstItem
+	 *            the index of the first item to copy.
+	 * @param lastItem
+	 *            the index of the last item to copy.
+	 * @param dest
+	 *            the destination array (<code>null</code> not permitted).
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 *
+	 * @see #getXValue(int)
+	 *
+	 * @since 2.0
+	 */
+	public void getXValues(int firstItem, int lastItem, double[] dest,
+			int destPos) {
+		ParamChecks.nullNotPermitted(dest, "dest");
+		for (int i = firstItem; i <= lastItem; i++) {
+			dest[destPos++] = this.data.get(i).getXValue();
+		}
+	}
+
+	/**
+	 * Copies the y-values for the items <code>firstItem</code> to
+	 * <code>lastItem</code> (inclusive) into an array.  A <code>null</code>
+	 * y-value is copied as <code>Double.NaN</code>.
+	 *
+	 * @param firstItem
+	 *            the index of the first item to copy.
+	 * @param lastItem
+	 *            the index of the last item to copy.
+	 * @param dest
+	 *            the destination array (<code>null</code> not permitted).
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 *
+	 * @see #getYValue(int)
+	 *
+	 * @since 2.0
+	 */
+	public void getYValues(int firstItem, int lastItem, double[] dest,
+			int destPos) {
+		ParamChecks.nullNotPermitted(dest, "dest");
+		for (int i = firstItem; i <= lastItem; i++) {
+			dest[destPos++] = this.data.get(i).getYValue();
+		}
+	}
+
 	/**
 	 * A function to find the minimum of two values, but ignoring any Double.NaN
 	 * values.
@@ -693,7 +1051,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 	 *
 	 * @return The minimum of the two values.
 	 */
-	private double minIgnoreNaN(double a, double b) {
+	static double minIgnoreNaN(double a, double b) {
 		if (Double.isNaN(a)) {
 			return b;
 		}
@@ -714,7 +1072,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 	 *
 	 * @return The maximum of the two values.
 	 */
-	private double maxIgnoreNaN(double a, double b) {
+	static double maxIgnoreNaN(double a, double b) {
 		if (Double.isNaN(a)) {
 			return b;
 		}
@@ -737,6 +1095,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 	 */
 	public void updateByIndex(int index, Number y) {
 		XYDataItem item = getRawDataItem(index);
+		this.windowsValid = false;
 		// figure out if we need to iterate through all the y-values
 		boolean iterate = false;
 		double oldY = item.getYValue();
@@ -744,6 +1103,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 			iterate = oldY <= this.minY || oldY >= this.maxY;
 		}
 		item.setY(y);
+		updateIndexForUpdatedValue(index, item.getYValue());
 
 		if (iterate) {
 			findBoundsByIteration();
@@ -834,6 +1194,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 		if (index >= 0) {
 			XYDataItem existing = this.data.get(index);
 			overwritten = existing.copy();
+			this.windowsValid = false;
 			// figure out if we need to iterate through all the y-values
 			boolean iterate = false;
 			double oldY = existing.getYValue();
@@ -841,6 +1202,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 				iterate = oldY <= this.minY || oldY >= this.maxY;
 			}
 			existing.setY(item.getY());
+			updateIndexForUpdatedValue(index, existing.getYValue());
 
 			if (iterate) {
 				findBoundsByIteration();
@@ -857,18 +1219,22 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 			// new item...otherwise it will be just -1 and we should just
 			// append the value to the list...
 			item = item.copy();
+			boolean appended = true;
 			if (this.autoSort) {
+				appended = -index - 1 == this.data.size();
 				this.data.add(-index - 1, item);
 			}
 			else {
 				this.data.add(item);
 			}
 			updateBoundsForAddedItem(item);
+			updateWindowsForAddedItem(item, appended);
+			updateIndexForAddedValue(item.getYValue(), appended);
 
 			// check if this addition will exceed the maximum item count...
 			if (getItemCount() > this.maximumItemCount) {
 				XYDataItem removed = this.data.remove(0);
-				updateBoundsForRemovedItem(removed);
+				updateBoundsForRemovedItem(removed, true);
 			}
 		}
 		fireSeriesChanged();
@@ -936,6 +1302,11 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 	public Object clone() throws CloneNotSupportedException {
 		XYSeries clone = (XYSeries) super.clone();
 		clone.data = ObjectUtils.deepClone(this.data);
+		if (this.xWindow != null) {
+			clone.xWindow = (RollingMinMax) this.xWindow.clone();
+			clone.yWindow = (RollingMinMax) this.yWindow.clone();
+		}
+		clone.yIndex = null;
 		return clone;
 	}
 
@@ -956,7 +1327,13 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 			throws CloneNotSupportedException {
 
 		XYSeries copy = (XYSeries) super.clone();
-		copy.data = new java.util.ArrayList<XYDataItem>();
+		copy.data = new RingBufferList<XYDataItem>();
+		copy.yIndex = null;
+		if (this.xWindow != null) {
+			copy.xWindow = new RollingMinMax();
+			copy.yWindow = new RollingMinMax();
+		}
+		copy.findBoundsByIteration();
 		if (this.data.size() > 0) {
 			for (int index = start; index <= end; index++) {
 				XYDataItem item = this.data.get(index);
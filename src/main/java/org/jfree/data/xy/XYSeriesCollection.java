@@ -80,6 +80,7 @@ import org.jfree.data.Range;
 import org.jfree.data.RangeInfo;
 import org.jfree.data.UnknownKeyException;
 import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetUtilities;
 import org.jfree.data.general.Series;
 
 /**
@@ -87,8 +88,9 @@ import org.jfree.data.general.Series;
  * dataset.
  */
 public class XYSeriesCollection extends AbstractIntervalXYDataset
-		implements IntervalXYDataset, DomainInfo, RangeInfo,
-		VetoableChangeListener, PublicCloneable, Serializable {
+		implements IntervalXYDataset, PrimitiveXYDataset, DomainInfo,
+		XYDomainInfo, RangeInfo, XYRangeInfo, VetoableChangeListener,
+		PublicCloneable, Serializable {
 
 	/** For serialization. */
 	private static final long serialVersionUID = -7590013825931496766L;
@@ -365,6 +367,23 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
 		return s.getX(item);
 	}
 
+	/**
+	 * Returns the x-value (as a double primitive) for the specified series
+	 * and item.
+	 *
+	 * @param series
+	 *            the series (zero-based index).
+	 * @param item
+	 *            the item (zero-based index).
+	 *
+	 * @return The value.
+	 */
+	@Override
+	public double getXValue(int series, int item) {
+		XYSeries s = this.data.get(series);
+		return s.getXValue(item);
+	}
+
 	/**
 	 * Returns the starting X value for the specified series and item.
 	 *
@@ -411,6 +430,70 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
 		return s.getY(index);
 	}
 
+	/**
+	 * Returns the y-value (as a double primitive) for the specified series
+	 * and item.
+	 *
+	 * @param series
+	 *            the series (zero-based index).
+	 * @param item
+	 *            the item (zero-based index).
+	 *
+	 * @return The value (<code>Double.NaN</code> for a <code>null</code>
+	 *         y-value).
+	 */
+	@Override
+	public double getYValue(int series, int item) {
+		XYSeries s = this.data.get(series);
+		return s.getYValue(item);
+	}
+
+	/**
+	 * Copies the x-values for a range of items in a series into an array.
+	 *
+	 * @param series
+	 *            the series (zero-based index).
+	 * @param firstItem
+	 *            the index of the first item to copy.
+	 * @param lastItem
+	 *            the index of the last item to copy.
+	 * @param dest
+	 *            the destination array (<code>null</code> not permitted).
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 *
+	 * @since 2.0
+	 */
+	@Override
+	public void getXValues(int series, int firstItem, int lastItem,
+			double[] dest, int destPos) {
+		XYSeries s = this.data.get(series);
+		s.getXValues(firstItem, lastItem, dest, destPos);
+	}
+
+	/**
+	 * Copies the y-values for a range of items in a series into an array.
+	 *
+	 * @param series
+	 *            the series (zero-based index).
+	 * @param firstItem
+	 *            the index of the first item to copy.
+	 * @param lastItem
+	 *            the index of the last item to copy.
+	 * @param dest
+	 *            the destination array (<code>null</code> not permitted).
+	 * @param destPos
+	 *            the position in the destination array for the first value.
+	 *
+	 * @since 2.0
+	 */
+	@Override
+	public void getYValues(int series, int firstItem, int lastItem,
+			double[] dest, int destPos) {
+		XYSeries s = this.data.get(series);
+		s.getYValues(firstItem, lastItem, dest, destPos);
+	}
+
 	/**
 	 * Returns the starting Y value for the specified series and item.
 	 *
@@ -596,6 +679,50 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
 		}
 	}
 
+	/**
+	 * Returns the range of the x-values for the specified series. When the
+	 * interval is not included, the bounds cached by each series are used
+	 * rather than iterating over the items.
+	 *
+	 * @param visibleSeriesKeys
+	 *            the keys of the visible series (<code>null</code> not
+	 *            permitted).
+	 * @param includeInterval
+	 *            a flag that determines whether or not the x-interval is
+	 *            taken into account.
+	 *
+	 * @return The range (or <code>null</code> if the series contain no
+	 *         values).
+	 *
+	 * @since 2.0
+	 */
+	@Override
+	public Range getDomainBounds(List<Comparable> visibleSeriesKeys,
+			boolean includeInterval) {
+		ParamChecks.nullNotPermitted(visibleSeriesKeys, "visibleSeriesKeys");
+		if (includeInterval) {
+			return DatasetUtilities.iterateToFindDomainBounds(this,
+					visibleSeriesKeys, true);
+		}
+		double lower = Double.POSITIVE_INFINITY;
+		double upper = Double.NEGATIVE_INFINITY;
+		for (Comparable key : visibleSeriesKeys) {
+			XYSeries series = getSeries(key);
+			double minX = series.getMinX();
+			if (!Double.isNaN(minX)) {
+				lower = Math.min(lower, minX);
+			}
+			double maxX = series.getMaxX();
+			if (!Double.isNaN(maxX)) {
+				upper = Math.max(upper, maxX);
+			}
+		}
+		if (lower > upper) {
+			return null;
+		}
+		return new Range(lower, upper);
+	}
+
 	/**
 	 * Returns the interval width. This is used to calculate the start and end
 	 * x-values, if/when the dataset is used as an {@link IntervalXYDataset}.
@@ -697,6 +824,37 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
 		}
 	}
 
+	/**
+	 * Returns the range of the y-values for the items in the specified series
+	 * that have x-values within the given range. Each series answers this
+	 * from an index of its y-values (see {@link XYSeries#findYRange(Range)}),
+	 * so a sorted series does not need to be iterated.
+	 *
+	 * @param visibleSeriesKeys
+	 *            the keys of the visible series (<code>null</code> not
+	 *            permitted).
+	 * @param xRange
+	 *            the x-range (<code>null</code> not permitted).
+	 * @param includeInterval
+	 *            ignored (the y-interval for this dataset is always zero).
+	 *
+	 * @return The range (or <code>null</code> if there are no values).
+	 *
+	 * @since 2.0
+	 */
+	@Override
+	public Range getRangeBounds(List<Comparable> visibleSeriesKeys,
+			Range xRange, boolean includeInterval) {
+		ParamChecks.nullNotPermitted(visibleSeriesKeys, "visibleSeriesKeys");
+		ParamChecks.nullNotPermitted(xRange, "xRange");
+		Range result = null;
+		for (Comparable key : visibleSeriesKeys) {
+			XYSeries series = getSeries(key);
+			result = Range.combine(result, series.findYRange(xRange));
+		}
+		return result;
+	}
+
 	/**
 	 * Returns the minimum y-value in the dataset.
 	 *
@@ -0,0 +1,284 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------
+ * ChartUpdateBatchTest.java
+ * -------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.chart;
+
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.event.ChartChangeEvent;
+import org.jfree.chart.event.ChartChangeListener;
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.plot.Plot;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.category.LineAndShapeRenderer;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.general.DatasetChangeListener;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the {@link ChartUpdateBatch} class.
+ */
+public class ChartUpdateBatchTest {
+
+	/** An axis that counts the calls to configure(). */
+	static class CountingAxis extends NumberAxis {
+
+		int configureCount;
+
+		@Override
+		public void configure() {
+			this.configureCount++;
+			super.configure();
+		}
+
+	}
+
+	/** A listener that counts the events it receives. */
+	static class Counter implements ChartChangeListener,
+			DatasetChangeListener {
+
+		int count;
+
+		@Override
+		public void chartChanged(ChartChangeEvent event) {
+			this.count++;
+		}
+
+		@Override
+		public void datasetChanged(DatasetChangeEvent event) {
+			this.count++;
+		}
+
+	}
+
+	/**
+	 * Many changes to many series result in one event per changed dataset,
+	 * one axis configuration and one chart change event.
+	 */
+	@Test
+	public void testChart() {
+		XYSeriesCollection d1 = new XYSeriesCollection();
+		XYSeriesCollection d2 = new XYSeriesCollection();
+		XYSeriesCollection d3 = new XYSeriesCollection();
+		for (int i = 0; i < 10; i++) {
+			d1.addSeries(new XYSeries("A" + i));
+			d2.addSeries(new XYSeries("B" + i));
+		}
+		CountingAxis xAxis = new CountingAxis();
+		CountingAxis yAxis = new CountingAxis();
+		XYPlot plot = new XYPlot(d1, xAxis, yAxis,
+				new XYLineAndShapeRenderer());
+		plot.setDataset(1, d2);
+		plot.setDataset(2, d3);
+		JFreeChart chart = new JFreeChart(plot);
+		Counter chartCounter = new Counter();
+		chart.addChangeListener(chartCounter);
+		Counter d1Counter = new Counter();
+		d1.addChangeListener(d1Counter);
+		Counter d3Counter = new Counter();
+		d3.addChangeListener(d3Counter);
+		xAxis.configureCount = 0;
+		yAxis.configureCount = 0;
+
+		ChartUpdateBatch batch = new ChartUpdateBatch(chart);
+		for (int i = 0; i < 100; i++) {
+			for (int s = 0; s < 10; s++) {
+				d1.getSeries(s).add(i, s);
+				d2.getSeries(s).add(i, -s);
+			}
+		}
+		assertEquals(0, chartCounter.count);
+		assertEquals(0, d1Counter.count);
+		assertEquals(0, yAxis.configureCount);
+		assertTrue(batch.isOpen());
+		batch.commit();
+		assertFalse(batch.isOpen());
+		assertEquals(1, chartCounter.count);
+		assertEquals(1, d1Counter.count);
+		assertEquals(0, d3Counter.count);
+		assertEquals(1, xAxis.configureCount);
+		assertEquals(1, yAxis.configureCount);
+		assertEquals(-9.0, yAxis.getLowerBound(), 1.0);
+		assertTrue(chart.isNotify());
+		assertTrue(plot.isNotify());
+		assertTrue(d1.isNotify());
+
+		// committing again has no effect
+		batch.commit();
+		assertEquals(1, chartCounter.count);
+
+		// events are sent as usual after the batch
+		d1.getSeries(0).add(100, 0);
+		assertEquals(2, chartCounter.count);
+		assertEquals(2, d1Counter.count);
+	}
+
+	/**
+	 * A parent plot (in the role of a combined plot, which configures its
+	 * shared axes in datasetChanged()) that records the dataset changes
+	 * passed on by its subplots.
+	 */
+	static class ParentPlot extends XYPlot {
+
+		int datasetChangeCount;
+
+		@Override
+		public void datasetChanged(DatasetChangeEvent event) {
+			this.datasetChangeCount++;
+			super.datasetChanged(event);
+		}
+
+	}
+
+	/**
+	 * Dataset changes received by a subplot while its notify flag is off
+	 * are passed on (once) to the parent plot when the flag is switched
+	 * back on, so that the parent can configure its shared axes.
+	 */
+	@Test
+	public void testSubplotNotifiesParent() {
+		ParentPlot parent = new ParentPlot();
+		XYSeriesCollection xyDataset = new XYSeriesCollection(
+				new XYSeries("A"));
+		CountingAxis yAxis = new CountingAxis();
+		XYPlot xyPlot = new XYPlot(xyDataset, new NumberAxis(), yAxis,
+				new XYLineAndShapeRenderer());
+		xyPlot.setParent(parent);
+		parent.datasetChangeCount = 0;
+		xyPlot.setNotify(false);
+		for (int i = 0; i < 10; i++) {
+			xyDataset.getSeries(0).add(i, i);
+		}
+		assertEquals(0, parent.datasetChangeCount);
+		yAxis.configureCount = 0;
+		xyPlot.setNotify(true);
+		assertEquals(1, parent.datasetChangeCount);
+		assertEquals(1, yAxis.configureCount);
+
+		// no changes, nothing passed on
+		xyPlot.setNotify(false);
+		xyPlot.setNotify(true);
+		assertEquals(1, parent.datasetChangeCount);
+
+		DefaultCategoryDataset categoryDataset = new DefaultCategoryDataset();
+		CategoryPlot categoryPlot = new CategoryPlot(categoryDataset, null,
+				new NumberAxis(), new LineAndShapeRenderer());
+		categoryPlot.setParent(parent);
+		categoryPlot.setNotify(false);
+		categoryDataset.addValue(1.0, "R", "C1");
+		categoryDataset.addValue(2.0, "R", "C2");
+		assertEquals(1, parent.datasetChangeCount);
+		categoryPlot.setNotify(true);
+		assertEquals(2, parent.datasetChangeCount);
+	}
+
+	/**
+	 * A batch on datasets only, and nesting.
+	 */
+	@Test
+	public void testDatasets() {
+		XYSeriesCollection d1 = new XYSeriesCollection(new XYSeries("A"));
+		XYSeriesCollection d2 = new XYSeriesCollection(new XYSeries("B"));
+		Counter c1 = new Counter();
+		d1.addChangeListener(c1);
+		Counter c2 = new Counter();
+		d2.addChangeListener(c2);
+		ChartUpdateBatch outer = new ChartUpdateBatch(d1);
+		ChartUpdateBatch inner = new ChartUpdateBatch(d1, d2);
+		d1.getSeries(0).add(1, 1);
+		d2.getSeries(0).add(1, 1);
+		d2.getSeries(0).add(2, 2);
+		inner.commit();
+		assertEquals(0, c1.count);
+		assertEquals(1, c2.count);
+		outer.commit();
+		assertEquals(1, c1.count);
+	}
+
+	/**
+	 * If opening a batch fails, the notify flags that were switched off are
+	 * restored and the chart's lock is released.
+	 */
+	@Test
+	public void testConstructorFailure() throws Exception {
+		IllegalStateException error = new IllegalStateException("Failed.");
+		XYSeriesCollection dataset = new XYSeriesCollection(new XYSeries("A"));
+		XYPlot plot = new XYPlot(dataset, new NumberAxis(), new NumberAxis(),
+				new XYLineAndShapeRenderer()) {
+			@Override
+			public void setNotify(boolean notify) {
+				if (!notify) {
+					throw error;
+				}
+				super.setNotify(notify);
+			}
+		};
+		JFreeChart chart = new JFreeChart(plot);
+		try {
+			new ChartUpdateBatch(chart);
+			fail("Expected an IllegalStateException.");
+		}
+		catch (IllegalStateException e) {
+			assertSame(error, e);
+		}
+		assertTrue(dataset.isNotify());
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			assertTrue(executor.submit(() -> {
+				boolean locked = chart.getLock().tryLock();
+				if (locked) {
+					chart.getLock().unlock();
+				}
+				return locked;
+			}).get(10L, TimeUnit.SECONDS));
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,169 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * TickLayoutCacheTest.java
+ * ------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.chart.axis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.renderer.category.BarRenderer;
+import org.jfree.chart.text.TextBlock;
+import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.Range;
+import org.junit.Test;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.text.Font;
+
+/**
+ * Tests for the reuse of tick layouts by {@link NumberAxis} and
+ * {@link CategoryAxis}.
+ */
+public class TickLayoutCacheTest {
+
+	/** A category axis that counts the labels it creates. */
+	static class CountingCategoryAxis extends CategoryAxis {
+
+		int labelCount;
+
+		@Override
+		protected TextBlock createLabel(Comparable category, float width,
+				RectangleEdge edge, GraphicsContext g2) {
+			this.labelCount++;
+			return new TextBlock();
+		}
+
+		@Override
+		protected double calculateTextBlockHeight(TextBlock block,
+				CategoryLabelPosition position, GraphicsContext g2) {
+			return 10.0;
+		}
+
+	}
+
+	/**
+	 * The tick list is reused until the range, the area or an axis setting
+	 * changes.
+	 */
+	@Test
+	public void testNumberAxis() {
+		GraphicsContext g2 = new Canvas(200, 100).getGraphicsContext2D();
+		NumberAxis axis = new NumberAxis("X");
+		axis.setAutoTickUnitSelection(false);
+		axis.setTickUnit(new NumberTickUnit(10.0));
+		axis.setRange(0.0, 100.0);
+		Rectangle2D plotArea = new Rectangle2D(0, 0, 200, 100);
+		Rectangle2D dataArea = new Rectangle2D(20, 0, 180, 80);
+		AxisState state = new AxisState();
+		List<ValueTick> t1 = axis.refreshTicks(g2, state, plotArea,
+				RectangleEdge.BOTTOM);
+		List<ValueTick> t2 = axis.refreshTicks(g2, state, dataArea,
+				RectangleEdge.BOTTOM);
+		assertEquals(11, t1.size());
+		assertSame(t1, axis.refreshTicks(g2, state, plotArea,
+				RectangleEdge.BOTTOM));
+		assertSame(t2, axis.refreshTicks(g2, state, dataArea,
+				RectangleEdge.BOTTOM));
+
+		axis.setRange(0.0, 50.0);
+		List<ValueTick> t3 = axis.refreshTicks(g2, state, dataArea,
+				RectangleEdge.BOTTOM);
+		assertNotSame(t2, t3);
+		assertEquals(6, t3.size());
+
+		axis.setTickLabelFont(Font.font("Serif", 9));
+		assertNotSame(t3, axis.refreshTicks(g2, state, dataArea,
+				RectangleEdge.BOTTOM));
+
+		List<ValueTick> t4 = axis.refreshTicks(g2, state, dataArea,
+				RectangleEdge.LEFT);
+		assertSame(t4, axis.refreshTicks(g2, state, dataArea,
+				RectangleEdge.LEFT));
+		assertNotSame(t4, axis.refreshTicks(g2, state,
+				new Rectangle2D(20, 0, 180, 60), RectangleEdge.LEFT));
+
+		// ranges are compared by value
+		axis.setRange(new Range(0.0, 50.0), false, false);
+		assertSame(t4, axis.refreshTicks(g2, state, dataArea,
+				RectangleEdge.LEFT));
+	}
+
+	/**
+	 * The category labels are laid out once until the categories, the area
+	 * or an axis setting changes.
+	 */
+	@Test
+	public void testCategoryAxis() {
+		GraphicsContext g2 = new Canvas(200, 100).getGraphicsContext2D();
+		DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+		dataset.addValue(1.0, "R1", "C1");
+		dataset.addValue(2.0, "R1", "C2");
+		CountingCategoryAxis axis = new CountingCategoryAxis();
+		new CategoryPlot(dataset, axis, new NumberAxis("Y"),
+				new BarRenderer());
+		Rectangle2D area = new Rectangle2D(0, 0, 200, 100);
+		AxisState state = new AxisState();
+		List<CategoryTick> t1 = axis.refreshTicks(g2, state, area,
+				RectangleEdge.BOTTOM);
+		assertEquals(2, t1.size());
+		assertEquals(2, axis.labelCount);
+		assertEquals(10.0, state.getMax(), 0.0);
+
+		AxisState state2 = new AxisState();
+		assertSame(t1, axis.refreshTicks(g2, state2, area,
+				RectangleEdge.BOTTOM));
+		assertEquals(2, axis.labelCount);
+		assertEquals(10.0, state2.getMax(), 0.0);
+
+		dataset.addValue(3.0, "R1", "C3");
+		assertEquals(3, axis.refreshTicks(g2, state, area,
+				RectangleEdge.BOTTOM).size());
+		assertEquals(5, axis.labelCount);
+
+		axis.setCategoryMargin(0.3);
+		axis.refreshTicks(g2, state, area, RectangleEdge.BOTTOM);
+		assertEquals(8, axis.labelCount);
+		axis.refreshTicks(g2, state, new Rectangle2D(0, 0, 150, 100),
+				RectangleEdge.BOTTOM);
+		assertEquals(11, axis.labelCount);
+	}
+
+}
@@ -0,0 +1,133 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2012, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------------
+ * IndexedEntityCollectionTest.java
+ * --------------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.entity;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import com.sun.javafx.geom.Ellipse2D;
+import com.sun.javafx.geom.RoundRectangle2D;
+
+import javafx.geometry.Rectangle2D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for the {@link IndexedEntityCollection} class.
+ */
+public class IndexedEntityCollectionTest {
+
+	/**
+	 * Adds the same random entities to both collections.
+	 *
+	 * @param c1
+	 *            the first collection.
+	 * @param c2
+	 *            the second collection.
+	 * @param count
+	 *            the number of entities.
+	 * @param random
+	 *            the random number generator.
+	 */
+	private static void addRandomEntities(EntityCollection c1,
+			EntityCollection c2, int count, Random random) {
+		for (int i = 0; i < count; i++) {
+			float x = random.nextFloat() * 1000f - 100f;
+			float y = random.nextFloat() * 600f - 50f;
+			float w = random.nextInt(10) == 0 ? random.nextFloat() * 800f
+					: random.nextFloat() * 20f;
+			float h = random.nextFloat() * 20f;
+			ChartEntity entity = new ChartEntity(random.nextBoolean()
+					? new Ellipse2D(x, y, w, h)
+					: new RoundRectangle2D(x, y, w, h, 0f, 0f), "E" + i);
+			c1.add(entity);
+			c2.add(entity);
+		}
+	}
+
+	/**
+	 * Point and region queries return the same results as the standard
+	 * collection, including while entities are still being added.
+	 */
+	@Test
+	public void testQueriesMatchStandardCollection() {
+		Random random = new Random(1L);
+		StandardEntityCollection c1 = new StandardEntityCollection();
+		IndexedEntityCollection c2 = new IndexedEntityCollection(16.0);
+		for (int round = 0; round < 5; round++) {
+			addRandomEntities(c1, c2, 400, random);
+			for (int i = 0; i < 2000; i++) {
+				double x = random.nextDouble() * 1000.0 - 100.0;
+				double y = random.nextDouble() * 600.0 - 50.0;
+				assertSame(c1.getEntity(x, y), c2.getEntity(x, y));
+			}
+			for (int i = 0; i < 50; i++) {
+				Rectangle2D r = new Rectangle2D(
+						random.nextDouble() * 1000.0 - 100.0,
+						random.nextDouble() * 600.0 - 50.0,
+						random.nextDouble() * 200.0,
+						random.nextDouble() * 200.0);
+				assertEquals(c1.getEntities(r), c2.getEntities(r));
+			}
+		}
+		assertEquals(c1.getEntityCount(), c2.getEntityCount());
+		c2.clear();
+		assertNull(c2.getEntity(10.0, 10.0));
+		assertEquals(0, c2.getEntities(new Rectangle2D(0, 0, 500, 500))
+				.size());
+	}
+
+	/**
+	 * Confirm that cloning works.
+	 */
+	@Test
+	public void testCloning() throws CloneNotSupportedException {
+		IndexedEntityCollection c1 = new IndexedEntityCollection();
+		c1.add(new ChartEntity(new RoundRectangle2D(1f, 2f, 3f, 4f, 0f, 0f)));
+		assertEquals(c1.getEntity(0), c1.getEntity(2.0, 3.0));
+		IndexedEntityCollection c2 = (IndexedEntityCollection) c1.clone();
+		assertNotSame(c1, c2);
+		assertEquals(c1, c2);
+		assertEquals(c2.getEntity(0), c2.getEntity(2.0, 3.0));
+		c2.add(new ChartEntity(new RoundRectangle2D(1f, 2f, 3f, 4f, 0f, 0f),
+				"Tip"));
+		assertEquals(1, c1.getEntityCount());
+		assertSame(c2.getEntity(1), c2.getEntity(2.0, 3.0));
+	}
+
+}
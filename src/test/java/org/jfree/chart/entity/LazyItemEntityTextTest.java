@@ -0,0 +1,335 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------
+ * LazyItemEntityTextTest.java
+ * ---------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.labels.CategoryToolTipGenerator;
+import org.jfree.chart.labels.XYToolTipGenerator;
+import org.jfree.chart.urls.CategoryURLGenerator;
+import org.jfree.chart.urls.XYURLGenerator;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Test;
+
+import com.sun.javafx.geom.Ellipse2D;
+
+/**
+ * Tests for the tool tip and URL text that {@link XYItemEntity} and
+ * {@link CategoryItemEntity} generate when it is first requested, including
+ * changes to the dataset between the creation of the entity and the request.
+ */
+public class LazyItemEntityTextTest {
+
+	/** The number of times the generators below have been called. */
+	private int generated;
+
+	/** An XY tool tip generator that counts its calls. */
+	private final XYToolTipGenerator xyToolTips = (d, s, i) -> {
+		this.generated++;
+		return d.getSeriesKey(s) + ": " + d.getXValue(s, i) + ", "
+				+ d.getYValue(s, i);
+	};
+
+	/** An XY URL generator that counts its calls. */
+	private final XYURLGenerator xyURLs = (d, s, i) -> {
+		this.generated++;
+		return "x=" + d.getXValue(s, i);
+	};
+
+	/** A category tool tip generator that counts its calls. */
+	private final CategoryToolTipGenerator categoryToolTips = (d, r, c) -> {
+		this.generated++;
+		return d.getColumnKey(c) + ": " + d.getValue(r, c);
+	};
+
+	/** A category URL generator that counts its calls. */
+	private final CategoryURLGenerator categoryURLs = (d, r, c) -> {
+		this.generated++;
+		return "c=" + d.getColumnKey(c);
+	};
+
+	/**
+	 * Creates a series with items (i, 10 * i) for i = 0 to 9.
+	 *
+	 * @param maximumItemCount
+	 *            the maximum item count.
+	 *
+	 * @return The series.
+	 */
+	private static XYSeries createSeries(int maximumItemCount) {
+		XYSeries series = new XYSeries("S");
+		series.setMaximumItemCount(maximumItemCount);
+		for (int i = 0; i < 10; i++) {
+			series.add(i, i * 10.0);
+		}
+		return series;
+	}
+
+	/**
+	 * Creates an entity for item 3 of the series, with lazy text.
+	 *
+	 * @param series
+	 *            the series.
+	 *
+	 * @return The entity.
+	 */
+	private XYItemEntity createEntity(XYSeries series) {
+		XYItemEntity entity = new XYItemEntity(new Ellipse2D(0, 0, 4, 4),
+				new XYSeriesCollection(series), 0, 3, null, null);
+		entity.setToolTipGenerator(this.xyToolTips);
+		entity.setURLGenerator(this.xyURLs);
+		return entity;
+	}
+
+	/**
+	 * Creates an entity for the value in row "R", column "B" of the dataset,
+	 * with lazy text.
+	 *
+	 * @param dataset
+	 *            the dataset.
+	 *
+	 * @return The entity.
+	 */
+	private CategoryItemEntity createEntity(DefaultCategoryDataset dataset) {
+		CategoryItemEntity entity = new CategoryItemEntity(new Ellipse2D(0, 0,
+				4, 4), null, null, dataset, "R", "B");
+		entity.setToolTipGenerator(this.categoryToolTips);
+		entity.setURLGenerator(this.categoryURLs);
+		return entity;
+	}
+
+	/**
+	 * Creates a dataset with the values 1, 2 and 3 in columns "A", "B" and
+	 * "C" of row "R".
+	 *
+	 * @return The dataset.
+	 */
+	private static DefaultCategoryDataset createDataset() {
+		DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+		dataset.addValue(1.0, "R", "A");
+		dataset.addValue(2.0, "R", "B");
+		dataset.addValue(3.0, "R", "C");
+		return dataset;
+	}
+
+	/**
+	 * The text is generated once, on the first request, from the item.
+	 */
+	@Test
+	public void testXYGeneratedOnce() {
+		XYItemEntity entity = createEntity(createSeries(100));
+		assertEquals(0, this.generated);
+		assertEquals("S: 3.0, 30.0", entity.getToolTipText());
+		assertEquals("S: 3.0, 30.0", entity.getToolTipText());
+		assertEquals("x=3.0", entity.getURLText());
+		assertEquals(2, this.generated);
+	}
+
+	/**
+	 * Changes that leave the item at its index do not affect the text.
+	 */
+	@Test
+	public void testXYUnrelatedChange() {
+		XYSeries series = createSeries(100);
+		XYItemEntity entity = createEntity(series);
+		series.add(10.0, 100.0);
+		series.updateByIndex(5, 0.0);
+		assertEquals("S: 3.0, 30.0", entity.getToolTipText());
+		assertEquals("x=3.0", entity.getURLText());
+	}
+
+	/**
+	 * An item evicted by the maximum item count moves the remaining items
+	 * down, so the text is dropped rather than generated for the wrong item.
+	 */
+	@Test
+	public void testXYEviction() {
+		XYSeries series = createSeries(10);
+		XYItemEntity entity = createEntity(series);
+		series.add(10.0, 100.0);
+		assertEquals(4.0, series.getX(3).doubleValue(), 0.0);
+		assertNull(entity.getToolTipText());
+		assertNull(entity.getURLText());
+		assertEquals(0, this.generated);
+	}
+
+	/**
+	 * An item inserted in front of the entity's item in a sorted series
+	 * drops the text.
+	 */
+	@Test
+	public void testXYSortedInsert() {
+		XYSeries series = createSeries(100);
+		XYItemEntity entity = createEntity(series);
+		series.add(-1.0, 5.0);
+		assertNull(entity.getToolTipText());
+		assertNull(entity.getURLText());
+	}
+
+	/**
+	 * Removing or updating the item, or removing enough items that the index
+	 * is out of range, drops the text (without an exception).
+	 */
+	@Test
+	public void testXYRemoveAndUpdate() {
+		XYSeries series = createSeries(100);
+		XYItemEntity entity = createEntity(series);
+		series.remove(3);
+		assertNull(entity.getToolTipText());
+
+		series = createSeries(100);
+		entity = createEntity(series);
+		series.updateByIndex(3, 99.0);
+		assertNull(entity.getToolTipText());
+
+		series = createSeries(100);
+		entity = createEntity(series);
+		series.clear();
+		assertNull(entity.getToolTipText());
+		assertNull(entity.getURLText());
+		assertEquals(0, this.generated);
+	}
+
+	/**
+	 * The equals(), hashCode() and toString() methods do not generate the
+	 * text.
+	 */
+	@Test
+	public void testXYEqualsDoesNotGenerate() {
+		XYSeries series = createSeries(100);
+		XYItemEntity e1 = createEntity(series);
+		XYItemEntity e2 = createEntity(series);
+		assertEquals(e1, e2);
+		assertEquals(e1.hashCode(), e2.hashCode());
+		e1.toString();
+		assertEquals(0, this.generated);
+
+		// an entity whose generator has been replaced by text differs
+		e2.setToolTipText("Text");
+		assertFalse(e1.equals(e2));
+		assertEquals(0, this.generated);
+	}
+
+	/**
+	 * The text is generated once, on the first request, from the item.
+	 */
+	@Test
+	public void testCategoryGeneratedOnce() {
+		CategoryItemEntity entity = createEntity(createDataset());
+		assertEquals(0, this.generated);
+		assertEquals("B: 2.0", entity.getToolTipText());
+		assertEquals("B: 2.0", entity.getToolTipText());
+		assertEquals("c=B", entity.getURLText());
+		assertEquals(2, this.generated);
+	}
+
+	/**
+	 * The item is found by its keys, so removing another column (which moves
+	 * the item to a new index) does not affect the text.
+	 */
+	@Test
+	public void testCategoryOtherColumnRemoved() {
+		DefaultCategoryDataset dataset = createDataset();
+		CategoryItemEntity entity = createEntity(dataset);
+		dataset.removeColumn("A");
+		dataset.addValue(4.0, "R", "D");
+		assertEquals("B: 2.0", entity.getToolTipText());
+		assertEquals("c=B", entity.getURLText());
+	}
+
+	/**
+	 * Removing the item's column, or changing its value, drops the text
+	 * (without an exception).
+	 */
+	@Test
+	public void testCategoryRemoveAndUpdate() {
+		DefaultCategoryDataset dataset = createDataset();
+		CategoryItemEntity entity = createEntity(dataset);
+		dataset.removeColumn("B");
+		assertNull(entity.getToolTipText());
+		assertNull(entity.getURLText());
+
+		dataset = createDataset();
+		entity = createEntity(dataset);
+		dataset.setValue(20.0, "R", "B");
+		assertNull(entity.getToolTipText());
+		assertNull(entity.getURLText());
+		assertEquals(0, this.generated);
+	}
+
+	/**
+	 * The equals(), hashCode() and toString() methods do not generate the
+	 * text.
+	 */
+	@Test
+	public void testCategoryEqualsDoesNotGenerate() {
+		DefaultCategoryDataset dataset = createDataset();
+		CategoryItemEntity e1 = createEntity(dataset);
+		CategoryItemEntity e2 = createEntity(dataset);
+		assertEquals(e1, e2);
+		assertEquals(e1.hashCode(), e2.hashCode());
+		e1.toString();
+		assertEquals(0, this.generated);
+	}
+
+	/**
+	 * The generators are not serialized, so an entity serialized before its
+	 * text has been requested writes the generated text instead.
+	 */
+	@Test
+	public void testSerialization() {
+		XYItemEntity xy = TestUtils.serialised(createEntity(createSeries(
+				100)));
+		assertEquals(2, this.generated);
+		assertEquals("S: 3.0, 30.0", xy.getToolTipText());
+		assertEquals("x=3.0", xy.getURLText());
+
+		CategoryItemEntity category = TestUtils.serialised(createEntity(
+				createDataset()));
+		assertEquals(4, this.generated);
+		assertEquals("B: 2.0", category.getToolTipText());
+		assertEquals("c=B", category.getURLText());
+
+		// text supplied directly is written too
+		XYItemEntity e = createEntity(createSeries(100));
+		e.setToolTipText("Text");
+		assertEquals("Text", TestUtils.serialised(e).getToolTipText());
+	}
+
+}
@@ -0,0 +1,255 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------
+ * ChartCanvasTest.java
+ * --------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import javafx.application.Platform;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.fx.interaction.ChartMouseEventFX;
+import org.jfree.chart.fx.interaction.ChartMouseListenerFX;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the redraw coalescing in the {@link ChartCanvas} class.  These
+ * tests need a running JavaFX toolkit and are skipped if it cannot be
+ * started.
+ */
+public class ChartCanvasTest {
+
+	/** The series displayed by the canvas. */
+	private XYSeries series;
+
+	/** The canvas. */
+	private ChartCanvas canvas;
+
+	/**
+	 * Creates a canvas showing a line chart, with its counters reset.
+	 *
+	 * @throws Exception
+	 *             if the canvas cannot be created.
+	 */
+	@Before
+	public void setUp() throws Exception {
+		assumeTrue(FXTestUtils.startToolkit());
+		this.series = new XYSeries("S");
+		for (int i = 0; i < 10; i++) {
+			this.series.add(i, i);
+		}
+		JFreeChart chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+				new XYSeriesCollection(this.series));
+		this.canvas = FXTestUtils.runAndWait(() -> {
+			ChartCanvas c = new ChartCanvas(chart);
+			c.setWidth(200.0);
+			c.setHeight(100.0);
+			c.resetRedrawCounters();
+			return c;
+		});
+	}
+
+	/**
+	 * Blocks the JavaFX application thread until the returned latch is
+	 * released.
+	 *
+	 * @return The latch.
+	 *
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for the thread to block.
+	 */
+	private static CountDownLatch blockFXThread() throws InterruptedException {
+		CountDownLatch blocked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Platform.runLater(() -> {
+			blocked.countDown();
+			try {
+				release.await(FXTestUtils.TIMEOUT, TimeUnit.MILLISECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		blocked.await(FXTestUtils.TIMEOUT, TimeUnit.MILLISECONDS);
+		return release;
+	}
+
+	/**
+	 * A burst of requests from another thread queues a single runnable on
+	 * the JavaFX application thread and results in a single redraw.
+	 *
+	 * @throws Exception
+	 *             if there is a problem with the toolkit.
+	 */
+	@Test
+	public void testOffThreadRequestsMerged() throws Exception {
+		CountDownLatch release = blockFXThread();
+		for (int i = 0; i < 1000; i++) {
+			this.canvas.requestRedraw();
+		}
+		assertEquals(1L, this.canvas.getPostedRedrawCount());
+		assertEquals(999L, this.canvas.getMergedRedrawCount());
+		release.countDown();
+		FXTestUtils.waitFor(() -> this.canvas.getRedrawCount() > 0);
+		assertEquals(1L, (long) FXTestUtils.runAndWait(
+				() -> this.canvas.getRedrawCount()));
+
+		// once the request has been handled, a new one is posted
+		this.canvas.requestRedraw();
+		assertEquals(2L, this.canvas.getPostedRedrawCount());
+		FXTestUtils.waitFor(() -> this.canvas.getRedrawCount() > 1);
+	}
+
+	/**
+	 * Dataset changes made on another thread are merged in the same way as
+	 * direct requests.
+	 *
+	 * @throws Exception
+	 *             if there is a problem with the toolkit.
+	 */
+	@Test
+	public void testDatasetChangesMerged() throws Exception {
+		CountDownLatch release = blockFXThread();
+		for (int i = 10; i < 110; i++) {
+			this.series.add(i, i);
+		}
+		assertEquals(1L, this.canvas.getPostedRedrawCount());
+		release.countDown();
+		FXTestUtils.waitFor(() -> this.canvas.getRedrawCount() > 0);
+		assertEquals(1L, (long) FXTestUtils.runAndWait(
+				() -> this.canvas.getRedrawCount()));
+	}
+
+	/**
+	 * Requests on the JavaFX application thread are merged into the pending
+	 * redraw without posting anything.
+	 *
+	 * @throws Exception
+	 *             if there is a problem with the toolkit.
+	 */
+	@Test
+	public void testFXThreadRequestsMerged() throws Exception {
+		FXTestUtils.runAndWait(() -> {
+			for (int i = 0; i < 10; i++) {
+				this.canvas.requestRedraw();
+			}
+			return null;
+		});
+		assertEquals(0L, this.canvas.getPostedRedrawCount());
+		assertEquals(9L, this.canvas.getMergedRedrawCount());
+		FXTestUtils.waitFor(() -> this.canvas.getRedrawCount() > 0);
+		assertEquals(1L, (long) FXTestUtils.runAndWait(
+				() -> this.canvas.getRedrawCount()));
+	}
+
+	/**
+	 * Creates a mouse moved event.
+	 *
+	 * @param x
+	 *            the x-coordinate.
+	 *
+	 * @return The event.
+	 */
+	private static MouseEvent mouseMoved(double x) {
+		return new MouseEvent(MouseEvent.MOUSE_MOVED, x, 50.0, x, 50.0,
+				MouseButton.NONE, 0, false, false, false, false, false, false,
+				false, false, false, false, null);
+	}
+
+	/**
+	 * While another thread holds the chart's lock (as the offscreen renderer
+	 * does while it draws a frame), the JavaFX application thread does not
+	 * wait for it: mouse events are deferred and passed on in order, and a
+	 * call to draw() schedules a redraw, once the lock is released.
+	 *
+	 * @throws Exception
+	 *             if there is a problem with the toolkit.
+	 */
+	@Test
+	public void testLockNotAwaited() throws Exception {
+		List<Double> moves = new ArrayList<Double>();
+		this.canvas.addChartMouseListener(new ChartMouseListenerFX() {
+			@Override
+			public void chartMouseClicked(ChartMouseEventFX event) {
+				// ignored
+			}
+
+			@Override
+			public void chartMouseMoved(ChartMouseEventFX event) {
+				moves.add(event.getTrigger().getX());
+			}
+		});
+		FXTestUtils.runAndWait(() -> {
+			this.canvas.draw();
+			return null;
+		});
+		long redraws = FXTestUtils.runAndWait(
+				() -> this.canvas.getRedrawCount());
+		Lock lock = this.canvas.getChart().getLock();
+		lock.lock();
+		try {
+			// these would time out if the JavaFX thread waited for the lock
+			FXTestUtils.runAndWait(() -> {
+				this.canvas.fireEvent(mouseMoved(10.0));
+				this.canvas.fireEvent(mouseMoved(20.0));
+				this.canvas.draw();
+				return null;
+			});
+			Thread.sleep(100L);
+			assertEquals(0, (int) FXTestUtils.runAndWait(() -> moves.size()));
+			assertEquals(redraws, (long) FXTestUtils.runAndWait(
+					() -> this.canvas.getRedrawCount()));
+		}
+		finally {
+			lock.unlock();
+		}
+		FXTestUtils.waitFor(() -> moves.size() == 2
+				&& this.canvas.getRedrawCount() > redraws);
+		assertEquals(10.0, moves.get(0), 0.0);
+		assertEquals(20.0, moves.get(1), 0.0);
+	}
+
+}
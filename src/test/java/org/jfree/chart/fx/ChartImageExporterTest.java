@@ -0,0 +1,555 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------
+ * ChartImageExporterTest.java
+ * ---------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.chart.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.drawable.ColorPainter;
+import org.jfree.chart.encoders.ImageFormat;
+import org.jfree.chart.plot.CrosshairState;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYItemRendererState;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.xy.XYDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * Tests for the {@link ChartImageExporter} class.  The tests that export
+ * charts need a running JavaFX toolkit and are skipped if it cannot be
+ * started.
+ */
+public class ChartImageExporterTest {
+
+	/** A folder for the exported files. */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/** The background colors for the charts in the batch tests. */
+	private static final Color[] COLORS = {Color.RED, Color.LIME,
+			Color.BLUE, Color.YELLOW, Color.CYAN, Color.MAGENTA, Color.BLACK,
+			Color.WHITE};
+
+	/**
+	 * Creates an image with a white background and one red pixel.
+	 *
+	 * @param width
+	 *            the width.
+	 * @param height
+	 *            the height.
+	 *
+	 * @return The image.
+	 */
+	private static WritableImage createImage(int width, int height) {
+		WritableImage image = new WritableImage(width, height);
+		PixelWriter writer = image.getPixelWriter();
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				writer.setColor(x, y, Color.WHITE);
+			}
+		}
+		writer.setColor(1, 1, Color.RED);
+		return image;
+	}
+
+	/**
+	 * Decodes an encoded image.
+	 *
+	 * @param bytes
+	 *            the encoded image.
+	 *
+	 * @return The image.
+	 *
+	 * @throws IOException
+	 *             if the image cannot be decoded.
+	 */
+	private static BufferedImage decode(byte[] bytes) throws IOException {
+		return ImageIO.read(new ByteArrayInputStream(bytes));
+	}
+
+	/**
+	 * Creates a line chart with the specified background color.  The chart
+	 * has no title, legend or visible axes, so the images do not depend on
+	 * the fonts that are installed.
+	 *
+	 * @param background
+	 *            the background color.
+	 *
+	 * @return The chart.
+	 */
+	private static JFreeChart createChart(Color background) {
+		XYSeries series = new XYSeries("S");
+		for (int i = 0; i < 10; i++) {
+			series.add(i, i * i);
+		}
+		JFreeChart chart = ChartFactory.createXYLineChart(null, null, null,
+				new XYSeriesCollection(series));
+		chart.removeLegend();
+		XYPlot plot = (XYPlot) chart.getPlot();
+		plot.getDomainAxis().setVisible(false);
+		plot.getRangeAxis().setVisible(false);
+		chart.setBackgroundPainter(new ColorPainter(background));
+		return chart;
+	}
+
+	/**
+	 * Creates a line chart with a renderer that throws the specified
+	 * exception when it draws an item.
+	 *
+	 * @param error
+	 *            the exception.
+	 *
+	 * @return The chart.
+	 */
+	private static JFreeChart createFailingChart(RuntimeException error) {
+		JFreeChart chart = createChart(Color.WHITE);
+		XYPlot plot = (XYPlot) chart.getPlot();
+		plot.setRenderer(new XYLineAndShapeRenderer() {
+			@Override
+			public void drawItem(GraphicsContext g2,
+					XYItemRendererState state, Rectangle2D dataArea,
+					PlotRenderingInfo info, XYPlot plot, ValueAxis domainAxis,
+					ValueAxis rangeAxis, XYDataset dataset, int series,
+					int item, CrosshairState crosshairState, int pass) {
+				throw error;
+			}
+		});
+		return chart;
+	}
+
+	/**
+	 * Writes encoded image data to a file in the temporary folder.
+	 *
+	 * @param bytes
+	 *            the encoded image.
+	 * @param name
+	 *            the file name.
+	 *
+	 * @return The file.
+	 *
+	 * @throws IOException
+	 *             if the file cannot be written.
+	 */
+	private File writeFile(byte[] bytes, String name) throws IOException {
+		File file = new File(this.folder.getRoot(), name);
+		Files.write(file.toPath(), bytes);
+		return file;
+	}
+
+	/**
+	 * Returns the name of the format of an image file, as reported by the
+	 * image reader that recognises the file.
+	 *
+	 * @param file
+	 *            the file.
+	 *
+	 * @return The format name (in lower case).
+	 *
+	 * @throws IOException
+	 *             if the file cannot be read.
+	 */
+	private static String readFormatName(File file) throws IOException {
+		ImageInputStream in = ImageIO.createImageInputStream(file);
+		try {
+			Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+			assertTrue(readers.hasNext());
+			return readers.next().getFormatName().toLowerCase();
+		}
+		finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Checks that a pixel is close to the specified color (JPEG encoding is
+	 * lossy, so an exact match is not expected).
+	 *
+	 * @param expected
+	 *            the expected color.
+	 * @param rgb
+	 *            the pixel.
+	 */
+	private static void assertColor(Color expected, int rgb) {
+		assertEquals(expected.getRed() * 255, (rgb >> 16) & 0xFF, 16.0);
+		assertEquals(expected.getGreen() * 255, (rgb >> 8) & 0xFF, 16.0);
+		assertEquals(expected.getBlue() * 255, rgb & 0xFF, 16.0);
+	}
+
+	/**
+	 * PNG encoding is lossless and keeps transparent pixels.
+	 *
+	 * @throws IOException
+	 *             if there is a problem encoding the image.
+	 */
+	@Test
+	public void testEncodePNG() throws IOException {
+		ChartImageExporter exporter = new ChartImageExporter(1);
+		WritableImage image = createImage(5, 4);
+		image.getPixelWriter().setColor(0, 0, Color.TRANSPARENT);
+		BufferedImage result = decode(exporter.encode(image,
+				ImageFormat.PNG));
+		assertEquals(5, result.getWidth());
+		assertEquals(4, result.getHeight());
+		assertEquals(0xFFFF0000, result.getRGB(1, 1));
+		assertEquals(0xFFFFFFFF, result.getRGB(2, 2));
+		assertEquals(0, result.getRGB(0, 0) >>> 24);
+		exporter.shutdown();
+	}
+
+	/**
+	 * The pooled buffers are reused for images of different sizes and
+	 * formats.
+	 *
+	 * @throws IOException
+	 *             if there is a problem encoding the image.
+	 */
+	@Test
+	public void testEncodeReuse() throws IOException {
+		ChartImageExporter exporter = new ChartImageExporter(1);
+		for (int i = 0; i < 3; i++) {
+			BufferedImage png = decode(exporter.encode(createImage(8, 6),
+					ImageFormat.PNG));
+			assertEquals(8, png.getWidth());
+			assertEquals(0xFFFF0000, png.getRGB(1, 1));
+			BufferedImage jpeg = decode(exporter.encode(
+					createImage(20, 10), ImageFormat.JPEG));
+			assertEquals(20, jpeg.getWidth());
+			assertEquals(10, jpeg.getHeight());
+			assertTrue((jpeg.getRGB(15, 8) & 0xFF) > 240);
+		}
+		exporter.shutdown();
+	}
+
+	/**
+	 * A chart exported on the calling thread and written to a file is a
+	 * valid image of the requested format and size, showing the chart.
+	 *
+	 * @throws Exception
+	 *             if there is a problem exporting the chart.
+	 */
+	@Test
+	public void testExportToFile() throws Exception {
+		assumeTrue(FXTestUtils.startToolkit());
+		ChartImageExporter exporter = new ChartImageExporter(1);
+		JFreeChart chart = createChart(Color.RED);
+		File png = writeFile(exporter.export(chart, 400, 300,
+				ImageFormat.PNG), "chart.png");
+		assertEquals("png", readFormatName(png));
+		BufferedImage image = ImageIO.read(png);
+		assertEquals(400, image.getWidth());
+		assertEquals(300, image.getHeight());
+		assertEquals(0xFFFF0000, image.getRGB(2, 2));
+
+		File jpeg = writeFile(exporter.export(chart, 320, 240,
+				ImageFormat.JPEG), "chart.jpg");
+		assertEquals("jpeg", readFormatName(jpeg));
+		image = ImageIO.read(jpeg);
+		assertEquals(320, image.getWidth());
+		assertEquals(240, image.getHeight());
+		assertColor(Color.RED, image.getRGB(2, 2));
+
+		// the JavaFX application thread can export directly
+		byte[] bytes = FXTestUtils.runAndWait(() -> exporter.export(chart,
+				200, 150, ImageFormat.PNG));
+		assertEquals(200, decode(bytes).getWidth());
+		exporter.shutdown();
+	}
+
+	/**
+	 * A chart submitted to the worker threads is exported with the requested
+	 * size, and a failure is reported by the future.
+	 *
+	 * @throws Exception
+	 *             if there is a problem exporting the chart.
+	 */
+	@Test
+	public void testSubmit() throws Exception {
+		assumeTrue(FXTestUtils.startToolkit());
+		ChartImageExporter exporter = new ChartImageExporter(2);
+		Future<byte[]> future = exporter.submit(createChart(Color.BLUE), 400,
+				300, ImageFormat.PNG);
+		File file = writeFile(future.get(), "submit.png");
+		assertEquals("png", readFormatName(file));
+		BufferedImage image = ImageIO.read(file);
+		assertEquals(400, image.getWidth());
+		assertEquals(300, image.getHeight());
+		assertEquals(0xFF0000FF, image.getRGB(2, 2));
+
+		IllegalStateException error = new IllegalStateException("Failed.");
+		future = exporter.submit(createFailingChart(error), 400, 300,
+				ImageFormat.PNG);
+		try {
+			future.get();
+			fail("Expected an ExecutionException.");
+		}
+		catch (ExecutionException e) {
+			assertSame(error, e.getCause());
+		}
+
+		// batch exports are refused on the JavaFX application thread
+		try {
+			FXTestUtils.runAndWait(() -> exporter.submit(createChart(
+					Color.RED), 400, 300, ImageFormat.PNG));
+			fail("Expected an IllegalStateException.");
+		}
+		catch (IllegalStateException e) {
+			// expected
+		}
+		exporter.shutdown();
+	}
+
+	/**
+	 * A batch of charts (more than the worker threads can hold at once) is
+	 * returned in the order of the list, and the consumer variant receives
+	 * each image with the index of its chart.
+	 *
+	 * @throws Exception
+	 *             if there is a problem exporting the charts.
+	 */
+	@Test
+	public void testExportAllOrder() throws Exception {
+		assumeTrue(FXTestUtils.startToolkit());
+		ChartImageExporter exporter = new ChartImageExporter(2);
+		List<JFreeChart> charts = new ArrayList<JFreeChart>();
+		for (Color color : COLORS) {
+			charts.add(createChart(color));
+		}
+		List<byte[]> result = exporter.exportAll(charts, 400, 300,
+				ImageFormat.JPEG);
+		assertEquals(COLORS.length, result.size());
+		for (int i = 0; i < COLORS.length; i++) {
+			File file = writeFile(result.get(i), "chart" + i + ".jpg");
+			assertEquals("jpeg", readFormatName(file));
+			BufferedImage image = ImageIO.read(file);
+			assertEquals(400, image.getWidth());
+			assertEquals(300, image.getHeight());
+			assertColor(COLORS[i], image.getRGB(2, 2));
+		}
+
+		File[] files = new File[COLORS.length];
+		exporter.exportAll(charts, 400, 300, ImageFormat.PNG,
+				(bytes, index) -> {
+					try {
+						files[index] = writeFile(bytes, "item" + index
+								+ ".png");
+					}
+					catch (IOException e) {
+						throw new RuntimeException(e);
+					}
+				});
+		for (int i = 0; i < COLORS.length; i++) {
+			assertEquals("png", readFormatName(files[i]));
+			assertColor(COLORS[i], ImageIO.read(files[i]).getRGB(2, 2));
+		}
+		exporter.shutdown();
+	}
+
+	/**
+	 * An exception thrown while one chart in a batch is exported is thrown
+	 * by the batch method, and the exporter can still be used afterwards.
+	 *
+	 * @throws Exception
+	 *             if there is a problem exporting the charts.
+	 */
+	@Test
+	public void testExportAllFailure() throws Exception {
+		assumeTrue(FXTestUtils.startToolkit());
+		ChartImageExporter exporter = new ChartImageExporter(2);
+		IllegalStateException error = new IllegalStateException("Failed.");
+		List<JFreeChart> charts = new ArrayList<JFreeChart>();
+		for (int i = 0; i < 6; i++) {
+			charts.add(i == 3 ? createFailingChart(error)
+					: createChart(COLORS[i]));
+		}
+		try {
+			exporter.exportAll(charts, 400, 300, ImageFormat.PNG);
+			fail("Expected an IllegalStateException.");
+		}
+		catch (IllegalStateException e) {
+			assertSame(error, e);
+		}
+
+		// an exception thrown by the consumer is also passed on
+		IllegalArgumentException consumerError = new IllegalArgumentException(
+				"Rejected.");
+		try {
+			exporter.exportAll(charts.subList(0, 2), 400, 300,
+					ImageFormat.PNG, (bytes, index) -> {
+						throw consumerError;
+					});
+			fail("Expected an IllegalArgumentException.");
+		}
+		catch (IllegalArgumentException e) {
+			assertSame(consumerError, e);
+		}
+
+		List<byte[]> result = exporter.exportAll(charts.subList(4, 6), 400,
+				300, ImageFormat.PNG);
+		assertEquals(2, result.size());
+		assertColor(COLORS[5], decode(result.get(1)).getRGB(2, 2));
+		exporter.shutdown();
+	}
+
+	/**
+	 * The pool keeps at most one surface per worker thread, and surfaces
+	 * returned after the exporter is shut down are discarded.
+	 */
+	@Test
+	public void testSurfacePool() {
+		ChartImageExporter exporter = new ChartImageExporter(2);
+		List<ChartImageExporter.Surface> borrowed
+				= new ArrayList<ChartImageExporter.Surface>();
+		for (int i = 0; i < 5; i++) {
+			borrowed.add(exporter.borrowSurface());
+		}
+		for (ChartImageExporter.Surface surface : borrowed) {
+			exporter.returnSurface(surface);
+		}
+		assertEquals(2, exporter.getPooledSurfaceCount());
+
+		// the pool is refilled up to the limit after surfaces are borrowed
+		ChartImageExporter.Surface s1 = exporter.borrowSurface();
+		ChartImageExporter.Surface s2 = exporter.borrowSurface();
+		ChartImageExporter.Surface s3 = exporter.borrowSurface();
+		assertEquals(0, exporter.getPooledSurfaceCount());
+		exporter.returnSurface(s1);
+		exporter.returnSurface(s2);
+		exporter.returnSurface(s3);
+		assertEquals(2, exporter.getPooledSurfaceCount());
+
+		s1 = exporter.borrowSurface();
+		exporter.shutdown();
+		assertEquals(0, exporter.getPooledSurfaceCount());
+		exporter.returnSurface(s1);
+		assertEquals(0, exporter.getPooledSurfaceCount());
+	}
+
+	/**
+	 * A chart is not drawn while another thread holds its lock.
+	 *
+	 * @throws Exception
+	 *             if there is a problem exporting the chart.
+	 */
+	@Test
+	public void testChartLock() throws Exception {
+		assumeTrue(FXTestUtils.startToolkit());
+		ChartImageExporter exporter = new ChartImageExporter(1);
+		JFreeChart chart = createChart(Color.RED);
+		Lock lock = chart.getLock();
+		Future<byte[]> future;
+		lock.lock();
+		try {
+			future = exporter.submit(chart, 40, 30, ImageFormat.PNG);
+			Thread.sleep(200L);
+			assertFalse(future.isDone());
+			// a change made while holding the lock is in the image
+			chart.setBackgroundPainter(new ColorPainter(Color.BLUE));
+		}
+		finally {
+			lock.unlock();
+		}
+		BufferedImage image = decode(future.get(FXTestUtils.TIMEOUT,
+				TimeUnit.MILLISECONDS));
+		assertEquals(0xFF0000FF, image.getRGB(2, 2));
+		exporter.shutdown();
+	}
+
+	/**
+	 * Check the argument checks.
+	 */
+	@Test
+	public void testArguments() {
+		ChartImageExporter exporter = new ChartImageExporter(1);
+		JFreeChart chart = new JFreeChart(new XYPlot());
+		try {
+			exporter.submit(chart, 100, 100, ImageFormat.GIF);
+			fail("Expected an IllegalArgumentException.");
+		}
+		catch (IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			exporter.submit(chart, 0, 100, ImageFormat.PNG);
+			fail("Expected an IllegalArgumentException.");
+		}
+		catch (IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			exporter.setJPEGQuality(1.5f);
+			fail("Expected an IllegalArgumentException.");
+		}
+		catch (IllegalArgumentException e) {
+			// expected
+		}
+		exporter.shutdown();
+	}
+
+}
@@ -0,0 +1,155 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------
+ * FXTestUtils.java
+ * ----------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.fx;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+import javafx.application.Platform;
+
+/**
+ * Some utility methods for tests that need a running JavaFX toolkit.  Tests
+ * should call {@link #startToolkit()} in an assumption, so that they are
+ * skipped where the toolkit cannot be started (for example on a build
+ * server without a display).
+ */
+public class FXTestUtils {
+
+	/** The maximum time (in milliseconds) to wait for the toolkit. */
+	public static final long TIMEOUT = 10000L;
+
+	/** The result of starting the toolkit (null until attempted). */
+	private static Boolean started;
+
+	/**
+	 * Starts the JavaFX toolkit if it is not already running.
+	 *
+	 * @return A boolean indicating whether the toolkit is running.
+	 */
+	public static synchronized boolean startToolkit() {
+		if (started == null) {
+			started = Boolean.valueOf(doStartToolkit());
+		}
+		return started.booleanValue();
+	}
+
+	/**
+	 * Starts the toolkit, with {@code Platform.startup()} where it exists
+	 * (JavaFX 9 and later) and otherwise by creating a {@code JFXPanel}.
+	 *
+	 * @return A boolean indicating whether the toolkit is running.
+	 */
+	private static boolean doStartToolkit() {
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			try {
+				Method startup = Platform.class.getMethod("startup",
+						Runnable.class);
+				startup.invoke(null, (Runnable) () -> latch.countDown());
+			}
+			catch (NoSuchMethodException e) {
+				Class.forName("javafx.embed.swing.JFXPanel").newInstance();
+				Platform.runLater(() -> latch.countDown());
+			}
+			catch (InvocationTargetException e) {
+				if (!(e.getCause() instanceof IllegalStateException)) {
+					// the toolkit cannot be started here
+					return false;
+				}
+				// the toolkit is already running
+				Platform.runLater(() -> latch.countDown());
+			}
+			Platform.setImplicitExit(false);
+			return latch.await(TIMEOUT, TimeUnit.MILLISECONDS);
+		}
+		catch (Throwable t) {
+			return false;
+		}
+	}
+
+	/**
+	 * Runs a task on the JavaFX application thread and waits for its
+	 * result.
+	 *
+	 * @param task
+	 *            the task.
+	 *
+	 * @return The result of the task.
+	 *
+	 * @throws Exception
+	 *             if the task throws an exception or does not finish in
+	 *             time.
+	 */
+	public static <T> T runAndWait(Callable<T> task) throws Exception {
+		FutureTask<T> future = new FutureTask<T>(task);
+		Platform.runLater(future);
+		try {
+			return future.get(TIMEOUT, TimeUnit.MILLISECONDS);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof Exception) {
+				throw (Exception) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Waits until a condition, checked on the JavaFX application thread,
+	 * becomes true.
+	 *
+	 * @param condition
+	 *            the condition.
+	 *
+	 * @throws Exception
+	 *             if the condition does not become true in time.
+	 */
+	public static void waitFor(BooleanSupplier condition) throws Exception {
+		long end = System.currentTimeMillis() + TIMEOUT;
+		while (!runAndWait(() -> condition.getAsBoolean())) {
+			if (System.currentTimeMillis() > end) {
+				throw new TimeoutException("Condition not met.");
+			}
+			Thread.sleep(10L);
+		}
+	}
+
+}
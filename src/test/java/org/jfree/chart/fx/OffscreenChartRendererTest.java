@@ -0,0 +1,316 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------------
+ * OffscreenChartRendererTest.java
+ * -------------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.GraphicsContext;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartUpdateBatch;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.plot.CrosshairState;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYItemRendererState;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.xy.XYDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link OffscreenChartRenderer} class.  These tests need a
+ * running JavaFX toolkit and are skipped if it cannot be started.
+ */
+public class OffscreenChartRendererTest {
+
+	/** The executor used by the renderer. */
+	private ExecutorService executor;
+
+	/** The renderer. */
+	private OffscreenChartRenderer renderer;
+
+	/** The frames delivered (only accessed on the JavaFX thread). */
+	private List<OffscreenChartRenderer.Frame> frames;
+
+	/** The series displayed by the chart. */
+	private XYSeries series;
+
+	/** The chart. */
+	private JFreeChart chart;
+
+	/**
+	 * Creates a renderer with its own executor, and a line chart.
+	 */
+	@Before
+	public void setUp() {
+		assumeTrue(FXTestUtils.startToolkit());
+		this.executor = Executors.newSingleThreadExecutor();
+		this.renderer = new OffscreenChartRenderer(this.executor);
+		this.frames = new ArrayList<OffscreenChartRenderer.Frame>();
+		this.series = new XYSeries("S");
+		for (int i = 0; i < 10; i++) {
+			this.series.add(i, i);
+		}
+		this.chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+				new XYSeriesCollection(this.series));
+	}
+
+	/**
+	 * Shuts down the executor.
+	 */
+	@After
+	public void tearDown() {
+		if (this.executor != null) {
+			this.executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Submits the chart for rendering on the JavaFX application thread.
+	 *
+	 * @param scale
+	 *            the image scale.
+	 *
+	 * @return The frame version.
+	 *
+	 * @throws Exception
+	 *             if there is a problem with the toolkit.
+	 */
+	private long submit(double scale) throws Exception {
+		return FXTestUtils.runAndWait(() -> this.renderer.submit(this.chart,
+				400.0, 300.0, scale, null, f -> this.frames.add(f)));
+	}
+
+	/**
+	 * Blocks the executor until the returned latch is released.
+	 *
+	 * @return The latch.
+	 *
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for the executor to block.
+	 */
+	private CountDownLatch blockExecutor() throws InterruptedException {
+		CountDownLatch blocked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		this.executor.submit(() -> {
+			blocked.countDown();
+			release.await(FXTestUtils.TIMEOUT, TimeUnit.MILLISECONDS);
+			return null;
+		});
+		blocked.await(FXTestUtils.TIMEOUT, TimeUnit.MILLISECONDS);
+		return release;
+	}
+
+	/**
+	 * Waits until the executor and then the JavaFX application thread have
+	 * finished the work that has been given to them so far.
+	 *
+	 * @throws Exception
+	 *             if there is a problem with the toolkit.
+	 */
+	private void flush() throws Exception {
+		this.executor.submit(() -> null).get(FXTestUtils.TIMEOUT,
+				TimeUnit.MILLISECONDS);
+		FXTestUtils.runAndWait(() -> null);
+	}
+
+	/**
+	 * Returns the number of frames delivered so far.
+	 *
+	 * @return The frame count.
+	 *
+	 * @throws Exception
+	 *             if there is a problem with the toolkit.
+	 */
+	private int frameCount() throws Exception {
+		return FXTestUtils.runAndWait(() -> this.frames.size());
+	}
+
+	/**
+	 * A frame is rasterized at the frame size and delivered with its
+	 * rendering info.
+	 *
+	 * @throws Exception
+	 *             if there is a problem with the toolkit.
+	 */
+	@Test
+	public void testFrame() throws Exception {
+		long v = submit(1.0);
+		FXTestUtils.waitFor(() -> !this.frames.isEmpty());
+		OffscreenChartRenderer.Frame frame = this.frames.get(0);
+		assertEquals(v, frame.getVersion());
+		assertNull(frame.getError());
+		assertEquals(400.0, frame.getImage().getWidth(), 0.0);
+		assertEquals(300.0, frame.getImage().getHeight(), 0.0);
+		assertEquals(1.0, frame.getScale(), 0.0);
+		assertNotNull(frame.getRenderingInfo().getPlotInfo().getDataArea());
+	}
+
+	/**
+	 * A frame rasterized at a scale of 2 has twice as many pixels in each
+	 * direction.
+	 *
+	 * @throws Exception
+	 *             if there is a problem with the toolkit.
+	 */
+	@Test
+	public void testScale() throws Exception {
+		submit(2.0);
+		FXTestUtils.waitFor(() -> !this.frames.isEmpty());
+		OffscreenChartRenderer.Frame frame = this.frames.get(0);
+		assertEquals(2.0, frame.getScale(), 0.0);
+		assertEquals(800.0, frame.getImage().getWidth(), 0.0);
+		assertEquals(600.0, frame.getImage().getHeight(), 0.0);
+		Rectangle2D area = frame.getRenderingInfo().getChartArea();
+		assertEquals(400.0, area.getWidth(), 0.0);
+	}
+
+	/**
+	 * When frames are submitted faster than they are drawn, only the latest
+	 * is delivered and the others are counted as cancelled.
+	 *
+	 * @throws Exception
+	 *             if there is a problem with the toolkit.
+	 */
+	@Test
+	public void testLatestFrameOnly() throws Exception {
+		CountDownLatch release = blockExecutor();
+		long last = 0L;
+		for (int i = 0; i < 5; i++) {
+			last = submit(1.0);
+		}
+		release.countDown();
+		FXTestUtils.waitFor(() -> !this.frames.isEmpty());
+		flush();
+		assertEquals(1, frameCount());
+		assertEquals(last, this.frames.get(0).getVersion());
+		assertEquals(4L, this.renderer.getCancelledFrameCount());
+	}
+
+	/**
+	 * A cancelled frame is not delivered.
+	 *
+	 * @throws Exception
+	 *             if there is a problem with the toolkit.
+	 */
+	@Test
+	public void testCancel() throws Exception {
+		CountDownLatch release = blockExecutor();
+		submit(1.0);
+		FXTestUtils.runAndWait(() -> {
+			this.renderer.cancel();
+			return null;
+		});
+		release.countDown();
+		flush();
+		assertEquals(0, frameCount());
+		assertEquals(1L, this.renderer.getCancelledFrameCount());
+
+		// the renderer can still be used
+		submit(1.0);
+		FXTestUtils.waitFor(() -> !this.frames.isEmpty());
+	}
+
+	/**
+	 * An exception thrown while a frame is drawn is delivered to the
+	 * consumer.
+	 *
+	 * @throws Exception
+	 *             if there is a problem with the toolkit.
+	 */
+	@Test
+	public void testError() throws Exception {
+		IllegalStateException error = new IllegalStateException("Failed.");
+		XYPlot plot = (XYPlot) this.chart.getPlot();
+		plot.setRenderer(new XYLineAndShapeRenderer() {
+			@Override
+			public void drawItem(GraphicsContext g2,
+					XYItemRendererState state, Rectangle2D dataArea,
+					PlotRenderingInfo info, XYPlot plot, ValueAxis domainAxis,
+					ValueAxis rangeAxis, XYDataset dataset, int series,
+					int item, CrosshairState crosshairState, int pass) {
+				throw error;
+			}
+		});
+		long v = submit(1.0);
+		FXTestUtils.waitFor(() -> !this.frames.isEmpty());
+		OffscreenChartRenderer.Frame frame = this.frames.get(0);
+		assertEquals(v, frame.getVersion());
+		assertSame(error, frame.getError());
+		assertNull(frame.getImage());
+		assertNull(frame.getRenderingInfo());
+	}
+
+	/**
+	 * A frame is not drawn while a batch of changes to the chart is open, so
+	 * it sees all of the changes.
+	 *
+	 * @throws Exception
+	 *             if there is a problem with the toolkit.
+	 */
+	@Test
+	public void testBatchHoldsLock() throws Exception {
+		ChartUpdateBatch batch = new ChartUpdateBatch(this.chart);
+		this.series.add(10.0, 100.0);
+		submit(1.0);
+		Thread.sleep(100L);
+		assertEquals(0, frameCount());
+		assertTrue(this.chart.getLock().tryLock());
+		this.chart.getLock().unlock();
+		this.series.add(11.0, 200.0);
+		batch.commit();
+		FXTestUtils.waitFor(() -> !this.frames.isEmpty());
+		XYPlot plot = (XYPlot) this.chart.getPlot();
+		assertEquals(200.0, plot.getRangeAxis().getUpperBound(), 20.0);
+	}
+
+}
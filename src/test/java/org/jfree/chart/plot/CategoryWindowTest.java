@@ -0,0 +1,238 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------
+ * CategoryWindowTest.java
+ * -----------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.chart.plot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jfree.chart.axis.CategoryAxis;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.renderer.category.CategoryItemRendererState;
+import org.jfree.chart.renderer.category.LineAndShapeRenderer;
+import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.chart.util.SortOrder;
+import org.jfree.data.category.CategoryDataset;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.junit.Test;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+
+/**
+ * Tests for the window of visible categories in {@link CategoryPlot} and
+ * {@link CategoryAxis}.
+ */
+public class CategoryWindowTest {
+
+	/** A renderer that records the columns it is asked to draw. */
+	static class RecordingRenderer extends LineAndShapeRenderer {
+
+		List<Integer> columns = new ArrayList<Integer>();
+
+		@Override
+		public void drawItem(GraphicsContext g2,
+				CategoryItemRendererState state, Rectangle2D dataArea,
+				CategoryPlot plot, CategoryAxis domainAxis,
+				ValueAxis rangeAxis, CategoryDataset dataset, int row,
+				int column, int pass) {
+			if (pass == 0 && row == 0) {
+				this.columns.add(column);
+			}
+		}
+
+	}
+
+	/**
+	 * Creates a dataset with the specified number of categories.
+	 *
+	 * @param count
+	 *            the category count.
+	 * @param prefix
+	 *            the prefix for the category keys.
+	 *
+	 * @return The dataset.
+	 */
+	private static DefaultCategoryDataset createDataset(int count,
+			String prefix) {
+		DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+		for (int i = 0; i < count; i++) {
+			dataset.addValue(i, "R", prefix + i);
+		}
+		return dataset;
+	}
+
+	/**
+	 * The visible categories are spread over the whole axis.
+	 */
+	@Test
+	public void testCoordinates() {
+		Rectangle2D area = new Rectangle2D(0, 0, 500, 100);
+		CategoryAxis plain = new CategoryAxis();
+		CategoryAxis axis = new CategoryAxis();
+		axis.setCategoryWindow(10, 5);
+		for (int i = 0; i < 5; i++) {
+			assertEquals(plain.getCategoryMiddle(i, 5, area,
+					RectangleEdge.BOTTOM), axis.getCategoryMiddle(10 + i, 100,
+					area, RectangleEdge.BOTTOM), 1e-9);
+			assertEquals(plain.getCategoryStart(i, 5, area,
+					RectangleEdge.BOTTOM), axis.getCategoryStart(10 + i, 100,
+					area, RectangleEdge.BOTTOM), 1e-9);
+		}
+
+		// the window is moved back when it runs past the last category
+		axis.setCategoryWindow(98, 5);
+		assertEquals(95, axis.getVisibleCategoryStart(100));
+		assertEquals(100, axis.getVisibleCategoryEnd(100));
+		assertEquals(0, axis.getVisibleCategoryStart(3));
+		assertEquals(3, axis.getVisibleCategoryEnd(3));
+		assertEquals(0, plain.getVisibleCategoryStart(100));
+		assertEquals(100, plain.getVisibleCategoryEnd(100));
+		assertFalse(plain.equals(axis));
+	}
+
+	/**
+	 * Only the items in the visible window are rendered.
+	 */
+	@Test
+	public void testRender() {
+		GraphicsContext g2 = new Canvas(500, 300).getGraphicsContext2D();
+		RecordingRenderer renderer = new RecordingRenderer();
+		CategoryAxis axis = new CategoryAxis();
+		CategoryPlot plot = new CategoryPlot(createDataset(100000, "C"),
+				axis, new NumberAxis(), renderer);
+		axis.setCategoryWindow(500, 20);
+		plot.render(g2, new Rectangle2D(0, 0, 500, 300), 0, null, null);
+		assertEquals(20, renderer.columns.size());
+		assertEquals(500, renderer.columns.get(0).intValue());
+		assertEquals(519, renderer.columns.get(19).intValue());
+
+		renderer.columns.clear();
+		plot.setColumnRenderingOrder(SortOrder.DESCENDING);
+		plot.render(g2, new Rectangle2D(0, 0, 500, 300), 0, null, null);
+		assertEquals(20, renderer.columns.size());
+		assertEquals(519, renderer.columns.get(0).intValue());
+
+		assertEquals(100000, plot.getCategoryCountForAxis(axis));
+		assertEquals(Arrays.asList("C500", "C501"),
+				plot.getCategoriesForAxis(axis, 500, 502));
+	}
+
+	/**
+	 * Categories from several datasets are merged.
+	 */
+	@Test
+	public void testCategoriesForAxis() {
+		CategoryAxis axis = new CategoryAxis();
+		CategoryPlot plot = new CategoryPlot(createDataset(3, "A"), axis,
+				new NumberAxis(), new LineAndShapeRenderer());
+		DefaultCategoryDataset d2 = createDataset(2, "A");
+		d2.addValue(1.0, "R", "B0");
+		plot.setDataset(1, d2);
+		assertEquals(4, plot.getCategoryCountForAxis(axis));
+		assertEquals(Arrays.asList("A0", "A1", "A2", "B0"),
+				plot.getCategoriesForAxis(axis));
+		assertEquals(Arrays.asList("A2", "B0"),
+				plot.getCategoriesForAxis(axis, 2, 10));
+	}
+
+	/**
+	 * The window can be panned and zoomed through the plot.
+	 */
+	@Test
+	public void testPanAndZoom() {
+		CategoryAxis axis = new CategoryAxis();
+		CategoryPlot plot = new CategoryPlot(createDataset(100, "C"), axis,
+				new NumberAxis(), new LineAndShapeRenderer());
+		assertFalse(plot.isDomainPannable());
+		assertFalse(plot.isDomainZoomable());
+		axis.setCategoryWindow(10, 10);
+		assertTrue(plot.isDomainPannable());
+		assertTrue(plot.isDomainZoomable());
+
+		plot.panDomainAxes(0.5, null, null);
+		assertEquals(15, axis.getFirstVisibleCategory());
+
+		// small pans add up
+		for (int i = 0; i < 10; i++) {
+			plot.panDomainAxes(0.05, null, null);
+		}
+		assertEquals(20, axis.getFirstVisibleCategory());
+
+		// each domain axis keeps its own remainder
+		CategoryAxis axis1 = new CategoryAxis();
+		plot.setDomainAxis(1, axis1);
+		plot.setDataset(1, createDataset(100, "D"));
+		plot.mapDatasetToDomainAxis(1, 1);
+		axis1.setCategoryWindow(20, 10);
+		for (int i = 0; i < 10; i++) {
+			plot.panDomainAxes(0.05, null, null);
+		}
+		assertEquals(25, axis.getFirstVisibleCategory());
+		assertEquals(25, axis1.getFirstVisibleCategory());
+		plot.setDomainAxis(1, null);
+
+		// the window stays within the categories
+		plot.panDomainAxes(-5.0, null, null);
+		assertEquals(0, axis.getFirstVisibleCategory());
+		plot.panDomainAxes(20.0, null, null);
+		assertEquals(90, axis.getFirstVisibleCategory());
+
+		axis.setCategoryWindow(40, 10);
+		plot.zoomDomainAxes(2.0, null, null);
+		assertEquals(35, axis.getFirstVisibleCategory());
+		assertEquals(20, axis.getVisibleCategoryCount());
+		plot.zoomDomainAxes(0.5, null, null);
+		assertEquals(40, axis.getFirstVisibleCategory());
+		assertEquals(10, axis.getVisibleCategoryCount());
+		plot.zoomDomainAxes(0.2, 0.6, null, null);
+		assertEquals(42, axis.getFirstVisibleCategory());
+		assertEquals(4, axis.getVisibleCategoryCount());
+
+		// zooming always changes the window
+		axis.setCategoryWindow(40, 1);
+		plot.zoomDomainAxes(1.1, null, null);
+		assertEquals(2, axis.getVisibleCategoryCount());
+		plot.zoomDomainAxes(0.9, null, null);
+		assertEquals(1, axis.getVisibleCategoryCount());
+	}
+
+}
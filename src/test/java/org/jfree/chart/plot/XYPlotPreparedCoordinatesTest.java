@@ -0,0 +1,292 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------------------
+ * XYPlotPreparedCoordinatesTest.java
+ * ----------------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.plot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.renderer.xy.M4XYDecimator;
+import org.jfree.chart.renderer.xy.XYItemRendererState;
+import org.jfree.chart.renderer.xy.XYDecimator;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.time.Day;
+import org.jfree.data.time.RegularTimePeriod;
+import org.jfree.data.time.TimeSeries;
+import org.jfree.data.time.TimeSeriesCollection;
+import org.jfree.data.xy.XYDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Test;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+
+/**
+ * Tests for the transformed coordinates that {@link XYPlot} prepares for its
+ * renderers, comparing them with the coordinates that the renderer would
+ * calculate for each item itself.
+ */
+public class XYPlotPreparedCoordinatesTest {
+
+	/**
+	 * A renderer that records, for each item it is asked to draw, the
+	 * prepared coordinates (if any) and the coordinates calculated from the
+	 * data values.
+	 */
+	static class RecordingRenderer extends XYLineAndShapeRenderer {
+
+		/** Whether the renderer asks the plot for prepared coordinates. */
+		boolean useTransformed = true;
+
+		/** The number of items that had prepared coordinates. */
+		int transformedCount;
+
+		/** Each item drawn as {series, item, x, y} (prepared if possible). */
+		List<double[]> items = new ArrayList<double[]>();
+
+		@Override
+		public XYItemRendererState initialise(GraphicsContext g2,
+				Rectangle2D dataArea, XYPlot plot, XYDataset data,
+				PlotRenderingInfo info) {
+			XYItemRendererState state = super.initialise(g2, dataArea, plot,
+					data, info);
+			state.setUseTransformedCoordinates(this.useTransformed);
+			return state;
+		}
+
+		@Override
+		public void drawItem(GraphicsContext g2, XYItemRendererState state,
+				Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+				ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
+				int series, int item, CrosshairState crosshairState,
+				int pass) {
+			if (pass != 0) {
+				return;
+			}
+			double x = domainAxis.valueToJava2D(dataset.getXValue(series,
+					item), dataArea, plot.getDomainAxisEdge());
+			double y = rangeAxis.valueToJava2D(dataset.getYValue(series,
+					item), dataArea, plot.getRangeAxisEdge());
+			if (state.isTransformed(series, item)) {
+				this.transformedCount++;
+				assertEquals(x, state.getTransformedX(series, item), 0.0);
+				assertEquals(y, state.getTransformedY(series, item), 0.0);
+				x = state.getTransformedX(series, item);
+				y = state.getTransformedY(series, item);
+			}
+			this.items.add(new double[] {series, item, x, y});
+		}
+
+	}
+
+	/**
+	 * Creates a dataset with two series of <code>count</code> items.
+	 *
+	 * @param count
+	 *            the item count.
+	 *
+	 * @return The dataset.
+	 */
+	static XYSeriesCollection createDataset(int count) {
+		XYSeriesCollection dataset = new XYSeriesCollection();
+		for (int s = 0; s < 2; s++) {
+			XYSeries series = new XYSeries("S" + s);
+			for (int i = 0; i < count; i++) {
+				series.add(i, Math.sin(i * 0.1 + s) * (s + 1) * 100.0);
+			}
+			dataset.addSeries(series);
+		}
+		return dataset;
+	}
+
+	/**
+	 * Draws a plot.
+	 *
+	 * @param plot
+	 *            the plot.
+	 */
+	static void draw(XYPlot plot) {
+		GraphicsContext g2 = new Canvas(400, 300).getGraphicsContext2D();
+		plot.draw(g2, new Rectangle2D(0, 0, 400, 300), null, null, null);
+	}
+
+	/**
+	 * The prepared coordinates are the same as the coordinates calculated for
+	 * each item, with and without decimation and on later frames that reuse
+	 * the buffers.
+	 */
+	@Test
+	public void testPreparedMatchesPerItem() {
+		XYSeriesCollection dataset = createDataset(1000);
+		RecordingRenderer renderer = new RecordingRenderer();
+		NumberAxis xAxis = new NumberAxis("X");
+		XYPlot plot = new XYPlot(dataset, xAxis, new NumberAxis("Y"),
+				renderer);
+		draw(plot);
+		assertEquals(renderer.items.size(), renderer.transformedCount);
+		assertEquals(2000, renderer.transformedCount);
+
+		// a zoomed in, decimated frame reuses the (now too long) buffers
+		renderer.items.clear();
+		renderer.transformedCount = 0;
+		xAxis.setRange(100.0, 200.0);
+		plot.setDecimator(new M4XYDecimator());
+		draw(plot);
+		assertTrue(renderer.transformedCount > 0);
+		assertEquals(renderer.items.size(), renderer.transformedCount);
+
+		// and a larger dataset replaces them
+		renderer.items.clear();
+		renderer.transformedCount = 0;
+		plot.setDecimator(null);
+		xAxis.setAutoRange(true);
+		plot.setDataset(createDataset(3000));
+		draw(plot);
+		assertEquals(6000, renderer.transformedCount);
+	}
+
+	/**
+	 * A renderer that does not use prepared coordinates is given none, and
+	 * draws the same items at the same coordinates.
+	 */
+	@Test
+	public void testNotPreparedForOtherRenderers() {
+		RecordingRenderer r1 = new RecordingRenderer();
+		draw(new XYPlot(createDataset(500), new NumberAxis("X"),
+				new NumberAxis("Y"), r1));
+		RecordingRenderer r2 = new RecordingRenderer();
+		r2.useTransformed = false;
+		draw(new XYPlot(createDataset(500), new NumberAxis("X"),
+				new NumberAxis("Y"), r2));
+		assertEquals(0, r2.transformedCount);
+		assertFalse(r2.items.isEmpty());
+		assertItemsEqual(r1.items, r2.items);
+	}
+
+	/**
+	 * Draws a plot with an {@link XYSeriesCollection} and a
+	 * {@link TimeSeriesCollection} (on a second domain axis), both newly
+	 * created so that the series build their caches while the plot is
+	 * prepared, and returns the items drawn for both datasets.
+	 *
+	 * @param parallel
+	 *            the parallel rendering flag.
+	 * @param useTransformed
+	 *            whether the renderers use prepared coordinates.
+	 * @param decimator
+	 *            the decimator (<code>null</code> permitted).
+	 *
+	 * @return The items drawn.
+	 */
+	static List<double[]> drawTwoDatasets(boolean parallel,
+			boolean useTransformed, XYDecimator decimator) {
+		TimeSeriesCollection timeDataset = new TimeSeriesCollection();
+		for (int s = 0; s < 3; s++) {
+			TimeSeries series = new TimeSeries("T" + s);
+			RegularTimePeriod period = new Day(1, 1, 2016);
+			for (int i = 0; i < 1500; i++) {
+				series.add(period, Math.cos(i * 0.05 + s) * 50.0);
+				period = period.next();
+			}
+			timeDataset.addSeries(series);
+		}
+		RecordingRenderer r0 = new RecordingRenderer();
+		r0.useTransformed = useTransformed;
+		RecordingRenderer r1 = new RecordingRenderer();
+		r1.useTransformed = useTransformed;
+		XYPlot plot = new XYPlot(createDataset(2000), new NumberAxis("X"),
+				new NumberAxis("Y"), r0);
+		plot.setDomainAxis(1, new NumberAxis("Time"));
+		plot.setDataset(1, timeDataset);
+		plot.setRenderer(1, r1);
+		plot.mapDatasetToDomainAxis(1, 1);
+		plot.setDecimator(decimator);
+		plot.setParallelRendering(parallel);
+		draw(plot);
+		assertEquals(useTransformed ? r0.items.size() : 0,
+				r0.transformedCount);
+		assertEquals(useTransformed ? r1.items.size() : 0,
+				r1.transformedCount);
+		List<double[]> result = new ArrayList<double[]>(r0.items);
+		result.add(new double[] {-1.0});
+		result.addAll(r1.items);
+		return result;
+	}
+
+	/**
+	 * Preparing the series in parallel gives the same items and coordinates
+	 * as preparing them on the drawing thread.
+	 */
+	@Test
+	public void testParallelMatchesSerial() {
+		for (int i = 0; i < 4; i++) {
+			boolean useTransformed = i % 2 == 0;
+			XYDecimator decimator = i < 2 ? null : new M4XYDecimator();
+			List<double[]> serial = drawTwoDatasets(false, useTransformed,
+					decimator);
+			List<double[]> parallel = drawTwoDatasets(true, useTransformed,
+					decimator);
+			assertTrue(serial.size() > 1);
+			assertItemsEqual(serial, parallel);
+		}
+	}
+
+	/**
+	 * Checks that two lists of recorded items are the same.
+	 *
+	 * @param expected
+	 *            the expected items.
+	 * @param actual
+	 *            the actual items.
+	 */
+	static void assertItemsEqual(List<double[]> expected,
+			List<double[]> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			double[] e = expected.get(i);
+			double[] a = actual.get(i);
+			for (int j = 0; j < e.length; j++) {
+				assertEquals(e[j], a[j], 0.0);
+			}
+		}
+	}
+
+}
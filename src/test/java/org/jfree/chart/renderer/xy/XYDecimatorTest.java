@@ -0,0 +1,240 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2012, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------
+ * XYDecimatorTest.java
+ * --------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.ui.RectangleEdge;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Test;
+
+import java.util.Random;
+
+import javafx.geometry.Rectangle2D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link XYDecimator} implementations.
+ */
+public class XYDecimatorTest {
+
+	/** The data area used for the tests (100 pixels wide). */
+	private static final Rectangle2D AREA = new Rectangle2D(0, 0, 100, 50);
+
+	/**
+	 * Creates a dataset with a single random series.
+	 *
+	 * @param count
+	 *            the number of items.
+	 *
+	 * @return The dataset.
+	 */
+	private static XYSeriesCollection createDataset(int count) {
+		Random random = new Random(1L);
+		XYSeries s = new XYSeries("S");
+		for (int i = 0; i < count; i++) {
+			s.add(i, random.nextInt(8) == 0 ? null
+					: new Double(random.nextGaussian()));
+		}
+		return new XYSeriesCollection(s);
+	}
+
+	/**
+	 * Creates an axis covering the range of the dataset.
+	 *
+	 * @param count
+	 *            the number of items.
+	 *
+	 * @return The axis.
+	 */
+	private static NumberAxis createAxis(int count) {
+		NumberAxis axis = new NumberAxis("X");
+		axis.setRange(0.0, count);
+		return axis;
+	}
+
+	/**
+	 * Checks that the indices are ascending and span the requested range.
+	 *
+	 * @param indices
+	 *            the indices.
+	 * @param first
+	 *            the first item.
+	 * @param last
+	 *            the last item.
+	 */
+	private static void checkIndices(int[] indices, int first, int last) {
+		assertEquals(first, indices[0]);
+		assertEquals(last, indices[indices.length - 1]);
+		for (int i = 1; i < indices.length; i++) {
+			assertTrue(indices[i] > indices[i - 1]);
+		}
+	}
+
+	/**
+	 * Small series are not decimated.
+	 */
+	@Test
+	public void testSmallSeries() {
+		XYSeriesCollection d = createDataset(150);
+		NumberAxis axis = createAxis(150);
+		assertNull(new MinMaxXYDecimator().decimate(d, 0, 0, 149, axis, AREA,
+				RectangleEdge.BOTTOM));
+		assertNull(new M4XYDecimator().decimate(d, 0, 0, 149, axis, AREA,
+				RectangleEdge.BOTTOM));
+		assertNull(new LTTBXYDecimator(2.0).decimate(d, 0, 0, 149, axis,
+				AREA, RectangleEdge.BOTTOM));
+	}
+
+	/**
+	 * The M4 decimator keeps the first, last, minimum and maximum item in
+	 * each pixel column, plus one item per gap.
+	 */
+	@Test
+	public void testM4() {
+		int count = 10000;
+		XYSeriesCollection d = createDataset(count);
+		NumberAxis axis = createAxis(count);
+		int[] indices = new M4XYDecimator().decimate(d, 0, 10, count - 11,
+				axis, AREA, RectangleEdge.BOTTOM);
+		checkIndices(indices, 10, count - 11);
+		boolean[] kept = new boolean[count];
+		for (int item : indices) {
+			kept[item] = true;
+		}
+		int column = -1;
+		int min = -1;
+		int max = -1;
+		for (int item = 10; item <= count - 11; item++) {
+			double y = d.getYValue(0, item);
+			if (Double.isNaN(y)) {
+				continue;
+			}
+			int c = (int) Math.floor(axis.valueToJava2D(item, AREA,
+					RectangleEdge.BOTTOM));
+			if (c != column) {
+				assertTrue(kept[item]);
+				assertTrue(min < 0 || kept[min]);
+				assertTrue(max < 0 || kept[max]);
+				column = c;
+				min = item;
+				max = item;
+			}
+			if (y < d.getYValue(0, min)) {
+				min = item;
+			}
+			if (y > d.getYValue(0, max)) {
+				max = item;
+			}
+		}
+	}
+
+	/**
+	 * The min/max decimator keeps at most two items per column (plus the
+	 * gaps and end points) and never fewer than the M4 extremes.
+	 */
+	@Test
+	public void testMinMax() {
+		int count = 10000;
+		XYSeries s = new XYSeries("S");
+		for (int i = 0; i < count; i++) {
+			s.add(i, Math.sin(i / 50.0));
+		}
+		XYSeriesCollection d = new XYSeriesCollection(s);
+		NumberAxis axis = createAxis(count);
+		int[] indices = new MinMaxXYDecimator().decimate(d, 0, 0, count - 1,
+				axis, AREA, RectangleEdge.BOTTOM);
+		checkIndices(indices, 0, count - 1);
+		assertTrue(indices.length <= 2 * 101 + 2);
+		assertTrue(indices.length >= 100);
+	}
+
+	/**
+	 * The LTTB decimator keeps a fixed number of points.
+	 */
+	@Test
+	public void testLTTB() {
+		int count = 10000;
+		XYSeries s = new XYSeries("S");
+		for (int i = 0; i < count; i++) {
+			s.add(i, Math.sin(i / 50.0));
+		}
+		XYSeriesCollection d = new XYSeriesCollection(s);
+		NumberAxis axis = createAxis(count);
+		int[] indices = new LTTBXYDecimator(2.0).decimate(d, 0, 0, count - 1,
+				axis, AREA, RectangleEdge.BOTTOM);
+		checkIndices(indices, 0, count - 1);
+		assertEquals(200, indices.length);
+
+		// gaps are preserved
+		d = createDataset(count);
+		indices = new LTTBXYDecimator().decimate(d, 0, 0, count - 1, axis,
+				AREA, RectangleEdge.BOTTOM);
+		checkIndices(indices, 0, count - 1);
+		boolean gap = false;
+		for (int item : indices) {
+			gap = gap || Double.isNaN(d.getYValue(0, item));
+		}
+		assertTrue(gap);
+	}
+
+	/**
+	 * Confirm that the equals method can distinguish all the required fields.
+	 */
+	@Test
+	public void testEquals() {
+		assertEquals(new MinMaxXYDecimator(), new MinMaxXYDecimator());
+		assertFalse(new MinMaxXYDecimator().equals(new M4XYDecimator()));
+		assertEquals(new LTTBXYDecimator(2.0), new LTTBXYDecimator(2.0));
+		assertFalse(new LTTBXYDecimator(2.0).equals(new LTTBXYDecimator()));
+	}
+
+	/**
+	 * Serialize an instance, restore it, and check for equality.
+	 */
+	@Test
+	public void testSerialization() {
+		LTTBXYDecimator d1 = new LTTBXYDecimator(1.5);
+		LTTBXYDecimator d2 = (LTTBXYDecimator) TestUtils.serialised(d1);
+		assertEquals(d1, d2);
+		M4XYDecimator m1 = new M4XYDecimator();
+		assertEquals(m1, TestUtils.serialised(m1));
+	}
+
+}
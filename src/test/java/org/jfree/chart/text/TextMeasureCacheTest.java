@@ -0,0 +1,96 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------
+ * TextMeasureCacheTest.java
+ * -------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.chart.text;
+
+import javafx.scene.text.Font;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the {@link TextMeasureCache} class.
+ */
+public class TextMeasureCacheTest {
+
+	/**
+	 * The least recently used font is evicted once the limit is reached.
+	 */
+	@Test
+	public void testFontMetrics() {
+		TextMeasureCache cache = new TextMeasureCache(2, 10);
+		Font f1 = Font.font("SansSerif", 10.0);
+		Font f2 = Font.font("SansSerif", 12.0);
+		Font f3 = Font.font("SansSerif", 14.0);
+		assertSame(cache.getFontMetrics(f1), cache.getFontMetrics(f1));
+		assertEquals(1L, cache.getMetricsHitCount());
+		assertEquals(1L, cache.getMetricsMissCount());
+		cache.getFontMetrics(f2);
+		cache.getFontMetrics(f1);
+		cache.getFontMetrics(f3); // evicts f2
+		cache.getFontMetrics(f1);
+		cache.getFontMetrics(f2);
+		assertEquals(3L, cache.getMetricsHitCount());
+		assertEquals(4L, cache.getMetricsMissCount());
+		cache.clear();
+		assertEquals(0L, cache.getMetricsHitCount());
+		assertEquals(0L, cache.getMetricsMissCount());
+	}
+
+	/**
+	 * Some checks for the arguments.
+	 */
+	@Test
+	public void testArguments() {
+		try {
+			new TextMeasureCache(0, 10);
+			fail("Expected an IllegalArgumentException.");
+		}
+		catch (IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			new TextMeasureCache().getStringWidth(null,
+					Font.font("SansSerif", 10.0));
+			fail("Expected an IllegalArgumentException.");
+		}
+		catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+}
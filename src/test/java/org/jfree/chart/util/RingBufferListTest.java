@@ -0,0 +1,126 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2012, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------
+ * RingBufferListTest.java
+ * -----------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.chart.util;
+
+import org.jfree.chart.TestUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+/**
+ * Tests for the {@link RingBufferList} class.
+ */
+public class RingBufferListTest {
+
+	/**
+	 * Removing from the front and appending keeps indices logical.
+	 */
+	@Test
+	public void testSlidingWindow() {
+		RingBufferList<Integer> list = new RingBufferList<Integer>(4);
+		for (int i = 0; i < 100; i++) {
+			list.add(i);
+			if (list.size() > 3) {
+				assertEquals(Integer.valueOf(i - 3), list.remove(0));
+			}
+		}
+		assertEquals(3, list.size());
+		assertEquals(Integer.valueOf(97), list.get(0));
+		assertEquals(Integer.valueOf(99), list.get(2));
+	}
+
+	/**
+	 * Compare a random sequence of operations against an ArrayList.
+	 */
+	@Test
+	public void testRandomOperations() {
+		Random random = new Random(123L);
+		List<Integer> expected = new ArrayList<Integer>();
+		RingBufferList<Integer> list = new RingBufferList<Integer>();
+		for (int i = 0; i < 5000; i++) {
+			int op = random.nextInt(5);
+			if (op < 3 || expected.isEmpty()) {
+				int index = random.nextInt(expected.size() + 1);
+				expected.add(index, i);
+				list.add(index, i);
+			} else if (op == 3) {
+				int index = random.nextInt(expected.size());
+				assertEquals(expected.remove(index), list.remove(index));
+			} else {
+				int from = random.nextInt(expected.size());
+				int to = from + random.nextInt(expected.size() - from + 1);
+				expected.subList(from, to).clear();
+				list.subList(from, to).clear();
+			}
+			assertEquals(expected, list);
+		}
+	}
+
+	/**
+	 * Confirm that cloning works.
+	 */
+	@Test
+	public void testCloning() throws CloneNotSupportedException {
+		RingBufferList<String> l1 = new RingBufferList<String>();
+		l1.add("A");
+		l1.add("B");
+		l1.remove(0);
+		@SuppressWarnings("unchecked")
+		RingBufferList<String> l2 = (RingBufferList<String>) l1.clone();
+		assertNotSame(l1, l2);
+		assertEquals(l1, l2);
+		l2.add("C");
+		assertEquals(1, l1.size());
+	}
+
+	/**
+	 * Serialize an instance, restore it, and check for equality.
+	 */
+	@Test
+	public void testSerialization() {
+		RingBufferList<String> l1 = new RingBufferList<String>();
+		for (int i = 0; i < 20; i++) {
+			l1.add("X" + i);
+		}
+		l1.subList(0, 5).clear();
+		RingBufferList<String> l2 = TestUtils.serialised(l1);
+		assertEquals(l1, l2);
+	}
+
+}
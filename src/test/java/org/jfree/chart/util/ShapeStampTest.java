@@ -0,0 +1,176 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------
+ * ShapeStampTest.java
+ * -------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.chart.util;
+
+import org.jfree.chart.fx.FXTestUtils;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.function.Consumer;
+
+import com.sun.javafx.geom.Arc2D;
+import com.sun.javafx.geom.Ellipse2D;
+import com.sun.javafx.geom.RoundRectangle2D;
+import com.sun.javafx.geom.Shape;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests for the {@link ShapeStamp} class.
+ */
+public class ShapeStampTest {
+
+	/**
+	 * The intersection test agrees with the test on a translated copy of the
+	 * shape, including for shapes that straddle the edge of the area.
+	 */
+	@Test
+	public void testIntersects() {
+		Shape[] shapes = new Shape[] { new Ellipse2D(-3f, -3f, 6f, 6f),
+				new RoundRectangle2D(-3f, -3f, 6f, 6f, 0f, 0f),
+				ShapeUtils.newPolygon(new float[] { 0f, 3f, -3f },
+						new float[] { -3f, 3f, 3f }) };
+		Rectangle2D area = new Rectangle2D(10.0, 20.0, 100.0, 50.0);
+		Random random = new Random(42L);
+		for (Shape shape : shapes) {
+			ShapeStamp stamp = new ShapeStamp(shape);
+			assertSame(shape, stamp.getShape());
+			for (int i = 0; i < 2000; i++) {
+				double x = random.nextDouble() * 130.0 - 5.0;
+				double y = random.nextDouble() * 70.0 + 10.0;
+				Shape translated = ShapeUtils.createTranslatedShape(shape, x,
+						y);
+				assertEquals(translated.intersects(
+						ShapeUtils.asRectBounds(area)),
+						stamp.intersects(x, y, area));
+			}
+		}
+	}
+
+	/**
+	 * A translated copy is available for chart entities.
+	 */
+	@Test
+	public void testCreateTranslatedShape() {
+		ShapeStamp stamp = new ShapeStamp(new Ellipse2D(-2f, -1f, 4f, 2f));
+		Shape s = stamp.createTranslatedShape(10.0, 20.0);
+		assertEquals(8.0, s.getBounds().getMinX(), 0.0001);
+		assertEquals(19.0, s.getBounds().getMinY(), 0.0001);
+		assertEquals(4.0, s.getBounds().getWidth(), 0.0001);
+	}
+
+	/**
+	 * Arcs are stamped with the arc primitives, so a stamped arc looks the
+	 * same as the arc drawn by {@link ShapeUtils} at the same location.
+	 *
+	 * @throws Exception
+	 *             if there is a problem rendering.
+	 */
+	@Test
+	public void testArc() throws Exception {
+		assumeTrue(FXTestUtils.startToolkit());
+		for (int type : new int[] { Arc2D.OPEN, Arc2D.CHORD, Arc2D.PIE }) {
+			ShapeStamp stamp = new ShapeStamp(new Arc2D(-8f, -8f, 16f, 16f,
+					30f, 240f, type));
+			Arc2D translated = new Arc2D(12f, 7f, 16f, 16f, 30f, 240f, type);
+			assertSamePixels(render(g2 -> stamp.fill(g2, 20.0, 15.0)),
+					render(g2 -> ShapeUtils.fillShape(g2, translated)));
+			assertSamePixels(
+					render(g2 -> stamp.outline(g2, 20.0, 15.0)),
+					render(g2 -> ShapeUtils.outlineShape(g2,
+							translated)));
+		}
+	}
+
+	/**
+	 * Renders on a small canvas and returns a snapshot of the result.
+	 *
+	 * @param painter
+	 *            draws on the canvas.
+	 *
+	 * @return The snapshot.
+	 *
+	 * @throws Exception
+	 *             if there is a problem rendering.
+	 */
+	private static WritableImage render(
+			Consumer<GraphicsContext> painter) throws Exception {
+		return FXTestUtils.runAndWait(() -> {
+			Canvas canvas = new Canvas(40, 30);
+			GraphicsContext g2 = canvas.getGraphicsContext2D();
+			g2.setFill(Color.BLUE);
+			g2.setStroke(Color.RED);
+			g2.setLineWidth(2.0);
+			painter.accept(g2);
+			return canvas.snapshot(null, null);
+		});
+	}
+
+	/**
+	 * Checks that two snapshots are identical and not blank.
+	 *
+	 * @param expected
+	 *            the expected snapshot.
+	 * @param actual
+	 *            the actual snapshot.
+	 */
+	private static void assertSamePixels(WritableImage expected,
+			WritableImage actual) {
+		PixelReader e = expected.getPixelReader();
+		PixelReader a = actual.getPixelReader();
+		int painted = 0;
+		for (int y = 0; y < (int) expected.getHeight(); y++) {
+			for (int x = 0; x < (int) expected.getWidth(); x++) {
+				assertEquals("(" + x + ", " + y + ")", e.getArgb(x, y),
+						a.getArgb(x, y));
+				if (e.getArgb(x, y) != 0xFFFFFFFF) {
+					painted++;
+				}
+			}
+		}
+		assertTrue(painted > 0);
+	}
+
+}
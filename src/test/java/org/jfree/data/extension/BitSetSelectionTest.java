@@ -0,0 +1,215 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * BitSetSelectionTest.java
+ * ------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.extension;
+
+import org.jfree.data.UnknownKeyException;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.extension.impl.CategoryCursor;
+import org.jfree.data.extension.impl.CategoryDatasetSelectionExtension;
+import org.jfree.data.extension.impl.PieCursor;
+import org.jfree.data.extension.impl.PieDatasetSelectionExtension;
+import org.jfree.data.extension.impl.XYCursor;
+import org.jfree.data.extension.impl.XYDatasetSelectionExtension;
+import org.jfree.data.general.DefaultPieDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the bitset based selection state in the selection extensions.
+ */
+public class BitSetSelectionTest {
+
+	/**
+	 * Counts the positions returned by an iterator.
+	 */
+	private static int count(DatasetIterator<?> iterator) {
+		int count = 0;
+		while (iterator.hasNext()) {
+			iterator.next();
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Creates a dataset with two series of 200 and 3 items.
+	 */
+	private static XYSeriesCollection createXYDataset() {
+		XYSeries s1 = new XYSeries("S1");
+		for (int i = 0; i < 200; i++) {
+			s1.add(i, i);
+		}
+		XYSeries s2 = new XYSeries("S2");
+		s2.add(1.0, 1.0);
+		s2.add(2.0, 2.0);
+		s2.add(3.0, 3.0);
+		XYSeriesCollection dataset = new XYSeriesCollection();
+		dataset.addSeries(s1);
+		dataset.addSeries(s2);
+		return dataset;
+	}
+
+	/**
+	 * Checks the range, invert and retain operations.
+	 */
+	@Test
+	public void testXYBulkOperations() {
+		XYDatasetSelectionExtension ext = new XYDatasetSelectionExtension(
+				createXYDataset());
+		ext.setSelected(0, 10, 129, true);
+		assertEquals(120, ext.getSelectedItemCount(0));
+		assertFalse(ext.isSelected(0, 9));
+		assertTrue(ext.isSelected(new XYCursor(0, 129)));
+		assertFalse(ext.isSelected(0, 130));
+		ext.retainSelected(0, 100, 199);
+		assertEquals(30, ext.getSelectedItemCount(0));
+		assertTrue(ext.isSelected(0, 100));
+		assertFalse(ext.isSelected(0, 99));
+		ext.invertSelection(0);
+		assertEquals(170, ext.getSelectedItemCount(0));
+		ext.retainSelected(0, 5, 4);
+		assertEquals(0, ext.getSelectedItemCount(0));
+		assertEquals(0, ext.getSelectedItemCount(1));
+		try {
+			ext.setSelected(0, 0, 200, true);
+			fail("Expected an IndexOutOfBoundsException.");
+		}
+		catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * The iterators visit the selected and unselected items in order.
+	 */
+	@Test
+	public void testXYIterators() {
+		XYDatasetSelectionExtension ext = new XYDatasetSelectionExtension(
+				createXYDataset());
+		ext.setSelected(0, 64, 127, true);
+		ext.setSelected(new XYCursor(1, 2), true);
+		assertEquals(203, count(ext.getIterator()));
+		assertEquals(138, count(ext.getSelectionIterator(false)));
+		DatasetIterator<XYCursor> iterator = ext.getSelectionIterator(true);
+		for (int i = 64; i < 128; i++) {
+			assertEquals(new XYCursor(0, i), iterator.next());
+		}
+		assertEquals(new XYCursor(1, 2), iterator.next());
+		assertFalse(iterator.hasNext());
+	}
+
+	/**
+	 * A change to the dataset resets the selection.
+	 */
+	@Test
+	public void testXYDatasetChanged() {
+		XYSeriesCollection dataset = createXYDataset();
+		XYDatasetSelectionExtension ext = new XYDatasetSelectionExtension(
+				dataset);
+		ext.setSelected(1, 0, 2, true);
+		dataset.getSeries(1).add(4.0, 4.0);
+		assertEquals(0, ext.getSelectedItemCount(1));
+		assertEquals(204, count(ext.getSelectionIterator(false)));
+	}
+
+	/**
+	 * Items with a <code>null</code> value only take part in the iteration
+	 * over unselected items if they have been selected once.
+	 */
+	@Test
+	public void testCategory() {
+		DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+		dataset.addValue(1.0, "R1", "C1");
+		dataset.addValue(null, "R1", "C2");
+		dataset.addValue(3.0, "R2", "C1");
+		dataset.addValue(4.0, "R2", "C2");
+		CategoryDatasetSelectionExtension<String, String> ext
+				= new CategoryDatasetSelectionExtension<String, String>(
+				dataset);
+		CategoryCursor<String, String> cursor
+				= new CategoryCursor<String, String>("R2", "C1");
+		ext.setSelected(cursor, true);
+		assertTrue(ext.isSelected(cursor));
+		assertFalse(ext.isSelected(new CategoryCursor<String, String>("R1",
+				"C2")));
+		assertEquals(4, count(ext.getIterator()));
+		assertEquals(2, count(ext.getSelectionIterator(false)));
+		DatasetIterator<CategoryCursor<String, String>> iterator
+				= ext.getSelectionIterator(true);
+		assertEquals(cursor, iterator.next());
+		assertFalse(iterator.hasNext());
+		try {
+			ext.isSelected(new CategoryCursor<String, String>("R3", "C1"));
+			fail("Expected an UnknownKeyException.");
+		}
+		catch (UnknownKeyException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Some checks for the pie dataset extension.
+	 */
+	@Test
+	public void testPie() {
+		DefaultPieDataset dataset = new DefaultPieDataset();
+		dataset.setValue("A", 1.0);
+		dataset.setValue("B", 2.0);
+		dataset.setValue("C", 3.0);
+		PieDatasetSelectionExtension<String> ext
+				= new PieDatasetSelectionExtension<String>(dataset);
+		ext.setSelected(new PieCursor<String>("B"), true);
+		assertTrue(ext.isSelected(new PieCursor<String>("B")));
+		assertFalse(ext.isSelected(new PieCursor<String>("C")));
+		assertEquals(3, count(ext.getIterator()));
+		assertEquals(2, count(ext.getSelectionIterator(false)));
+		assertEquals(new PieCursor<String>("B"),
+				ext.getSelectionIterator(true).next());
+		try {
+			ext.isSelected(new PieCursor<String>("D"));
+			fail("Expected an UnknownKeyException.");
+		}
+		catch (UnknownKeyException e) {
+			// expected
+		}
+	}
+
+}
@@ -0,0 +1,128 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------------
+ * DatasetExtensionManagerTest.java
+ * --------------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.extension;
+
+import org.jfree.chart.TestUtils;
+import org.jfree.data.extension.impl.DatasetExtensionManager;
+import org.jfree.data.extension.impl.XYCursor;
+import org.jfree.data.extension.impl.XYDatasetSelectionExtension;
+import org.jfree.data.xy.DefaultXYDataset;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link DatasetExtensionManager} class.
+ */
+public class DatasetExtensionManagerTest {
+
+	/**
+	 * Creates a dataset with a single series.
+	 */
+	private static DefaultXYDataset createDataset() {
+		DefaultXYDataset dataset = new DefaultXYDataset();
+		dataset.addSeries("S1", new double[][] { { 1.0, 2.0 }, { 3.0, 4.0 } });
+		return dataset;
+	}
+
+	/**
+	 * Datasets are matched by identity, not by equality.
+	 */
+	@Test
+	public void testIdentity() {
+		DefaultXYDataset d1 = createDataset();
+		DefaultXYDataset d2 = createDataset();
+		assertEquals(d1, d2);
+		DatasetExtensionManager manager = new DatasetExtensionManager();
+		XYDatasetSelectionExtension ext = new XYDatasetSelectionExtension(d1);
+		manager.registerDatasetExtension(ext);
+		assertSame(ext, manager.getExtension(d1,
+				DatasetSelectionExtension.class));
+		assertTrue(manager.supports(d1, DatasetSelectionExtension.class));
+		assertNull(manager.getExtension(d2, DatasetSelectionExtension.class));
+		assertFalse(manager.supports(d1, DatasetLabelExtension.class));
+	}
+
+	/**
+	 * Many datasets can be registered and each extension can be removed
+	 * again.
+	 */
+	@Test
+	public void testUnregister() {
+		DatasetExtensionManager manager = new DatasetExtensionManager();
+		DefaultXYDataset[] datasets = new DefaultXYDataset[100];
+		XYDatasetSelectionExtension[] extensions
+				= new XYDatasetSelectionExtension[100];
+		for (int i = 0; i < datasets.length; i++) {
+			datasets[i] = createDataset();
+			extensions[i] = new XYDatasetSelectionExtension(datasets[i]);
+			manager.registerDatasetExtension(extensions[i]);
+		}
+		for (int i = 0; i < datasets.length; i += 2) {
+			assertTrue(manager.unregisterDatasetExtension(extensions[i]));
+			assertFalse(manager.unregisterDatasetExtension(extensions[i]));
+		}
+		for (int i = 0; i < datasets.length; i++) {
+			Object expected = i % 2 == 0 ? null : extensions[i];
+			assertSame(expected, manager.getExtension(datasets[i],
+					DatasetSelectionExtension.class));
+		}
+	}
+
+	/**
+	 * Serialize an instance, restore it, and check that the extensions are
+	 * registered for the restored datasets.
+	 */
+	@Test
+	public void testSerialization() {
+		DefaultXYDataset dataset = createDataset();
+		XYDatasetSelectionExtension ext
+				= new XYDatasetSelectionExtension(dataset);
+		ext.setSelected(new XYCursor(0, 1), true);
+		DatasetExtensionManager manager = new DatasetExtensionManager();
+		manager.registerDatasetExtension(ext);
+		Object[] pair = TestUtils.serialised(new Object[] { manager, ext });
+		DatasetExtensionManager m2 = (DatasetExtensionManager) pair[0];
+		XYDatasetSelectionExtension e2 = (XYDatasetSelectionExtension) pair[1];
+		assertSame(e2, m2.getExtension(e2.getDataset(),
+				DatasetSelectionExtension.class));
+		assertTrue(e2.isSelected(new XYCursor(0, 1)));
+	}
+
+}
@@ -0,0 +1,154 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2012, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------
+ * RangeIndexTest.java
+ * -------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.data.general;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the {@link RangeIndex} class.
+ */
+public class RangeIndexTest {
+
+	/**
+	 * An empty range (or one with only NaN values) has no bounds.
+	 */
+	@Test
+	public void testEmpty() {
+		RangeIndex index = new RangeIndex();
+		assertTrue(Double.isNaN(index.getMin(0, -1)));
+		index.add(Double.NaN);
+		index.add(3.0);
+		assertEquals(2, index.getSize());
+		assertTrue(Double.isNaN(index.getMax(0, 0)));
+		assertEquals(3.0, index.getMin(0, 1), 0.0);
+		try {
+			index.getMin(1, 2);
+			fail("Expected an IndexOutOfBoundsException.");
+		}
+		catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Compare against a brute force calculation while the sequence is
+	 * appended to, updated and trimmed from the front.
+	 */
+	@Test
+	public void testRandomOperations() {
+		Random random = new Random(42L);
+		double[] values = new double[3000];
+		int first = 0;
+		int count = 0;
+		RangeIndex index = new RangeIndex();
+		for (int op = 0; op < 2500; op++) {
+			int k = random.nextInt(10);
+			if (k < 6) {
+				double v = random.nextInt(10) == 0 ? Double.NaN
+						: random.nextGaussian();
+				values[first + count] = v;
+				count++;
+				index.add(v);
+			}
+			else if (k < 8 && count > 0) {
+				int i = random.nextInt(count);
+				values[first + i] = random.nextGaussian();
+				index.set(i, values[first + i]);
+			}
+			else if (count > 0) {
+				first++;
+				count--;
+				index.removeFirst();
+			}
+			assertEquals(count, index.getSize());
+			if (count > 0) {
+				int lo = random.nextInt(count);
+				int hi = lo + random.nextInt(count - lo);
+				double min = Double.NaN;
+				double max = Double.NaN;
+				for (int j = lo; j <= hi; j++) {
+					double v = values[first + j];
+					if (!Double.isNaN(v)) {
+						min = Double.isNaN(min) ? v : Math.min(min, v);
+						max = Double.isNaN(max) ? v : Math.max(max, v);
+					}
+				}
+				assertEquals(min, index.getMin(lo, hi), 0.0);
+				assertEquals(max, index.getMax(lo, hi), 0.0);
+			}
+		}
+	}
+
+	/**
+	 * An index built from an array matches one built by adding values.
+	 */
+	@Test
+	public void testBulkConstructor() {
+		double[] values = new double[100];
+		RangeIndex index1 = new RangeIndex();
+		for (int i = 0; i < values.length; i++) {
+			values[i] = Math.sin(i);
+			index1.add(values[i]);
+		}
+		RangeIndex index2 = new RangeIndex(values, 90);
+		assertEquals(90, index2.getSize());
+		for (int i = 0; i < 90; i += 7) {
+			assertEquals(index1.getMin(i, 89), index2.getMin(i, 89), 0.0);
+			assertEquals(index1.getMax(3, i), index2.getMax(3, i), 0.0);
+		}
+		index2.add(5.0);
+		assertEquals(5.0, index2.getMax(0, 90), 0.0);
+	}
+
+	/**
+	 * Removing all values and then adding more works.
+	 */
+	@Test
+	public void testClear() {
+		RangeIndex index = new RangeIndex();
+		index.add(1.0);
+		index.add(2.0);
+		index.clear();
+		assertEquals(0, index.getSize());
+		index.add(-1.0);
+		assertEquals(-1.0, index.getMax(0, 0), 0.0);
+	}
+
+}
@@ -0,0 +1,94 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2012, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * RollingMinMaxTest.java
+ * ----------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.data.general;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link RollingMinMax} class.
+ */
+public class RollingMinMaxTest {
+
+	/**
+	 * An empty window (or one with only NaN values) has no bounds.
+	 */
+	@Test
+	public void testEmpty() {
+		RollingMinMax w = new RollingMinMax();
+		assertTrue(Double.isNaN(w.getMin()));
+		w.add(Double.NaN);
+		assertEquals(1, w.getSize());
+		assertTrue(Double.isNaN(w.getMax()));
+		w.add(2.0);
+		w.removeFirst();
+		assertEquals(2.0, w.getMin(), 0.0);
+	}
+
+	/**
+	 * Compare against a brute force calculation for a random sliding window.
+	 */
+	@Test
+	public void testSlidingWindow() {
+		Random random = new Random(42L);
+		double[] values = new double[2000];
+		RollingMinMax w = new RollingMinMax();
+		int window = 37;
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextInt(10) == 0 ? Double.NaN
+					: random.nextGaussian();
+			w.add(values[i]);
+			if (w.getSize() > window) {
+				w.removeFirst();
+			}
+			double min = Double.NaN;
+			double max = Double.NaN;
+			for (int j = Math.max(0, i - window + 1); j <= i; j++) {
+				if (!Double.isNaN(values[j])) {
+					min = Double.isNaN(min) ? values[j] : Math.min(min,
+							values[j]);
+					max = Double.isNaN(max) ? values[j] : Math.max(max,
+							values[j]);
+				}
+			}
+			assertEquals(min, w.getMin(), 0.0);
+			assertEquals(max, w.getMax(), 0.0);
+		}
+	}
+
+}
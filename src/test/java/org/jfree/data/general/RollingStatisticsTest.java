@@ -0,0 +1,270 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------
+ * RollingStatisticsTest.java
+ * --------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.general;
+
+import org.jfree.data.time.Day;
+import org.jfree.data.time.MovingAverage;
+import org.jfree.data.time.RegularTimePeriod;
+import org.jfree.data.time.TimeSeries;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link RollingStatistics} and {@link RollingStatisticUpdater}
+ * classes.
+ */
+public class RollingStatisticsTest {
+
+	/**
+	 * Compare against a brute force calculation for a window limited by both
+	 * the point count and the span.
+	 */
+	@Test
+	public void testSlidingWindow() {
+		Random random = new Random(7L);
+		int n = 3000;
+		double[] x = new double[n];
+		double[] values = new double[n];
+		int pointCount = 25;
+		double span = 30.0;
+		RollingStatistics s = new RollingStatistics(pointCount, span);
+		double ema = Double.NaN;
+		int emaCount = 0;
+		for (int i = 0; i < n; i++) {
+			x[i] = i == 0 ? 0.0 : x[i - 1] + random.nextInt(4);
+			values[i] = random.nextInt(10) == 0 ? Double.NaN
+					: 1000.0 + random.nextGaussian();
+			s.add(x[i], values[i]);
+
+			int count = 0;
+			double sum = 0.0;
+			double min = Double.NaN;
+			double max = Double.NaN;
+			int first = i;
+			while (first > 0 && i - first + 1 < pointCount
+					&& x[first - 1] > x[i] - span) {
+				first--;
+			}
+			for (int j = first; j <= i; j++) {
+				if (!Double.isNaN(values[j])) {
+					count++;
+					sum += values[j];
+					min = Double.isNaN(min) ? values[j]
+							: Math.min(min, values[j]);
+					max = Double.isNaN(max) ? values[j]
+							: Math.max(max, values[j]);
+				}
+			}
+			double mean = sum / count;
+			double ss = 0.0;
+			for (int j = first; j <= i; j++) {
+				if (!Double.isNaN(values[j])) {
+					ss += (values[j] - mean) * (values[j] - mean);
+				}
+			}
+			if (!Double.isNaN(values[i])) {
+				emaCount++;
+				ema = emaCount == 1 ? values[i] : emaCount <= pointCount
+						? ema + (values[i] - ema) / emaCount
+						: ema + 2.0 / (pointCount + 1) * (values[i] - ema);
+			}
+
+			assertEquals(i - first + 1, s.getSize());
+			assertEquals(count, s.getValueCount());
+			assertEquals(min, s.getMin(), 0.0);
+			assertEquals(max, s.getMax(), 0.0);
+			assertEquals(ema, s.getExponentialMean(), 1e-9);
+			if (count > 0) {
+				assertEquals(sum, s.getSum(), 1e-9);
+				assertEquals(mean, s.getMean(), 1e-9);
+			}
+			else {
+				assertTrue(Double.isNaN(s.getMean()));
+			}
+			if (count > 1) {
+				assertEquals(Math.sqrt(ss / (count - 1)),
+						s.getStandardDeviation(), 1e-6);
+			}
+			else {
+				assertTrue(Double.isNaN(s.getStandardDeviation()));
+			}
+		}
+	}
+
+	/**
+	 * The faster single pass must give the same results as the original
+	 * moving average calculation.
+	 */
+	@Test
+	public void testMovingAverage() {
+		TimeSeries source = new TimeSeries("Source");
+		RegularTimePeriod p = new Day(1, 1, 2016);
+		double[] values = { 15.0, 13.0, 14.3, 16.0, 15.5, 28.0, 16.0,
+				17.5, 4.0 };
+		for (int i = 0; i < values.length; i++) {
+			source.add(p, values[i]);
+			// leave a gap, so that some windows are not full
+			p = i == 5 ? p.next().next().next() : p.next();
+		}
+		TimeSeries ma = MovingAverage.createMovingAverage(source, "MA", 3, 3);
+		double[] expected = { 14.43333, 15.26667, 19.83333, 16.0, 16.75,
+				12.5 };
+		assertEquals(expected.length, ma.getItemCount());
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(source.getTimePeriod(i + 3), ma.getTimePeriod(i));
+			assertEquals(expected[i], ma.getYValue(i), 0.00001);
+		}
+	}
+
+	/**
+	 * The updater only processes appended items, and the result matches the
+	 * batch calculation.
+	 */
+	@Test
+	public void testUpdater() {
+		XYSeries source = new XYSeries("Source");
+		XYSeries target = new XYSeries("Target");
+		source.add(1.0, 3.0);
+		source.add(2.0, 5.0);
+		RollingStatisticUpdater updater = new RollingStatisticUpdater(source,
+				target, RollingStatistic.MAXIMUM, 3, Double.POSITIVE_INFINITY);
+		assertEquals(2, target.getItemCount());
+		assertEquals(5.0, target.getYValue(1), 0.0);
+
+		source.add(3.0, 4.0);
+		source.add(4.0, null);
+		source.add(5.0, 2.0);
+		assertEquals(5, target.getItemCount());
+		double[] expected = { 3.0, 5.0, 5.0, 5.0, 4.0 };
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], target.getYValue(i), 0.0);
+		}
+		XYSeries batch = MovingAverage.createRollingStatistic(
+				new XYSeriesCollection(source), 0, "Batch", 3,
+				RollingStatistic.MAXIMUM);
+		assertEquals(3, batch.getItemCount());
+		for (int i = 0; i < batch.getItemCount(); i++) {
+			assertEquals(target.getYValue(i + 2), batch.getYValue(i), 0.0);
+		}
+
+		// changing the last item forces a recalculation
+		source.updateByIndex(4, 9.0);
+		assertEquals(5, target.getItemCount());
+		assertEquals(9.0, target.getYValue(4), 0.0);
+
+		updater.dispose();
+		source.add(6.0, 1.0);
+		assertEquals(5, target.getItemCount());
+	}
+
+	/**
+	 * An appended item that repeats the last item (same x-value and value)
+	 * is processed, not mistaken for the last item processed.
+	 */
+	@Test
+	public void testUpdaterDuplicateItems() {
+		XYSeries source = new XYSeries("Source", false, true);
+		XYSeries target = new XYSeries("Target", false, true);
+		source.add(1.0, 3.0);
+		source.add(2.0, 5.0);
+		new RollingStatisticUpdater(source, target, RollingStatistic.SUM, 3,
+				Double.POSITIVE_INFINITY);
+		source.add(2.0, 5.0);
+		assertEquals(3, target.getItemCount());
+		assertEquals(13.0, target.getYValue(2), 0.0);
+		source.add(2.0, 5.0);
+		assertEquals(4, target.getItemCount());
+		assertEquals(15.0, target.getYValue(3), 0.0);
+
+		// with a maximum item count, the last item processed cannot be told
+		// apart from the other items with the same x-value, so the target
+		// is recalculated from the items that remain
+		source.setMaximumItemCount(3);
+		source.add(2.0, 5.0);
+		assertEquals(3, target.getItemCount());
+		double[] expected = { 5.0, 10.0, 15.0 };
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], target.getYValue(i), 0.0);
+		}
+	}
+
+	/**
+	 * Items dropped from the start of a source series with a maximum item
+	 * count do not trigger a recalculation.
+	 */
+	@Test
+	public void testUpdaterMaximumItemCount() {
+		TimeSeries source = new TimeSeries("Source");
+		source.setMaximumItemCount(5);
+		TimeSeries target = new TimeSeries("Target");
+		new RollingStatisticUpdater(source, target, RollingStatistic.SUM, 3,
+				Double.POSITIVE_INFINITY);
+		RegularTimePeriod p = new Day(1, 1, 2016);
+		for (int i = 1; i <= 20; i++) {
+			source.add(p, i);
+			p = p.next();
+		}
+		assertEquals(5, source.getItemCount());
+		assertEquals(20, target.getItemCount());
+		for (int i = 3; i <= 20; i++) {
+			assertEquals(3.0 * i - 3.0, target.getYValue(i - 1), 0.0);
+		}
+	}
+
+	/**
+	 * Windows with no values give {@code null} in the result series.
+	 */
+	@Test
+	public void testNullValues() {
+		TimeSeries source = new TimeSeries("Source");
+		RegularTimePeriod p = new Day(1, 1, 2016);
+		source.add(p, null);
+		source.add(p.next(), 2.0);
+		TimeSeries target = new TimeSeries("Target");
+		new RollingStatisticUpdater(source, target,
+				RollingStatistic.MEAN, 1, Double.POSITIVE_INFINITY);
+		assertEquals(2, target.getItemCount());
+		assertNull(target.getValue(0));
+		assertEquals(2.0, target.getYValue(1), 0.0);
+	}
+
+}
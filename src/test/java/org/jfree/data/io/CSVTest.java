@@ -0,0 +1,237 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------
+ * CSVTest.java
+ * ------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.io;
+
+import org.jfree.data.category.CategoryDataset;
+import org.jfree.data.time.Day;
+import org.jfree.data.time.Millisecond;
+import org.jfree.data.time.TimeSeries;
+import org.jfree.data.time.TimeSeriesCollection;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the {@link CSV} class.
+ */
+public class CSVTest {
+
+	/**
+	 * Reads a category dataset with quoted keys.
+	 */
+	@Test
+	public void testReadCategoryDataset() throws IOException {
+		String data = "\"\",\"C1\",\"C2\"\r\n"
+				+ "\"R1\",1.5,2\r\n"
+				+ "\r\n"
+				+ "\"R2\", -3e2 ,\r\n";
+		CategoryDataset d = new CSV().readCategoryDataset(
+				new StringReader(data));
+		assertEquals(2, d.getRowCount());
+		assertEquals(2, d.getColumnCount());
+		assertEquals("R1", d.getRowKey(0));
+		assertEquals("C2", d.getColumnKey(1));
+		assertEquals(1.5, d.getValue("R1", "C1").doubleValue(), 0.0);
+		assertEquals(2.0, d.getValue("R1", "C2").doubleValue(), 0.0);
+		assertEquals(-300.0, d.getValue("R2", "C1").doubleValue(), 0.0);
+		assertNull(d.getValue("R2", "C2"));
+	}
+
+	/**
+	 * Reads selected columns into an XY dataset.
+	 */
+	@Test
+	public void testReadXYDataset() throws IOException {
+		String data = "y1;x;\"a;b\";y2\n"
+				+ "1;0.5;\"x\";10\n"
+				+ "2;;\"y\";20\n"
+				+ ";1.5;\"\"\"z\"\"\";30";
+		CSV csv = new CSV(';', '"');
+		XYSeriesCollection d = csv.readXYDataset(new StringReader(data),
+				"x", "y2", "y1");
+		assertEquals(2, d.getSeriesCount());
+		XYSeries s = d.getSeries("y2");
+		assertEquals(2, s.getItemCount());
+		assertEquals(0.5, s.getX(0).doubleValue(), 0.0);
+		assertEquals(10.0, s.getY(0).doubleValue(), 0.0);
+		assertEquals(1.5, s.getX(1).doubleValue(), 0.0);
+		assertEquals(30.0, s.getY(1).doubleValue(), 0.0);
+		assertNull(d.getSeries("y1").getY(1));
+
+		try {
+			csv.readXYDataset(new StringReader(data), "x", "y3");
+			fail("Expected an IOException.");
+		}
+		catch (IOException e) {
+			// expected
+		}
+
+		// with no y-columns all the other columns are read, including the
+		// text column "a;b"
+		try {
+			csv.readXYDataset(new StringReader(data), "x");
+			fail("Expected a NumberFormatException.");
+		}
+		catch (NumberFormatException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Reads a time series collection with ISO-8601 and numeric date/times.
+	 */
+	@Test
+	public void testReadTimeSeriesCollection() throws IOException {
+		String data = "time,cpu\n"
+				+ "2016-02-29T13:45:00.250Z,1\n"
+				+ "2016-02-29 14:45:01+01:00,2\n"
+				+ "1456753502000,3\n"
+				+ "2016-02-29 13:45:03,4\n";
+		CSV csv = new CSV();
+		csv.setTimeZone(TimeZone.getTimeZone("UTC"));
+		TimeSeriesCollection d = csv.readTimeSeriesCollection(
+				new StringReader(data), "time");
+		TimeSeries s = d.getSeries("cpu");
+		assertEquals(4, s.getItemCount());
+		assertEquals(1456753500250L, s.getTimePeriod(0)
+				.getFirstMillisecond());
+		assertEquals(1456753501000L, s.getTimePeriod(1)
+				.getFirstMillisecond());
+		assertEquals(1456753502000L, s.getTimePeriod(2)
+				.getFirstMillisecond());
+		assertEquals(1456753503000L, s.getTimePeriod(3)
+				.getFirstMillisecond());
+		assertEquals(Millisecond.class, s.getTimePeriod(0).getClass());
+
+		TimeSeriesCollection target = new TimeSeriesCollection(
+				TimeZone.getTimeZone("UTC"));
+		csv.readTimeSeriesCollection(new StringReader(
+				"day,v\n2016-01-01,1\n2016-01-02,2\n"), target, Day.class,
+				"day");
+		assertEquals(new Day(2, 1, 2016), target.getSeries("v")
+				.getTimePeriod(1));
+	}
+
+	/**
+	 * A lone carriage return ends a record, as with
+	 * {@code BufferedReader.readLine()}, in sequential and parallel mode.
+	 */
+	@Test
+	public void testCarriageReturnLineEndings() throws IOException {
+		String data = "x,y\r1,10\r2,20\r\r3,30\r";
+		CSV csv = new CSV();
+		for (int i = 0; i < 2; i++) {
+			csv.setParallel(i == 1);
+			XYSeries s = csv.readXYDataset(new StringReader(data), "x")
+					.getSeries("y");
+			assertEquals(3, s.getItemCount());
+			assertEquals(2.0, s.getX(1).doubleValue(), 0.0);
+			assertEquals(30.0, s.getY(2).doubleValue(), 0.0);
+		}
+
+		// line breaks of all three kinds in one input
+		CategoryDataset d = csv.readCategoryDataset(new StringReader(
+				",C1\rR1,1\r\nR2,2\nR3,3"));
+		assertEquals(3, d.getRowCount());
+		assertEquals(2.0, d.getValue("R2", "C1").doubleValue(), 0.0);
+	}
+
+	/**
+	 * Parallel parsing gives the same result as sequential parsing for an
+	 * input that is larger than one block.
+	 */
+	@Test
+	public void testParallel() throws IOException {
+		Random random = new Random(12345L);
+		StringBuilder sb = new StringBuilder("x,y,z\n");
+		for (int i = 0; i < 100000; i++) {
+			sb.append(i).append(',').append(random.nextGaussian())
+					.append(',').append(random.nextInt(1000) / 100.0)
+					.append('\n');
+		}
+		String data = sb.toString();
+		CSV csv = new CSV();
+		XYSeriesCollection expected = csv.readXYDataset(
+				new StringReader(data), "x");
+		csv.setParallel(true);
+		XYSeriesCollection actual = csv.readXYDataset(
+				new StringReader(data), "x");
+		assertEquals(expected, actual);
+		assertEquals(100000, actual.getItemCount(1));
+	}
+
+	/**
+	 * The fast number parser gives the same results as
+	 * {@link Double#parseDouble(String)}.
+	 */
+	@Test
+	public void testParseDouble() {
+		Random random = new Random(54321L);
+		String[] fixed = {"0", "-0.0", "1.", ".5", "+7", "1e3", "1.5E-7",
+				"123456789012345678", "0.1234567890123456789", "1e-400",
+				"4.9e-324", "1.7976931348623157E308", "NaN", "-Infinity"};
+		for (String s : fixed) {
+			assertEquals(s, Double.parseDouble(s), CSVParser.parseDouble(
+					s.toCharArray(), 0, s.length()), 0.0);
+		}
+		for (int i = 0; i < 10000; i++) {
+			String s = Double.toString(random.nextDouble()
+					* Math.pow(10, random.nextInt(40) - 20));
+			assertEquals(s, Double.parseDouble(s), CSVParser.parseDouble(
+					s.toCharArray(), 0, s.length()), 0.0);
+			s = String.format(Locale.ROOT, "%.3f", random.nextGaussian() * 1000);
+			assertEquals(s, Double.parseDouble(s), CSVParser.parseDouble(
+					s.toCharArray(), 0, s.length()), 0.0);
+		}
+		try {
+			CSVParser.parseDouble("1.2.3".toCharArray(), 0, 5);
+			fail("Expected a NumberFormatException.");
+		}
+		catch (NumberFormatException e) {
+			// expected
+		}
+	}
+
+}
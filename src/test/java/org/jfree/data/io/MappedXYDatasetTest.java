@@ -0,0 +1,261 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * MappedXYDatasetTest.java
+ * ------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.io;
+
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.time.Day;
+import org.jfree.data.time.RegularTimePeriod;
+import org.jfree.data.time.TimeSeries;
+import org.jfree.data.time.TimeSeriesCollection;
+import org.jfree.data.xy.DefaultTableXYDataset;
+import org.jfree.data.xy.TableXYDataset;
+import org.jfree.data.xy.XYDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests for the {@link MappedXYDataset} class.
+ */
+public class MappedXYDatasetTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Checks that a mapped dataset has the same data as the source.
+	 */
+	private static void assertSameData(XYDataset expected, XYDataset actual) {
+		assertEquals(expected.getSeriesCount(), actual.getSeriesCount());
+		for (int s = 0; s < expected.getSeriesCount(); s++) {
+			assertEquals(expected.getSeriesKey(s).toString(),
+					actual.getSeriesKey(s));
+			int n = expected.getItemCount(s);
+			assertEquals(n, actual.getItemCount(s));
+			for (int i = 0; i < n; i++) {
+				assertEquals(expected.getXValue(s, i),
+						actual.getXValue(s, i), 0.0);
+				assertEquals(expected.getYValue(s, i),
+						actual.getYValue(s, i), 0.0);
+				assertEquals(expected.getY(s, i), actual.getY(s, i));
+			}
+		}
+	}
+
+	/**
+	 * Write and read an XY dataset with gaps and unordered x-values.
+	 */
+	@Test
+	public void testXYSeriesCollection() throws IOException {
+		XYSeriesCollection source = new XYSeriesCollection();
+		XYSeries s1 = new XYSeries("S1");
+		for (int i = 0; i < 1000; i++) {
+			s1.add(i * 0.5, i % 7 == 0 ? null : Double.valueOf(i * i));
+		}
+		XYSeries s2 = new XYSeries("Series é", false);
+		s2.add(3.0, -1.0);
+		s2.add(1.0, 2.5);
+		source.addSeries(s1);
+		source.addSeries(s2);
+		source.addSeries(new XYSeries("Empty"));
+
+		File file = this.folder.newFile("xy.bin");
+		MappedXYDataset.write(source, file);
+		MappedXYDataset d = MappedXYDataset.open(file);
+		assertFalse(d instanceof TableXYDataset);
+		assertSameData(source, d);
+		assertEquals(DomainOrder.NONE, d.getDomainOrder());
+		assertEquals(new Range(0.0, 499.5), d.getDomainBounds(false));
+		assertEquals(new Range(-1.0, 999.0 * 999.0),
+				d.getRangeBounds(false));
+
+		double[] x = new double[10];
+		double[] y = new double[10];
+		d.getXValues(0, 5, 14, x, 0);
+		d.getYValues(0, 5, 14, y, 0);
+		for (int i = 0; i < 10; i++) {
+			assertEquals(d.getXValue(0, 5 + i), x[i], 0.0);
+			assertEquals(d.getYValue(0, 5 + i), y[i], 0.0);
+		}
+		try {
+			d.getXValue(1, 2);
+			fail("Expected an IndexOutOfBoundsException.");
+		}
+		catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * A time series collection is written with long x-values.
+	 */
+	@Test
+	public void testTimeSeriesCollection() throws IOException {
+		TimeSeries series = new TimeSeries("T");
+		RegularTimePeriod p = new Day(1, 1, 2016);
+		for (int i = 0; i < 100; i++) {
+			series.add(p, Math.sin(i));
+			p = p.next();
+		}
+		TimeSeriesCollection source = new TimeSeriesCollection(series);
+		File file = this.folder.newFile("time.bin");
+		MappedXYDataset.write(source, file);
+		MappedXYDataset d = MappedXYDataset.open(file);
+		assertSameData(source, d);
+		assertEquals(DomainOrder.ASCENDING, d.getDomainOrder());
+		// a long column: 16 header + 72 entry + 1 key (padded to 8), then
+		// 100 longs and 100 doubles
+		assertEquals(96 + 1600, file.length());
+	}
+
+	/**
+	 * A table dataset shares one x-value column between its series.
+	 */
+	@Test
+	public void testTableDataset() throws IOException {
+		DefaultTableXYDataset source = new DefaultTableXYDataset();
+		XYSeries s1 = new XYSeries("A", true, false);
+		XYSeries s2 = new XYSeries("B", true, false);
+		for (int i = 0; i < 50; i++) {
+			s1.add(i + 0.25, i);
+			s2.add(i + 0.25, -i);
+		}
+		source.addSeries(s1);
+		source.addSeries(s2);
+		File file = this.folder.newFile("table.bin");
+		MappedXYDataset.write(source, file);
+		MappedXYDataset d = MappedXYDataset.open(file);
+		assertTrue(d instanceof TableXYDataset);
+		assertEquals(50, ((TableXYDataset) d).getItemCount());
+		assertSameData(source, d);
+		assertEquals(16 + 2 * 72 + 8 + 3 * 400, file.length());
+	}
+
+	/**
+	 * A file in another format is rejected.
+	 */
+	@Test
+	public void testInvalidFile() throws IOException {
+		File file = this.folder.newFile("bad.bin");
+		try (FileOutputStream out = new FileOutputStream(file)) {
+			out.write(new byte[64]);
+		}
+		try {
+			MappedXYDataset.open(file);
+			fail("Expected an IOException.");
+		}
+		catch (IOException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * An empty dataset has no bounds.
+	 */
+	@Test
+	public void testEmpty() throws IOException {
+		File file = this.folder.newFile("empty.bin");
+		MappedXYDataset.write(new XYSeriesCollection(), file);
+		MappedXYDataset d = MappedXYDataset.open(file);
+		assertEquals(0, d.getSeriesCount());
+		assertNull(d.getDomainBounds(false));
+	}
+
+	/**
+	 * Rewriting a file replaces it, so a dataset that already maps the file
+	 * still reads the old data (rather than failing on a truncated mapping)
+	 * and no temporary file is left behind.
+	 */
+	@Test
+	public void testRewriteMappedFile() throws IOException {
+		XYSeries large = new XYSeries("Large");
+		for (int i = 0; i < 100000; i++) {
+			large.add(i, i * 2.0);
+		}
+		XYSeriesCollection source = new XYSeriesCollection(large);
+		File file = this.folder.newFile("rewrite.bin");
+		MappedXYDataset.write(source, file);
+		MappedXYDataset d1 = MappedXYDataset.open(file);
+
+		XYSeries small = new XYSeries("Small");
+		small.add(1.0, 5.0);
+		XYSeriesCollection replacement = new XYSeriesCollection(small);
+		MappedXYDataset.write(replacement, file);
+		assertSameData(source, d1);
+		assertSameData(replacement, MappedXYDataset.open(file));
+		assertEquals(1, this.folder.getRoot().list().length);
+	}
+
+	/**
+	 * A new file is readable by everyone and a rewritten file keeps its
+	 * permissions (rather than getting the owner-only permissions of the
+	 * temporary file it is written to).
+	 */
+	@Test
+	public void testPermissions() throws IOException {
+		Path path = new File(this.folder.getRoot(), "new.bin").toPath();
+		assumeTrue(Files.getFileAttributeView(this.folder.getRoot().toPath(),
+				PosixFileAttributeView.class) != null);
+		XYSeriesCollection source = new XYSeriesCollection(new XYSeries("A"));
+		MappedXYDataset.write(source, path.toFile());
+		assertEquals("rw-r--r--", PosixFilePermissions.toString(
+				Files.getPosixFilePermissions(path)));
+
+		Files.setPosixFilePermissions(path,
+				PosixFilePermissions.fromString("rw-rw-r--"));
+		MappedXYDataset.write(source, path.toFile());
+		assertEquals("rw-rw-r--", PosixFilePermissions.toString(
+				Files.getPosixFilePermissions(path)));
+	}
+
+}
@@ -0,0 +1,209 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------------
+ * BinnedHistogramDatasetTest.java
+ * -------------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.statistics;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the {@link BinnedHistogramDataset} class.
+ */
+public class BinnedHistogramDatasetTest {
+
+	/**
+	 * Returns the bin counts found by testing each value against each bin.
+	 */
+	private static long[] bruteForce(double[] edges, double[] values) {
+		long[] result = new long[edges.length - 1];
+		for (double v : values) {
+			for (int b = 0; b < result.length; b++) {
+				boolean last = b == result.length - 1;
+				if (v >= edges[b] && (v < edges[b + 1]
+						|| (last && v == edges[b + 1]))) {
+					result[b]++;
+					break;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the counts in a dataset.
+	 */
+	private static long[] counts(BinnedHistogramDataset d) {
+		long[] result = new long[d.getBinCount()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = d.getCount(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the edges of the bins in a dataset.
+	 */
+	private static double[] edges(BinnedHistogramDataset d) {
+		double[] result = new double[d.getBinCount() + 1];
+		for (int i = 0; i < d.getBinCount(); i++) {
+			result[i] = d.getStartXValue(0, i);
+		}
+		result[d.getBinCount()] = d.getEndXValue(0, d.getBinCount() - 1);
+		return result;
+	}
+
+	/**
+	 * Equal-width bins, including values on the edges.
+	 */
+	@Test
+	public void testEqualWidthBins() {
+		BinnedHistogramDataset d = new BinnedHistogramDataset("H", -1.0,
+				2.0, 30);
+		double[] edges = edges(d);
+		double[] values = new double[20000];
+		Random random = new Random(11L);
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextInt(4) == 0 ? edges[random.nextInt(31)]
+					: -1.0 + 3.0 * random.nextDouble();
+		}
+		d.addObservations(values);
+		assertArrayEquals(bruteForce(edges, values), counts(d));
+		assertEquals(values.length, d.getTotalCount());
+		assertEquals(29, d.getBinIndex(2.0));
+		assertEquals(-1, d.getBinIndex(2.0000001));
+		assertEquals(-1, d.getBinIndex(Double.NaN));
+		assertEquals(0.1, d.getEndXValue(0, 0) - d.getStartXValue(0, 0),
+				1e-12);
+	}
+
+	/**
+	 * Variable-width bins, counted serially, in parallel and from a stream.
+	 */
+	@Test
+	public void testVariableWidthBins() {
+		double[] edges = { 0.0, 0.5, 1.0, 3.0, 3.25, 10.0 };
+		double[] values = new double[300000];
+		Random random = new Random(5L);
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextInt(10) == 0 ? edges[random.nextInt(6)]
+					: 10.0 * random.nextDouble();
+		}
+		long[] expected = bruteForce(edges, values);
+
+		BinnedHistogramDataset d1 = new BinnedHistogramDataset("H", edges);
+		d1.addObservations(values);
+		assertArrayEquals(expected, counts(d1));
+
+		BinnedHistogramDataset d2 = new BinnedHistogramDataset("H", edges);
+		d2.addObservations(values, true);
+		assertArrayEquals(expected, counts(d2));
+
+		BinnedHistogramDataset d3 = new BinnedHistogramDataset("H", edges);
+		d3.addObservations(Arrays.stream(values).parallel());
+		assertArrayEquals(expected, counts(d3));
+		assertEquals(d1, d3);
+
+		d3.setAdjustForBinSize(true);
+		assertEquals(expected[3] / 0.25, d3.getYValue(0, 3), 1e-9);
+		assertEquals(3.125, d3.getXValue(0, 3), 0.0);
+	}
+
+	/**
+	 * A value outside the bins is rejected and no values are added.
+	 */
+	@Test
+	public void testValueOutsideBins() {
+		BinnedHistogramDataset d = new BinnedHistogramDataset("H", 0.0, 1.0,
+				4);
+		double[] values = new double[200000];
+		values[150000] = 1.5;
+		try {
+			d.addObservations(values, true);
+			fail("Expected an IllegalArgumentException.");
+		}
+		catch (IllegalArgumentException e) {
+			// expected
+		}
+		assertEquals(0L, d.getTotalCount());
+	}
+
+	/**
+	 * Some checks for the equals() and clone() methods.
+	 */
+	@Test
+	public void testCloning() throws CloneNotSupportedException {
+		BinnedHistogramDataset d1 = new BinnedHistogramDataset("H", 0.0, 1.0,
+				4);
+		d1.addObservation(0.3);
+		BinnedHistogramDataset d2 = (BinnedHistogramDataset) d1.clone();
+		assertEquals(d1, d2);
+		d2.addObservation(0.3);
+		assertFalse(d1.equals(d2));
+		assertEquals(1L, d1.getCount(1));
+	}
+
+	/**
+	 * The binary search in {@link HistogramDataset} respects the bounds
+	 * included in each bin.
+	 */
+	@Test
+	public void testHistogramDatasetBinSearch() {
+		HistogramDataset d = new HistogramDataset("H");
+		d.addBin(new HistogramBin(0.0, 1.0, true, false));
+		d.addBin(new HistogramBin(1.0, 2.0, true, true));
+		d.addBin(new HistogramBin(2.0, 3.0, false, true));
+		d.addBin(new HistogramBin(5.0, 6.0));
+		d.setAdjustForBinSize(false);
+		d.addObservations(new double[] { 0.0, 1.0, 2.0, 2.0, 3.0, 5.5 });
+		assertEquals(1.0, d.getYValue(0, 0), 0.0);
+		assertEquals(3.0, d.getYValue(0, 1), 0.0);
+		assertEquals(1.0, d.getYValue(0, 2), 0.0);
+		assertEquals(1.0, d.getYValue(0, 3), 0.0);
+		try {
+			d.addObservation(4.0);
+			fail("Expected a RuntimeException.");
+		}
+		catch (RuntimeException e) {
+			// expected
+		}
+	}
+
+}
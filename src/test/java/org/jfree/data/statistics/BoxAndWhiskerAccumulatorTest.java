@@ -0,0 +1,229 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------------
+ * BoxAndWhiskerAccumulatorTest.java
+ * ---------------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.statistics;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link BoxAndWhiskerAccumulator} class, and for the
+ * selection-based quartiles in {@link BoxAndWhiskerCalculator}.
+ */
+public class BoxAndWhiskerAccumulatorTest {
+
+	private static final double EPSILON = 0.000000001;
+
+	/**
+	 * Returns the median of a sorted range.
+	 */
+	private static double median(double[] sorted, int start, int end) {
+		int count = end - start + 1;
+		if (count % 2 == 1) {
+			return sorted[start + count / 2];
+		}
+		return (sorted[start + count / 2 - 1] + sorted[start + count / 2])
+				/ 2.0;
+	}
+
+	/**
+	 * Creates random values with some repeats and outliers.
+	 */
+	private static double[] createValues(Random random, int count) {
+		double[] values = new double[count];
+		for (int i = 0; i < count; i++) {
+			int r = random.nextInt(20);
+			values[i] = r == 0 ? 20.0 * random.nextGaussian()
+					: r == 1 ? 3.0 : random.nextGaussian();
+		}
+		return values;
+	}
+
+	/**
+	 * The quartiles found by selection match those found by sorting, for
+	 * odd and even numbers of values.
+	 */
+	@Test
+	public void testQuartiles() {
+		Random random = new Random(3L);
+		for (int count = 1; count < 200; count++) {
+			double[] values = createValues(random, count);
+			double[] sorted = values.clone();
+			Arrays.sort(sorted);
+			BoxAndWhiskerItem item = BoxAndWhiskerCalculator
+					.calculateBoxAndWhiskerStatistics(values.clone());
+			int h = count / 2;
+			assertEquals(median(sorted, 0, count - 1),
+					item.getMedian().doubleValue(), 0.0);
+			assertEquals(median(sorted, 0, count % 2 == 1 ? h : h - 1),
+					item.getQ1().doubleValue(), 0.0);
+			assertEquals(median(sorted, h, count - 1),
+					item.getQ3().doubleValue(), 0.0);
+
+			List<Number> list = new ArrayList<Number>();
+			for (double v : values) {
+				list.add(v);
+			}
+			assertEquals(item, BoxAndWhiskerCalculator
+					.calculateBoxAndWhiskerStatistics(list));
+		}
+	}
+
+	/**
+	 * NaN values in an array are ignored.
+	 */
+	@Test
+	public void testNaN() {
+		BoxAndWhiskerItem item = BoxAndWhiskerCalculator
+				.calculateBoxAndWhiskerStatistics(new double[] { 1.0, 2.0,
+				Double.NaN, 3.0, 4.0 });
+		assertEquals(2.5, item.getMean().doubleValue(), EPSILON);
+		assertEquals(1.5, item.getQ1().doubleValue(), EPSILON);
+		assertEquals(3.5, item.getQ3().doubleValue(), EPSILON);
+		assertEquals(1.0, item.getMinRegularValue().doubleValue(), EPSILON);
+		assertEquals(4.0, item.getMaxRegularValue().doubleValue(), EPSILON);
+	}
+
+	/**
+	 * The selection copes with many equal values and sorted input.
+	 */
+	@Test
+	public void testSelect() {
+		double[] values = new double[10001];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i % 3;
+		}
+		assertEquals(1.0, Statistics.calculateMedian(values, 0,
+				values.length - 1), 0.0);
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i;
+		}
+		assertEquals(5000.0, Statistics.calculateMedian(values, 0,
+				values.length - 1), 0.0);
+		assertEquals(2.5, Statistics.calculateMedian(values, 1, 4), 0.0);
+	}
+
+	/**
+	 * The accumulator gives exact results until it has too many values.
+	 */
+	@Test
+	public void testExactMode() {
+		Random random = new Random(9L);
+		double[] values = createValues(random, 1000);
+		BoxAndWhiskerAccumulator a = new BoxAndWhiskerAccumulator();
+		a.addAll(values);
+		assertTrue(a.isExact());
+		assertEquals(BoxAndWhiskerCalculator.calculateBoxAndWhiskerStatistics(
+				values.clone()), a.getItem());
+		a.add(0.0);
+		assertFalse(a.isExact());
+		assertEquals(1001L, a.getCount());
+	}
+
+	/**
+	 * The estimated quartiles are close to the exact ones for a large
+	 * sample, and the outliers are found in the tails.
+	 */
+	@Test
+	public void testEstimatedMode() throws CloneNotSupportedException {
+		Random random = new Random(17L);
+		int n = 200000;
+		double[] values = new double[n];
+		BoxAndWhiskerAccumulator a = new BoxAndWhiskerAccumulator();
+		for (int i = 0; i < n; i++) {
+			values[i] = random.nextDouble();
+			a.add(values[i]);
+		}
+		a.add(50.0);
+		a.add(-60.0);
+		double[] all = Arrays.copyOf(values, n + 2);
+		all[n] = 50.0;
+		all[n + 1] = -60.0;
+		BoxAndWhiskerItem exact = BoxAndWhiskerCalculator
+				.calculateBoxAndWhiskerStatistics(all);
+		BoxAndWhiskerItem item = a.getItem();
+		assertEquals(exact.getMean().doubleValue(),
+				item.getMean().doubleValue(), EPSILON);
+		assertEquals(exact.getQ1().doubleValue(),
+				item.getQ1().doubleValue(), 0.01);
+		assertEquals(exact.getMedian().doubleValue(),
+				item.getMedian().doubleValue(), 0.01);
+		assertEquals(exact.getQ3().doubleValue(),
+				item.getQ3().doubleValue(), 0.01);
+		List outliers = item.getOutliers();
+		assertEquals(-60.0, ((Number) outliers.get(0)).doubleValue(), 0.0);
+		assertEquals(50.0, ((Number) outliers.get(outliers.size() - 1))
+				.doubleValue(), 0.0);
+		assertEquals(exact.getOutliers().size(), outliers.size());
+		assertEquals(exact.getMinRegularValue().doubleValue(),
+				item.getMinRegularValue().doubleValue(), 0.05);
+
+		BoxAndWhiskerAccumulator b = (BoxAndWhiskerAccumulator) a.clone();
+		assertEquals(a, b);
+		b.add(1.0);
+		assertFalse(a.equals(b));
+	}
+
+	/**
+	 * A dataset cell can be fed with observations incrementally.
+	 */
+	@Test
+	public void testDatasetObservations() {
+		DefaultBoxAndWhiskerCategoryDataset d
+				= new DefaultBoxAndWhiskerCategoryDataset();
+		d.addObservations(new double[] { 1.0, 2.0, 3.0 }, "R1", "C1");
+		d.addObservation(4.0, "R1", "C1");
+		assertEquals(2.5, d.getMeanValue(0, 0).doubleValue(), EPSILON);
+		assertEquals(1.5, d.getQ1Value(0, 0).doubleValue(), EPSILON);
+		assertEquals(4.0, d.getRangeUpperBound(false), EPSILON);
+
+		// replacing the item discards the observations
+		d.add(Arrays.<Number>asList(10.0, 20.0), "R1", "C1");
+		d.addObservation(30.0, "R1", "C1");
+		assertEquals(30.0, d.getMeanValue(0, 0).doubleValue(), EPSILON);
+
+		d.removeRow("R1");
+		d.addObservation(5.0, "R1", "C1");
+		assertEquals(5.0, d.getMeanValue(0, 0).doubleValue(), EPSILON);
+	}
+
+}
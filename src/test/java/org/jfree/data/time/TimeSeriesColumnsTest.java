@@ -0,0 +1,139 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------
+ * TimeSeriesColumnsTest.java
+ * --------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+
+package org.jfree.data.time;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the {@link TimeSeriesColumns} class, via the primitive accessors
+ * in {@link TimeSeries} and {@link TimeSeriesCollection}.
+ */
+public class TimeSeriesColumnsTest {
+
+	/**
+	 * Checks the primitive x- and y-values in a collection against the
+	 * values calculated from the time periods.
+	 */
+	private static void check(TimeSeriesCollection dataset, Calendar calendar) {
+		TimeSeries series = dataset.getSeries(0);
+		int n = series.getItemCount();
+		double[] x = new double[n + 1];
+		double[] y = new double[n + 1];
+		if (n > 0) {
+			dataset.getXValues(0, 0, n - 1, x, 1);
+			dataset.getYValues(0, 0, n - 1, y, 1);
+		}
+		for (int i = 0; i < n; i++) {
+			RegularTimePeriod period = series.getTimePeriod(i);
+			long expected = period.getMiddleMillisecond(calendar);
+			Number value = series.getValue(i);
+			double v = value != null ? value.doubleValue() : Double.NaN;
+			assertEquals(expected, dataset.getXValue(0, i), 0.0);
+			assertEquals(expected, x[i + 1], 0.0);
+			assertEquals(period.getFirstMillisecond(calendar),
+					dataset.getStartX(0, i).longValue());
+			assertEquals(period.getLastMillisecond(calendar),
+					dataset.getEndX(0, i).longValue());
+			assertEquals(v, dataset.getYValue(0, i), 0.0);
+			assertEquals(v, y[i + 1], 0.0);
+			assertEquals(i, series.getIndex(period));
+		}
+	}
+
+	/**
+	 * The columns follow the series through additions, updates and
+	 * deletions.
+	 */
+	@Test
+	public void testRandomOperations() {
+		TimeZone zone = TimeZone.getTimeZone("Europe/Paris");
+		Calendar calendar = Calendar.getInstance(zone);
+		Random random = new Random(42L);
+		TimeSeries series = new TimeSeries("S");
+		series.setMaximumItemCount(200);
+		TimeSeriesCollection dataset = new TimeSeriesCollection(series, zone);
+		dataset.setXPosition(TimePeriodAnchor.MIDDLE);
+		for (int i = 0; i < 2000; i++) {
+			Day day = new Day(1 + random.nextInt(28), 1 + random.nextInt(12),
+					2015 + random.nextInt(2));
+			Double value = random.nextInt(10) == 0 ? null
+					: Double.valueOf(random.nextDouble());
+			int op = random.nextInt(6);
+			int n = series.getItemCount();
+			if (op < 3) {
+				series.addOrUpdate(day, value);
+			}
+			else if (op == 3 && n > 0) {
+				series.update(random.nextInt(n), value);
+			}
+			else if (op == 4 && n > 1) {
+				int index = random.nextInt(n - 1);
+				series.delete(index, index + 1);
+			}
+			else if (n > 0) {
+				series.delete(series.getTimePeriod(random.nextInt(n)));
+			}
+			check(dataset, calendar);
+		}
+		series.clear();
+		check(dataset, calendar);
+	}
+
+	/**
+	 * The millisecond accessors also work for a time zone other than the
+	 * one the columns were built for.
+	 */
+	@Test
+	public void testOtherTimeZone() {
+		TimeSeries series = new TimeSeries("S");
+		series.add(new Hour(1, 1, 1, 2016), 1.0);
+		series.add(new Hour(2, 1, 1, 2016), 2.0);
+		TimeZone utc = TimeZone.getTimeZone("UTC");
+		TimeZone other = TimeZone.getTimeZone("America/New_York");
+		Calendar calendar = Calendar.getInstance(other);
+		assertEquals(new Hour(1, 1, 1, 2016).getFirstMillisecond(
+				Calendar.getInstance(utc)), series.getMillisecond(0,
+				TimePeriodAnchor.START, utc));
+		assertEquals(new Hour(2, 1, 1, 2016).getLastMillisecond(calendar),
+				series.getMillisecond(1, TimePeriodAnchor.END, other));
+	}
+
+}
@@ -0,0 +1,194 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------------
+ * TimeSeriesFindValueRangeTest.java
+ * ---------------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.data.time;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import org.jfree.data.Range;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link TimeSeries#findValueRange(Range, TimePeriodAnchor,
+ * TimeZone)}, checking that the y-value index and the coordinate columns
+ * give the same result as iterating over the items after each kind of
+ * change to the series.
+ */
+public class TimeSeriesFindValueRangeTest {
+
+	/** The time zone used for most of the queries. */
+	private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+	/** The length of a day in milliseconds. */
+	private static final long DAY = 24L * 60L * 60L * 1000L;
+
+	/**
+	 * Checks the value range for a series of x-windows against a brute force
+	 * calculation.
+	 *
+	 * @param s
+	 *            the series.
+	 * @param zone
+	 *            the time zone.
+	 */
+	private static void checkWindows(TimeSeries s, TimeZone zone) {
+		Calendar calendar = Calendar.getInstance(zone);
+		long origin = new Day(1, 1, 2016).getFirstMillisecond(calendar);
+		for (long lo = -5; lo < 105; lo += 3) {
+			Range xRange = new Range(origin + lo * DAY, origin + lo * DAY
+					+ 10 * DAY);
+			double min = Double.NaN;
+			double max = Double.NaN;
+			for (int i = 0; i < s.getItemCount(); i++) {
+				long x = s.getTimePeriod(i).getMillisecond(
+						TimePeriodAnchor.MIDDLE, calendar);
+				Number yN = s.getValue(i);
+				if (xRange.contains(x) && yN != null) {
+					double y = yN.doubleValue();
+					min = Double.isNaN(min) ? y : Math.min(min, y);
+					max = Double.isNaN(max) ? y : Math.max(max, y);
+				}
+			}
+			Range r = s.findValueRange(xRange, TimePeriodAnchor.MIDDLE, zone);
+			assertEquals(min, r.getLowerBound(), 0.0);
+			assertEquals(max, r.getUpperBound(), 0.0);
+		}
+	}
+
+	/**
+	 * Creates a daily series with 50 items and queries it once, so that the
+	 * index and columns exist before the change under test.
+	 *
+	 * @return The series.
+	 */
+	private static TimeSeries createIndexedSeries() {
+		TimeSeries s = new TimeSeries("S");
+		RegularTimePeriod p = new Day(1, 1, 2016);
+		for (int i = 0; i < 50; i++) {
+			s.add(p, Math.sin(i) * i);
+			p = p.next();
+		}
+		checkWindows(s, UTC);
+		return s;
+	}
+
+	/**
+	 * Items added after the index is built are included.
+	 */
+	@Test
+	public void testAdd() {
+		TimeSeries s = createIndexedSeries();
+		s.add(new Day(20, 2, 2016), 500.0);
+		s.add(new Day(21, 2, 2016), -500.0);
+		checkWindows(s, UTC);
+
+		// fill a gap in the middle of the series
+		s.delete(new Day(10, 1, 2016));
+		checkWindows(s, UTC);
+		s.add(new Day(10, 1, 2016), 1000.0);
+		checkWindows(s, UTC);
+	}
+
+	/**
+	 * Deleted items, from the start or elsewhere, are no longer included.
+	 */
+	@Test
+	public void testDelete() {
+		TimeSeries s = createIndexedSeries();
+		s.delete(new Day(1, 1, 2016));
+		checkWindows(s, UTC);
+		s.delete(new Day(15, 1, 2016));
+		checkWindows(s, UTC);
+		s.delete(30, 40);
+		checkWindows(s, UTC);
+		s.clear();
+		assertNull(s.findValueRange(new Range(0.0, 1.0),
+				TimePeriodAnchor.MIDDLE, UTC));
+	}
+
+	/**
+	 * Updated values replace the previous values.
+	 */
+	@Test
+	public void testUpdate() {
+		TimeSeries s = createIndexedSeries();
+		s.update(10, new Double(1000.0));
+		checkWindows(s, UTC);
+		s.update(new Day(11, 1, 2016), -1000.0);
+		checkWindows(s, UTC);
+		s.update(20, null);
+		checkWindows(s, UTC);
+	}
+
+	/**
+	 * Items evicted by the maximum item count or age are no longer included,
+	 * including when the evicted item held the extreme value.
+	 */
+	@Test
+	public void testSlidingWindow() {
+		TimeSeries s = createIndexedSeries();
+		s.update(0, new Double(1000.0));
+		s.setMaximumItemCount(50);
+		checkWindows(s, UTC);
+		RegularTimePeriod p = new Day(20, 2, 2016);
+		for (int i = 50; i < 100; i++) {
+			s.add(p, Math.cos(i) * i);
+			p = p.next();
+			checkWindows(s, UTC);
+		}
+		assertEquals(50, s.getItemCount());
+
+		s.setMaximumItemAge(20);
+		checkWindows(s, UTC);
+		assertEquals(21, s.getItemCount());
+	}
+
+	/**
+	 * Queries in a second time zone fall back to a calendar and give the same
+	 * results as a brute force calculation in that time zone.
+	 */
+	@Test
+	public void testOtherTimeZone() {
+		TimeSeries s = createIndexedSeries();
+		TimeZone zone = TimeZone.getTimeZone("America/New_York");
+		checkWindows(s, zone);
+		s.add(new Day(20, 2, 2016), 500.0);
+		checkWindows(s, zone);
+		checkWindows(s, UTC);
+	}
+
+}
@@ -0,0 +1,218 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------------------
+ * TimeSeriesMaximumItemCountTest.java
+ * -----------------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.data.time;
+
+import org.jfree.chart.TestUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+
+/**
+ * Tests for a {@link TimeSeries} with a maximum item count, where the items
+ * are kept in a circular buffer and the y-value bounds are tracked by a
+ * rolling window.
+ */
+public class TimeSeriesMaximumItemCountTest {
+
+	/**
+	 * Checks the cached y-value bounds of a series against a brute force
+	 * calculation.
+	 *
+	 * @param s
+	 *            the series.
+	 */
+	private static void checkBounds(TimeSeries s) {
+		double min = Double.NaN;
+		double max = Double.NaN;
+		for (int i = 0; i < s.getItemCount(); i++) {
+			Number yN = s.getValue(i);
+			if (yN != null) {
+				double y = yN.doubleValue();
+				min = Double.isNaN(min) ? y : Math.min(min, y);
+				max = Double.isNaN(max) ? y : Math.max(max, y);
+			}
+		}
+		assertEquals(min, s.getMinY(), 0.0);
+		assertEquals(max, s.getMaxY(), 0.0);
+	}
+
+	/**
+	 * Creates a daily series with a maximum item count of 10, with
+	 * <code>count</code> items added (the first on 1 January 2016).
+	 *
+	 * @param count
+	 *            the number of items to add.
+	 *
+	 * @return The series.
+	 */
+	private static TimeSeries createSeries(int count) {
+		TimeSeries s = new TimeSeries("S");
+		s.setMaximumItemCount(10);
+		RegularTimePeriod p = new Day(1, 1, 2016);
+		for (int i = 0; i < count; i++) {
+			s.add(p, i % 5);
+			p = p.next();
+		}
+		return s;
+	}
+
+	/**
+	 * The earliest items are evicted first and the remaining items keep their
+	 * order.
+	 */
+	@Test
+	public void testEvictionOrder() {
+		TimeSeries s = createSeries(37);
+		assertEquals(10, s.getItemCount());
+		RegularTimePeriod p = new Day(28, 1, 2016);
+		for (int i = 0; i < 10; i++) {
+			assertEquals(p, s.getTimePeriod(i));
+			assertEquals((27 + i) % 5, s.getValue(i).intValue());
+			p = p.next();
+		}
+		checkBounds(s);
+	}
+
+	/**
+	 * The bounds are updated when the item holding the minimum or maximum is
+	 * evicted.
+	 */
+	@Test
+	public void testBoundsAfterExtremeEvicted() {
+		TimeSeries s = new TimeSeries("S");
+		s.setMaximumItemCount(10);
+		RegularTimePeriod p = new Day(1, 1, 2016);
+		s.add(p, 1000.0);
+		p = p.next();
+		s.add(p, -1000.0);
+		for (int i = 2; i < 10; i++) {
+			p = p.next();
+			s.add(p, i);
+		}
+		assertEquals(-1000.0, s.getMinY(), 0.0);
+		assertEquals(1000.0, s.getMaxY(), 0.0);
+		p = p.next();
+		s.add(p, 10.0);
+		assertEquals(-1000.0, s.getMinY(), 0.0);
+		assertEquals(10.0, s.getMaxY(), 0.0);
+		p = p.next();
+		s.add(p, 11.0);
+		assertEquals(2.0, s.getMinY(), 0.0);
+		assertEquals(11.0, s.getMaxY(), 0.0);
+		for (int i = 12; i < 100; i++) {
+			p = p.next();
+			s.add(p, Math.sin(i) * i);
+			checkBounds(s);
+		}
+	}
+
+	/**
+	 * Items inserted into a gap in a full series evict the first item and
+	 * keep the bounds correct, including for later appends.
+	 */
+	@Test
+	public void testMiddleInsert() {
+		TimeSeries s = new TimeSeries("S");
+		s.setMaximumItemCount(10);
+		RegularTimePeriod p = new Day(1, 1, 2016);
+		for (int i = 0; i < 30; i++) {
+			if (i % 2 == 0) {
+				s.add(p, i);
+			}
+			p = p.next();
+		}
+		s.add(new Day(22, 1, 2016), 500.0);
+		assertEquals(10, s.getItemCount());
+		assertEquals(new Day(13, 1, 2016), s.getTimePeriod(0));
+		assertEquals(new Day(22, 1, 2016), s.getTimePeriod(5));
+		checkBounds(s);
+		s.add(new Day(20, 1, 2016), -500.0);
+		checkBounds(s);
+		s.add(new Day(24, 1, 2016), null);
+		checkBounds(s);
+		for (int i = 30; i < 60; i++) {
+			s.add(p, i % 7);
+			p = p.next();
+			checkBounds(s);
+		}
+		assertEquals(new Day(20, 2, 2016), s.getTimePeriod(0));
+	}
+
+	/**
+	 * A clone of a series whose buffer has wrapped around is equal to, and
+	 * independent of, the original.
+	 */
+	@Test
+	public void testCloneWrapped() throws CloneNotSupportedException {
+		TimeSeries s1 = createSeries(37);
+		TimeSeries s2 = (TimeSeries) s1.clone();
+		assertNotSame(s1, s2);
+		assertEquals(s1, s2);
+		assertEquals(new Day(28, 1, 2016), s2.getTimePeriod(0));
+		checkBounds(s2);
+
+		s1.add(new Day(7, 2, 2016), 100.0);
+		assertFalse(s1.equals(s2));
+		assertEquals(10, s2.getItemCount());
+		assertEquals(4.0, s2.getMaxY(), 0.0);
+		s2.add(new Day(7, 2, 2016), 100.0);
+		assertEquals(s1, s2);
+		checkBounds(s2);
+	}
+
+	/**
+	 * A series whose buffer has wrapped around is restored in order by
+	 * serialization, and keeps sliding afterwards.
+	 */
+	@Test
+	public void testSerializationWrapped() {
+		TimeSeries s1 = createSeries(37);
+		TimeSeries s2 = TestUtils.serialised(s1);
+		assertEquals(s1, s2);
+		assertEquals(new Day(28, 1, 2016), s2.getTimePeriod(0));
+		checkBounds(s2);
+		RegularTimePeriod p = new Day(7, 2, 2016);
+		for (int i = 0; i < 13; i++) {
+			s1.add(p, -i);
+			s2.add(p, -i);
+			p = p.next();
+		}
+		assertEquals(s1, s2);
+		assertEquals(10, s2.getItemCount());
+		checkBounds(s2);
+	}
+
+}
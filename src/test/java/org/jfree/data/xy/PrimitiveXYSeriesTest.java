@@ -0,0 +1,376 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2012, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------
+ * PrimitiveXYSeriesTest.java
+ * --------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.data.xy;
+
+import org.jfree.data.Range;
+import org.jfree.data.general.SeriesException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the {@link PrimitiveXYSeries} class.
+ */
+public class PrimitiveXYSeriesTest {
+
+	/**
+	 * Items are sorted by x-value, with duplicates added after existing items.
+	 */
+	@Test
+	public void testAutoSort() {
+		PrimitiveXYSeries s = new PrimitiveXYSeries("S");
+		s.add(3.0, 30.0);
+		s.add(1.0, 10.0);
+		s.add(2.0, 20.0);
+		s.add(2.0, 21.0);
+		assertEquals(4, s.getItemCount());
+		assertEquals(1.0, s.getXValue(0), 0.0);
+		assertEquals(20.0, s.getYValue(1), 0.0);
+		assertEquals(21.0, s.getYValue(2), 0.0);
+		assertEquals(3.0, s.getX(3).doubleValue(), 0.0);
+		assertEquals(-1, s.indexOf(new Double(0.5)));
+		assertEquals(-4, s.indexOf(new Double(2.5)));
+		assertEquals(0, s.indexOf(new Double(1.0)));
+	}
+
+	/**
+	 * Duplicates are rejected when the series does not permit them.
+	 */
+	@Test
+	public void testDuplicatesNotAllowed() {
+		PrimitiveXYSeries s = new PrimitiveXYSeries("S", true, false);
+		s.add(1.0, 1.0);
+		try {
+			s.add(1.0, 2.0);
+			fail("Expected a SeriesException.");
+		} catch (SeriesException e) {
+			// expected
+		}
+		s = new PrimitiveXYSeries("S", false, false);
+		s.add(1.0, 1.0);
+		try {
+			s.add(1.0, 2.0);
+			fail("Expected a SeriesException.");
+		} catch (SeriesException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Null y-values are distinguished from Double.NaN.
+	 */
+	@Test
+	public void testNullYValues() {
+		PrimitiveXYSeries s = new PrimitiveXYSeries("S");
+		s.add(1.0, null);
+		s.add(2.0, Double.NaN);
+		assertNull(s.getY(0));
+		assertTrue(Double.isNaN(s.getYValue(0)));
+		assertTrue(Double.isNaN(s.getY(1).doubleValue()));
+		assertNull(s.getDataItem(0).getY());
+		assertTrue(Double.isNaN(s.getMinY()));
+	}
+
+	/**
+	 * The oldest items are removed when the maximum item count is reached.
+	 */
+	@Test
+	public void testMaximumItemCount() {
+		PrimitiveXYSeries s = new PrimitiveXYSeries("S", false);
+		s.setMaximumItemCount(2);
+		s.add(1.0, 1.1);
+		s.add(2.0, 2.2);
+		s.add(3.0, 3.3);
+		assertEquals(2, s.getItemCount());
+		assertEquals(2.0, s.getXValue(0), 0.0);
+		assertEquals(2.0, s.getMinX(), 0.0);
+		assertEquals(2.2, s.getMinY(), 0.0);
+		s.setMaximumItemCount(1);
+		assertEquals(1, s.getItemCount());
+		assertEquals(3.3, s.getMinY(), 0.0);
+	}
+
+	/**
+	 * A long sliding window keeps the bounds and indices correct.
+	 */
+	@Test
+	public void testSlidingWindow() {
+		PrimitiveXYSeries s = new PrimitiveXYSeries("S");
+		s.setMaximumItemCount(100);
+		for (int i = 0; i < 10000; i++) {
+			s.add(i, Math.sin(i / 10.0) * i);
+		}
+		assertEquals(100, s.getItemCount());
+		assertEquals(9900.0, s.getXValue(0), 0.0);
+		assertEquals(9900.0, s.getMinX(), 0.0);
+		assertEquals(9999.0, s.getMaxX(), 0.0);
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (int i = 9900; i < 10000; i++) {
+			double y = Math.sin(i / 10.0) * i;
+			min = Math.min(min, y);
+			max = Math.max(max, y);
+		}
+		assertEquals(min, s.getMinY(), 0.0);
+		assertEquals(max, s.getMaxY(), 0.0);
+	}
+
+	/**
+	 * Some checks for the addOrUpdate() and updateByIndex() methods.
+	 */
+	@Test
+	public void testAddOrUpdate() {
+		PrimitiveXYSeries s = new PrimitiveXYSeries("S", true, false);
+		assertNull(s.addOrUpdate(5.0, 5.5));
+		assertNull(s.addOrUpdate(1.0, 1.5));
+		XYDataItem old = s.addOrUpdate(5.0, 6.5);
+		assertEquals(5.5, old.getYValue(), 0.0);
+		assertEquals(2, s.getItemCount());
+		assertEquals(6.5, s.getMaxY(), 0.0);
+		s.updateByIndex(1, new Double(0.5));
+		assertEquals(0.5, s.getMinY(), 0.0);
+		assertEquals(1.5, s.getMaxY(), 0.0);
+	}
+
+	/**
+	 * Some checks for the remove(), delete() and clear() methods.
+	 */
+	@Test
+	public void testRemove() {
+		PrimitiveXYSeries s = new PrimitiveXYSeries("S");
+		for (int i = 0; i < 10; i++) {
+			s.add(i, i * 10.0);
+		}
+		XYDataItem item = s.remove(0);
+		assertEquals(0.0, item.getXValue(), 0.0);
+		assertEquals(1.0, s.getMinX(), 0.0);
+		s.delete(7, 8);
+		assertEquals(7, s.getItemCount());
+		assertEquals(7.0, s.getMaxX(), 0.0);
+		assertEquals(70.0, s.getMaxY(), 0.0);
+		s.clear();
+		assertEquals(0, s.getItemCount());
+		assertTrue(Double.isNaN(s.getMaxX()));
+	}
+
+	/**
+	 * The series works as part of an {@link XYSeriesCollection}.
+	 */
+	@Test
+	public void testCollection() {
+		PrimitiveXYSeries s = new PrimitiveXYSeries("S");
+		s.add(1.0, 2.0);
+		s.add(3.0, 4.0);
+		XYSeriesCollection dataset = new XYSeriesCollection(s);
+		assertEquals(2.0, dataset.getYValue(0, 0), 0.0);
+		assertEquals(3.0, dataset.getXValue(0, 1), 0.0);
+		assertEquals(1.0, dataset.getDomainLowerBound(false), 0.0);
+		assertEquals(4.0, dataset.getRangeUpperBound(false), 0.0);
+	}
+
+	/**
+	 * The y-range for an x-window matches a brute force calculation, both for
+	 * the primitive series and for the standard series.
+	 */
+	@Test
+	public void testFindYRange() {
+		PrimitiveXYSeries s1 = new PrimitiveXYSeries("S1");
+		XYSeries s2 = new XYSeries("S2");
+		s1.setMaximumItemCount(50);
+		for (int i = 0; i < 80; i++) {
+			Double y = i % 9 == 0 ? null : new Double(Math.sin(i) * i);
+			s1.add(i, y);
+			s2.add(i, y);
+		}
+		s1.updateByIndex(10, new Double(1000.0));
+		s2.updateByIndex(40, new Double(-1000.0));
+		for (XYSeries s : new XYSeries[] { s1, s2 }) {
+			for (int lo = -5; lo < 85; lo += 3) {
+				Range xRange = new Range(lo, lo + 10.5);
+				double min = Double.NaN;
+				double max = Double.NaN;
+				for (int i = 0; i < s.getItemCount(); i++) {
+					double y = s.getYValue(i);
+					if (xRange.contains(s.getXValue(i)) && !Double.isNaN(y)) {
+						min = Double.isNaN(min) ? y : Math.min(min, y);
+						max = Double.isNaN(max) ? y : Math.max(max, y);
+					}
+				}
+				Range r = s.findYRange(xRange);
+				if (Double.isNaN(min)) {
+					assertNull(r);
+				}
+				else {
+					assertEquals(new Range(min, max), r);
+				}
+			}
+		}
+		XYSeriesCollection dataset = new XYSeriesCollection(s1);
+		dataset.addSeries(s2);
+		List<Comparable> keys = Arrays.asList((Comparable) "S1", "S2");
+		assertEquals(new Range(-1000.0, 1000.0), dataset.getRangeBounds(keys,
+				new Range(30.0, 45.0), false));
+	}
+
+	/**
+	 * The bulk copy methods return the same values as the item accessors,
+	 * including after old items have been dropped from the series.
+	 */
+	@Test
+	public void testBulkValues() {
+		PrimitiveXYSeries s1 = new PrimitiveXYSeries("S1");
+		XYSeries s2 = new XYSeries("S2");
+		s1.setMaximumItemCount(5);
+		for (int i = 0; i < 8; i++) {
+			Double y = i == 6 ? null : new Double(i * 10.0);
+			s1.add(i, y);
+			s2.add(i, y);
+		}
+		XYSeriesCollection dataset = new XYSeriesCollection(s1);
+		dataset.addSeries(s2);
+		for (int series = 0; series < 2; series++) {
+			double[] x = new double[5];
+			double[] y = new double[5];
+			dataset.getXValues(series, 1, 3, x, 2);
+			dataset.getYValues(series, 1, 3, y, 2);
+			assertEquals(0.0, x[1], 0.0);
+			for (int i = 0; i < 3; i++) {
+				assertEquals(dataset.getXValue(series, i + 1), x[i + 2], 0.0);
+				assertEquals(dataset.getYValue(series, i + 1), y[i + 2], 0.0);
+			}
+		}
+		assertEquals(4.0, s1.getXValue(1), 0.0);
+		assertTrue(Double.isNaN(s1.getYValue(3)));
+
+		// an empty range copies nothing
+		double[] x = new double[1];
+		s1.getXValues(2, 1, x, 0);
+		assertEquals(0.0, x[0], 0.0);
+		try {
+			s1.getXValues(3, 5, new double[3], 0);
+			fail("Expected an IndexOutOfBoundsException.");
+		}
+		catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+
+		DefaultXYDataset d = new DefaultXYDataset();
+		d.addSeries("D", new double[][] { { 1.0, 2.0, 3.0 },
+				{ 4.0, 5.0, 6.0 } });
+		double[] y = new double[2];
+		d.getYValues(0, 1, 2, y, 0);
+		assertEquals(5.0, y[0], 0.0);
+		assertEquals(6.0, y[1], 0.0);
+	}
+
+	/**
+	 * Confirm that the equals method can distinguish the data values.
+	 */
+	@Test
+	public void testEquals() {
+		PrimitiveXYSeries s1 = new PrimitiveXYSeries("S");
+		PrimitiveXYSeries s2 = new PrimitiveXYSeries("S");
+		assertEquals(s1, s2);
+		s1.add(1.0, null);
+		assertFalse(s1.equals(s2));
+		s2.add(1.0, Double.NaN);
+		assertFalse(s1.equals(s2));
+		s2.updateByIndex(0, null);
+		assertEquals(s1, s2);
+		assertEquals(s1.hashCode(), s2.hashCode());
+	}
+
+	/**
+	 * Some checks for the clone() and createCopy() methods.
+	 */
+	@Test
+	public void testCloning() throws CloneNotSupportedException {
+		PrimitiveXYSeries s1 = new PrimitiveXYSeries("S");
+		s1.add(1.0, 1.0);
+		s1.add(2.0, 2.0);
+		s1.add(3.0, 3.0);
+		PrimitiveXYSeries s2 = (PrimitiveXYSeries) s1.clone();
+		assertNotSame(s1, s2);
+		assertEquals(s1, s2);
+		s1.add(4.0, 4.0);
+		assertFalse(s1.equals(s2));
+
+		XYSeries s3 = s1.createCopy(1, 2);
+		assertEquals(2, s3.getItemCount());
+		assertEquals(2.0, s3.getMinX(), 0.0);
+		assertEquals(3.0, s3.getMaxY(), 0.0);
+		s3.add(5.0, 5.0);
+		assertEquals(4, s1.getItemCount());
+	}
+
+	/**
+	 * Serialize an instance, restore it, and check for equality.
+	 */
+	@Test
+	public void testSerialization() throws IOException,
+			ClassNotFoundException {
+		PrimitiveXYSeries s1 = new PrimitiveXYSeries("S");
+		s1.add(1.0, 1.0);
+		s1.add(2.0, null);
+
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		ObjectOutput out = new ObjectOutputStream(buffer);
+		out.writeObject(s1);
+		out.close();
+
+		ObjectInput in = new ObjectInputStream(
+				new ByteArrayInputStream(buffer.toByteArray()));
+		PrimitiveXYSeries s2 = (PrimitiveXYSeries) in.readObject();
+		in.close();
+
+		assertEquals(s1, s2);
+		assertNull(s2.getY(1));
+	}
+
+}
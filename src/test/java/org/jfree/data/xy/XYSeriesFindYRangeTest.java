@@ -0,0 +1,178 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------
+ * XYSeriesFindYRangeTest.java
+ * ---------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.data.xy;
+
+import org.jfree.data.Range;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link XYSeries#findYRange(Range)}, checking that the y-value
+ * index gives the same result as iterating over the items after each kind of
+ * change to the series.
+ */
+public class XYSeriesFindYRangeTest {
+
+	/**
+	 * Checks the y-range for a series of x-windows against a brute force
+	 * calculation.
+	 *
+	 * @param s
+	 *            the series.
+	 */
+	private static void checkWindows(XYSeries s) {
+		for (double lo = -5.0; lo < 105.0; lo += 3.0) {
+			Range xRange = new Range(lo, lo + 10.5);
+			double min = Double.NaN;
+			double max = Double.NaN;
+			for (int i = 0; i < s.getItemCount(); i++) {
+				double y = s.getYValue(i);
+				if (xRange.contains(s.getXValue(i)) && !Double.isNaN(y)) {
+					min = Double.isNaN(min) ? y : Math.min(min, y);
+					max = Double.isNaN(max) ? y : Math.max(max, y);
+				}
+			}
+			Range r = s.findYRange(xRange);
+			if (Double.isNaN(min)) {
+				assertNull(r);
+			}
+			else {
+				assertEquals(new Range(min, max), r);
+			}
+		}
+	}
+
+	/**
+	 * Creates a sorted series with 50 items and queries it once, so that the
+	 * index exists before the change under test.
+	 *
+	 * @return The series.
+	 */
+	private static XYSeries createIndexedSeries() {
+		XYSeries s = new XYSeries("S");
+		for (int i = 0; i < 50; i++) {
+			s.add(i, Math.sin(i) * i);
+		}
+		checkWindows(s);
+		return s;
+	}
+
+	/**
+	 * Items appended after the index is built are included.
+	 */
+	@Test
+	public void testAdd() {
+		XYSeries s = createIndexedSeries();
+		s.add(50.0, 500.0);
+		s.add(51.0, -500.0);
+		checkWindows(s);
+		assertEquals(new Range(-500.0, 500.0), s.findYRange(new Range(49.5,
+				60.0)));
+
+		// an insert in the middle of the series
+		s.add(20.5, 1000.0);
+		checkWindows(s);
+		assertEquals(1000.0, s.findYRange(new Range(20.0, 21.0))
+				.getUpperBound(), 0.0);
+	}
+
+	/**
+	 * Removed items, from the start or elsewhere, are no longer included.
+	 */
+	@Test
+	public void testRemove() {
+		XYSeries s = createIndexedSeries();
+		s.add(50.0, 1000.0);
+		checkWindows(s);
+		s.remove(new Double(50.0));
+		checkWindows(s);
+		s.remove(0);
+		checkWindows(s);
+		s.remove(25);
+		checkWindows(s);
+	}
+
+	/**
+	 * Updated values replace the previous values.
+	 */
+	@Test
+	public void testUpdate() {
+		XYSeries s = createIndexedSeries();
+		s.updateByIndex(10, new Double(1000.0));
+		checkWindows(s);
+		assertEquals(1000.0, s.findYRange(new Range(5.0, 15.0))
+				.getUpperBound(), 0.0);
+		s.update(new Double(10.0), new Double(-1.0));
+		checkWindows(s);
+		s.updateByIndex(30, null);
+		checkWindows(s);
+		assertNull(s.findYRange(new Range(29.5, 30.5)));
+	}
+
+	/**
+	 * Items evicted by the maximum item count are no longer included,
+	 * including when the evicted item held the extreme value.
+	 */
+	@Test
+	public void testSlidingWindow() {
+		XYSeries s = createIndexedSeries();
+		s.setMaximumItemCount(50);
+		s.updateByIndex(0, new Double(1000.0));
+		checkWindows(s);
+		for (int i = 50; i < 100; i++) {
+			s.add(i, Math.cos(i) * i);
+			checkWindows(s);
+		}
+		assertEquals(50, s.getItemCount());
+		assertEquals(50.0, s.getMinX(), 0.0);
+	}
+
+	/**
+	 * An unsorted series is iterated, and gives the same results.
+	 */
+	@Test
+	public void testUnsorted() {
+		XYSeries s = new XYSeries("S", false);
+		for (int i = 49; i >= 0; i--) {
+			s.add(i, Math.sin(i) * i);
+		}
+		checkWindows(s);
+		s.remove(10);
+		s.updateByIndex(5, new Double(-1000.0));
+		checkWindows(s);
+	}
+
+}
@@ -0,0 +1,221 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2016, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------------
+ * XYSeriesMaximumItemCountTest.java
+ * ---------------------------------
+ * (C) Copyright 2016, by Object Refinery Limited and Contributors.
+ *
+ */
+
+package org.jfree.data.xy;
+
+import org.jfree.chart.TestUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+
+/**
+ * Tests for an {@link XYSeries} with a maximum item count, where the items
+ * are kept in a circular buffer and the bounds are tracked by rolling
+ * windows.
+ */
+public class XYSeriesMaximumItemCountTest {
+
+	/**
+	 * Checks the cached bounds of a series against a brute force calculation.
+	 *
+	 * @param s
+	 *            the series.
+	 */
+	private static void checkBounds(XYSeries s) {
+		double minX = Double.NaN;
+		double maxX = Double.NaN;
+		double minY = Double.NaN;
+		double maxY = Double.NaN;
+		for (int i = 0; i < s.getItemCount(); i++) {
+			double x = s.getXValue(i);
+			double y = s.getYValue(i);
+			minX = Double.isNaN(minX) ? x : Math.min(minX, x);
+			maxX = Double.isNaN(maxX) ? x : Math.max(maxX, x);
+			if (!Double.isNaN(y)) {
+				minY = Double.isNaN(minY) ? y : Math.min(minY, y);
+				maxY = Double.isNaN(maxY) ? y : Math.max(maxY, y);
+			}
+		}
+		assertEquals(minX, s.getMinX(), 0.0);
+		assertEquals(maxX, s.getMaxX(), 0.0);
+		assertEquals(minY, s.getMinY(), 0.0);
+		assertEquals(maxY, s.getMaxY(), 0.0);
+	}
+
+	/**
+	 * The oldest items are evicted first from an unsorted series, and the
+	 * items are returned in the order they were added.
+	 */
+	@Test
+	public void testEvictionOrderUnsorted() {
+		XYSeries s = new XYSeries("S", false);
+		s.setMaximumItemCount(5);
+		for (int i = 0; i < 23; i++) {
+			s.add(100 - i, i);
+		}
+		assertEquals(5, s.getItemCount());
+		for (int i = 0; i < 5; i++) {
+			assertEquals(18.0 + i, s.getYValue(i), 0.0);
+			assertEquals(82.0 - i, s.getXValue(i), 0.0);
+		}
+		checkBounds(s);
+	}
+
+	/**
+	 * A sorted series evicts the item with the smallest x-value.
+	 */
+	@Test
+	public void testEvictionOrderSorted() {
+		XYSeries s = new XYSeries("S");
+		s.setMaximumItemCount(3);
+		s.add(5.0, 50.0);
+		s.add(3.0, 30.0);
+		s.add(4.0, 40.0);
+		s.add(1.0, 10.0);
+		assertEquals(3, s.getItemCount());
+		assertEquals(3.0, s.getXValue(0), 0.0);
+		s.add(6.0, 60.0);
+		assertEquals(4.0, s.getXValue(0), 0.0);
+		assertEquals(6.0, s.getXValue(2), 0.0);
+		checkBounds(s);
+	}
+
+	/**
+	 * The bounds are updated when the item holding the minimum or maximum is
+	 * evicted.
+	 */
+	@Test
+	public void testBoundsAfterExtremeEvicted() {
+		XYSeries s = new XYSeries("S");
+		s.setMaximumItemCount(10);
+		s.add(0.0, 1000.0);
+		s.add(1.0, -1000.0);
+		for (int i = 2; i < 10; i++) {
+			s.add(i, i);
+		}
+		assertEquals(-1000.0, s.getMinY(), 0.0);
+		assertEquals(1000.0, s.getMaxY(), 0.0);
+		s.add(10.0, 10.0);
+		assertEquals(-1000.0, s.getMinY(), 0.0);
+		assertEquals(10.0, s.getMaxY(), 0.0);
+		s.add(11.0, 11.0);
+		assertEquals(2.0, s.getMinY(), 0.0);
+		assertEquals(11.0, s.getMaxY(), 0.0);
+		assertEquals(2.0, s.getMinX(), 0.0);
+		for (int i = 12; i < 100; i++) {
+			s.add(i, Math.sin(i) * i);
+			checkBounds(s);
+		}
+	}
+
+	/**
+	 * Items inserted in the middle of a full sorted series evict the first
+	 * item and keep the bounds correct, including for later appends.
+	 */
+	@Test
+	public void testMiddleInsert() {
+		XYSeries s = new XYSeries("S");
+		s.setMaximumItemCount(10);
+		for (int i = 0; i < 30; i += 2) {
+			s.add(i, i);
+		}
+		s.add(21.0, 500.0);
+		assertEquals(10, s.getItemCount());
+		assertEquals(12.0, s.getXValue(0), 0.0);
+		assertEquals(21.0, s.getXValue(5), 0.0);
+		checkBounds(s);
+		s.add(19.0, -500.0);
+		checkBounds(s);
+		s.add(23.0, null);
+		checkBounds(s);
+		for (int i = 30; i < 60; i++) {
+			s.add(i, i % 7);
+			checkBounds(s);
+		}
+		assertEquals(50.0, s.getXValue(0), 0.0);
+	}
+
+	/**
+	 * A clone of a series whose buffer has wrapped around is equal to, and
+	 * independent of, the original.
+	 */
+	@Test
+	public void testCloneWrapped() throws CloneNotSupportedException {
+		XYSeries s1 = new XYSeries("S");
+		s1.setMaximumItemCount(10);
+		for (int i = 0; i < 37; i++) {
+			s1.add(i, i % 5);
+		}
+		XYSeries s2 = (XYSeries) s1.clone();
+		assertNotSame(s1, s2);
+		assertEquals(s1, s2);
+		assertEquals(27.0, s2.getXValue(0), 0.0);
+		checkBounds(s2);
+
+		s1.add(37.0, 100.0);
+		assertFalse(s1.equals(s2));
+		assertEquals(10, s2.getItemCount());
+		assertEquals(4.0, s2.getMaxY(), 0.0);
+		s2.add(37.0, 100.0);
+		assertEquals(s1, s2);
+		checkBounds(s2);
+	}
+
+	/**
+	 * A series whose buffer has wrapped around is restored in order by
+	 * serialization, and keeps sliding afterwards.
+	 */
+	@Test
+	public void testSerializationWrapped() {
+		XYSeries s1 = new XYSeries("S", false);
+		s1.setMaximumItemCount(10);
+		for (int i = 0; i < 37; i++) {
+			s1.add(i, i % 5);
+		}
+		XYSeries s2 = TestUtils.serialised(s1);
+		assertEquals(s1, s2);
+		for (int i = 0; i < 10; i++) {
+			assertEquals(27.0 + i, s2.getXValue(i), 0.0);
+		}
+		checkBounds(s2);
+		for (int i = 37; i < 50; i++) {
+			s1.add(i, -i);
+			s2.add(i, -i);
+		}
+		assertEquals(s1, s2);
+		checkBounds(s2);
+	}
+
+}